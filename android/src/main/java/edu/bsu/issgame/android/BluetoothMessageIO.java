@@ -26,8 +26,6 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.ObjectInput;
 import java.io.ObjectInputStream;
-import java.io.ObjectOutput;
-import java.io.ObjectOutputStream;
 import java.io.OutputStream;
 import java.io.StreamCorruptedException;
 
@@ -35,6 +33,7 @@ import android.bluetooth.BluetoothSocket;
 import android.util.Log;
 import edu.bsu.issgame.core.net.Message;
 import edu.bsu.issgame.core.net.MessageIO;
+import edu.bsu.issgame.core.net.ResettingObjectOutputStream;
 
 public class BluetoothMessageIO implements MessageIO {
 
@@ -61,7 +60,7 @@ public class BluetoothMessageIO implements MessageIO {
 	}
 
 	private final ObjectInput in;
-	private final ObjectOutput out;
+	private final ResettingObjectOutputStream out;
 	private final BluetoothSocket socket;
 
 	public BluetoothMessageIO(BluetoothSocket socket, Mode mode)
@@ -72,9 +71,9 @@ public class BluetoothMessageIO implements MessageIO {
 
 		if (mode == Mode.INPUT_FIRST) {
 			this.in = new ObjectInputStream(in);
-			this.out = new ObjectOutputStream(out);
+			this.out = ResettingObjectOutputStream.create(out);
 		} else {
-			this.out = new ObjectOutputStream(out);
+			this.out = ResettingObjectOutputStream.create(out);
 			this.in = new ObjectInputStream(in);
 		}
 	}
@@ -88,8 +87,7 @@ public class BluetoothMessageIO implements MessageIO {
 	public MessageIO send(Message message) throws IOException {
 		checkNotNull(message);
 		try {
-			out.writeObject(message);
-			out.flush();
+			out.writeMessage(message);
 		} catch (StreamCorruptedException e) {
 			// This is expected when one side of the socket dies, e.g. bluetooth
 			// turned off.
@@ -100,6 +98,10 @@ public class BluetoothMessageIO implements MessageIO {
 		return this;
 	}
 
+	public int handleTableSize() {
+		return out.handleTableSize();
+	}
+
 	@Override
 	public void cancel() {
 		Log.d(IssGameActivity.TAG, "Cancelling bluetooth message io");
@@ -43,6 +43,9 @@ import android.content.IntentFilter;
 import android.content.pm.PackageManager.NameNotFoundException;
 import android.os.Handler;
 import android.util.Log;
+import edu.bsu.issgame.core.Settings;
+import edu.bsu.issgame.core.net.LocalMessageChannel;
+import edu.bsu.issgame.core.net.MessageIO;
 import edu.bsu.issgame.core.net.MessageIOPump;
 import edu.bsu.issgame.core.net.NetworkInterface;
 import edu.bsu.issgame.core.net.client.Client;
@@ -64,6 +67,7 @@ public class BluetoothNetworkInterface extends NetworkInterface {
 	private Server server;
 	private Client client;
 	private MessageIOPump pump;
+	private LocalMessageChannel channel;
 	private RPromise<Boolean> bluetoothAcceptedPromise;
 
 	public BluetoothNetworkInterface(BluetoothAdapter adapter,
@@ -164,6 +168,10 @@ public class BluetoothNetworkInterface extends NetworkInterface {
 			log().debug("Stopping message pump for local client");
 			pump.stop();
 		}
+		if (channel != null) {
+			log().debug("Stopping message channel for local client");
+			channel.stop();
+		}
 		shutdownAllTasksAndResetExecutorService();
 	}
 
@@ -210,11 +218,21 @@ public class BluetoothNetworkInterface extends NetworkInterface {
 	private void startLocalClientTasks(Server server) {
 		try {
 			checkState(client == null);
-			pump = new MessageIOPump();
-			ClientHandler handler = new ClientHandler(pump.a,
+			MessageIO serverSide;
+			MessageIO clientSide;
+			if (Settings.SETTINGS.get(Settings.SERIALIZE_LOCAL_MESSAGES)) {
+				pump = new MessageIOPump();
+				serverSide = pump.a;
+				clientSide = pump.b;
+			} else {
+				channel = new LocalMessageChannel();
+				serverSide = channel.a;
+				clientSide = channel.b;
+			}
+			ClientHandler handler = new ClientHandler(serverSide,
 					server.expeditionName, getVersionCode());
 			server.runClientHandler(handler);
-			client = Client.withIO(pump.b).withVersionCode(getVersionCode());
+			client = Client.withIO(clientSide).withVersionCode(getVersionCode());
 			executorService.execute(client);
 			emitClientStarted(client);
 		} catch (IOException ioe) {
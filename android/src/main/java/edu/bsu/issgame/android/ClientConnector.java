@@ -61,7 +61,7 @@ public final class ClientConnector extends RPromise<Client> implements Runnable
 					.inClientMode(clientSocket)).withVersionCode(versionCode);
 			succeed(client);
 			executorService.execute(client);
-			client.startPingClient(executorService);
+			client.startPingClient();
 		} catch (IOException e) {
 			e.printStackTrace();
 			fail(e);
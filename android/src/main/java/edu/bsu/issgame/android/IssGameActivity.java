@@ -33,6 +33,9 @@ import android.util.Log;
 import android.view.WindowManager;
 import edu.bsu.issgame.core.FontInfo;
 import edu.bsu.issgame.core.IssGame;
+import edu.bsu.issgame.core.ScreenScale;
+import edu.bsu.issgame.core.assetmgt.AssetDensity;
+import edu.bsu.issgame.core.assetmgt.AssetRegistry;
 
 public final class IssGameActivity extends GameActivity {
 
@@ -91,9 +94,17 @@ public final class IssGameActivity extends GameActivity {
 	@Override
 	public void main() {
 		registerFonts();
+		useAssetDensity();
 		PlayN.run(new IssGame(net));
 	}
 
+	private void useAssetDensity() {
+		AssetDensity density = AssetRegistry.instance().useDensityFor(
+				ScreenScale.forDisplay());
+		platform().assets().setAssetScale(density.factor);
+		debug("Loading art at " + density);
+	}
+
 	private void registerFonts() {
 		AndroidGraphics g = platform().graphics();
 		for (FontInfo info : FontInfo.values()) {
@@ -35,6 +35,7 @@ import playn.core.TextFormat;
 import playn.core.TextLayout;
 import pythagoras.f.IPoint;
 import react.Connection;
+import react.RFuture;
 import react.Slot;
 import react.UnitSlot;
 import react.Value;
@@ -48,7 +49,11 @@ import tripleplay.util.Colors;
 
 import com.google.common.collect.Lists;
 
+import edu.bsu.issgame.core.assetmgt.AssetRegistry;
 import edu.bsu.issgame.core.assetmgt.Jukebox;
+import edu.bsu.issgame.core.assetmgt.LoadableImage;
+import edu.bsu.issgame.core.assetmgt.SoundPool;
+import edu.bsu.issgame.core.assetmgt.StagedAssetLoader;
 import edu.bsu.issgame.core.mission.Scenario;
 import edu.bsu.issgame.core.net.ClientId;
 import edu.bsu.issgame.core.net.NetworkInterface;
@@ -68,8 +73,11 @@ public abstract class AbstractGameScreen extends UIAnimScreen {
 	protected Value<Country> country;
 	private FlagSystem flagSystem = new FlagSystem(this);
 	protected PlayerMinigameMap miniGameMap;
+	protected StagedAssetLoader assetLoader;
 	private List<Connection> connectionsToDisableOnRemoved = Lists
 			.newArrayList();
+	private List<AssetRegistry.Handle> imagesToReleaseOnRemoved = Lists
+			.newArrayList();
 
 	protected AbstractGameScreen(AbstractGameScreen previous) {
 		if (previous != null) {
@@ -82,9 +90,10 @@ public abstract class AbstractGameScreen extends UIAnimScreen {
 			this.isCommander = previous.isCommander;
 			this.country = previous.country;
 			this.miniGameMap = previous.miniGameMap;
+			this.assetLoader = previous.assetLoader;
 		} else {
 			this.settings = Settings.SETTINGS;
-			this.scale = new ScreenScale();
+			this.scale = ScreenScale.forDisplay();
 			this.isCommander = false;
 			this.client = null;
 			this.country = Value.create(null);
@@ -137,18 +146,42 @@ public abstract class AbstractGameScreen extends UIAnimScreen {
 		return country.get() != null;
 	}
 
+	protected final RFuture<Void> whenAssetsLoaded(
+			StagedAssetLoader.Priority priority) {
+		if (assetLoader == null) {
+			return RFuture.success();
+		}
+		return assetLoader.whenLoaded(priority);
+	}
+
+	/**
+	 * Holds on to a background image until this screen is removed, after
+	 * which the registry may drop its texture.
+	 */
+	protected Image acquireBackground(LoadableImage background) {
+		AssetRegistry.Handle handle = background.acquireBackground();
+		imagesToReleaseOnRemoved.add(handle);
+		return handle.image();
+	}
+
 	@Override
 	public void wasRemoved() {
 		super.wasRemoved();
 		for (Connection c : connectionsToDisableOnRemoved) {
 			c.disconnect();
 		}
+		for (AssetRegistry.Handle handle : imagesToReleaseOnRemoved) {
+			handle.release();
+		}
+		imagesToReleaseOnRemoved.clear();
+		log().debug("Sound effects: " + SoundPool.instance().report());
 	}
 
 	@Override
 	public void update(int deltaMS) {
 		super.update(deltaMS);
 		Jukebox.instance().update(deltaMS);
+		SoundPool.instance().update();
 	}
 
 	public ScreenScale getScreenScale() {
@@ -44,6 +44,7 @@ import tripleplay.ui.layout.TableLayout;
 import com.google.common.collect.Lists;
 
 import edu.bsu.issgame.core.assetmgt.Jukebox;
+import edu.bsu.issgame.core.assetmgt.LoadableImage;
 import edu.bsu.issgame.core.mission.Exposition;
 import edu.bsu.issgame.core.net.ClientId;
 import edu.bsu.issgame.core.net.client.Client;
@@ -108,7 +109,7 @@ public final class AwaitingPlayersScreen extends AbstractGameScreen {
 				});
 		connections.add(clientStartedConnection);
 
-		Image backgroundImage = GameImage.LOBBY_BG.image;
+		Image backgroundImage = acquireBackground(LoadableImage.LOBBY_BG);
 		scaledBackgroundImage = scale.getBackgroundSubImage(backgroundImage);
 		if (isCommander) {
 			createHostingInterface();
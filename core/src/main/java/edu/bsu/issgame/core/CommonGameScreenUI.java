@@ -43,6 +43,7 @@ import tripleplay.util.Colors;
 import com.google.common.collect.Lists;
 
 import edu.bsu.issgame.core.assetmgt.Jukebox;
+import edu.bsu.issgame.core.assetmgt.LoadableImage;
 import edu.bsu.issgame.core.mission.Scenario;
 import edu.bsu.issgame.core.net.Message;
 import edu.bsu.issgame.core.net.Message.ScenarioFinishedSuccesfullyEndingMission;
@@ -72,6 +73,10 @@ public class CommonGameScreenUI extends AbstractGameScreen {
 	protected void setMinigameType() {
 	}
 
+	protected void setBackground(LoadableImage background) {
+		setBackground(acquireBackground(background));
+	}
+
 	protected void setBackground(Image bgImage) {
 		checkNotNull(root, "Initialize root before calling this method.");
 		Image scaledBg = scale.getBackgroundSubImage(bgImage);
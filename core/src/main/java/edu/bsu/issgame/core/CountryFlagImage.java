@@ -19,8 +19,8 @@
 */
 package edu.bsu.issgame.core;
 
-import static playn.core.PlayN.assets;
 import playn.core.Image;
+import edu.bsu.issgame.core.assetmgt.AssetRegistry;
 
 public enum CountryFlagImage {
 	USA("images/usa_flag.png"),
@@ -32,7 +32,7 @@ public enum CountryFlagImage {
 	public final Image image;
 	
 	private CountryFlagImage(String path){
-		this.image = assets().getImage(path);
+		this.image = AssetRegistry.instance().image(path);
 	}
 	
 	public static Image getCountryImage(Country country)
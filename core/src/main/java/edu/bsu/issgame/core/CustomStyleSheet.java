@@ -21,6 +21,7 @@ package edu.bsu.issgame.core;
 
 import static playn.core.PlayN.graphics;
 import playn.core.Font;
+import playn.core.Sound;
 import tripleplay.ui.Background;
 import tripleplay.ui.Button;
 import tripleplay.ui.Field;
@@ -32,10 +33,13 @@ import tripleplay.ui.Style;
 import tripleplay.ui.Style.Mode;
 import tripleplay.ui.Stylesheet;
 import tripleplay.util.Colors;
+import edu.bsu.issgame.core.assetmgt.SoundPool;
 
 public final class CustomStyleSheet {
 
 	private static final Font PLAIN_FONT = GameFont.PLAIN.font;
+	private static final Sound BUTTON_CLICK = SoundPool.instance().trigger(
+			GameSound.BUTTON_CLICK);
 	private static final float BORDER_WIDTH = percentOfScreenHeight(0.002f);
 	private static final float CORNER_RADIUS = percentOfScreenHeight(0.004f);
 	private static final float INSETS_TOP = percentOfScreenHeight(0.004f);
@@ -80,7 +84,7 @@ public final class CustomStyleSheet {
 					Style.COLOR.is(Palette.TAN.color),//
 					Style.BACKGROUND.is(BUTTON_ROUND_RECT))
 			.add(Button.class, Mode.SELECTED,
-					Style.ACTION_SOUND.is(GameSound.BUTTON_CLICK.sound),
+					Style.ACTION_SOUND.is(BUTTON_CLICK),
 					Style.FONT.is(PLAIN_FONT),//
 					Style.COLOR.is(Palette.TAN.color),//
 					Style.BACKGROUND.is(BUTTON_ROUND_RECT_SELECTED))
@@ -98,7 +102,7 @@ public final class CustomStyleSheet {
 					Style.BACKGROUND.is(MENU_ITEM_BACKGROUND),
 					Style.HALIGN.left)
 			.add(MenuItem.class, Mode.SELECTED,
-					Style.ACTION_SOUND.is(GameSound.BUTTON_CLICK.sound),
+					Style.ACTION_SOUND.is(BUTTON_CLICK),
 					Style.BACKGROUND.is(MENU_ITEM_SELECTED_BACKGROUND),
 					Style.HALIGN.left)
 			.add(Menu.class, Style.BACKGROUND.is(MENU_BACKGROUND)).create();
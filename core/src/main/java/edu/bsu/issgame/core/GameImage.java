@@ -19,50 +19,50 @@
 */
 package edu.bsu.issgame.core;
 
-import static playn.core.PlayN.assets;
 import playn.core.Image;
+import edu.bsu.issgame.core.assetmgt.LoadableImage;
 
 public enum GameImage {
 
-	SEARCHING_FOR_HOST_BG("images/searching_background.png"), //
-	LOBBY_BG("images/lobby_background.png"), //
-	CARD_BACK("images/memorycard_cardback.png"), //
-	SCORE_SCREEN_BACKGROUND("images/score_background.png"), //
-	MEMORY_BOARD_BACKGROUND("images/memory_background.png"), //
-	SCENARIO_INFORMATION_BACKGROUND("images/scenario_info_background.png"), //
-	TASK_ASSIGNMENT_BACKGROUND("images/task_assignment_background.png"), //
-	SLIDING_PUZZLE_BACKGROUND("images/slidingpuzzle_background.png"), //
-	SLIDING_IMAGE_ORBITPATH("images/sliding_image_orbitpath.png"), //
-	SLIDING_PUZZLE_ROBOT("images/sliding_image_robot.png"), //
-	SLIDING_PUZZLE_ASTRONAUT("images/sliding_tile_maintenance_1.png"), //
-	LOSE_SCIENCE_SCREEN("images/lose_science_screen.png"), //
-	LOSE_MAINTAINANCE_SCREEN("images/lose_maintenance_screen.png"), //
-	LOSE_FINAL_SCREEN("images/lose_final_screen.png"), //
-	WIN_FINAL_SCREEN("images/win_final_screen.png"), //
-	SCIENCE_ICON("images/icon_science.png"), //
-	MAINTAINENCE_ICON("images/icon_maintainence.png"), //
-	RESET_BUTTON("images/sliding_image_robot.png"), //
-	L_WIRE("images/l_square_pipe.png"), //
-	T_WIRE("images/t_square_pipe.png"), //
-	BAR_WIRE("images/bar_square_pipe.png"), //
-	L_WIRE_GLOW("images/l_square_pipe_glow.png"), //
-	T_WIRE_GLOW("images/t_square_pipe_glow.png"), //
-	BAR_WIRE_GLOW("images/bar_square_pipe_glow.png"), //
-	L_WIRE_CIRCUIT("images/l_square_pipe_circuit.png"), //
-	T_WIRE_CIRCUIT("images/t_square_pipe_circuit.png"), //
-	BAR_WIRE_CIRCUIT("images/bar_square_pipe_circuit.png"), //
-	TILE_ROTATION_BACKGROUND("images/pipe_background.png"), //
-	FINISH_ROTATION_COMPLETE("images/finish_rotation_complete.png"), //
-	START_ROTATION("images/start_rotation_puzzle.png"), //
-	FINISH_ROTATION("images/finish_rotation_puzzle.png"), //
-	SEQUENCE_MATCHING_BACKGROUND("images/iss_pods_background.png");
+	SEARCHING_FOR_HOST_BG(LoadableImage.SEARCHING_FOR_HOST_BG), //
+	LOBBY_BG(LoadableImage.LOBBY_BG), //
+	CARD_BACK(LoadableImage.CARD_BACK), //
+	SCORE_SCREEN_BACKGROUND(LoadableImage.SCORE_SCREEN_BACKGROUND), //
+	MEMORY_BOARD_BACKGROUND(LoadableImage.MEMORY_BOARD_BACKGROUND), //
+	SCENARIO_INFORMATION_BACKGROUND(LoadableImage.SCENARIO_INFORMATION_BACKGROUND), //
+	TASK_ASSIGNMENT_BACKGROUND(LoadableImage.TASK_ASSIGNMENT_BACKGROUND), //
+	SLIDING_PUZZLE_BACKGROUND(LoadableImage.SLIDING_PUZZLE_BACKGROUND), //
+	SLIDING_IMAGE_ORBITPATH(LoadableImage.SLIDING_IMAGE_ORBITPATH), //
+	SLIDING_PUZZLE_ROBOT(LoadableImage.SLIDING_PUZZLE_ROBOT), //
+	SLIDING_PUZZLE_ASTRONAUT(LoadableImage.SLIDING_PUZZLE_ASTRONAUT), //
+	LOSE_SCIENCE_SCREEN(LoadableImage.LOSE_SCIENCE_SCREEN), //
+	LOSE_MAINTAINANCE_SCREEN(LoadableImage.LOSE_MAINTAINANCE_SCREEN), //
+	LOSE_FINAL_SCREEN(LoadableImage.LOSE_FINAL_SCREEN), //
+	WIN_FINAL_SCREEN(LoadableImage.WIN_FINAL_SCREEN), //
+	SCIENCE_ICON(LoadableImage.SCIENCE_ICON), //
+	MAINTAINENCE_ICON(LoadableImage.MAINTAINENCE_ICON), //
+	RESET_BUTTON(LoadableImage.RESET_BUTTON), //
+	L_WIRE(LoadableImage.L_WIRE), //
+	T_WIRE(LoadableImage.T_WIRE), //
+	BAR_WIRE(LoadableImage.BAR_WIRE), //
+	L_WIRE_GLOW(LoadableImage.L_WIRE_GLOW), //
+	T_WIRE_GLOW(LoadableImage.T_WIRE_GLOW), //
+	BAR_WIRE_GLOW(LoadableImage.BAR_WIRE_GLOW), //
+	L_WIRE_CIRCUIT(LoadableImage.L_WIRE_CIRCUIT), //
+	T_WIRE_CIRCUIT(LoadableImage.T_WIRE_CIRCUIT), //
+	BAR_WIRE_CIRCUIT(LoadableImage.BAR_WIRE_CIRCUIT), //
+	TILE_ROTATION_BACKGROUND(LoadableImage.TILE_ROTATION_BACKGROUND), //
+	FINISH_ROTATION_COMPLETE(LoadableImage.FINISH_ROTATION_COMPLETE), //
+	START_ROTATION(LoadableImage.START_ROTATION), //
+	FINISH_ROTATION(LoadableImage.FINISH_ROTATION), //
+	SEQUENCE_MATCHING_BACKGROUND(LoadableImage.SEQUENCE_MATCHING_BACKGROUND);
 
 	public final Image image;
 	public final String path;
 
-	private GameImage(String path) {
-		this.image = assets().getImage(path);
-		this.path = path;
+	private GameImage(LoadableImage source) {
+		this.image = source.loadAsync();
+		this.path = source.path();
 	}
 
 }
@@ -19,31 +19,39 @@
 */
 package edu.bsu.issgame.core;
 
-import static playn.core.PlayN.assets;
-import playn.core.Sound;
+import edu.bsu.issgame.core.assetmgt.SoundPool;
 
 public enum GameSound {
 
-	CARD_FLIP("card_flip"), //
+	CARD_FLIP("card_flip", 2), //
 	SUCCESS("card_match_success"), //
 	CARD_MATCH_FAILURE("card_match_failure"), //
 	MEMORY_BOARD_COMPLETE("complete_match_set"), //
 	BUTTON_CLICK("button_click"), //
-	TILE_SLIDE("tile_slide"), //
+	TILE_SLIDE("tile_slide", 2), //
 	SLIDING_PUZZLE_COMPLETE("sliding_puzzle_complete"),//
 	ELECTRICITY("electricity"), //
 	ZAP("rotation_zap"), //
 	SEQUENCE_INCORRECT("sequence_incorrect"),//
-	SEQUENCE_BIOLOGY("sequence_biology"), //
-	SEQUENCE_EXERCISE("sequence_exercise"), //
-	SEQUENCE_SLEEP("sequence_snore"), //
-	SEQUENCE_PHYSICS("sequence_physics");
+	SEQUENCE_BIOLOGY("sequence_biology", 2), //
+	SEQUENCE_EXERCISE("sequence_exercise", 2), //
+	SEQUENCE_SLEEP("sequence_snore", 2), //
+	SEQUENCE_PHYSICS("sequence_physics", 2);
 
-	public final Sound sound;
 	public final String path;
+	public final int maxVoices;
 
 	private GameSound(String relativePath) {
+		this(relativePath, 1);
+	}
+
+	private GameSound(String relativePath, int maxVoices) {
 		this.path = "sfx/" + relativePath;
-		this.sound = assets().getSound(this.path);
+		this.maxVoices = maxVoices;
+	}
+
+	/** Plays this effect through the shared {@link SoundPool}. */
+	public void play() {
+		SoundPool.instance().play(this);
 	}
 }
@@ -25,6 +25,7 @@ import playn.core.Game;
 import playn.core.util.Clock;
 import tripleplay.game.ScreenStack;
 import edu.bsu.issgame.core.net.NetworkInterface;
+import edu.bsu.issgame.core.util.StartupTimeline;
 
 public class IssGame extends Game.Default {
 
@@ -42,6 +43,7 @@ public class IssGame extends Game.Default {
 
 	@Override
 	public void init() {
+		StartupTimeline.instance().mark(StartupTimeline.GAME_INIT);
 		screenStack.push(new LoadingScreen(screenStack, net));
 	}
 
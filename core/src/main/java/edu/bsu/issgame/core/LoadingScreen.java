@@ -24,13 +24,24 @@ import static playn.core.PlayN.assets;
 import static playn.core.PlayN.graphics;
 import playn.core.AssetWatcher;
 import playn.core.Image;
+import react.Slot;
+import react.UnitSlot;
 import tripleplay.game.ScreenStack;
 import tripleplay.game.trans.FadeTransition;
 import tripleplay.ui.Background;
 import tripleplay.ui.Style;
 import tripleplay.ui.layout.AbsoluteLayout;
+
+import com.google.common.annotations.VisibleForTesting;
+
+import edu.bsu.issgame.core.assetmgt.LoadableImage;
+import edu.bsu.issgame.core.assetmgt.SoundPool;
+import edu.bsu.issgame.core.assetmgt.StagedAssetLoader;
+import edu.bsu.issgame.core.assetmgt.StagedAssetLoader.Priority;
+import edu.bsu.issgame.core.assetmgt.StagedAssetLoader.Request;
 import edu.bsu.issgame.core.cardmatch.CardType;
 import edu.bsu.issgame.core.net.NetworkInterface;
+import edu.bsu.issgame.core.util.StartupTimeline;
 
 public final class LoadingScreen extends AbstractGameScreen {
 
@@ -42,7 +53,7 @@ public final class LoadingScreen extends AbstractGameScreen {
 		this.screenStack = checkNotNull(screenStack);
 		this.net = checkNotNull(net);
 		initBackground();
-		goToPlayingScreenAfterAllAssetsAreLoaded(screenStack);
+		goToWelcomeScreenOnceItsAssetsAreLoaded(screenStack);
 	}
 
 	private void initBackground() {
@@ -53,32 +64,69 @@ public final class LoadingScreen extends AbstractGameScreen {
 				.setStyles(Style.BACKGROUND.is(Background.image(image)));
 	}
 
-	private void goToPlayingScreenAfterAllAssetsAreLoaded(
+	/**
+	 * The welcome screen's own assets come first. The rest follow in the
+	 * background in the order the player is likely to need them.
+	 */
+	@VisibleForTesting
+	static StagedAssetLoader createAssetLoader() {
+		return StagedAssetLoader.create()//
+				.add(Priority.CRITICAL,
+						StagedAssetLoader.images(LoadableImage.TITLE,
+								LoadableImage.WELCOME_BG))//
+				.add(Priority.CRITICAL, new Request() {
+					@Override
+					public void addTo(AssetWatcher watcher) {
+						SoundPool.instance().preload(watcher,
+								GameSound.BUTTON_CLICK);
+					}
+				})//
+				.add(Priority.HIGH, new Request() {
+					@Override
+					public void addTo(AssetWatcher watcher) {
+						for (GameImage gameImage : GameImage.values()) {
+							watcher.add(gameImage.image);
+						}
+						for (CountryFlagImage flag : CountryFlagImage.values()) {
+							watcher.add(flag.image);
+						}
+						for (CardType type : CardType.values()) {
+							watcher.add(type.image);
+						}
+						SoundPool.instance().preload(watcher);
+					}
+				})//
+				.add(Priority.LOW,
+						StagedAssetLoader.images(LoadableImage.INTRO_1,
+								LoadableImage.INTRO_2, LoadableImage.INTRO_3,
+								LoadableImage.INTRO_4, LoadableImage.CREDITS_BG,
+								LoadableImage.SMS_LOGO, LoadableImage.BSU_LOGO,
+								LoadableImage.TCM_LOGO));
+	}
+
+	private void goToWelcomeScreenOnceItsAssetsAreLoaded(
 			final ScreenStack screenStack) {
-		AssetWatcher watcher = new AssetWatcher(new AssetWatcher.Listener() {
+		assetLoader = createAssetLoader().start();
+		assetLoader.whenLoaded(Priority.CRITICAL).onSuccess(new UnitSlot() {
+			@Override
+			public void onEmit() {
+				StartupTimeline.instance().mark(
+						StartupTimeline.WELCOME_ASSETS_LOADED);
+				screenStack.push(new WelcomeScreen(LoadingScreen.this),
+						new FadeTransition(screenStack).duration(FADE_DURATION_MS));
+			}
+		}).onFailure(new Slot<Throwable>() {
 			@Override
-			public void error(Throwable e) {
+			public void onEmit(Throwable e) {
 				throw new RuntimeException(e);
 			}
-
+		});
+		assetLoader.whenLoaded(Priority.LOW).onComplete(new UnitSlot() {
 			@Override
-			public void done() {
-				screenStack.push(new WelcomeScreen(LoadingScreen.this),
-						new FadeTransition(screenStack).duration(FADE_DURATION_MS));
+			public void onEmit() {
+				StartupTimeline.instance().mark(
+						StartupTimeline.ALL_ASSETS_LOADED);
 			}
 		});
-		for (CardType type : CardType.values()) {
-			watcher.add(type.image);
-		}
-		for (GameImage gameImage : GameImage.values()) {
-			watcher.add(gameImage.image);
-		}
-		for (GameSound gameSound : GameSound.values()) {
-			watcher.add(gameSound.sound);
-		}
-		for (CountryFlagImage countryFlagType : CountryFlagImage.values()) {
-			watcher.add(countryFlagType.image);
-		}
-		watcher.start();
 	}
 }
@@ -19,14 +19,53 @@
 */
 package edu.bsu.issgame.core;
 
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.Map;
+
 import pythagoras.i.Dimension;
+import pythagoras.i.IDimension;
 import pythagoras.i.Point;
 import pythagoras.i.Rectangle;
 import playn.core.Image;
 
 import playn.core.PlayN;
 
-public class ScreenScale {
+import com.google.common.collect.Maps;
+
+/**
+ * The playmat and background geometry for one screen size. There is one
+ * shared instance per size, so treat its dimensions and rectangles as
+ * read-only. Each instance keeps the cropped backgrounds it has made; they
+ * are dropped with it when the display changes size.
+ */
+public final class ScreenScale {
+
+	private static final Map<Dimension, ScreenScale> bySize = Maps.newHashMap();
+	private static ScreenScale display;
+
+	/** The scale for the current display size. */
+	public static synchronized ScreenScale forDisplay() {
+		Dimension size = displaySize();
+		if (display == null || !display.screenSize.equals(size)) {
+			bySize.clear();
+			display = forSize(size);
+		}
+		return display;
+	}
+
+	public static synchronized ScreenScale forSize(IDimension size) {
+		checkArgument(size.width() > 0 && size.height() > 0,
+				"Empty screen size: %s", size);
+		Dimension key = new Dimension(size);
+		ScreenScale scale = bySize.get(key);
+		if (scale == null) {
+			scale = new ScreenScale(key);
+			bySize.put(key, scale);
+		}
+		return scale;
+	}
 
 	// this is the screen size we designed for, which will be used to guide the
 	// scaling
@@ -34,24 +73,50 @@ public class ScreenScale {
 	// 1.5
 	public static final double originalScale = getRatio(originalSize);
 
-	private Dimension testDimension;
 	// this is the screen size of the device you are using
-	public final Dimension screenSize = getScreenSize();
-	public final double screenRatio = ((double) (screenSize.width()))
-			/ ((double) (screenSize.height()));
-	public final Dimension playmatSize = getPlaymatSize();
-	public final Rectangle playmatRect = getPlaymatRect();
-	public final Rectangle uncroppedBackgroundRect = getUncroppedBackgroundRect();
-	public final Rectangle backgroundRect = getCroppedBackgroundRect();
+	public final Dimension screenSize;
+	public final double screenRatio;
+	public final Dimension playmatSize;
+	// the playmat width as a fraction of the design width
+	public final float playmatScale;
+	public final Rectangle playmatRect;
+	public final Rectangle uncroppedBackgroundRect;
+	public final Rectangle backgroundRect;
 
 	private static final boolean isScaled = true;
 	private static final boolean isBackgroundScaled = true;
 
-	public void setTestDimension(Dimension d) {
-		testDimension = d;
+	private final Map<Image, Image> croppedBackgrounds = Maps.newHashMap();
+
+	private ScreenScale(Dimension screenSize) {
+		this.screenSize = screenSize;
+		this.screenRatio = getRatio(screenSize);
+		this.playmatSize = getPlaymatSize();
+		this.playmatScale = (float) playmatSize.width / originalSize.width;
+		this.playmatRect = getPlaymatRect();
+		this.uncroppedBackgroundRect = getUncroppedBackgroundRect();
+		this.backgroundRect = getCroppedBackgroundRect();
+	}
+
+	/**
+	 * Returns the part of the background that shows on this screen. Crops of
+	 * loaded images are made once and shared.
+	 */
+	public synchronized Image getBackgroundSubImage(Image originalImage) {
+		checkNotNull(originalImage);
+		Image cropped = croppedBackgrounds.get(originalImage);
+		if (cropped == null) {
+			cropped = crop(originalImage);
+			// An image still loading has no size yet, so its crop is wrong
+			// and must not outlive this call.
+			if (originalImage.isReady()) {
+				croppedBackgrounds.put(originalImage, cropped);
+			}
+		}
+		return cropped;
 	}
 
-	public Image getBackgroundSubImage(Image originalImage) {
+	private Image crop(Image originalImage) {
 		float yScale = originalImage.height() / uncroppedBackgroundRect.height;
 		float xScale = originalImage.width() / uncroppedBackgroundRect.width;
 
@@ -144,15 +209,11 @@ public class ScreenScale {
 
 	/**
 	 * Returns the size of the screen, whether on android devices or on java.
-	 * Must call setJavaDimension() in the java implementation for this to
-	 * return the correct value in java.
 	 */
-	private Dimension getScreenSize() {
+	private static Dimension displaySize() {
 		Dimension size = new Dimension(PlayN.graphics().width(), PlayN
 				.graphics().height());
-		if (testDimension != null)
-			return testDimension;
-		else if (size.height != 0 && size.width != 0)
+		if (size.height != 0 && size.width != 0)
 			return size;
 		// this needs to be entered manually, it is the screen size you set java
 		// to run on
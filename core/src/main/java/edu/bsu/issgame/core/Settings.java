@@ -19,7 +19,6 @@
 */
 package edu.bsu.issgame.core;
 
-import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 
 import java.util.Map;
@@ -43,7 +42,7 @@ public final class Settings {
 
 		@Override
 		public int hashCode() {
-			return Objects.hashCode(name);
+			return name.hashCode();
 		}
 
 		@Override
@@ -68,6 +67,8 @@ public final class Settings {
 	public static final Key<Integer> POINTS_PER_MATCH = Key
 			.create("points.memory.match");
 	public static final Key<Boolean> LOG_TRACE_MESSAGES = Key.create("log.trace");
+	public static final Key<Boolean> SERIALIZE_LOCAL_MESSAGES = Key
+			.create("net.local.serialize");
 	
 	public static Settings createDefaults() {
 		Settings settings = new Settings();
@@ -76,6 +77,7 @@ public final class Settings {
 		settings.set(POINTS_PER_COMPLETED_MEMORY_BOARD).to(10);
 		settings.set(POINTS_PER_MATCH).to(4);
 		settings.set(LOG_TRACE_MESSAGES).to(false);
+		settings.set(SERIALIZE_LOCAL_MESSAGES).to(false);
 		return settings;
 	}
 
@@ -94,7 +96,10 @@ public final class Settings {
 	}
 
 	private void checkThatKeyIsInMap(Key<?> key) {
-		checkArgument(map.containsKey(key), "Missing key: " + key);
+		// Checked by hand so that the message is only built on failure.
+		if (!map.containsKey(key)) {
+			throw new IllegalArgumentException("Missing key: " + key);
+		}
 	}
 
 	public <T> SettingsUpdater<T> set(Key<T> key) {
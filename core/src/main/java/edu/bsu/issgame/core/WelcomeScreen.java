@@ -32,6 +32,7 @@ import playn.core.Keyboard.Event;
 import playn.core.Layer;
 import playn.core.Pointer;
 import react.Slot;
+import react.UnitSlot;
 import tripleplay.game.trans.FadeTransition;
 import tripleplay.ui.Background;
 import tripleplay.ui.Button;
@@ -46,8 +47,10 @@ import tripleplay.util.Timer;
 import edu.bsu.issgame.core.assetmgt.Jukebox;
 import edu.bsu.issgame.core.assetmgt.LoadableImage;
 import edu.bsu.issgame.core.assetmgt.Jukebox.Track;
+import edu.bsu.issgame.core.assetmgt.StagedAssetLoader.Priority;
 import edu.bsu.issgame.core.intro.IntroScreen;
 import edu.bsu.issgame.core.sequence.SequenceMatchScreen;
+import edu.bsu.issgame.core.util.StartupTimeline;
 
 public final class WelcomeScreen extends AbstractGameScreen {
 
@@ -62,23 +65,51 @@ public final class WelcomeScreen extends AbstractGameScreen {
 		@Override
 		public void onEmit(Button event) {
 			playButton.setEnabled(false);
-			screenStack.replace(new RoleSelectScreen(WelcomeScreen.this),
-					screenStack.slide());
+			whenAssetsLoaded(Priority.HIGH).onFailure(new Slot<Throwable>() {
+				@Override
+				public void onEmit(Throwable e) {
+					log().warn("Starting the game without all its assets", e);
+				}
+			}).onComplete(new UnitSlot() {
+				@Override
+				public void onEmit() {
+					screenStack.replace(
+							new RoleSelectScreen(WelcomeScreen.this),
+							screenStack.slide());
+				}
+			});
 		}
 	};
 
+	/**
+	 * The intro and credits show images from the last loading stage. They
+	 * wait for it, whether or not it all loaded, so that their images are
+	 * not decoded a second time.
+	 */
 	private final Slot<Button> startIntroductionAction = new Slot<Button>() {
 		@Override
 		public void onEmit(Button event) {
-			screenStack.replace(new IntroScreen(WelcomeScreen.this));
+			event.setEnabled(false);
+			whenAssetsLoaded(Priority.LOW).onComplete(new UnitSlot() {
+				@Override
+				public void onEmit() {
+					screenStack.replace(new IntroScreen(WelcomeScreen.this));
+				}
+			});
 		}
 	};
 
 	private final Slot<Button> goToCreditsScreenAction = new Slot<Button>() {
 		@Override
 		public void onEmit(Button event) {
-			screenStack.replace(new CreditsScreen(WelcomeScreen.this),
-					new FadeTransition(screenStack));
+			event.setEnabled(false);
+			whenAssetsLoaded(Priority.LOW).onComplete(new UnitSlot() {
+				@Override
+				public void onEmit() {
+					screenStack.replace(new CreditsScreen(WelcomeScreen.this),
+							new FadeTransition(screenStack));
+				}
+			});
 		}
 	};
 
@@ -174,6 +205,8 @@ public final class WelcomeScreen extends AbstractGameScreen {
 
 	@Override
 	public void wasShown() {
+		StartupTimeline.instance().mark(
+				StartupTimeline.FIRST_INTERACTIVE_FRAME);
 		setUpMusic();
 		playButton.setEnabled(true);
 	}
@@ -0,0 +1,79 @@
+/*
+  Copyright 2015 Ball State University
+
+  This file is part of Collaboration Station.
+
+  Collaboration Station is free software: you can redistribute it
+  and/or modify it under the terms of the GNU General Public
+  License as published by the Free Software Foundation, either
+  version 3 of the License, or (at your option) any later version.
+
+  Collaboration Station is distributed in the hope that it will
+  be useful, but WITHOUT ANY WARRANTY; without even the implied
+  warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+  PURPOSE.  See the GNU General Public License for more details.
+
+  You should have received a copy of the GNU General Public
+  License along with Collaboration Station.  If not, see
+  <http://www.gnu.org/licenses/>.
+*/
+package edu.bsu.issgame.core.assetmgt;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import playn.core.gl.Scale;
+
+/**
+ * The resolutions the art is shipped at. The images are drawn for the
+ * 1920x1280 design size, and the assets build also writes each one scaled
+ * down by the other factors, named the way PlayN looks for scaled
+ * resources, so that {@code images/title.png} at half size is
+ * {@code images/title@5x.png}. An image loaded with the platform's asset
+ * scale set to the factor keeps the width and height of the full-size image.
+ */
+public enum AssetDensity {
+	FULL(1f), THREE_QUARTERS(0.75f), HALF(0.5f);
+
+	/**
+	 * Returns the density whose factor is closest to the scale the playmat is
+	 * drawn at, preferring the larger one on a tie.
+	 */
+	public static AssetDensity closestTo(float playmatScale) {
+		checkArgument(playmatScale > 0, "Non-positive scale: %s", playmatScale);
+		AssetDensity closest = FULL;
+		for (AssetDensity density : values()) {
+			if (Math.abs(density.factor - playmatScale) < Math
+					.abs(closest.factor - playmatScale)) {
+				closest = density;
+			}
+		}
+		return closest;
+	}
+
+	/** Whether the path names a scaled-down variant rather than an original. */
+	public static boolean isVariant(String path) {
+		for (AssetDensity density : values()) {
+			if (density != FULL && path.endsWith(density.variantPath(".png"))) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	public final float factor;
+	private final Scale scale;
+
+	private AssetDensity(float factor) {
+		this.factor = factor;
+		this.scale = new Scale(factor);
+	}
+
+	/** The path of this density's variant of the full-size image. */
+	public String variantPath(String path) {
+		checkNotNull(path);
+		if (this == FULL) {
+			return path;
+		}
+		return scale.getScaledResources(path).get(0).path;
+	}
+}
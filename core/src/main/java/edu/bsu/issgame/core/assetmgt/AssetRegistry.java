@@ -0,0 +1,317 @@
+/*
+  Copyright 2015 Ball State University
+
+  This file is part of Collaboration Station.
+
+  Collaboration Station is free software: you can redistribute it
+  and/or modify it under the terms of the GNU General Public
+  License as published by the Free Software Foundation, either
+  version 3 of the License, or (at your option) any later version.
+
+  Collaboration Station is distributed in the hope that it will
+  be useful, but WITHOUT ANY WARRANTY; without even the implied
+  warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+  PURPOSE.  See the GNU General Public License for more details.
+
+  You should have received a copy of the GNU General Public
+  License along with Collaboration Station.  If not, see
+  <http://www.gnu.org/licenses/>.
+*/
+package edu.bsu.issgame.core.assetmgt;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+import static playn.core.PlayN.assets;
+
+import java.util.Map;
+import java.util.Set;
+
+import playn.core.Image;
+
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+
+import edu.bsu.issgame.core.ScreenScale;
+
+/**
+ * Hands out shared images so that each path is decoded at most once.
+ * <p>
+ * Screens that draw an image for as long as they are on the stack
+ * {@link #acquire(String) acquire} a {@link Handle} and release it when they
+ * are removed. Backgrounds acquired with {@link #acquireBackground(String)}
+ * keep their texture after the last release, but once the textures of the
+ * registered images exceed the budget, the least recently used unreferenced
+ * background gives up its texture. The decoded image itself is kept, so
+ * acquiring it again only uploads the texture.
+ * <p>
+ * Images packed into the {@link TextureAtlas} are handed out as regions of
+ * their page, so only the page is decoded and bound.
+ * <p>
+ * The registry also picks the {@link AssetDensity} the art is loaded at; the
+ * platform launcher applies it as the asset scale before the game starts.
+ */
+public final class AssetRegistry {
+
+	public static final long DEFAULT_TEXTURE_BUDGET = 16L << 20;
+	private static final int BYTES_PER_PIXEL = 4;
+
+	private static final AssetRegistry INSTANCE = withTextureBudget(DEFAULT_TEXTURE_BUDGET);
+
+	public static AssetRegistry instance() {
+		return INSTANCE;
+	}
+
+	public static AssetRegistry withTextureBudget(long bytes) {
+		return create(bytes, TextureAtlas.load());
+	}
+
+	public static AssetRegistry create(long textureBudget, TextureAtlas atlas) {
+		return new AssetRegistry(textureBudget, atlas);
+	}
+
+	public final class Handle {
+		private final Entry entry;
+		private boolean released;
+
+		private Handle(Entry entry) {
+			this.entry = entry;
+		}
+
+		public Image image() {
+			checkState(!released, "Handle to %s was released", entry.path);
+			return entry.image;
+		}
+
+		public void release() {
+			synchronized (AssetRegistry.this) {
+				checkState(!released, "Handle to %s was already released",
+						entry.path);
+				released = true;
+				entry.references--;
+				entry.lastUsed = ++useCount;
+				enforceBudget();
+			}
+		}
+	}
+
+	private static final class Entry {
+		private final String path;
+		private final Entry page;
+		private Image image;
+		private int references;
+		private boolean background;
+		private boolean resident;
+		private long lastUsed;
+
+		private Entry(String path, Entry page) {
+			this.path = path;
+			this.page = page;
+		}
+
+		private boolean isPacked() {
+			return page != null;
+		}
+
+		private Entry decodedFrom() {
+			return isPacked() ? page : this;
+		}
+
+		private long bytes() {
+			if (!image.isReady()) {
+				return 0;
+			}
+			return (long) image.scale().scaledCeil(image.width())
+					* image.scale().scaledCeil(image.height())
+					* BYTES_PER_PIXEL;
+		}
+	}
+
+	private final Map<String, Entry> entries = Maps.newHashMap();
+	private final TextureAtlas atlas;
+	private AssetDensity density = AssetDensity.FULL;
+	private long textureBudget;
+	private long useCount;
+	private int decodes;
+	private int evictions;
+
+	private AssetRegistry(long textureBudget, TextureAtlas atlas) {
+		this.atlas = checkNotNull(atlas);
+		setTextureBudget(textureBudget);
+	}
+
+	public synchronized void setTextureBudget(long bytes) {
+		checkArgument(bytes >= 0, "Negative texture budget: %s", bytes);
+		this.textureBudget = bytes;
+		enforceBudget();
+	}
+
+	public synchronized long textureBudget() {
+		return textureBudget;
+	}
+
+	/**
+	 * Picks the density closest to the scale the playmat is drawn at. It has
+	 * to be picked before any image is loaded.
+	 */
+	public synchronized AssetDensity useDensityFor(ScreenScale scale) {
+		checkState(entries.isEmpty(), "Images are already loaded at %s",
+				density);
+		density = AssetDensity.closestTo(scale.playmatScale);
+		return density;
+	}
+
+	public synchronized AssetDensity density() {
+		return density;
+	}
+
+	/**
+	 * Returns the shared image for the path, loading it in the background
+	 * the first time it is asked for. The image is not counted against the
+	 * texture budget until it is acquired.
+	 */
+	public synchronized Image image(String path) {
+		return entryFor(path, false).image;
+	}
+
+	/**
+	 * Like {@link #image(String)}, but the returned image is ready to use,
+	 * unless a background load of it is already under way. That load can
+	 * only finish on the game thread, so rather than decode the file a second
+	 * time, the pending image is returned; wait for it with the
+	 * {@link StagedAssetLoader} that requested it.
+	 */
+	public synchronized Image imageSync(String path) {
+		return entryFor(path, true).image;
+	}
+
+	public synchronized Handle acquire(String path) {
+		return acquire(entryFor(path, false));
+	}
+
+	public synchronized Handle acquireSync(String path) {
+		return acquire(entryFor(path, true));
+	}
+
+	public synchronized Handle acquireBackground(String path) {
+		Entry entry = entryFor(path, false);
+		entry.background = true;
+		return acquire(entry);
+	}
+
+	private Handle acquire(Entry entry) {
+		entry.references++;
+		entry.resident = true;
+		entry.decodedFrom().resident = true;
+		entry.lastUsed = ++useCount;
+		enforceBudget();
+		return new Handle(entry);
+	}
+
+	private Entry entryFor(String path, boolean sync) {
+		checkNotNull(path);
+		Entry entry = entries.get(path);
+		if (entry == null) {
+			Entry page = atlas.contains(path) ? entryFor(atlas.pageOf(path),
+					sync) : null;
+			entry = new Entry(path, page);
+			entry.image = load(entry, sync);
+			entries.put(path, entry);
+		}
+		return entry;
+	}
+
+	private Image load(Entry entry, boolean sync) {
+		if (entry.isPacked()) {
+			return atlas.regionOf(entry.path,
+					entryFor(entry.page.path, sync).image);
+		}
+		decodes++;
+		return sync ? assets().getImageSync(entry.path) : assets().getImage(
+				entry.path);
+	}
+
+	private void enforceBudget() {
+		long resident = textureBytes();
+		while (resident > textureBudget) {
+			Entry victim = leastRecentlyUsedEvictable();
+			if (victim == null) {
+				return;
+			}
+			resident -= victim.bytes();
+			victim.image.clearTexture();
+			victim.resident = false;
+			evictions++;
+		}
+	}
+
+	private Entry leastRecentlyUsedEvictable() {
+		Entry victim = null;
+		for (Entry entry : entries.values()) {
+			if (entry.resident && entry.background && entry.references == 0
+					&& (victim == null || entry.lastUsed < victim.lastUsed)) {
+				victim = entry;
+			}
+		}
+		return victim;
+	}
+
+	/** Bytes of texture memory held by acquired images that are not evicted. */
+	public synchronized long textureBytes() {
+		long total = 0;
+		for (Entry entry : entries.values()) {
+			if (entry.resident && !entry.isPacked()) {
+				total += entry.bytes();
+			}
+		}
+		return total;
+	}
+
+	/** Bytes of pixel data decoded so far, counting each file once. */
+	public synchronized long decodedBytes() {
+		long total = 0;
+		for (Entry entry : entries.values()) {
+			if (!entry.isPacked()) {
+				total += entry.bytes();
+			}
+		}
+		return total;
+	}
+
+	/**
+	 * Bytes of pixel data decoded for the paths, counting an atlas page once
+	 * however many of its images are among them.
+	 */
+	public synchronized long decodedBytes(Iterable<String> paths) {
+		Set<Entry> decoded = Sets.newHashSet();
+		for (String path : paths) {
+			Entry entry = entries.get(path);
+			if (entry != null) {
+				decoded.add(entry.decodedFrom());
+			}
+		}
+		long total = 0;
+		for (Entry entry : decoded) {
+			total += entry.bytes();
+		}
+		return total;
+	}
+
+	public synchronized int references(String path) {
+		Entry entry = entries.get(path);
+		return entry == null ? 0 : entry.references;
+	}
+
+	public synchronized boolean isResident(String path) {
+		Entry entry = entries.get(path);
+		return entry != null && entry.decodedFrom().resident;
+	}
+
+	public synchronized int decodes() {
+		return decodes;
+	}
+
+	public synchronized int evictions() {
+		return evictions;
+	}
+}
@@ -21,6 +21,10 @@ package edu.bsu.issgame.core.assetmgt;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 import static playn.core.PlayN.log;
+
+import java.util.EnumMap;
+import java.util.Map;
+
 import tripleplay.sound.Playable;
 import tripleplay.sound.SoundBoard;
 
@@ -48,6 +52,12 @@ public final class Jukebox {
 
 	private static final Jukebox INSTANCE = create();
 	private final SoundBoard soundBoard = new SoundBoard();
+	// Players are kept once made so that a track coming back on a later
+	// screen is not decoded again.
+	private final Map<Track, Playable> loops = new EnumMap<Track, Playable>(
+			Track.class);
+	private final Map<Track, Playable> clips = new EnumMap<Track, Playable>(
+			Track.class);
 	private State state;
 
 	public static Jukebox instance() {
@@ -116,14 +126,22 @@ public final class Jukebox {
 		@Override
 		public void loop(Track track) {
 			log().debug("Starting loop " + track.path);
-			Playable p = soundBoard.getLoop(track.path);
+			Playable p = loops.get(track);
+			if (p == null) {
+				p = soundBoard.getLoop(track.path);
+				loops.put(track, p);
+			}
 			setState(new PlayingState(p));
 		}
 
 		@Override
 		public void playOnce(Track track) {
 			log().debug("Playing once " + track.path);
-			Playable p = soundBoard.getClip(track.path);
+			Playable p = clips.get(track);
+			if (p == null) {
+				p = soundBoard.getClip(track.path);
+				clips.put(track, p);
+			}
 			setState(new PlayingState(p));
 		}
 
@@ -190,7 +208,6 @@ public final class Jukebox {
 		@Override
 		public void onExit() {
 			currentPlayable.stop();
-			currentPlayable.release();
 		}
 
 		@Override
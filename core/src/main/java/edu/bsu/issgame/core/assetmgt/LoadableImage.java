@@ -19,7 +19,6 @@
 */
 package edu.bsu.issgame.core.assetmgt;
 
-import static playn.core.PlayN.assets;
 import playn.core.Image;
 
 public enum LoadableImage {
@@ -72,11 +71,23 @@ public enum LoadableImage {
 		this.path = "images/" + partialPath;
 	}
 
+	public String path() {
+		return path;
+	}
+
 	public Image loadAsync() {
-		return assets().getImage(path);
+		return AssetRegistry.instance().image(path);
 	}
 
 	public Image loadSync() {
-		return assets().getImageSync(path);
+		return AssetRegistry.instance().imageSync(path);
+	}
+
+	public AssetRegistry.Handle acquire() {
+		return AssetRegistry.instance().acquire(path);
+	}
+
+	public AssetRegistry.Handle acquireBackground() {
+		return AssetRegistry.instance().acquireBackground(path);
 	}
 }
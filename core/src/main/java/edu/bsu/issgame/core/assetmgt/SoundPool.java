@@ -0,0 +1,250 @@
+/*
+  Copyright 2015 Ball State University
+
+  This file is part of Collaboration Station.
+
+  Collaboration Station is free software: you can redistribute it
+  and/or modify it under the terms of the GNU General Public
+  License as published by the Free Software Foundation, either
+  version 3 of the License, or (at your option) any later version.
+
+  Collaboration Station is distributed in the hope that it will
+  be useful, but WITHOUT ANY WARRANTY; without even the implied
+  warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+  PURPOSE.  See the GNU General Public License for more details.
+
+  You should have received a copy of the GNU General Public
+  License along with Collaboration Station.  If not, see
+  <http://www.gnu.org/licenses/>.
+*/
+package edu.bsu.issgame.core.assetmgt;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static playn.core.PlayN.assets;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import playn.core.AssetWatcher;
+import playn.core.Sound;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Function;
+import com.google.common.base.Ticker;
+import com.google.common.collect.Lists;
+
+import edu.bsu.issgame.core.GameSound;
+
+/**
+ * Plays the {@link GameSound} effects for the whole game. Each effect is
+ * loaded into {@link GameSound#maxVoices} players once and kept for the life
+ * of the process, so triggering an effect never decodes anything. When every
+ * voice of an effect is busy, the one that started first is restarted rather
+ * than stacking another copy, and a trigger that follows the previous one of
+ * the same effect within {@link #RETRIGGER_GAP_MS} is dropped.
+ * <p>
+ * The pool also keeps the time from each trigger until its voice reports
+ * that it is playing. A voice that starts within {@link Sound#play()} is
+ * timed exactly; one that starts later is noticed on the next
+ * {@link #update()}, so that latency is only as fine as the frame rate.
+ */
+public final class SoundPool {
+
+	public static final long RETRIGGER_GAP_MS = 30;
+
+	private static final Function<String, Sound> ASSETS = new Function<String, Sound>() {
+		@Override
+		public Sound apply(String path) {
+			return assets().getSound(path);
+		}
+	};
+
+	private static final SoundPool INSTANCE = create();
+
+	public static SoundPool instance() {
+		return INSTANCE;
+	}
+
+	public static SoundPool create() {
+		return create(ASSETS, Ticker.systemTicker());
+	}
+
+	@VisibleForTesting
+	static SoundPool create(Function<String, Sound> loader, Ticker ticker) {
+		return new SoundPool(loader, ticker);
+	}
+
+	private static final class Voice {
+		private final Sound sound;
+		private long triggeredAt;
+		private boolean pending;
+
+		private Voice(Sound sound) {
+			this.sound = sound;
+		}
+	}
+
+	private static final class Effect {
+		private final List<Voice> voices = Lists.newArrayList();
+		private long lastTrigger = Long.MIN_VALUE;
+	}
+
+	private final Function<String, Sound> loader;
+	private final Ticker ticker;
+	private final Map<GameSound, Effect> effects = new EnumMap<GameSound, Effect>(
+			GameSound.class);
+	private final List<Voice> pending = Lists.newArrayList();
+	private int triggers;
+	private int coalesced;
+	private int stolen;
+	private int started;
+	private long totalLatencyNanos;
+	private long maxLatencyNanos;
+
+	private SoundPool(Function<String, Sound> loader, Ticker ticker) {
+		this.loader = checkNotNull(loader);
+		this.ticker = checkNotNull(ticker);
+	}
+
+	/** Loads every voice of every effect and has the watcher wait for them. */
+	public void preload(AssetWatcher watcher) {
+		preload(watcher, GameSound.values());
+	}
+
+	/** Loads every voice of the effects and has the watcher wait for them. */
+	public void preload(AssetWatcher watcher, GameSound... sounds) {
+		for (GameSound sound : sounds) {
+			for (Voice voice : effect(sound).voices) {
+				watcher.add(voice.sound);
+			}
+		}
+	}
+
+	/**
+	 * A {@link Sound} whose {@link Sound#play()} plays the effect through
+	 * this pool, for APIs such as tripleplay's action sound that are given a
+	 * sound to play. It has no player of its own.
+	 */
+	public Sound trigger(final GameSound sound) {
+		checkNotNull(sound);
+		return new Sound.Silence() {
+			@Override
+			public boolean play() {
+				SoundPool.this.play(sound);
+				return true;
+			}
+		};
+	}
+
+	public void play(GameSound sound) {
+		long now = ticker.read();
+		Effect effect = effect(sound);
+		triggers++;
+		if (effect.lastTrigger != Long.MIN_VALUE
+				&& now - effect.lastTrigger < TimeUnit.MILLISECONDS
+						.toNanos(RETRIGGER_GAP_MS)) {
+			coalesced++;
+			return;
+		}
+		effect.lastTrigger = now;
+		Voice voice = chooseVoice(effect);
+		if (voice.sound.isPlaying()) {
+			voice.sound.stop();
+			stolen++;
+		}
+		voice.triggeredAt = now;
+		voice.sound.play();
+		if (voice.sound.isPlaying()) {
+			recordStart(voice, ticker.read());
+		} else if (!voice.pending) {
+			voice.pending = true;
+			pending.add(voice);
+		}
+	}
+
+	private Effect effect(GameSound sound) {
+		Effect effect = effects.get(sound);
+		if (effect == null) {
+			effect = new Effect();
+			for (int i = 0; i < sound.maxVoices; i++) {
+				effect.voices.add(new Voice(loader.apply(sound.path)));
+			}
+			effects.put(sound, effect);
+		}
+		return effect;
+	}
+
+	private static Voice chooseVoice(Effect effect) {
+		Voice oldest = null;
+		for (Voice voice : effect.voices) {
+			if (!voice.pending && !voice.sound.isPlaying()) {
+				return voice;
+			}
+			if (oldest == null || voice.triggeredAt < oldest.triggeredAt) {
+				oldest = voice;
+			}
+		}
+		return oldest;
+	}
+
+	/** Notices the voices that have started since they were triggered. */
+	public void update() {
+		if (pending.isEmpty()) {
+			return;
+		}
+		long now = ticker.read();
+		for (int i = pending.size() - 1; i >= 0; i--) {
+			Voice voice = pending.get(i);
+			if (voice.sound.isPlaying()) {
+				pending.remove(i);
+				recordStart(voice, now);
+			}
+		}
+	}
+
+	private void recordStart(Voice voice, long now) {
+		voice.pending = false;
+		long latency = now - voice.triggeredAt;
+		started++;
+		totalLatencyNanos += latency;
+		maxLatencyNanos = Math.max(maxLatencyNanos, latency);
+	}
+
+	public int voices(GameSound sound) {
+		return effect(sound).voices.size();
+	}
+
+	public int triggers() {
+		return triggers;
+	}
+
+	public int coalesced() {
+		return coalesced;
+	}
+
+	public int stolen() {
+		return stolen;
+	}
+
+	public int started() {
+		return started;
+	}
+
+	public float averageLatencyMillis() {
+		return started == 0 ? 0 : totalLatencyNanos / 1e6f / started;
+	}
+
+	public float maxLatencyMillis() {
+		return maxLatencyNanos / 1e6f;
+	}
+
+	/** A one-line summary of the triggers and their latency so far. */
+	public String report() {
+		return String.format(
+				"%d triggers, %d started (avg %.1f ms, max %.1f ms), "
+						+ "%d coalesced, %d voices stolen", triggers, started,
+				averageLatencyMillis(), maxLatencyMillis(), coalesced, stolen);
+	}
+}
@@ -0,0 +1,139 @@
+/*
+  Copyright 2015 Ball State University
+
+  This file is part of Collaboration Station.
+
+  Collaboration Station is free software: you can redistribute it
+  and/or modify it under the terms of the GNU General Public
+  License as published by the Free Software Foundation, either
+  version 3 of the License, or (at your option) any later version.
+
+  Collaboration Station is distributed in the hope that it will
+  be useful, but WITHOUT ANY WARRANTY; without even the implied
+  warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+  PURPOSE.  See the GNU General Public License for more details.
+
+  You should have received a copy of the GNU General Public
+  License along with Collaboration Station.  If not, see
+  <http://www.gnu.org/licenses/>.
+*/
+package edu.bsu.issgame.core.assetmgt;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+import static playn.core.PlayN.log;
+
+import java.util.Map;
+
+import playn.core.AssetWatcher;
+import react.RFuture;
+import react.RPromise;
+
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ListMultimap;
+import com.google.common.collect.Maps;
+
+/**
+ * Loads assets in stages of decreasing priority. A stage's assets are only
+ * requested once the stage before it has finished, so the assets the first
+ * screen needs get the whole loader pool to themselves, and everything else
+ * arrives in the background while that screen is already showing.
+ */
+public final class StagedAssetLoader {
+
+	public enum Priority {
+		/** Needed before the first interactive screen can be shown. */
+		CRITICAL,
+		/** Needed by the screens one step away from the first. */
+		HIGH,
+		/** Everything else. */
+		LOW
+	}
+
+	/**
+	 * A group of assets, requested when its stage starts. Since the game's
+	 * asset enums start loading as soon as they are touched, implementations
+	 * should not touch them any earlier than in {@link #addTo}.
+	 */
+	public interface Request {
+		void addTo(AssetWatcher watcher);
+	}
+
+	public static StagedAssetLoader create() {
+		return new StagedAssetLoader();
+	}
+
+	public static Request images(final LoadableImage... images) {
+		return new Request() {
+			@Override
+			public void addTo(AssetWatcher watcher) {
+				for (LoadableImage image : images) {
+					watcher.add(image.loadAsync());
+				}
+			}
+		};
+	}
+
+	private final ListMultimap<Priority, Request> requests = ArrayListMultimap
+			.create();
+	private final Map<Priority, RPromise<Void>> stages = Maps
+			.newEnumMap(Priority.class);
+	private boolean started;
+
+	private StagedAssetLoader() {
+		for (Priority priority : Priority.values()) {
+			stages.put(priority, RPromise.<Void> create());
+		}
+	}
+
+	public StagedAssetLoader add(Priority priority, Request request) {
+		checkState(!started, "Add requests before starting the loader");
+		requests.put(checkNotNull(priority), checkNotNull(request));
+		return this;
+	}
+
+	public StagedAssetLoader start() {
+		checkState(!started, "Loader was already started");
+		started = true;
+		startStage(0);
+		return this;
+	}
+
+	/** Completes when the stage has loaded, which is after every earlier one. */
+	public RFuture<Void> whenLoaded(Priority priority) {
+		return stages.get(priority);
+	}
+
+	private void startStage(final int ordinal) {
+		if (ordinal == Priority.values().length) {
+			return;
+		}
+		final Priority priority = Priority.values()[ordinal];
+		AssetWatcher watcher = new AssetWatcher(new AssetWatcher.Listener() {
+			private Throwable firstError;
+
+			@Override
+			public void error(Throwable e) {
+				log().warn("Could not load a " + priority + " asset: "
+						+ e.getMessage());
+				if (firstError == null) {
+					firstError = e;
+				}
+			}
+
+			@Override
+			public void done() {
+				if (firstError == null) {
+					stages.get(priority).succeed(null);
+				} else {
+					stages.get(priority).fail(firstError);
+				}
+				startStage(ordinal + 1);
+			}
+		});
+		for (Request request : requests.get(priority)) {
+			request.addTo(watcher);
+		}
+		watcher.start();
+	}
+}
@@ -0,0 +1,144 @@
+/*
+  Copyright 2015 Ball State University
+
+  This file is part of Collaboration Station.
+
+  Collaboration Station is free software: you can redistribute it
+  and/or modify it under the terms of the GNU General Public
+  License as published by the Free Software Foundation, either
+  version 3 of the License, or (at your option) any later version.
+
+  Collaboration Station is distributed in the hope that it will
+  be useful, but WITHOUT ANY WARRANTY; without even the implied
+  warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+  PURPOSE.  See the GNU General Public License for more details.
+
+  You should have received a copy of the GNU General Public
+  License along with Collaboration Station.  If not, see
+  <http://www.gnu.org/licenses/>.
+*/
+package edu.bsu.issgame.core.assetmgt;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static playn.core.PlayN.assets;
+import static playn.core.PlayN.log;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import playn.core.Image;
+import pythagoras.i.IRectangle;
+import pythagoras.i.Rectangle;
+
+import com.google.common.base.Splitter;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+
+/**
+ * The index of the atlas pages written by the desktop module's
+ * {@code AtlasPacker}. Each packed image path maps to a rectangle on one
+ * page, so the image can be handed out as a region of the page instead of
+ * being loaded on its own.
+ * <p>
+ * The index lists a page path on a line of its own, followed by one line per
+ * image on that page: its path, then x, y, width and height.
+ */
+public final class TextureAtlas {
+
+	public static final String DIRECTORY = "atlas";
+	public static final String INDEX = DIRECTORY + "/atlas.txt";
+
+	private static final TextureAtlas EMPTY = new TextureAtlas(
+			ImmutableMap.<String, Placement> of());
+
+	private static final class Placement {
+		private final String page;
+		private final IRectangle bounds;
+
+		private Placement(String page, IRectangle bounds) {
+			this.page = page;
+			this.bounds = bounds;
+		}
+	}
+
+	public static TextureAtlas empty() {
+		return EMPTY;
+	}
+
+	public static TextureAtlas load() {
+		try {
+			return parse(assets().getTextSync(INDEX));
+		} catch (Exception e) {
+			log().warn("No texture atlas, loading images one by one: "
+					+ e.getMessage());
+			return EMPTY;
+		}
+	}
+
+	public static TextureAtlas parse(String index) {
+		ImmutableMap.Builder<String, Placement> placements = ImmutableMap
+				.builder();
+		String page = null;
+		Splitter fields = Splitter.on(' ').omitEmptyStrings();
+		for (String line : Splitter.on('\n').trimResults().omitEmptyStrings()
+				.split(index)) {
+			if (line.startsWith("#")) {
+				continue;
+			}
+			List<String> parts = fields.splitToList(line);
+			if (parts.size() == 1) {
+				page = parts.get(0);
+				continue;
+			}
+			checkArgument(parts.size() == 5, "Bad atlas line: %s", line);
+			checkArgument(page != null, "Atlas entry before any page: %s",
+					line);
+			placements.put(parts.get(0), new Placement(page, new Rectangle(
+					Integer.parseInt(parts.get(1)), Integer.parseInt(parts
+							.get(2)), Integer.parseInt(parts.get(3)), Integer
+							.parseInt(parts.get(4)))));
+		}
+		return new TextureAtlas(placements.build());
+	}
+
+	private final Map<String, Placement> placements;
+
+	private TextureAtlas(Map<String, Placement> placements) {
+		this.placements = placements;
+	}
+
+	public boolean contains(String path) {
+		return placements.containsKey(path);
+	}
+
+	public String pageOf(String path) {
+		return placementOf(path).page;
+	}
+
+	public IRectangle boundsOf(String path) {
+		return placementOf(path).bounds;
+	}
+
+	/** Cuts the image at the path out of its already loaded page. */
+	public Image.Region regionOf(String path, Image page) {
+		IRectangle bounds = placementOf(path).bounds;
+		return page.subImage(bounds.x(), bounds.y(), bounds.width(),
+				bounds.height());
+	}
+
+	public Set<String> pages() {
+		ImmutableSet.Builder<String> pages = ImmutableSet.builder();
+		for (Placement placement : placements.values()) {
+			pages.add(placement.page);
+		}
+		return pages.build();
+	}
+
+	private Placement placementOf(String path) {
+		Placement placement = placements.get(checkNotNull(path));
+		checkArgument(placement != null, "%s is not in the atlas", path);
+		return placement;
+	}
+}
@@ -136,7 +136,7 @@ public class Card {
 	}
 
 	public void playFlipSound() {
-		GameSound.CARD_FLIP.sound.play();
+		GameSound.CARD_FLIP.play();
 	}
 
 	public boolean isMatch(Card cardToMatch) {
@@ -19,8 +19,8 @@
 */
 package edu.bsu.issgame.core.cardmatch;
 
-import static playn.core.PlayN.assets;
 import playn.core.Image;
+import edu.bsu.issgame.core.assetmgt.AssetRegistry;
 
 public enum CardType {
 	BUTTERFLY("butterfly_carddesign.png"), //
@@ -37,7 +37,7 @@ public enum CardType {
 	public final Image image;
 
 	private CardType(String path) {
-		this.image = assets().getImage("images/cards/" + path);
+		this.image = AssetRegistry.instance().image("images/cards/" + path);
 	}
 
 }
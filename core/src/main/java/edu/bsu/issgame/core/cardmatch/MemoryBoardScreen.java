@@ -29,6 +29,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Random;
 
 import playn.core.Pointer;
 import playn.core.Pointer.Event;
@@ -47,10 +48,11 @@ import com.google.common.collect.Lists;
 
 import edu.bsu.issgame.core.AbstractGameScreen;
 import edu.bsu.issgame.core.CommonGameScreenUI;
-import edu.bsu.issgame.core.GameImage;
 import edu.bsu.issgame.core.GameSound;
 import edu.bsu.issgame.core.MinigameType;
 import edu.bsu.issgame.core.Settings;
+import edu.bsu.issgame.core.assetmgt.LoadableImage;
+import edu.bsu.issgame.core.util.BoardPool;
 
 public final class MemoryBoardScreen extends CommonGameScreenUI {
 
@@ -80,6 +82,9 @@ public final class MemoryBoardScreen extends CommonGameScreenUI {
 	private Map<Card, Registration> cardToRegistrationMap = new HashMap<Card, Registration>();
 	private MemoryBoardScreen nextBoard;
 	private AnimationTracker animationTracker = new AnimationTracker();
+	private final BoardPool<List<CardType>> dealPool = new BoardPool<List<CardType>>(
+			"Memory deals", new DealGenerator(isRandomizedBoard()),
+			new Random().nextLong());
 
 	private State state;
 
@@ -98,7 +103,7 @@ public final class MemoryBoardScreen extends CommonGameScreenUI {
 
 	public MemoryBoardScreen(Builder builder) {
 		super(builder.previous);
-		setBackground(GameImage.MEMORY_BOARD_BACKGROUND.image);
+		setBackground(LoadableImage.MEMORY_BOARD_BACKGROUND);
 		configureGameScreen();
 		enterState(allCardsFaceDownState);
 	}
@@ -116,12 +121,8 @@ public final class MemoryBoardScreen extends CommonGameScreenUI {
 
 	private void initCardList() {
 		listOfAllCards.clear();
-		for (int i = 0; i < ROWS * COLUMNS / 2; i++) {
-			listOfAllCards.add(new Card(CardType.values()[i], anim, CARD_SIZE));
-			listOfAllCards.add(new Card(CardType.values()[i], anim, CARD_SIZE));
-		}
-		if (isRandomizedBoard()) {
-			Collections.shuffle(listOfAllCards);
+		for (CardType type : dealPool.take()) {
+			listOfAllCards.add(new Card(type, anim, CARD_SIZE));
 		}
 	}
 
@@ -197,14 +198,14 @@ public final class MemoryBoardScreen extends CommonGameScreenUI {
 		onMatch.emit(match);
 		removeMatchedCardsFromPlay();
 		incrementScore();
-		GameSound.SUCCESS.sound.play();
+		GameSound.SUCCESS.play();
 		if (cardToRegistrationMap.isEmpty()) {
 			handleFinishedBoard();
 		}
 	}
 
 	private void handleFinishedBoard() {
-		GameSound.MEMORY_BOARD_COMPLETE.sound.play();
+		GameSound.MEMORY_BOARD_COMPLETE.play();
 		repopulateBoard();	
 	}
 
@@ -247,7 +248,7 @@ public final class MemoryBoardScreen extends CommonGameScreenUI {
 			RFuture<Card> animFuture = secondCard.flip();
 			animationTracker.track(animFuture);
 		}
-		GameSound.CARD_MATCH_FAILURE.sound.play();
+		GameSound.CARD_MATCH_FAILURE.play();
 	}
 
 	private void resetCardsToMatch() {
@@ -483,4 +484,43 @@ public final class MemoryBoardScreen extends CommonGameScreenUI {
 		super.wasHidden();
 		pointer().setListener(null);
 	}
+
+	@Override
+	public void wasAdded() {
+		super.wasAdded();
+		dealPool.start();
+	}
+
+	@Override
+	public void wasRemoved() {
+		super.wasRemoved();
+		dealPool.stop();
+	}
+
+	/**
+	 * Deals the pairs of cards for a board, in reading order. The cards
+	 * themselves are made on the game thread.
+	 */
+	private static final class DealGenerator implements
+			BoardPool.Generator<List<CardType>> {
+		private final boolean shuffled;
+
+		private DealGenerator(boolean shuffled) {
+			this.shuffled = shuffled;
+		}
+
+		@Override
+		public List<CardType> generate(int index, long seed) {
+			List<CardType> deal = Lists.newArrayListWithCapacity(ROWS
+					* COLUMNS);
+			for (int i = 0; i < ROWS * COLUMNS / 2; i++) {
+				deal.add(CardType.values()[i]);
+				deal.add(CardType.values()[i]);
+			}
+			if (shuffled) {
+				Collections.shuffle(deal, new Random(seed));
+			}
+			return deal;
+		}
+	}
 }
@@ -0,0 +1,46 @@
+/*
+  Copyright 2015 Ball State University
+
+  This file is part of Collaboration Station.
+
+  Collaboration Station is free software: you can redistribute it
+  and/or modify it under the terms of the GNU General Public
+  License as published by the Free Software Foundation, either
+  version 3 of the License, or (at your option) any later version.
+
+  Collaboration Station is distributed in the hope that it will
+  be useful, but WITHOUT ANY WARRANTY; without even the implied
+  warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+  PURPOSE.  See the GNU General Public License for more details.
+
+  You should have received a copy of the GNU General Public
+  License along with Collaboration Station.  If not, see
+  <http://www.gnu.org/licenses/>.
+*/
+package edu.bsu.issgame.core.net;
+
+import static playn.core.PlayN.log;
+
+/**
+ * Warns about messages that arrive where they are not expected. Ping
+ * acknowledgements are ignored, since they may arrive in any state.
+ */
+public final class CautiousHandler implements
+		MessageDispatcher.Handler<Message, Object> {
+
+	private static final CautiousHandler INSTANCE = new CautiousHandler();
+
+	public static CautiousHandler instance() {
+		return INSTANCE;
+	}
+
+	private CautiousHandler() {
+	}
+
+	@Override
+	public void handle(Message message, Object context) {
+		if (message.type() != MessageType.PING_ACK) {
+			log().warn("Unexpected message: " + message);
+		}
+	}
+}
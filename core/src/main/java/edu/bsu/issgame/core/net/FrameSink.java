@@ -0,0 +1,33 @@
+/*
+  Copyright 2015 Ball State University
+
+  This file is part of Collaboration Station.
+
+  Collaboration Station is free software: you can redistribute it
+  and/or modify it under the terms of the GNU General Public
+  License as published by the Free Software Foundation, either
+  version 3 of the License, or (at your option) any later version.
+
+  Collaboration Station is distributed in the hope that it will
+  be useful, but WITHOUT ANY WARRANTY; without even the implied
+  warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+  PURPOSE.  See the GNU General Public License for more details.
+
+  You should have received a copy of the GNU General Public
+  License along with Collaboration Station.  If not, see
+  <http://www.gnu.org/licenses/>.
+*/
+package edu.bsu.issgame.core.net;
+
+import java.io.IOException;
+
+/**
+ * A {@link MessageSink} that can write a message already encoded by
+ * {@link MessageCodec#encode(Message)}. This lets the server encode a
+ * broadcast once and share the same bytes among every connection. Frames
+ * are shared, so implementations must not modify them.
+ */
+public interface FrameSink extends MessageSink {
+
+	void sendFrame(byte[] frame) throws IOException;
+}
@@ -0,0 +1,115 @@
+/*
+  Copyright 2015 Ball State University
+
+  This file is part of Collaboration Station.
+
+  Collaboration Station is free software: you can redistribute it
+  and/or modify it under the terms of the GNU General Public
+  License as published by the Free Software Foundation, either
+  version 3 of the License, or (at your option) any later version.
+
+  Collaboration Station is distributed in the hope that it will
+  be useful, but WITHOUT ANY WARRANTY; without even the implied
+  warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+  PURPOSE.  See the GNU General Public License for more details.
+
+  You should have received a copy of the GNU General Public
+  License along with Collaboration Station.  If not, see
+  <http://www.gnu.org/licenses/>.
+*/
+package edu.bsu.issgame.core.net;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static playn.core.PlayN.log;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.StreamCorruptedException;
+import java.net.Socket;
+
+/**
+ * A {@link MessageIO} that writes each message as a length-prefixed frame
+ * produced by {@link MessageCodec}. Unlike {@link MessageIO.SocketAdapter},
+ * there is no stream header to exchange, so both ends can be set up in any
+ * order.
+ */
+public final class FramedMessageIO implements MessageIO, FrameSink {
+
+	public static final int MAX_FRAME_LENGTH = 1 << 16;
+
+	public static FramedMessageIO overSocket(final Socket socket)
+			throws IOException {
+		return overStreams(socket.getInputStream(), socket.getOutputStream(),
+				new Closeable() {
+					@Override
+					public void close() throws IOException {
+						socket.close();
+					}
+				});
+	}
+
+	public static FramedMessageIO overStreams(InputStream in,
+			OutputStream out, Closeable connection) {
+		return new FramedMessageIO(in, out, connection);
+	}
+
+	private final DataInputStream in;
+	private final DataOutputStream out;
+	private final Closeable connection;
+	private final MessageCodec codec = MessageCodec.instance();
+
+	private FramedMessageIO(InputStream in, OutputStream out,
+			Closeable connection) {
+		this.in = new DataInputStream(new BufferedInputStream(checkNotNull(in)));
+		this.out = new DataOutputStream(new BufferedOutputStream(
+				checkNotNull(out)));
+		this.connection = checkNotNull(connection);
+	}
+
+	@Override
+	public Message read() throws IOException {
+		int length = in.readInt();
+		if (length <= 0 || length > MAX_FRAME_LENGTH) {
+			throw new StreamCorruptedException("Bad frame length: " + length);
+		}
+		byte[] frame = new byte[length];
+		in.readFully(frame);
+		return codec.decode(frame);
+	}
+
+	@Override
+	public MessageIO send(Message message) throws IOException {
+		sendFrame(codec.encode(message));
+		return this;
+	}
+
+	@Override
+	public void sendFrame(byte[] frame) throws IOException {
+		synchronized (out) {
+			out.writeInt(frame.length);
+			out.write(frame);
+			out.flush();
+		}
+	}
+
+	@Override
+	public void cancel() {
+		try {
+			connection.close();
+		} catch (IOException e) {
+			log().warn("Problem closing connection: " + e.getMessage());
+			e.printStackTrace();
+		}
+	}
+
+	@Override
+	public boolean isNetworked() {
+		return true;
+	}
+}
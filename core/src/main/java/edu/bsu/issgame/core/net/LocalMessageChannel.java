@@ -0,0 +1,205 @@
+/*
+  Copyright 2015 Ball State University
+
+  This file is part of Collaboration Station.
+
+  Collaboration Station is free software: you can redistribute it
+  and/or modify it under the terms of the GNU General Public
+  License as published by the Free Software Foundation, either
+  version 3 of the License, or (at your option) any later version.
+
+  Collaboration Station is distributed in the hope that it will
+  be useful, but WITHOUT ANY WARRANTY; without even the implied
+  warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+  PURPOSE.  See the GNU General Public License for more details.
+
+  You should have received a copy of the GNU General Public
+  License along with Collaboration Station.  If not, see
+  <http://www.gnu.org/licenses/>.
+*/
+package edu.bsu.issgame.core.net;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.collect.Queues;
+
+import edu.bsu.issgame.core.PlayerMinigameMap;
+import edu.bsu.issgame.core.Score;
+import edu.bsu.issgame.core.Scoreboard;
+import edu.bsu.issgame.core.net.Message.RequestStartScenario;
+import edu.bsu.issgame.core.net.Message.ScenarioFinishedInFailure;
+import edu.bsu.issgame.core.net.Message.ScenarioFinishedSuccesfullyEndingMission;
+import edu.bsu.issgame.core.net.Message.ScenarioFinishedWithSuccess;
+import edu.bsu.issgame.core.net.Message.StartScenario;
+import edu.bsu.issgame.core.util.BlockingReadOperationInterruptedException;
+
+/**
+ * Connects two {@link MessageIO}s in the same process by handing message
+ * references across bounded queues, with no serialization. The only mutable
+ * message contents, {@link PlayerMinigameMap} and {@link Scoreboard}, are
+ * copied on send unless copying is turned off, so that neither end sees the
+ * other's later changes.
+ * <p>
+ * Like {@link MessageIOPump}, cancelling an end interrupts its blocked
+ * reader, which then throws {@link BlockingReadOperationInterruptedException};
+ * so does every later read. A send fails once the other end is cancelled,
+ * or when the other end has left its queue full for
+ * {@link #DEFAULT_SEND_TIMEOUT_MS}, so a stalled reader cannot block the
+ * sender forever.
+ */
+public final class LocalMessageChannel {
+
+	public static final int DEFAULT_CAPACITY = 64;
+	public static final long DEFAULT_SEND_TIMEOUT_MS = 5000;
+
+	public static LocalMessageChannel withoutDefensiveCopies() {
+		return new LocalMessageChannel(DEFAULT_CAPACITY, false);
+	}
+
+	public final Endpoint a;
+	public final Endpoint b;
+	private final boolean defensiveCopies;
+	private final long sendTimeoutMs;
+
+	public LocalMessageChannel() {
+		this(DEFAULT_CAPACITY, true);
+	}
+
+	public LocalMessageChannel(int capacity, boolean defensiveCopies) {
+		this(capacity, defensiveCopies, DEFAULT_SEND_TIMEOUT_MS);
+	}
+
+	public LocalMessageChannel(int capacity, boolean defensiveCopies,
+			long sendTimeoutMs) {
+		checkArgument(capacity > 0, "Capacity must be positive: %s", capacity);
+		checkArgument(sendTimeoutMs >= 0, "Negative send timeout: %s",
+				sendTimeoutMs);
+		this.defensiveCopies = defensiveCopies;
+		this.sendTimeoutMs = sendTimeoutMs;
+		BlockingQueue<Message> toB = Queues.newArrayBlockingQueue(capacity);
+		BlockingQueue<Message> toA = Queues.newArrayBlockingQueue(capacity);
+		a = new Endpoint(toA, toB);
+		b = new Endpoint(toB, toA);
+		a.peer = b;
+		b.peer = a;
+	}
+
+	public final class Endpoint implements MessageIO {
+
+		private final BlockingQueue<Message> inbox;
+		private final BlockingQueue<Message> outbox;
+		private volatile Thread readingThread;
+		private volatile boolean cancelled;
+		private Endpoint peer;
+
+		private Endpoint(BlockingQueue<Message> inbox,
+				BlockingQueue<Message> outbox) {
+			this.inbox = inbox;
+			this.outbox = outbox;
+		}
+
+		@Override
+		public Message read() throws IOException {
+			readingThread = Thread.currentThread();
+			try {
+				// Checked after the thread is published so that a cancel
+				// either sees the reader to interrupt or is seen here.
+				if (cancelled) {
+					throw new BlockingReadOperationInterruptedException();
+				}
+				Message message = inbox.take();
+				if (cancelled) {
+					throw new BlockingReadOperationInterruptedException();
+				}
+				return message;
+			} catch (InterruptedException e) {
+				throw new BlockingReadOperationInterruptedException();
+			} finally {
+				readingThread = null;
+			}
+		}
+
+		@Override
+		public MessageIO send(Message message) throws IOException {
+			checkNotNull(message);
+			if (peer.cancelled) {
+				throw new IOException("The other end was cancelled.");
+			}
+			try {
+				if (!outbox.offer(defensiveCopies ? copyMutableParts(message)
+						: message, sendTimeoutMs, TimeUnit.MILLISECONDS)) {
+					throw new IOException("The other end stopped reading.");
+				}
+			} catch (InterruptedException e) {
+				throw new InterruptedIOException(
+						"Interrupted while waiting for queue space.");
+			}
+			return this;
+		}
+
+		@Override
+		public void cancel() {
+			cancelled = true;
+			Thread thread = readingThread;
+			if (thread != null) {
+				thread.interrupt();
+			}
+		}
+
+		@Override
+		public boolean isNetworked() {
+			return false;
+		}
+	}
+
+	public void stop() {
+		a.cancel();
+		b.cancel();
+	}
+
+	static Message copyMutableParts(Message message) {
+		if (message instanceof RequestStartScenario) {
+			return new RequestStartScenario(
+					copy(((RequestStartScenario) message).map));
+		} else if (message instanceof StartScenario) {
+			return new StartScenario(new RequestStartScenario(
+					copy(((StartScenario) message).map)));
+		} else if (message instanceof ScenarioFinishedWithSuccess) {
+			ScenarioFinishedWithSuccess finished = (ScenarioFinishedWithSuccess) message;
+			return new ScenarioFinishedWithSuccess(copy(finished.scoreboard),
+					finished.nextScenario);
+		} else if (message instanceof ScenarioFinishedSuccesfullyEndingMission) {
+			ScenarioFinishedSuccesfullyEndingMission finished = (ScenarioFinishedSuccesfullyEndingMission) message;
+			return new ScenarioFinishedSuccesfullyEndingMission(
+					copy(finished.scoreboard), finished.conclusion);
+		} else if (message instanceof ScenarioFinishedInFailure) {
+			return new ScenarioFinishedInFailure(
+					copy(((ScenarioFinishedInFailure) message).scoreboard));
+		}
+		return message;
+	}
+
+	private static PlayerMinigameMap copy(PlayerMinigameMap map) {
+		PlayerMinigameMap copy = new PlayerMinigameMap();
+		copy.putAll(map);
+		return copy;
+	}
+
+	private static Scoreboard copy(Scoreboard scoreboard) {
+		if (scoreboard == null) {
+			return null;
+		}
+		Scoreboard copy = new Scoreboard();
+		for (Map.Entry<ClientId, Score> entry : scoreboard.entries()) {
+			copy.put(entry.getKey(), entry.getValue());
+		}
+		return copy;
+	}
+}
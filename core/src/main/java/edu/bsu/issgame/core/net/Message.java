@@ -40,132 +40,10 @@ public interface Message extends Serializable {
 		TRACE, DEBUG
 	};
 
-	void accept(Visitor visitor, Object... args);
+	MessageType type();
 
 	LogVerbosityLevel logVerbosityLevel();
 
-	public interface Visitor {
-		void visit(Hello hello, Object... args);
-
-		void visit(Introduce introduce, Object... args);
-
-		void visit(VersionMismatch versionMismatch, Object... args);
-
-		void visit(Welcome welcome, Object... args);
-
-		void visit(StartMission startGame, Object... args);
-
-		void visit(RequestStartGame request, Object... args);
-
-		void visit(RequestStartScenario request, Object... args);
-
-		void visit(StartScenario startScenario, Object... args);
-
-		void visit(ReportScore reportScore, Object... args);
-
-		void visit(ScenarioFinishedWithSuccess scenarioFinished, Object... args);
-
-		void visit(ServerGoingDown serverGoingDown, Object... args);
-
-		void visit(ScenarioFinishedSuccesfullyEndingMission finished,
-				Object... args);
-
-		void visit(ScenarioFinishedInFailure failure, Object... args);
-
-		void visit(AdvanceToScenarioSetup advanceToScenarioSetup,
-				Object... args);
-
-		void visit(RequestAdvanceToScenarioSetup requestAdvanceToScenarioSetup,
-				Object... args);
-
-		void visit(Ping ping, Object... args);
-
-		void visit(PingAck pingAck, Object... args);
-
-		void visit(RequestStartMission requestStartMission, Object... args);
-
-		public static abstract class Adapter implements Visitor {
-			@Override
-			public void visit(Hello hello, Object... args) {
-			}
-
-			@Override
-			public void visit(Introduce introduce, Object... args) {
-			}
-
-			@Override
-			public void visit(VersionMismatch versionMismatch, Object... args) {
-			}
-
-			@Override
-			public void visit(Welcome welcome, Object... args) {
-			}
-
-			@Override
-			public void visit(StartMission startGame, Object... args) {
-			}
-
-			@Override
-			public void visit(RequestStartGame request, Object... args) {
-			}
-
-			@Override
-			public void visit(
-					RequestAdvanceToScenarioSetup requestAdvanceToScenarioSetup,
-					Object... args) {
-			}
-
-			@Override
-			public void visit(AdvanceToScenarioSetup advanceToScenarioSetup,
-					Object... args) {
-			}
-
-			@Override
-			public void visit(RequestStartScenario request, Object... args) {
-			}
-
-			@Override
-			public void visit(StartScenario startScenario, Object... args) {
-			}
-
-			@Override
-			public void visit(ReportScore reportScore, Object... args) {
-			}
-
-			@Override
-			public void visit(ScenarioFinishedWithSuccess scenarioFinished,
-					Object... args) {
-			}
-
-			@Override
-			public void visit(ServerGoingDown serverGoingDown, Object... args) {
-			}
-
-			@Override
-			public void visit(
-					ScenarioFinishedSuccesfullyEndingMission finished,
-					Object... args) {
-			}
-
-			@Override
-			public void visit(ScenarioFinishedInFailure failure, Object... args) {
-			}
-
-			@Override
-			public void visit(Ping ping, Object... args) {
-			}
-
-			@Override
-			public void visit(PingAck pingAck, Object... args) {
-			}
-
-			@Override
-			public void visit(RequestStartMission requestStartMission,
-					Object... args) {
-			}
-		}
-	}
-
 	public static abstract class AbstractMessage implements Message {
 		private static final long serialVersionUID = 6344952606000815190L;
 
@@ -187,8 +65,8 @@ public interface Message extends Serializable {
 		}
 
 		@Override
-		public void accept(Visitor visitor, Object... args) {
-			visitor.visit(this, args);
+		public MessageType type() {
+			return MessageType.HELLO;
 		}
 
 		@Override
@@ -209,8 +87,8 @@ public interface Message extends Serializable {
 		}
 
 		@Override
-		public void accept(Visitor visitor, Object... args) {
-			visitor.visit(this, args);
+		public MessageType type() {
+			return MessageType.INTRODUCE;
 		}
 
 		@Override
@@ -225,8 +103,8 @@ public interface Message extends Serializable {
 		private static final long serialVersionUID = -511714198979169124L;
 
 		@Override
-		public void accept(Visitor visitor, Object... args) {
-			visitor.visit(this, args);
+		public MessageType type() {
+			return MessageType.VERSION_MISMATCH;
 		}
 
 	}
@@ -241,8 +119,8 @@ public interface Message extends Serializable {
 		}
 
 		@Override
-		public void accept(Visitor visitor, Object... args) {
-			visitor.visit(this, args);
+		public MessageType type() {
+			return MessageType.WELCOME;
 		}
 
 		@Override
@@ -263,8 +141,8 @@ public interface Message extends Serializable {
 		}
 
 		@Override
-		public void accept(Visitor visitor, Object... args) {
-			visitor.visit(this, args);
+		public MessageType type() {
+			return MessageType.START_MISSION;
 		}
 	}
 
@@ -272,8 +150,8 @@ public interface Message extends Serializable {
 		private static final long serialVersionUID = -6423844681458844975L;
 
 		@Override
-		public void accept(Visitor visitor, Object... args) {
-			visitor.visit(this, args);
+		public MessageType type() {
+			return MessageType.REQUEST_START_GAME;
 		}
 
 	}
@@ -287,8 +165,8 @@ public interface Message extends Serializable {
 		}
 
 		@Override
-		public void accept(Visitor visitor, Object... args) {
-			visitor.visit(this, args);
+		public MessageType type() {
+			return MessageType.REQUEST_START_SCENARIO;
 		}
 	}
 
@@ -303,8 +181,8 @@ public interface Message extends Serializable {
 		}
 
 		@Override
-		public void accept(Visitor visitor, Object... args) {
-			visitor.visit(this, args);
+		public MessageType type() {
+			return MessageType.START_SCENARIO;
 		}
 	}
 
@@ -318,8 +196,8 @@ public interface Message extends Serializable {
 		}
 
 		@Override
-		public void accept(Visitor visitor, Object... args) {
-			visitor.visit(this, args);
+		public MessageType type() {
+			return MessageType.REPORT_SCORE;
 		}
 
 		@Override
@@ -344,8 +222,8 @@ public interface Message extends Serializable {
 		}
 
 		@Override
-		public void accept(Visitor visitor, Object... args) {
-			visitor.visit(this, args);
+		public MessageType type() {
+			return MessageType.SCENARIO_FINISHED_WITH_SUCCESS;
 		}
 
 		@Override
@@ -360,8 +238,8 @@ public interface Message extends Serializable {
 		private static final long serialVersionUID = -3663667177449713032L;
 
 		@Override
-		public void accept(Visitor visitor, Object... args) {
-			visitor.visit(this, args);
+		public MessageType type() {
+			return MessageType.SERVER_GOING_DOWN;
 		}
 	}
 
@@ -379,8 +257,8 @@ public interface Message extends Serializable {
 		}
 
 		@Override
-		public void accept(Visitor visitor, Object... args) {
-			visitor.visit(this, args);
+		public MessageType type() {
+			return MessageType.SCENARIO_FINISHED_ENDING_MISSION;
 		}
 
 	}
@@ -395,8 +273,8 @@ public interface Message extends Serializable {
 		}
 
 		@Override
-		public void accept(Visitor visitor, Object... args) {
-			visitor.visit(this, args);
+		public MessageType type() {
+			return MessageType.SCENARIO_FINISHED_IN_FAILURE;
 		}
 
 	}
@@ -411,8 +289,8 @@ public interface Message extends Serializable {
 		}
 
 		@Override
-		public void accept(Visitor visitor, Object... args) {
-			visitor.visit(this, args);
+		public MessageType type() {
+			return MessageType.ADVANCE_TO_SCENARIO_SETUP;
 		}
 	}
 
@@ -420,23 +298,32 @@ public interface Message extends Serializable {
 		private static final long serialVersionUID = -1498997600871505715L;
 
 		@Override
-		public void accept(Visitor visitor, Object... args) {
-			visitor.visit(this, args);
+		public MessageType type() {
+			return MessageType.REQUEST_ADVANCE_TO_SCENARIO_SETUP;
 		}
 	}
 
 	public static class Ping extends AbstractMessage {
 		private static final long serialVersionUID = 1597341118791556045L;
 
-		private static final Ping INSTANCE = new Ping();
+		public static Ping sentNow() {
+			return new Ping(System.nanoTime());
+		}
 
-		public static Message instance() {
-			return INSTANCE;
+		/**
+		 * The sender's {@link System#nanoTime()} when the ping was sent. It
+		 * only means something to the sender, which gets it back in the
+		 * {@link PingAck}.
+		 */
+		public final long sentAtNanos;
+
+		public Ping(long sentAtNanos) {
+			this.sentAtNanos = sentAtNanos;
 		}
 
 		@Override
-		public void accept(Visitor visitor, Object... args) {
-			visitor.visit(this, args);
+		public MessageType type() {
+			return MessageType.PING;
 		}
 
 		@Override
@@ -448,15 +335,19 @@ public interface Message extends Serializable {
 	public static class PingAck extends AbstractMessage {
 		private static final long serialVersionUID = -6410482104397228003L;
 
-		private static final PingAck INSTANCE = new PingAck();
+		public static PingAck acknowledging(Ping ping) {
+			return new PingAck(ping.sentAtNanos);
+		}
 
-		public static PingAck instance() {
-			return INSTANCE;
+		public final long pingSentAtNanos;
+
+		public PingAck(long pingSentAtNanos) {
+			this.pingSentAtNanos = pingSentAtNanos;
 		}
 
 		@Override
-		public void accept(Visitor visitor, Object... args) {
-			visitor.visit(this, args);
+		public MessageType type() {
+			return MessageType.PING_ACK;
 		}
 
 		@Override
@@ -475,8 +366,8 @@ public interface Message extends Serializable {
 		}
 
 		@Override
-		public void accept(Visitor visitor, Object... args) {
-			visitor.visit(this, args);
+		public MessageType type() {
+			return MessageType.REQUEST_START_MISSION;
 		}
 
 	}
@@ -0,0 +1,424 @@
+/*
+  Copyright 2015 Ball State University
+
+  This file is part of Collaboration Station.
+
+  Collaboration Station is free software: you can redistribute it
+  and/or modify it under the terms of the GNU General Public
+  License as published by the Free Software Foundation, either
+  version 3 of the License, or (at your option) any later version.
+
+  Collaboration Station is distributed in the hope that it will
+  be useful, but WITHOUT ANY WARRANTY; without even the implied
+  warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+  PURPOSE.  See the GNU General Public License for more details.
+
+  You should have received a copy of the GNU General Public
+  License along with Collaboration Station.  If not, see
+  <http://www.gnu.org/licenses/>.
+*/
+package edu.bsu.issgame.core.net;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import com.google.common.collect.Lists;
+
+import edu.bsu.issgame.core.Country;
+import edu.bsu.issgame.core.MinigameType;
+import edu.bsu.issgame.core.PlayerMinigameMap;
+import edu.bsu.issgame.core.Score;
+import edu.bsu.issgame.core.Scoreboard;
+import edu.bsu.issgame.core.assetmgt.Jukebox.Track;
+import edu.bsu.issgame.core.mission.Exposition;
+import edu.bsu.issgame.core.mission.RoleBasedExposition;
+import edu.bsu.issgame.core.mission.Scenario;
+import edu.bsu.issgame.core.mission.TextExposition;
+import edu.bsu.issgame.core.net.Message.AdvanceToScenarioSetup;
+import edu.bsu.issgame.core.net.Message.Hello;
+import edu.bsu.issgame.core.net.Message.Introduce;
+import edu.bsu.issgame.core.net.Message.Ping;
+import edu.bsu.issgame.core.net.Message.PingAck;
+import edu.bsu.issgame.core.net.Message.ReportScore;
+import edu.bsu.issgame.core.net.Message.RequestAdvanceToScenarioSetup;
+import edu.bsu.issgame.core.net.Message.RequestStartGame;
+import edu.bsu.issgame.core.net.Message.RequestStartMission;
+import edu.bsu.issgame.core.net.Message.RequestStartScenario;
+import edu.bsu.issgame.core.net.Message.ScenarioFinishedInFailure;
+import edu.bsu.issgame.core.net.Message.ScenarioFinishedSuccesfullyEndingMission;
+import edu.bsu.issgame.core.net.Message.ScenarioFinishedWithSuccess;
+import edu.bsu.issgame.core.net.Message.ServerGoingDown;
+import edu.bsu.issgame.core.net.Message.StartMission;
+import edu.bsu.issgame.core.net.Message.StartScenario;
+import edu.bsu.issgame.core.net.Message.VersionMismatch;
+import edu.bsu.issgame.core.net.Message.Welcome;
+
+/**
+ * Hand-written binary encoding of {@link Message}s. Every message starts with
+ * a one-byte type tag followed by its fields, written explicitly rather than
+ * reflectively. Enumerations are written by ordinal, so both ends must be
+ * running the same version of the game; that is already enforced by the
+ * version code in {@link Hello}.
+ */
+public final class MessageCodec {
+
+	private static final byte HELLO = 1;
+	private static final byte INTRODUCE = 2;
+	private static final byte VERSION_MISMATCH = 3;
+	private static final byte WELCOME = 4;
+	private static final byte START_MISSION = 5;
+	private static final byte REQUEST_START_GAME = 6;
+	private static final byte REQUEST_START_SCENARIO = 7;
+	private static final byte START_SCENARIO = 8;
+	private static final byte REPORT_SCORE = 9;
+	private static final byte SCENARIO_FINISHED_WITH_SUCCESS = 10;
+	private static final byte SERVER_GOING_DOWN = 11;
+	private static final byte SCENARIO_FINISHED_ENDING_MISSION = 12;
+	private static final byte SCENARIO_FINISHED_IN_FAILURE = 13;
+	private static final byte ADVANCE_TO_SCENARIO_SETUP = 14;
+	private static final byte REQUEST_ADVANCE_TO_SCENARIO_SETUP = 15;
+	private static final byte PING = 16;
+	private static final byte PING_ACK = 17;
+	private static final byte REQUEST_START_MISSION = 18;
+
+	private static final byte TEXT_EXPOSITION = 0;
+	private static final byte ROLE_BASED_EXPOSITION = 1;
+
+	private static final MessageCodec INSTANCE = new MessageCodec();
+
+	public static MessageCodec instance() {
+		return INSTANCE;
+	}
+
+	private MessageCodec() {
+	}
+
+	public byte[] encode(Message message) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+		encode(message, new DataOutputStream(bytes));
+		return bytes.toByteArray();
+	}
+
+	public void encode(Message message, DataOutput out) throws IOException {
+		checkNotNull(message);
+		switch (message.type()) {
+		case HELLO:
+			Hello hello = (Hello) message;
+			out.writeByte(HELLO);
+			out.writeUTF(hello.expeditionName);
+			out.writeInt(hello.verisonCode);
+			break;
+		case INTRODUCE:
+			out.writeByte(INTRODUCE);
+			writeUUID(((Introduce) message).uuid, out);
+			break;
+		case VERSION_MISMATCH:
+			out.writeByte(VERSION_MISMATCH);
+			break;
+		case WELCOME:
+			Welcome welcome = (Welcome) message;
+			out.writeByte(WELCOME);
+			out.writeShort(welcome.clients.size());
+			for (ClientId id : welcome.clients) {
+				writeClientId(id, out);
+			}
+			break;
+		case START_MISSION:
+			out.writeByte(START_MISSION);
+			writeExposition(((StartMission) message).introduction, out);
+			break;
+		case REQUEST_START_GAME:
+			out.writeByte(REQUEST_START_GAME);
+			break;
+		case REQUEST_START_SCENARIO:
+			out.writeByte(REQUEST_START_SCENARIO);
+			writePlayerMinigameMap(((RequestStartScenario) message).map, out);
+			break;
+		case START_SCENARIO:
+			out.writeByte(START_SCENARIO);
+			writePlayerMinigameMap(((StartScenario) message).map, out);
+			break;
+		case REPORT_SCORE:
+			out.writeByte(REPORT_SCORE);
+			writeNullableScore(((ReportScore) message).score, out);
+			break;
+		case SCENARIO_FINISHED_WITH_SUCCESS:
+			ScenarioFinishedWithSuccess scenarioFinished = (ScenarioFinishedWithSuccess) message;
+			out.writeByte(SCENARIO_FINISHED_WITH_SUCCESS);
+			writeNullableScoreboard(scenarioFinished.scoreboard, out);
+			writeNullableScenario(scenarioFinished.nextScenario, out);
+			break;
+		case SERVER_GOING_DOWN:
+			out.writeByte(SERVER_GOING_DOWN);
+			break;
+		case SCENARIO_FINISHED_ENDING_MISSION:
+			ScenarioFinishedSuccesfullyEndingMission finished = (ScenarioFinishedSuccesfullyEndingMission) message;
+			out.writeByte(SCENARIO_FINISHED_ENDING_MISSION);
+			writeScoreboard(finished.scoreboard, out);
+			writeExposition(finished.conclusion, out);
+			break;
+		case SCENARIO_FINISHED_IN_FAILURE:
+			out.writeByte(SCENARIO_FINISHED_IN_FAILURE);
+			writeNullableScoreboard(
+					((ScenarioFinishedInFailure) message).scoreboard, out);
+			break;
+		case ADVANCE_TO_SCENARIO_SETUP:
+			out.writeByte(ADVANCE_TO_SCENARIO_SETUP);
+			writeScenario(((AdvanceToScenarioSetup) message).scenario, out);
+			break;
+		case REQUEST_ADVANCE_TO_SCENARIO_SETUP:
+			out.writeByte(REQUEST_ADVANCE_TO_SCENARIO_SETUP);
+			break;
+		case PING:
+			out.writeByte(PING);
+			out.writeLong(((Ping) message).sentAtNanos);
+			break;
+		case PING_ACK:
+			out.writeByte(PING_ACK);
+			out.writeLong(((PingAck) message).pingSentAtNanos);
+			break;
+		case REQUEST_START_MISSION:
+			out.writeByte(REQUEST_START_MISSION);
+			break;
+		default:
+			throw new IOException("Cannot encode " + message);
+		}
+	}
+
+	public Message decode(byte[] bytes) throws IOException {
+		return decode(new DataInputStream(new ByteArrayInputStream(bytes)));
+	}
+
+	public Message decode(DataInput in) throws IOException {
+		byte tag = in.readByte();
+		switch (tag) {
+		case HELLO:
+			String expeditionName = in.readUTF();
+			return new Hello(expeditionName, in.readInt());
+		case INTRODUCE:
+			return new Introduce(readUUID(in));
+		case VERSION_MISMATCH:
+			return new VersionMismatch();
+		case WELCOME:
+			return new Welcome(readClientIds(in));
+		case START_MISSION:
+			return new StartMission(readExposition(in));
+		case REQUEST_START_GAME:
+			return new RequestStartGame();
+		case REQUEST_START_SCENARIO:
+			return new RequestStartScenario(readPlayerMinigameMap(in));
+		case START_SCENARIO:
+			return new StartScenario(new RequestStartScenario(
+					readPlayerMinigameMap(in)));
+		case REPORT_SCORE:
+			return new ReportScore(readNullableScore(in));
+		case SCENARIO_FINISHED_WITH_SUCCESS:
+			Scoreboard scoreboard = readNullableScoreboard(in);
+			return new ScenarioFinishedWithSuccess(scoreboard,
+					readNullableScenario(in));
+		case SERVER_GOING_DOWN:
+			return new ServerGoingDown();
+		case SCENARIO_FINISHED_ENDING_MISSION:
+			Scoreboard finalScoreboard = readScoreboard(in);
+			return new ScenarioFinishedSuccesfullyEndingMission(
+					finalScoreboard, readExposition(in));
+		case SCENARIO_FINISHED_IN_FAILURE:
+			return new ScenarioFinishedInFailure(readNullableScoreboard(in));
+		case ADVANCE_TO_SCENARIO_SETUP:
+			return new AdvanceToScenarioSetup(readScenario(in));
+		case REQUEST_ADVANCE_TO_SCENARIO_SETUP:
+			return new RequestAdvanceToScenarioSetup();
+		case PING:
+			return new Ping(in.readLong());
+		case PING_ACK:
+			return new PingAck(in.readLong());
+		case REQUEST_START_MISSION:
+			return RequestStartMission.instance();
+		default:
+			throw new StreamCorruptedException("Unknown message tag: " + tag);
+		}
+	}
+
+	private static void writeUUID(UUID uuid, DataOutput out)
+			throws IOException {
+		out.writeLong(uuid.getMostSignificantBits());
+		out.writeLong(uuid.getLeastSignificantBits());
+	}
+
+	private static UUID readUUID(DataInput in) throws IOException {
+		long mostSignificantBits = in.readLong();
+		return new UUID(mostSignificantBits, in.readLong());
+	}
+
+	private static void writeClientId(ClientId id, DataOutput out)
+			throws IOException {
+		out.writeByte(id.country.ordinal());
+		writeUUID(id.uuid, out);
+	}
+
+	private static ClientId readClientId(DataInput in) throws IOException {
+		Country country = readEnum(Country.values(), in);
+		return new ClientId(country, readUUID(in));
+	}
+
+	private static List<ClientId> readClientIds(DataInput in)
+			throws IOException {
+		int size = in.readUnsignedShort();
+		List<ClientId> list = Lists.newArrayListWithCapacity(size);
+		for (int i = 0; i < size; i++) {
+			list.add(readClientId(in));
+		}
+		return list;
+	}
+
+	private static void writeScore(Score score, DataOutput out)
+			throws IOException {
+		out.writeInt(score.maintenance);
+		out.writeInt(score.science);
+	}
+
+	private static Score readScore(DataInput in) throws IOException {
+		int maintenance = in.readInt();
+		return Score.maintenance(maintenance).science(in.readInt());
+	}
+
+	private static void writeNullableScore(Score score, DataOutput out)
+			throws IOException {
+		out.writeBoolean(score != null);
+		if (score != null) {
+			writeScore(score, out);
+		}
+	}
+
+	private static Score readNullableScore(DataInput in) throws IOException {
+		return in.readBoolean() ? readScore(in) : null;
+	}
+
+	private static void writeScoreboard(Scoreboard scoreboard, DataOutput out)
+			throws IOException {
+		out.writeShort(scoreboard.size());
+		for (Map.Entry<ClientId, Score> entry : scoreboard.entries()) {
+			writeClientId(entry.getKey(), out);
+			writeScore(entry.getValue(), out);
+		}
+	}
+
+	private static Scoreboard readScoreboard(DataInput in) throws IOException {
+		int size = in.readUnsignedShort();
+		Scoreboard scoreboard = new Scoreboard();
+		for (int i = 0; i < size; i++) {
+			ClientId id = readClientId(in);
+			scoreboard.put(id, readScore(in));
+		}
+		return scoreboard;
+	}
+
+	private static void writeNullableScoreboard(Scoreboard scoreboard,
+			DataOutput out) throws IOException {
+		out.writeBoolean(scoreboard != null);
+		if (scoreboard != null) {
+			writeScoreboard(scoreboard, out);
+		}
+	}
+
+	private static Scoreboard readNullableScoreboard(DataInput in)
+			throws IOException {
+		return in.readBoolean() ? readScoreboard(in) : null;
+	}
+
+	private static void writePlayerMinigameMap(PlayerMinigameMap map,
+			DataOutput out) throws IOException {
+		out.writeShort(map.size());
+		for (Map.Entry<ClientId, MinigameType> entry : map.entrySet()) {
+			writeClientId(entry.getKey(), out);
+			out.writeByte(entry.getValue().ordinal());
+		}
+	}
+
+	private static PlayerMinigameMap readPlayerMinigameMap(DataInput in)
+			throws IOException {
+		int size = in.readUnsignedShort();
+		PlayerMinigameMap map = new PlayerMinigameMap();
+		for (int i = 0; i < size; i++) {
+			ClientId id = readClientId(in);
+			map.put(id, readEnum(MinigameType.values(), in));
+		}
+		return map;
+	}
+
+	private static void writeExposition(Exposition exposition, DataOutput out)
+			throws IOException {
+		if (exposition instanceof TextExposition) {
+			out.writeByte(TEXT_EXPOSITION);
+			out.writeUTF(exposition.asText());
+		} else {
+			out.writeByte(ROLE_BASED_EXPOSITION);
+			out.writeUTF(exposition.asText());
+			out.writeUTF(exposition.commanderText());
+		}
+	}
+
+	private static Exposition readExposition(DataInput in) throws IOException {
+		byte kind = in.readByte();
+		switch (kind) {
+		case TEXT_EXPOSITION:
+			return TextExposition.fromText(in.readUTF());
+		case ROLE_BASED_EXPOSITION:
+			String crewText = in.readUTF();
+			return RoleBasedExposition.forCrew(crewText).andCommanderText(
+					in.readUTF());
+		default:
+			throw new StreamCorruptedException("Unknown exposition kind: "
+					+ kind);
+		}
+	}
+
+	private static void writeScenario(Scenario scenario, DataOutput out)
+			throws IOException {
+		writeExposition(scenario.exposition, out);
+		writeScore(scenario.goal, out);
+		out.writeByte(scenario.track.ordinal());
+	}
+
+	private static Scenario readScenario(DataInput in) throws IOException {
+		Exposition exposition = readExposition(in);
+		Score goal = readScore(in);
+		Track track = readEnum(Track.values(), in);
+		return Scenario.withExposition(exposition).andTrack(track)
+				.andGoal(goal);
+	}
+
+	private static void writeNullableScenario(Scenario scenario,
+			DataOutput out) throws IOException {
+		out.writeBoolean(scenario != null);
+		if (scenario != null) {
+			writeScenario(scenario, out);
+		}
+	}
+
+	private static Scenario readNullableScenario(DataInput in)
+			throws IOException {
+		return in.readBoolean() ? readScenario(in) : null;
+	}
+
+	private static <E extends Enum<E>> E readEnum(E[] values, DataInput in)
+			throws IOException {
+		int ordinal = in.readUnsignedByte();
+		if (ordinal >= values.length) {
+			throw new StreamCorruptedException("Enum ordinal out of range: "
+					+ ordinal);
+		}
+		return values[ordinal];
+	}
+}
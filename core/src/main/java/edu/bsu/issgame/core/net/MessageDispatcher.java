@@ -0,0 +1,101 @@
+/*
+  Copyright 2015 Ball State University
+
+  This file is part of Collaboration Station.
+
+  Collaboration Station is free software: you can redistribute it
+  and/or modify it under the terms of the GNU General Public
+  License as published by the Free Software Foundation, either
+  version 3 of the License, or (at your option) any later version.
+
+  Collaboration Station is distributed in the hope that it will
+  be useful, but WITHOUT ANY WARRANTY; without even the implied
+  warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+  PURPOSE.  See the GNU General Public License for more details.
+
+  You should have received a copy of the GNU General Public
+  License along with Collaboration Station.  If not, see
+  <http://www.gnu.org/licenses/>.
+*/
+package edu.bsu.issgame.core.net;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Routes each {@link Message} to the handlers subscribed to its
+ * {@link MessageType}, along with a context such as the
+ * {@link edu.bsu.issgame.core.net.server.ClientHandler} it came from.
+ * Messages nobody subscribed to go to the fallback handler, which by
+ * default is {@link CautiousHandler}.
+ * <p>
+ * Dispatching allocates nothing. Subscriptions are copied on write, so they
+ * are cheap to read from any thread but should be made up front.
+ *
+ * @param <C>
+ *            the type of context passed along with each message
+ */
+public final class MessageDispatcher<C> {
+
+	public interface Handler<M extends Message, C> {
+		void handle(M message, C context);
+	}
+
+	public static <C> MessageDispatcher<C> create() {
+		return new MessageDispatcher<C>();
+	}
+
+	private static final Handler<?, ?>[] NONE = new Handler<?, ?>[0];
+
+	private volatile Handler<?, ?>[][] table;
+	private volatile Handler<? super Message, ? super C> fallback = CautiousHandler
+			.instance();
+
+	private MessageDispatcher() {
+		table = new Handler<?, ?>[MessageType.values().length][];
+		for (int i = 0; i < table.length; i++) {
+			table[i] = NONE;
+		}
+	}
+
+	/**
+	 * Subscribes a handler to messages of the given class. Handlers of the
+	 * same type are called in the order they subscribed.
+	 */
+	public synchronized <M extends Message> MessageDispatcher<C> on(
+			Class<M> messageClass, Handler<? super M, ? super C> handler) {
+		checkNotNull(handler);
+		int index = MessageType.of(messageClass).ordinal();
+		Handler<?, ?>[][] newTable = table.clone();
+		Handler<?, ?>[] old = newTable[index];
+		Handler<?, ?>[] handlers = new Handler<?, ?>[old.length + 1];
+		System.arraycopy(old, 0, handlers, 0, old.length);
+		handlers[old.length] = handler;
+		newTable[index] = handlers;
+		table = newTable;
+		return this;
+	}
+
+	/**
+	 * Replaces the handler for messages that have no subscribers.
+	 */
+	public MessageDispatcher<C> otherwise(
+			Handler<? super Message, ? super C> handler) {
+		fallback = checkNotNull(handler);
+		return this;
+	}
+
+	public void dispatch(Message message, C context) {
+		Handler<?, ?>[] handlers = table[message.type().ordinal()];
+		if (handlers.length == 0) {
+			fallback.handle(message, context);
+			return;
+		}
+		for (int i = 0; i < handlers.length; i++) {
+			// The handlers in this row were subscribed for this message's
+			// type and context, so the cast is safe.
+			@SuppressWarnings("unchecked")
+			Handler<Message, C> handler = (Handler<Message, C>) handlers[i];
+			handler.handle(message, context);
+		}
+	}
+}
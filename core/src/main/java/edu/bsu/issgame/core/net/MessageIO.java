@@ -26,21 +26,16 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.ObjectInput;
 import java.io.ObjectInputStream;
-import java.io.ObjectOutput;
-import java.io.ObjectOutputStream;
 import java.io.OutputStream;
 import java.net.Socket;
 
-public interface MessageIO {
+public interface MessageIO extends MessageSink {
 
 	Message read() throws IOException, ClassNotFoundException;
 
+	@Override
 	MessageIO send(Message message) throws IOException;
 
-	void cancel();
-	
-	boolean isNetworked();
-
 	public static final class SocketAdapter implements MessageIO {
 
 		public static SocketAdapter inServerMode(Socket socket)
@@ -66,7 +61,7 @@ public interface MessageIO {
 		}
 
 		private final ObjectInput in;
-		private final ObjectOutput out;
+		private final ResettingObjectOutputStream out;
 		private final Socket socket;
 
 		private SocketAdapter(Socket socket, Mode mode) throws IOException {
@@ -76,9 +71,9 @@ public interface MessageIO {
 
 			if (mode == Mode.INPUT_FIRST) {
 				this.in = new ObjectInputStream(in);
-				this.out = new ObjectOutputStream(out);
+				this.out = ResettingObjectOutputStream.create(out);
 			} else {
-				this.out = new ObjectOutputStream(out);
+				this.out = ResettingObjectOutputStream.create(out);
 				this.in = new ObjectInputStream(in);
 			}
 		}
@@ -91,11 +86,14 @@ public interface MessageIO {
 		@Override
 		public MessageIO send(Message message) throws IOException {
 			checkNotNull(message);
-			out.writeObject(message);
-			out.flush();
+			out.writeMessage(message);
 			return this;
 		}
 
+		public int handleTableSize() {
+			return out.handleTableSize();
+		}
+
 		@Override
 		public void cancel() {
 			try {
@@ -21,26 +21,27 @@ package edu.bsu.issgame.core.net;
 
 import java.io.IOException;
 import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
 
-import edu.bsu.issgame.core.util.CircularByteBuffer;
+import edu.bsu.issgame.core.util.SpscByteRing;
 
 public final class MessageIOPump {
 
+	private static final int RING_CAPACITY = 1 << 16;
+
 	public final PumpingIO a;
 	public final PumpingIO b;
-	private final CircularByteBuffer c1;
-	private final CircularByteBuffer c2;
+	private final SpscByteRing c1;
+	private final SpscByteRing c2;
 
 	public MessageIOPump() throws IOException {
-		c1 = new CircularByteBuffer(4096);
-		c2 = new CircularByteBuffer(4096);
+		c1 = new SpscByteRing(RING_CAPACITY);
+		c2 = new SpscByteRing(RING_CAPACITY);
 
 		a = new PumpingIO();
 		b = new PumpingIO();
 
-		a.out = new ObjectOutputStream(c1.getOutputStream());
-		b.out = new ObjectOutputStream(c2.getOutputStream());
+		a.out = ResettingObjectOutputStream.create(c1.getOutputStream());
+		b.out = ResettingObjectOutputStream.create(c2.getOutputStream());
 
 		a.in = new ObjectInputStream(c2.getInputStream());
 		b.in = new ObjectInputStream(c1.getInputStream());
@@ -50,7 +51,7 @@ public final class MessageIOPump {
 
 		private Thread readingThread;
 		public ObjectInputStream in;
-		public ObjectOutputStream out;
+		public ResettingObjectOutputStream out;
 
 		@Override
 		public Message read() throws IOException, ClassNotFoundException {
@@ -58,13 +59,21 @@ public final class MessageIOPump {
 			return (Message) in.readObject();
 		}
 
+		/**
+		 * The server writes to its local client from more than one thread,
+		 * but the ring behind {@link #out} takes a single producer, so sends
+		 * are serialized here.
+		 */
 		@Override
-		public MessageIO send(Message message) throws IOException {
-			out.writeObject(message);
-			out.flush();
+		public synchronized MessageIO send(Message message) throws IOException {
+			out.writeMessage(message);
 			return this;
 		}
 
+		public synchronized int handleTableSize() {
+			return out.handleTableSize();
+		}
+
 		private void interruptReading() {
 			if (readingThread != null) {
 				readingThread.interrupt();
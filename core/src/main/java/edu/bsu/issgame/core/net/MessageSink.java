@@ -0,0 +1,37 @@
+/*
+  Copyright 2015 Ball State University
+
+  This file is part of Collaboration Station.
+
+  Collaboration Station is free software: you can redistribute it
+  and/or modify it under the terms of the GNU General Public
+  License as published by the Free Software Foundation, either
+  version 3 of the License, or (at your option) any later version.
+
+  Collaboration Station is distributed in the hope that it will
+  be useful, but WITHOUT ANY WARRANTY; without even the implied
+  warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+  PURPOSE.  See the GNU General Public License for more details.
+
+  You should have received a copy of the GNU General Public
+  License along with Collaboration Station.  If not, see
+  <http://www.gnu.org/licenses/>.
+*/
+package edu.bsu.issgame.core.net;
+
+import java.io.IOException;
+
+/**
+ * The sending half of a {@link MessageIO}. Transports whose inbound messages
+ * are pushed to a handler, and anything that only ever writes to a
+ * connection, depend on this instead of on a {@link MessageIO} they cannot
+ * read from.
+ */
+public interface MessageSink {
+
+	MessageSink send(Message message) throws IOException;
+
+	void cancel();
+
+	boolean isNetworked();
+}
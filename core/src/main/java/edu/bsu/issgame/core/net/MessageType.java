@@ -0,0 +1,63 @@
+/*
+  Copyright 2015 Ball State University
+
+  This file is part of Collaboration Station.
+
+  Collaboration Station is free software: you can redistribute it
+  and/or modify it under the terms of the GNU General Public
+  License as published by the Free Software Foundation, either
+  version 3 of the License, or (at your option) any later version.
+
+  Collaboration Station is distributed in the hope that it will
+  be useful, but WITHOUT ANY WARRANTY; without even the implied
+  warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+  PURPOSE.  See the GNU General Public License for more details.
+
+  You should have received a copy of the GNU General Public
+  License along with Collaboration Station.  If not, see
+  <http://www.gnu.org/licenses/>.
+*/
+package edu.bsu.issgame.core.net;
+
+/**
+ * Identifies the kind of a {@link Message}. The ordinal serves as an index
+ * into {@link MessageDispatcher}'s table of handlers.
+ */
+public enum MessageType {
+	HELLO(Message.Hello.class), //
+	INTRODUCE(Message.Introduce.class), //
+	VERSION_MISMATCH(Message.VersionMismatch.class), //
+	WELCOME(Message.Welcome.class), //
+	START_MISSION(Message.StartMission.class), //
+	REQUEST_START_GAME(Message.RequestStartGame.class), //
+	REQUEST_START_SCENARIO(Message.RequestStartScenario.class), //
+	START_SCENARIO(Message.StartScenario.class), //
+	REPORT_SCORE(Message.ReportScore.class), //
+	SCENARIO_FINISHED_WITH_SUCCESS(Message.ScenarioFinishedWithSuccess.class), //
+	SERVER_GOING_DOWN(Message.ServerGoingDown.class), //
+	SCENARIO_FINISHED_ENDING_MISSION(
+			Message.ScenarioFinishedSuccesfullyEndingMission.class), //
+	SCENARIO_FINISHED_IN_FAILURE(Message.ScenarioFinishedInFailure.class), //
+	ADVANCE_TO_SCENARIO_SETUP(Message.AdvanceToScenarioSetup.class), //
+	REQUEST_ADVANCE_TO_SCENARIO_SETUP(
+			Message.RequestAdvanceToScenarioSetup.class), //
+	PING(Message.Ping.class), //
+	PING_ACK(Message.PingAck.class), //
+	REQUEST_START_MISSION(Message.RequestStartMission.class);
+
+	public static MessageType of(Class<? extends Message> messageClass) {
+		for (MessageType type : values()) {
+			if (type.messageClass == messageClass) {
+				return type;
+			}
+		}
+		throw new IllegalArgumentException("No message type for "
+				+ messageClass);
+	}
+
+	public final Class<? extends Message> messageClass;
+
+	private MessageType(Class<? extends Message> messageClass) {
+		this.messageClass = messageClass;
+	}
+}
@@ -20,62 +20,149 @@
 package edu.bsu.issgame.core.net;
 
 import static com.google.common.base.Preconditions.checkNotNull;
-import static playn.core.PlayN.log;
 
 import java.io.IOException;
+import java.util.concurrent.TimeUnit;
 
 import react.Connection;
 import react.Slot;
 import react.UnitSignal;
 import react.UnitSlot;
+import react.Value;
+import react.ValueView;
 import edu.bsu.issgame.core.net.Message.Ping;
 import edu.bsu.issgame.core.net.Message.PingAck;
 import edu.bsu.issgame.core.net.server.MessageReceivedEvent;
+import edu.bsu.issgame.core.util.HashedWheelTimer;
 
+/**
+ * Heartbeats between the server and each networked client. The server pings
+ * a client only after hearing nothing from it for a ping interval, since any
+ * message proves the client is alive, and it times each ping's round trip.
+ * A client is given up on when it does not answer a ping within a timeout
+ * derived from its measured round-trip times, so slow links get more
+ * patience. Like TCP's retransmission timer (RFC 6298), that timeout is
+ * never shorter than a second, nor than the ping interval, so that a
+ * momentary stall on a fast link does not drop the client.
+ * <p>
+ * The checks run on a shared {@link HashedWheelTimer} rather than on a
+ * thread per connection.
+ */
 public class PingService {
 
 	private static final int DEFAULT_SERVER_ACK_WINDOW_MS = 1000;
 	private static final int DEFAULT_CLIENT_TIME_TO_LIVE_MS = 2500;
+	private static final int MIN_SERVER_TIMEOUT_MS = 1000;
+	private static final int MAX_TIMEOUT_MS = 10000;
 
-	public static class Server extends Slot<MessageReceivedEvent> implements
-			Runnable {
-		private final MessageIO io;
-		private int timeToLive = DEFAULT_SERVER_ACK_WINDOW_MS;
-		private boolean receivedPingAck = false;
+	/**
+	 * Even while a client keeps talking, it is pinged after this many
+	 * intervals so that it keeps hearing from the server.
+	 */
+	private static final int MAX_INTERVALS_WITHOUT_PING = 2;
+
+	public static class Server extends Slot<MessageReceivedEvent> {
+		private final MessageSink io;
+		private long pingIntervalNanos;
+		private RoundTripTimeEstimator estimator;
+		private volatile long lastHeardNanos;
+		private volatile boolean stopped = false;
+		private final Value<Long> roundTripTimeMicros = Value.create(0L);
 
 		private final UnitSignal onFailure = new UnitSignal();
 
-		private Server(MessageIO io) {
+		// Only touched on the timer's thread once started.
+		private HashedWheelTimer timer;
+		private volatile HashedWheelTimer.Timeout nextCheck;
+		private long lastPingNanos;
+		private long unansweredPingNanos;
+		private boolean awaitingReply = false;
+
+		private final Runnable check = new Runnable() {
+			@Override
+			public void run() {
+				checkOnClient();
+			}
+		};
+
+		private Server(MessageSink io) {
 			this.io = checkNotNull(io);
+			acknowledgmentWindow(DEFAULT_SERVER_ACK_WINDOW_MS);
+		}
+
+		/**
+		 * Starts watching the client, with the checks run by the given timer.
+		 */
+		public void start(HashedWheelTimer timer) {
+			this.timer = checkNotNull(timer);
+			long now = System.nanoTime();
+			lastPingNanos = now;
+			lastHeardNanos = now;
+			scheduleCheck(pingIntervalNanos);
 		}
 
-		public void run() {
-			do {
-				receivedPingAck = false;
+		private void scheduleCheck(long delayNanos) {
+			if (!stopped) {
+				nextCheck = timer.schedule(check, delayNanos,
+						TimeUnit.NANOSECONDS);
+			}
+		}
+
+		private void checkOnClient() {
+			if (stopped) {
+				return;
+			}
+			long now = System.nanoTime();
+			long lastHeard = lastHeardNanos;
+			if (awaitingReply && lastHeard - unansweredPingNanos >= 0) {
+				awaitingReply = false;
+			}
+			if (awaitingReply
+					&& now - unansweredPingNanos >= estimator.timeoutNanos()) {
+				onFailure.emit();
+				return;
+			}
+			long sincePing = now - lastPingNanos;
+			if ((now - lastHeard >= pingIntervalNanos && sincePing >= pingIntervalNanos)
+					|| sincePing >= MAX_INTERVALS_WITHOUT_PING
+							* pingIntervalNanos) {
 				sendPing();
-				sleepWhileAwaitingPingAcknowledgement();
-			} while (receivedPingAck);
-			onFailure.emit();
+				lastPingNanos = now;
+				if (!awaitingReply) {
+					awaitingReply = true;
+					unansweredPingNanos = now;
+				}
+			}
+			long wakeUp = Math.max(lastHeard, lastPingNanos)
+					+ pingIntervalNanos;
+			if (awaitingReply) {
+				wakeUp = Math.min(wakeUp,
+						unansweredPingNanos + estimator.timeoutNanos());
+			}
+			scheduleCheck(wakeUp - now);
 		}
 
 		private void sendPing() {
 			try {
-				io.send(Message.Ping.instance());
+				io.send(Ping.sentNow());
 			} catch (IOException ioe) {
 				throw new RuntimeException(ioe);
 			}
 		}
 
-		private void sleepWhileAwaitingPingAcknowledgement() {
-			try {
-				Thread.sleep(timeToLive);
-			} catch (InterruptedException ie) {
-				// Ignore it.
-			}
-		}
-
+		/**
+		 * Sets how long a client may be silent before it is pinged. Until
+		 * round-trip times have been measured, this is also how long the
+		 * server waits for the reply.
+		 */
 		public Server acknowledgmentWindow(int acknowledgementWindowMS) {
-			timeToLive = acknowledgementWindowMS;
+			pingIntervalNanos = millisToNanos(acknowledgementWindowMS);
+			long maxTimeoutNanos = Math.max(pingIntervalNanos,
+					millisToNanos(MAX_TIMEOUT_MS));
+			long minTimeoutNanos = Math.min(maxTimeoutNanos, Math.max(
+					pingIntervalNanos, millisToNanos(MIN_SERVER_TIMEOUT_MS)));
+			estimator = new RoundTripTimeEstimator(pingIntervalNanos,
+					minTimeoutNanos, maxTimeoutNanos);
 			return this;
 		}
 
@@ -83,44 +170,82 @@ public class PingService {
 			return onFailure.connect(slot);
 		}
 
-		private Message.Visitor v = new Message.Visitor.Adapter() {
+		/**
+		 * The smoothed round-trip time to this client in microseconds, or
+		 * zero before the first ping is acknowledged.
+		 */
+		public ValueView<Long> roundTripTimeMicros() {
+			return roundTripTimeMicros;
+		}
 
-			@Override
-			public void visit(Ping ping, Object... args) {
-				throw new IllegalStateException(
-						"Server should not receive pings.");
-			}
+		public void stop() {
+			stopped = true;
+			cancelNextCheck();
+		}
 
-			@Override
-			public void visit(PingAck pingAck, Object... args) {
-				receivedPingAck = true;
+		private void cancelNextCheck() {
+			HashedWheelTimer.Timeout timeout = nextCheck;
+			if (timeout != null) {
+				timeout.cancel();
 			}
-		};
+		}
 
 		@Override
 		public void onEmit(MessageReceivedEvent event) {
-			event.message.accept(v);
+			lastHeardNanos = System.nanoTime();
+			switch (event.message.type()) {
+			case PING:
+				throw new IllegalStateException(
+						"Server should not receive pings.");
+			case PING_ACK:
+				addSample((PingAck) event.message);
+				break;
+			default:
+				break;
+			}
+		}
+
+		private void addSample(PingAck pingAck) {
+			long sample = System.nanoTime() - pingAck.pingSentAtNanos;
+			if (sample >= 0) {
+				estimator.addSample(sample);
+				roundTripTimeMicros.update(TimeUnit.NANOSECONDS
+						.toMicros(estimator.smoothedNanos()));
+			}
 		}
 	}
 
-	public static Server createServer(MessageIO io) {
+	public static Server createServer(MessageSink io) {
 		return new Server(io);
 	}
 
-	public static final class Client implements Runnable {
-		private final MessageIO io;
-		private int timeToLiveMS = DEFAULT_CLIENT_TIME_TO_LIVE_MS;
+	public static final class Client {
+		private final MessageSink io;
+		private RoundTripTimeEstimator gapEstimator;
 		private final UnitSignal onFailure = new UnitSignal();
-		private boolean receivedPingWithinLastTimeWindow = false;
-		private boolean stopped = false;
+		private volatile long lastHeardNanos;
+		private volatile boolean heardAnything = false;
+		private volatile boolean stopped = false;
+		private HashedWheelTimer timer;
+		private volatile HashedWheelTimer.Timeout nextCheck;
+
+		private final Runnable check = new Runnable() {
+			@Override
+			public void run() {
+				checkOnServer();
+			}
+		};
 
-		public final Message.Visitor visitor = new Message.Visitor.Adapter() {
+		/**
+		 * Answers pings; subscribe it to the client's
+		 * {@link MessageDispatcher}.
+		 */
+		public final MessageDispatcher.Handler<Ping, Object> pingHandler = new MessageDispatcher.Handler<Ping, Object>() {
 			@Override
-			public void visit(Ping ping, Object... args) {
+			public void handle(Ping ping, Object context) {
 				if (!stopped) {
-					receivedPingWithinLastTimeWindow = true;
 					try {
-						io.send(Message.PingAck.instance());
+						io.send(PingAck.acknowledging(ping));
 					} catch (IOException e) {
 						throw new RuntimeException(e);
 					}
@@ -128,12 +253,20 @@ public class PingService {
 			}
 		};
 
-		private Client(MessageIO io) {
+		private Client(MessageSink io) {
 			this.io = checkNotNull(io);
+			timeToLive(DEFAULT_CLIENT_TIME_TO_LIVE_MS);
 		}
 
+		/**
+		 * Sets the shortest silence after which the server is considered
+		 * lost. The limit grows when messages arrive irregularly.
+		 */
 		public Client timeToLive(int timeToLiveMs) {
-			this.timeToLiveMS = timeToLiveMs;
+			long timeToLiveNanos = millisToNanos(timeToLiveMs);
+			gapEstimator = new RoundTripTimeEstimator(timeToLiveNanos,
+					timeToLiveNanos, Math.max(timeToLiveNanos,
+							millisToNanos(MAX_TIMEOUT_MS)));
 			return this;
 		}
 
@@ -141,28 +274,57 @@ public class PingService {
 			return onFailure.connect(slot);
 		}
 
-		@Override
-		public void run() {
-			do {
-				receivedPingWithinLastTimeWindow = false;
-				try {
-					Thread.sleep(timeToLiveMS);
-				} catch (InterruptedException ie) {
-					log().warn(
-							"Ping service client thread is interrupted: " + ie);
-				}
-			} while (receivedPingWithinLastTimeWindow && !stopped);
-			if (!stopped) {
+		/**
+		 * Records that the server is alive, as any message proves.
+		 */
+		public void onReceived(Message message) {
+			long now = System.nanoTime();
+			if (heardAnything) {
+				gapEstimator.addSample(now - lastHeardNanos);
+			}
+			lastHeardNanos = now;
+			heardAnything = true;
+		}
+
+		/**
+		 * Starts watching the server, with the checks run by the given timer.
+		 */
+		public void start(HashedWheelTimer timer) {
+			this.timer = checkNotNull(timer);
+			if (!heardAnything) {
+				lastHeardNanos = System.nanoTime();
+			}
+			checkOnServer();
+		}
+
+		private void checkOnServer() {
+			if (stopped) {
+				return;
+			}
+			long remaining = lastHeardNanos + gapEstimator.timeoutNanos()
+					- System.nanoTime();
+			if (remaining <= 0) {
 				onFailure.emit();
+			} else {
+				nextCheck = timer.schedule(check, remaining,
+						TimeUnit.NANOSECONDS);
 			}
 		}
 
 		public void stop() {
 			stopped = true;
+			HashedWheelTimer.Timeout timeout = nextCheck;
+			if (timeout != null) {
+				timeout.cancel();
+			}
 		}
 	}
 
-	public static Client createClient(MessageIO io) {
+	public static Client createClient(MessageSink io) {
 		return new Client(io);
 	}
+
+	private static long millisToNanos(int millis) {
+		return TimeUnit.MILLISECONDS.toNanos(millis);
+	}
 }
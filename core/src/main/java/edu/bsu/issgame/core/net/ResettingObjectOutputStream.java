@@ -0,0 +1,124 @@
+/*
+  Copyright 2015 Ball State University
+
+  This file is part of Collaboration Station.
+
+  Collaboration Station is free software: you can redistribute it
+  and/or modify it under the terms of the GNU General Public
+  License as published by the Free Software Foundation, either
+  version 3 of the License, or (at your option) any later version.
+
+  Collaboration Station is distributed in the hope that it will
+  be useful, but WITHOUT ANY WARRANTY; without even the implied
+  warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+  PURPOSE.  See the GNU General Public License for more details.
+
+  You should have received a copy of the GNU General Public
+  License along with Collaboration Station.  If not, see
+  <http://www.gnu.org/licenses/>.
+*/
+package edu.bsu.issgame.core.net;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+
+import com.google.common.io.CountingOutputStream;
+
+/**
+ * An {@link ObjectOutputStream} for long-lived message connections. Java
+ * serialization remembers every object it has written so that repeats can
+ * be sent as back-references, on both the writing and the reading side.
+ * This stream resets that handle table after a number of messages or bytes,
+ * which keeps memory use flat over a whole expedition; the reading
+ * {@link java.io.ObjectInputStream} clears its own table when it sees the
+ * reset.
+ */
+public final class ResettingObjectOutputStream extends ObjectOutputStream {
+
+	public static final int DEFAULT_MESSAGE_LIMIT = 256;
+	public static final long DEFAULT_BYTE_LIMIT = 256 * 1024;
+
+	public static ResettingObjectOutputStream create(OutputStream out)
+			throws IOException {
+		return create(out, DEFAULT_MESSAGE_LIMIT, DEFAULT_BYTE_LIMIT);
+	}
+
+	public static ResettingObjectOutputStream create(OutputStream out,
+			int messageLimit, long byteLimit) throws IOException {
+		checkArgument(messageLimit > 0, "Message limit must be positive.");
+		checkArgument(byteLimit > 0, "Byte limit must be positive.");
+		return new ResettingObjectOutputStream(new CountingOutputStream(out),
+				messageLimit, byteLimit);
+	}
+
+	private final CountingOutputStream counter;
+	private final int messageLimit;
+	private final long byteLimit;
+	private int messagesSinceReset = 0;
+	private long bytesAtReset = 0;
+	private int handleTableSize = 0;
+	private int resetCount = 0;
+
+	private ResettingObjectOutputStream(CountingOutputStream counter,
+			int messageLimit, long byteLimit) throws IOException {
+		super(counter);
+		this.counter = counter;
+		this.messageLimit = messageLimit;
+		this.byteLimit = byteLimit;
+		enableReplaceObject(true);
+	}
+
+	/**
+	 * Counts each object that is written in full rather than as a
+	 * back-reference, since each of those takes a new handle.
+	 */
+	@Override
+	protected Object replaceObject(Object obj) {
+		handleTableSize++;
+		return obj;
+	}
+
+	/**
+	 * Writes and flushes one message, then resets the stream if either
+	 * limit has been reached.
+	 */
+	public void writeMessage(Object message) throws IOException {
+		writeObject(message);
+		flush();
+		messagesSinceReset++;
+		if (messagesSinceReset >= messageLimit
+				|| counter.getCount() - bytesAtReset >= byteLimit) {
+			reset();
+			flush();
+		}
+	}
+
+	@Override
+	public void reset() throws IOException {
+		super.reset();
+		messagesSinceReset = 0;
+		bytesAtReset = counter.getCount();
+		handleTableSize = 0;
+		resetCount++;
+	}
+
+	/**
+	 * The number of objects written since the last reset, which is roughly
+	 * the number of entries held in the handle tables of this stream and of
+	 * the stream reading it.
+	 */
+	public int handleTableSize() {
+		return handleTableSize;
+	}
+
+	public int resetCount() {
+		return resetCount;
+	}
+
+	public long bytesWritten() {
+		return counter.getCount();
+	}
+}
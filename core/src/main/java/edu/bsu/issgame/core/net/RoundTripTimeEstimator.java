@@ -0,0 +1,85 @@
+/*
+  Copyright 2015 Ball State University
+
+  This file is part of Collaboration Station.
+
+  Collaboration Station is free software: you can redistribute it
+  and/or modify it under the terms of the GNU General Public
+  License as published by the Free Software Foundation, either
+  version 3 of the License, or (at your option) any later version.
+
+  Collaboration Station is distributed in the hope that it will
+  be useful, but WITHOUT ANY WARRANTY; without even the implied
+  warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+  PURPOSE.  See the GNU General Public License for more details.
+
+  You should have received a copy of the GNU General Public
+  License along with Collaboration Station.  If not, see
+  <http://www.gnu.org/licenses/>.
+*/
+package edu.bsu.issgame.core.net;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Smoothed round-trip time and variation in the style of TCP's
+ * retransmission timer (RFC 6298): each sample moves the smoothed value by
+ * an eighth and the variation by a quarter of the difference, and the
+ * timeout is the smoothed value plus four variations. Until the first
+ * sample arrives, the initial timeout is used.
+ */
+public final class RoundTripTimeEstimator {
+
+	private final long initialTimeoutNanos;
+	private final long minTimeoutNanos;
+	private final long maxTimeoutNanos;
+	private long smoothedNanos;
+	private long variationNanos;
+	private boolean hasSamples = false;
+
+	public RoundTripTimeEstimator(long initialTimeoutNanos,
+			long minTimeoutNanos, long maxTimeoutNanos) {
+		checkArgument(minTimeoutNanos <= maxTimeoutNanos,
+				"Minimum timeout must not exceed the maximum.");
+		this.initialTimeoutNanos = initialTimeoutNanos;
+		this.minTimeoutNanos = minTimeoutNanos;
+		this.maxTimeoutNanos = maxTimeoutNanos;
+	}
+
+	public synchronized void addSample(long sampleNanos) {
+		// Checked by hand so that the sample is only boxed on failure.
+		if (sampleNanos < 0) {
+			throw new IllegalArgumentException("Negative sample: "
+					+ sampleNanos);
+		}
+		if (!hasSamples) {
+			smoothedNanos = sampleNanos;
+			variationNanos = sampleNanos / 2;
+			hasSamples = true;
+		} else {
+			long error = Math.abs(smoothedNanos - sampleNanos);
+			variationNanos += (error - variationNanos) / 4;
+			smoothedNanos += (sampleNanos - smoothedNanos) / 8;
+		}
+	}
+
+	public synchronized boolean hasSamples() {
+		return hasSamples;
+	}
+
+	public synchronized long smoothedNanos() {
+		return smoothedNanos;
+	}
+
+	public synchronized long variationNanos() {
+		return variationNanos;
+	}
+
+	public synchronized long timeoutNanos() {
+		if (!hasSamples) {
+			return initialTimeoutNanos;
+		}
+		long timeout = smoothedNanos + 4 * variationNanos;
+		return Math.max(minTimeoutNanos, Math.min(maxTimeoutNanos, timeout));
+	}
+}
@@ -0,0 +1,60 @@
+/*
+  Copyright 2015 Ball State University
+
+  This file is part of Collaboration Station.
+
+  Collaboration Station is free software: you can redistribute it
+  and/or modify it under the terms of the GNU General Public
+  License as published by the Free Software Foundation, either
+  version 3 of the License, or (at your option) any later version.
+
+  Collaboration Station is distributed in the hope that it will
+  be useful, but WITHOUT ANY WARRANTY; without even the implied
+  warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+  PURPOSE.  See the GNU General Public License for more details.
+
+  You should have received a copy of the GNU General Public
+  License along with Collaboration Station.  If not, see
+  <http://www.gnu.org/licenses/>.
+*/
+package edu.bsu.issgame.core.net;
+
+import java.io.IOException;
+import java.net.Socket;
+
+/**
+ * The encoding used on a networked connection. Both ends of a connection must
+ * agree on it, so it is chosen when the connection is made.
+ */
+public enum WireFormat {
+
+	/** Java object serialization, the original format. */
+	SERIALIZED {
+		@Override
+		public MessageIO inServerMode(Socket socket) throws IOException {
+			return MessageIO.SocketAdapter.inServerMode(socket);
+		}
+
+		@Override
+		public MessageIO inClientMode(Socket socket) throws IOException {
+			return MessageIO.SocketAdapter.inClientMode(socket);
+		}
+	},
+
+	/** Length-prefixed frames written by {@link MessageCodec}. */
+	BINARY {
+		@Override
+		public MessageIO inServerMode(Socket socket) throws IOException {
+			return FramedMessageIO.overSocket(socket);
+		}
+
+		@Override
+		public MessageIO inClientMode(Socket socket) throws IOException {
+			return FramedMessageIO.overSocket(socket);
+		}
+	};
+
+	public abstract MessageIO inServerMode(Socket socket) throws IOException;
+
+	public abstract MessageIO inClientMode(Socket socket) throws IOException;
+}
@@ -30,7 +30,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
-import java.util.concurrent.ExecutorService;
 
 import react.Connection;
 import react.Signal;
@@ -57,6 +56,7 @@ import edu.bsu.issgame.core.net.Message;
 import edu.bsu.issgame.core.net.Message.AdvanceToScenarioSetup;
 import edu.bsu.issgame.core.net.Message.Hello;
 import edu.bsu.issgame.core.net.Message.LogVerbosityLevel;
+import edu.bsu.issgame.core.net.Message.Ping;
 import edu.bsu.issgame.core.net.Message.ScenarioFinishedInFailure;
 import edu.bsu.issgame.core.net.Message.ScenarioFinishedSuccesfullyEndingMission;
 import edu.bsu.issgame.core.net.Message.ScenarioFinishedWithSuccess;
@@ -64,9 +64,12 @@ import edu.bsu.issgame.core.net.Message.ServerGoingDown;
 import edu.bsu.issgame.core.net.Message.StartMission;
 import edu.bsu.issgame.core.net.Message.StartScenario;
 import edu.bsu.issgame.core.net.Message.Welcome;
+import edu.bsu.issgame.core.net.MessageDispatcher;
+import edu.bsu.issgame.core.net.MessageDispatcher.Handler;
 import edu.bsu.issgame.core.net.MessageIO;
 import edu.bsu.issgame.core.net.PingService;
 import edu.bsu.issgame.core.util.BlockingReadOperationInterruptedException;
+import edu.bsu.issgame.core.util.HashedWheelTimer;
 
 public class Client implements Runnable {
 
@@ -107,72 +110,11 @@ public class Client implements Runnable {
 	private Value<String> expeditionName = Value.create(null);
 	private final int versionCode;
 	private final PingService.Client pingClient;
+	private final HashedWheelTimer heartbeatTimer = new HashedWheelTimer(
+			"Client heartbeats");
 
-	private Message.Visitor messageHandler = new Message.Visitor.Adapter() {
-
-		@Override
-		public void visit(Welcome welcome, Object... args) {
-			connectedClients = ImmutableList.copyOf(welcome.clients);
-			onClientsUpdated.emit(connectedClients);
-		}
-
-		@Override
-		public void visit(Hello hello, Object... args) {
-			try {
-				checkState(uuid != null, "UUID must not be null.");
-				expeditionName.update(hello.expeditionName);
-				if (hello.verisonCode != versionCode) {
-					messageIO.send(new Message.VersionMismatch());
-					sentVersionMismatch.emit();
-				} else {
-					messageIO.send(new Message.Introduce(uuid));
-				}
-			} catch (IOException e) {
-				throw new RuntimeException(e);
-			}
-		}
-
-		@Override
-		public void visit(StartMission startGame, Object... args) {
-			gameStarted.emit(startGame.introduction);
-		}
-
-		@Override
-		public void visit(AdvanceToScenarioSetup advanceToScenarioSetup,
-				Object... args) {
-			scenarioSetup.emit(advanceToScenarioSetup.scenario);
-		}
-
-		@Override
-		public void visit(StartScenario startScenario, Object... args) {
-			scenarioStarted.emit(startScenario.map);
-		}
-
-		@Override
-		public void visit(ScenarioFinishedWithSuccess message, Object... args) {
-			checkNotNull(message.nextScenario);
-			scenarioFinishedWithSuccess.emit(message);
-		}
-
-		@Override
-		public void visit(ScenarioFinishedSuccesfullyEndingMission finished,
-				Object... args) {
-			missionComplete.emit(finished);
-		}
-
-		@Override
-		public void visit(ScenarioFinishedInFailure failure, Object... args) {
-			scenarioFailed.emit(failure.scoreboard);
-		}
-
-		@Override
-		public void visit(ServerGoingDown serverGoingDown, Object... args) {
-			pingClient.stop();
-			serverDown.emit();
-			cancelled = true;
-		}
-
-	};
+	private final MessageDispatcher<Client> dispatcher = MessageDispatcher
+			.create();
 
 	private Client(Builder builder) {
 		this.uuid = UUID.randomUUID();
@@ -183,16 +125,105 @@ public class Client implements Runnable {
 			@Override
 			public void onEmit() {
 				log().error(" +++ CLIENT PING FAILURE +++");
+				heartbeatTimer.stop();
 				serverDown.emit();
 			}
 		});
+		subscribeMessageHandlers();
+	}
+
+	private void subscribeMessageHandlers() {
+		dispatcher.on(Ping.class, pingClient.pingHandler);
+		dispatcher.on(Welcome.class, new Handler<Welcome, Object>() {
+			@Override
+			public void handle(Welcome welcome, Object context) {
+				connectedClients = ImmutableList.copyOf(welcome.clients);
+				onClientsUpdated.emit(connectedClients);
+			}
+		});
+		dispatcher.on(Hello.class, new Handler<Hello, Object>() {
+			@Override
+			public void handle(Hello hello, Object context) {
+				try {
+					checkState(uuid != null, "UUID must not be null.");
+					expeditionName.update(hello.expeditionName);
+					if (hello.verisonCode != versionCode) {
+						messageIO.send(new Message.VersionMismatch());
+						sentVersionMismatch.emit();
+					} else {
+						messageIO.send(new Message.Introduce(uuid));
+					}
+				} catch (IOException e) {
+					throw new RuntimeException(e);
+				}
+			}
+		});
+		dispatcher.on(StartMission.class, new Handler<StartMission, Object>() {
+			@Override
+			public void handle(StartMission startGame, Object context) {
+				gameStarted.emit(startGame.introduction);
+			}
+		});
+		dispatcher.on(AdvanceToScenarioSetup.class,
+				new Handler<AdvanceToScenarioSetup, Object>() {
+					@Override
+					public void handle(
+							AdvanceToScenarioSetup advanceToScenarioSetup,
+							Object context) {
+						scenarioSetup.emit(advanceToScenarioSetup.scenario);
+					}
+				});
+		dispatcher.on(StartScenario.class,
+				new Handler<StartScenario, Object>() {
+					@Override
+					public void handle(StartScenario startScenario,
+							Object context) {
+						scenarioStarted.emit(startScenario.map);
+					}
+				});
+		dispatcher.on(ScenarioFinishedWithSuccess.class,
+				new Handler<ScenarioFinishedWithSuccess, Object>() {
+					@Override
+					public void handle(ScenarioFinishedWithSuccess message,
+							Object context) {
+						checkNotNull(message.nextScenario);
+						scenarioFinishedWithSuccess.emit(message);
+					}
+				});
+		dispatcher.on(ScenarioFinishedSuccesfullyEndingMission.class,
+				new Handler<ScenarioFinishedSuccesfullyEndingMission, Object>() {
+					@Override
+					public void handle(
+							ScenarioFinishedSuccesfullyEndingMission finished,
+							Object context) {
+						missionComplete.emit(finished);
+					}
+				});
+		dispatcher.on(ScenarioFinishedInFailure.class,
+				new Handler<ScenarioFinishedInFailure, Object>() {
+					@Override
+					public void handle(ScenarioFinishedInFailure failure,
+							Object context) {
+						scenarioFailed.emit(failure.scoreboard);
+					}
+				});
+		dispatcher.on(ServerGoingDown.class,
+				new Handler<ServerGoingDown, Object>() {
+					@Override
+					public void handle(ServerGoingDown serverGoingDown,
+							Object context) {
+						stopPingClient();
+						serverDown.emit();
+						cancelled = true;
+					}
+				});
 	}
 
-	public void startPingClient(ExecutorService executorService) {
-		checkNotNull(executorService);
+	public void startPingClient() {
 		if (messageIO.isNetworked()) {
 			log().debug("Client starting the ping service.");
-			executorService.execute(pingClient);
+			heartbeatTimer.start();
+			pingClient.start(heartbeatTimer);
 		} else {
 			log().debug(
 					"Non-networked client; ignoring request to start ping client");
@@ -233,8 +264,8 @@ public class Client implements Runnable {
 		if (shouldLog(message)) {
 			log().debug("Client received " + message);
 		}
-		message.accept(pingClient.visitor);
-		message.accept(messageHandler);
+		pingClient.onReceived(message);
+		dispatcher.dispatch(message, this);
 	}
 
 	private boolean shouldLog(Message message) {
@@ -245,6 +276,7 @@ public class Client implements Runnable {
 	public void cancel() {
 		log().debug("Cancelling the client");
 		cancelled = true;
+		stopPingClient();
 		messageIO.cancel();
 	}
 
@@ -330,6 +362,7 @@ public class Client implements Runnable {
 
 	public void stopPingClient() {
 		pingClient.stop();
+		heartbeatTimer.stop();
 	}
 
 	public Connection onExpeditionNameChange(Slot<String> slot) {
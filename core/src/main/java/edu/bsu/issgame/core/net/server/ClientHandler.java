@@ -25,46 +25,147 @@ import static playn.core.PlayN.log;
 import java.io.EOFException;
 import java.io.IOException;
 import java.net.Socket;
+import java.util.concurrent.Executor;
 
 import com.google.common.base.MoreObjects;
 
 import react.Signal;
 import react.SignalView;
+import react.UnitSignal;
+import react.Value;
+import react.ValueView;
 import edu.bsu.issgame.core.CountryGenerationService;
 import edu.bsu.issgame.core.Settings;
 import edu.bsu.issgame.core.net.ClientId;
 import edu.bsu.issgame.core.net.Message;
 import edu.bsu.issgame.core.net.Message.Introduce;
 import edu.bsu.issgame.core.net.Message.LogVerbosityLevel;
+import edu.bsu.issgame.core.net.MessageDispatcher;
 import edu.bsu.issgame.core.net.MessageIO;
+import edu.bsu.issgame.core.net.MessageSink;
+import edu.bsu.issgame.core.net.PingService;
 import edu.bsu.issgame.core.util.BlockingReadOperationInterruptedException;
+import edu.bsu.issgame.core.util.HashedWheelTimer;
 
 public class ClientHandler implements Runnable {
 
-	final MessageIO io;
+	/**
+	 * Creates a handler whose transport pushes each inbound message to
+	 * {@link #handle(Message)}. Its {@link #run()} method only greets the
+	 * client and returns instead of blocking on {@link MessageIO#read()}.
+	 */
+	public static ClientHandler eventDriven(MessageSink io,
+			String expeditionName, int versionCode) {
+		return new ClientHandler(io, null, expeditionName, versionCode);
+	}
+
+	final MessageSink io;
+	private final MessageIO reader;
+	final OutboundQueue outbound;
 	private ClientId clientId;
 	private final String expeditionName;
 	private final int versionCode;
+	private final boolean eventDriven;
 
 	private Signal<MessageReceivedEvent> received = Signal.create();
+	private final UnitSignal disconnected = new UnitSignal();
+	final Value<Long> roundTripTimeMicros = Value.create(0L);
+	private volatile PingService.Server pingServer;
+
+	/**
+	 * Sends through the outbound queue, so that a timer thread never blocks
+	 * on a slow client.
+	 */
+	final MessageSink queuedSink = new MessageSink() {
+		@Override
+		public MessageSink send(Message message) {
+			outbound.enqueue(message, null);
+			return this;
+		}
+
+		@Override
+		public void cancel() {
+			ClientHandler.this.cancel();
+		}
+
+		@Override
+		public boolean isNetworked() {
+			return io.isNetworked();
+		}
+	};
 
 	public ClientHandler(Socket socket, String expeditionName, int versionCode)
 			throws IOException {
-		io = MessageIO.SocketAdapter.inServerMode(socket);
-		this.expeditionName = checkNotNull(expeditionName);
-		this.versionCode = versionCode;
+		this(MessageIO.SocketAdapter.inServerMode(socket), expeditionName,
+				versionCode);
 	}
 
 	public ClientHandler(MessageIO io, String expeditionName, int versionCode) {
+		this(io, checkNotNull(io), expeditionName, versionCode);
+	}
+
+	private ClientHandler(MessageSink io, MessageIO reader,
+			String expeditionName, int versionCode) {
 		this.io = checkNotNull(io);
+		this.reader = reader;
+		this.outbound = new OutboundQueue(io);
 		this.expeditionName = checkNotNull(expeditionName);
 		this.versionCode = versionCode;
+		this.eventDriven = reader == null;
+	}
+
+	/**
+	 * Starts the thread that writes this client's outbound messages. An
+	 * event-driven transport already queues its writes, so it gets none.
+	 */
+	void startOutboundWriter(Executor executor) {
+		if (!eventDriven) {
+			outbound.startWriter(executor);
+		}
+	}
+
+	/**
+	 * Starts the given ping service on the timer. It is stopped when this
+	 * handler is cancelled.
+	 */
+	void startPingService(PingService.Server pingServer, HashedWheelTimer timer) {
+		this.pingServer = checkNotNull(pingServer);
+		received.connect(pingServer);
+		pingServer.roundTripTimeMicros().connect(roundTripTimeMicros.slot());
+		pingServer.start(timer);
+	}
+
+	public int outboundQueueDepth() {
+		return outbound.depth();
+	}
+
+	/**
+	 * The smoothed round-trip time to this client in microseconds, as
+	 * measured by its ping service, or zero if it has not been measured.
+	 */
+	public ValueView<Long> roundTripTimeMicros() {
+		return roundTripTimeMicros;
 	}
 
 	public SignalView<MessageReceivedEvent> onReceived() {
 		return received;
 	}
 
+	/**
+	 * Emitted once the connection to the client has ended, whether it was
+	 * closed by the client or cancelled here.
+	 */
+	public SignalView<Void> onDisconnected() {
+		return disconnected;
+	}
+
+	/**
+	 * Called by an event-driven transport when its connection has closed.
+	 */
+	void notifyDisconnected() {
+		disconnected.emit();
+	}
+
 	public ClientId id() {
 		checkNotNull(clientId,
 				"Should not be called before introduction is made.");
@@ -75,6 +176,10 @@ public class ClientHandler implements Runnable {
 	public void run() {
 		final String indicator = "(" + io.getClass().getSimpleName() + ")";
 		log().debug("Client handler started " + indicator);
+		if (eventDriven) {
+			sayHello();
+			return;
+		}
 		sayHelloAndAwaitIntroduction();
 		try {
 			while (true) {
@@ -94,10 +199,11 @@ public class ClientHandler implements Runnable {
 			e.printStackTrace();
 		}
 		log().debug("Client handler finished " + indicator);
+		disconnected.emit();
 	}
 
 	private Message readMessage() throws IOException, ClassNotFoundException {
-		Message message = io.read();
+		Message message = reader.read();
 		if (shouldLog(message)) {
 			log().debug("Client handler received " + message);
 		}
@@ -114,7 +220,7 @@ public class ClientHandler implements Runnable {
 			log().debug("Saying hello to new client.");
 			io.send(new Message.Hello(expeditionName, versionCode));
 			Message message = readMessage();
-			message.accept(introductionHandler);
+			introductionHandler.dispatch(message, this);
 			received.emit(new MessageReceivedEvent(this, message));
 		} catch (IOException ioe) {
 			ioe.printStackTrace();
@@ -123,13 +229,38 @@ public class ClientHandler implements Runnable {
 		}
 	}
 
-	private Message.Visitor introductionHandler = new CautiousVisitor() {
-		@Override
-		public void visit(Introduce introduce, Object... args) {
-			clientId = new ClientId(CountryGenerationService.instance().next(),
-					introduce.uuid);
+	private void sayHello() {
+		try {
+			log().debug("Saying hello to new client.");
+			io.send(new Message.Hello(expeditionName, versionCode));
+		} catch (IOException ioe) {
+			ioe.printStackTrace();
 		}
-	};
+	}
+
+	/**
+	 * Processes a message that an event-driven transport has already read
+	 * from this handler's client.
+	 */
+	public void handle(Message message) {
+		if (shouldLog(message)) {
+			log().debug("Client handler received " + message);
+		}
+		if (clientId == null) {
+			introductionHandler.dispatch(message, this);
+		}
+		received.emit(new MessageReceivedEvent(this, message));
+	}
+
+	private final MessageDispatcher<ClientHandler> introductionHandler = MessageDispatcher
+			.<ClientHandler> create().on(Introduce.class,
+					new MessageDispatcher.Handler<Introduce, Object>() {
+						@Override
+						public void handle(Introduce introduce, Object context) {
+							clientId = new ClientId(CountryGenerationService
+									.instance().next(), introduce.uuid);
+						}
+					});
 
 	@Override
 	public String toString() {
@@ -139,11 +270,15 @@ public class ClientHandler implements Runnable {
 	}
 
 	public void cancel() {
+		PingService.Server pingServer = this.pingServer;
+		if (pingServer != null) {
+			pingServer.stop();
+		}
 		cancelTheIoHandlerWhichShouldStopTheRunMethod();
 	}
 
 	private void cancelTheIoHandlerWhichShouldStopTheRunMethod() {
-		io.cancel();
+		outbound.close();
 	}
 
 }
\ No newline at end of file
@@ -0,0 +1,138 @@
+/*
+  Copyright 2015 Ball State University
+
+  This file is part of Collaboration Station.
+
+  Collaboration Station is free software: you can redistribute it
+  and/or modify it under the terms of the GNU General Public
+  License as published by the Free Software Foundation, either
+  version 3 of the License, or (at your option) any later version.
+
+  Collaboration Station is distributed in the hope that it will
+  be useful, but WITHOUT ANY WARRANTY; without even the implied
+  warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+  PURPOSE.  See the GNU General Public License for more details.
+
+  You should have received a copy of the GNU General Public
+  License along with Collaboration Station.  If not, see
+  <http://www.gnu.org/licenses/>.
+*/
+package edu.bsu.issgame.core.net.server;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static playn.core.PlayN.log;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.collect.Queues;
+
+/**
+ * Events for the server, posted from any thread and handled one at a time
+ * on a single thread in the order they were posted. State touched only by
+ * these events needs no locks.
+ */
+final class Mailbox implements Runnable {
+
+	private static final Posted STOP = new Posted(null, 0);
+
+	private static final class Posted {
+		final Runnable event;
+		final long postedNanos;
+
+		Posted(Runnable event, long postedNanos) {
+			this.event = event;
+			this.postedNanos = postedNanos;
+		}
+	}
+
+	private final BlockingQueue<Posted> queue = Queues
+			.newLinkedBlockingQueue();
+
+	// Statistics, written only on the mailbox thread.
+	private volatile int maxDepth = 0;
+	private volatile long handledCount = 0;
+	private volatile long totalLatencyNanos = 0;
+	private volatile long maxLatencyNanos = 0;
+
+	void post(Runnable event) {
+		queue.add(new Posted(checkNotNull(event), System.nanoTime()));
+	}
+
+	/**
+	 * Stops the mailbox once the events already posted have been handled.
+	 */
+	void stop() {
+		queue.add(STOP);
+	}
+
+	void start(Executor executor) {
+		executor.execute(this);
+	}
+
+	int depth() {
+		return queue.size();
+	}
+
+	int maxDepth() {
+		return maxDepth;
+	}
+
+	long handledCount() {
+		return handledCount;
+	}
+
+	/**
+	 * The mean time from posting an event until it starts being handled.
+	 */
+	long meanLatencyMicros() {
+		long handled = handledCount;
+		return handled == 0 ? 0 : TimeUnit.NANOSECONDS
+				.toMicros(totalLatencyNanos / handled);
+	}
+
+	long maxLatencyMicros() {
+		return TimeUnit.NANOSECONDS.toMicros(maxLatencyNanos);
+	}
+
+	@Override
+	public void run() {
+		try {
+			while (true) {
+				maxDepth = Math.max(maxDepth, queue.size());
+				Posted posted = queue.take();
+				if (posted == STOP) {
+					return;
+				}
+				long latency = System.nanoTime() - posted.postedNanos;
+				totalLatencyNanos += latency;
+				maxLatencyNanos = Math.max(maxLatencyNanos, latency);
+				handledCount++;
+				handle(posted.event);
+			}
+		} catch (InterruptedException e) {
+			log().debug("Server mailbox interrupted.");
+		}
+	}
+
+	private void handle(Runnable event) {
+		try {
+			event.run();
+		} catch (RuntimeException e) {
+			log().warn("Problem handling server event: " + e.getMessage());
+			e.printStackTrace();
+		}
+	}
+
+	@Override
+	public String toString() {
+		return MoreObjects.toStringHelper(this)
+				.add("handled", handledCount)
+				.add("maxDepth", maxDepth)
+				.add("meanLatencyMicros", meanLatencyMicros())
+				.add("maxLatencyMicros", maxLatencyMicros())
+				.toString();
+	}
+}
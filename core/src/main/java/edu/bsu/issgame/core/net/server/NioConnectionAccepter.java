@@ -0,0 +1,325 @@
+/*
+  Copyright 2015 Ball State University
+
+  This file is part of Collaboration Station.
+
+  Collaboration Station is free software: you can redistribute it
+  and/or modify it under the terms of the GNU General Public
+  License as published by the Free Software Foundation, either
+  version 3 of the License, or (at your option) any later version.
+
+  Collaboration Station is distributed in the hope that it will
+  be useful, but WITHOUT ANY WARRANTY; without even the implied
+  warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+  PURPOSE.  See the GNU General Public License for more details.
+
+  You should have received a copy of the GNU General Public
+  License along with Collaboration Station.  If not, see
+  <http://www.gnu.org/licenses/>.
+*/
+package edu.bsu.issgame.core.net.server;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static playn.core.PlayN.log;
+
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.Queue;
+
+import com.google.common.collect.Queues;
+
+import edu.bsu.issgame.core.net.FrameSink;
+import edu.bsu.issgame.core.net.FramedMessageIO;
+import edu.bsu.issgame.core.net.Message;
+import edu.bsu.issgame.core.net.MessageCodec;
+import edu.bsu.issgame.core.net.MessageSink;
+import edu.bsu.issgame.core.net.WireFormat;
+
+/**
+ * Accepts clients that speak {@link WireFormat#BINARY} and serves all of them
+ * from a single selector thread. Reads and writes are non-blocking; complete
+ * frames are decoded on the selector thread and pushed to
+ * {@link ClientHandler#eventDriven event-driven} client handlers, so no thread
+ * is parked per connection.
+ */
+public final class NioConnectionAccepter implements ConnectionAccepter {
+
+	private static final int FRAME_HEADER_LENGTH = 4;
+	private static final int INITIAL_READ_BUFFER_SIZE = 4096;
+
+	private final ServerSocketChannel serverChannel;
+	private final Selector selector;
+	private final Queue<Connection> pendingRegistrations = Queues
+			.newConcurrentLinkedQueue();
+	private final Queue<Connection> pendingWrites = Queues
+			.newConcurrentLinkedQueue();
+	private final MessageCodec codec = MessageCodec.instance();
+	private final Thread eventLoopThread;
+	private volatile boolean accepting = true;
+
+	public NioConnectionAccepter(int port) throws IOException {
+		serverChannel = ServerSocketChannel.open();
+		serverChannel.socket().bind(new InetSocketAddress(port));
+		selector = Selector.open();
+		eventLoopThread = new Thread(new EventLoop(), "NIO event loop");
+		eventLoopThread.setDaemon(true);
+		eventLoopThread.start();
+	}
+
+	@Override
+	public ClientHandler acceptClientConnection(Server server)
+			throws IOException {
+		SocketChannel channel = serverChannel.accept();
+		channel.configureBlocking(false);
+		channel.socket().setTcpNoDelay(true);
+		Connection connection = new Connection(channel);
+		ClientHandler handler = ClientHandler.eventDriven(connection,
+				server.expeditionName, server.versionCode);
+		connection.handler = handler;
+		pendingRegistrations.add(connection);
+		selector.wakeup();
+		return handler;
+	}
+
+	/**
+	 * Stops accepting new clients. Connections that are already open stay
+	 * open until they are cancelled, and the selector thread exits once the
+	 * last of them is closed.
+	 */
+	@Override
+	public void shutdown() throws IOException {
+		accepting = false;
+		serverChannel.close();
+		selector.wakeup();
+	}
+
+	public int localPort() {
+		return serverChannel.socket().getLocalPort();
+	}
+
+	private final class EventLoop implements Runnable {
+		@Override
+		public void run() {
+			try {
+				while (accepting || !selector.keys().isEmpty()
+						|| !pendingRegistrations.isEmpty()) {
+					selector.select();
+					registerPendingConnections();
+					enableWritesForPendingConnections();
+					processSelectedKeys();
+				}
+				selector.close();
+			} catch (ClosedSelectorException e) {
+				log().debug("Selector closed; event loop finished.");
+			} catch (IOException e) {
+				log().warn("Event loop problem: " + e.getMessage());
+				e.printStackTrace();
+			}
+			log().debug("NIO event loop finished.");
+		}
+
+		private void registerPendingConnections() {
+			Connection connection;
+			while ((connection = pendingRegistrations.poll()) != null) {
+				try {
+					connection.key = connection.channel.register(selector,
+							connection.interestOps(), connection);
+				} catch (IOException e) {
+					log().warn("Could not register connection: "
+							+ e.getMessage());
+					connection.close();
+				}
+			}
+		}
+
+		private void enableWritesForPendingConnections() {
+			Connection connection;
+			while ((connection = pendingWrites.poll()) != null) {
+				if (connection.key == null) {
+					// Not registered yet; registration will pick up the
+					// pending writes.
+					continue;
+				}
+				if (connection.closeRequested && connection.outbound.isEmpty()) {
+					connection.close();
+				} else if (connection.key.isValid()) {
+					connection.key.interestOps(connection.interestOps());
+				}
+			}
+		}
+
+		private void processSelectedKeys() {
+			Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+			while (keys.hasNext()) {
+				SelectionKey key = keys.next();
+				keys.remove();
+				Connection connection = (Connection) key.attachment();
+				try {
+					if (key.isValid() && key.isReadable()) {
+						connection.readFrames();
+					}
+					if (key.isValid() && key.isWritable()) {
+						connection.writeFrames();
+					}
+				} catch (IOException e) {
+					log().warn("Client connection problem: " + e.getMessage());
+					connection.close();
+				} catch (RuntimeException e) {
+					log().warn("Client handler problem: " + e.getMessage());
+					e.printStackTrace();
+					connection.close();
+				}
+			}
+		}
+	}
+
+	private final class Connection implements FrameSink {
+		private final SocketChannel channel;
+		private final Queue<ByteBuffer[]> outbound = Queues
+				.newConcurrentLinkedQueue();
+		private ByteBuffer readBuffer = ByteBuffer
+				.allocate(INITIAL_READ_BUFFER_SIZE);
+		private ClientHandler handler;
+		private SelectionKey key;
+		private volatile boolean closeRequested = false;
+		private boolean closed = false;
+
+		Connection(SocketChannel channel) {
+			this.channel = checkNotNull(channel);
+		}
+
+		private int interestOps() {
+			return outbound.isEmpty() ? SelectionKey.OP_READ
+					: SelectionKey.OP_READ | SelectionKey.OP_WRITE;
+		}
+
+		private void readFrames() throws IOException {
+			int bytesRead = channel.read(readBuffer);
+			if (bytesRead < 0) {
+				log().debug("Stream finished.");
+				close();
+				return;
+			}
+			readBuffer.flip();
+			int neededCapacity = 0;
+			while (readBuffer.remaining() >= FRAME_HEADER_LENGTH) {
+				int length = readBuffer.getInt(readBuffer.position());
+				if (length <= 0 || length > FramedMessageIO.MAX_FRAME_LENGTH) {
+					throw new StreamCorruptedException("Bad frame length: "
+							+ length);
+				}
+				if (readBuffer.remaining() < FRAME_HEADER_LENGTH + length) {
+					neededCapacity = FRAME_HEADER_LENGTH + length;
+					break;
+				}
+				readBuffer.getInt();
+				byte[] frame = new byte[length];
+				readBuffer.get(frame);
+				handler.handle(codec.decode(frame));
+			}
+			readBuffer.compact();
+			if (neededCapacity > readBuffer.capacity()) {
+				ByteBuffer larger = ByteBuffer.allocate(neededCapacity);
+				readBuffer.flip();
+				larger.put(readBuffer);
+				readBuffer = larger;
+			}
+		}
+
+		private void writeFrames() throws IOException {
+			ByteBuffer[] frame;
+			while ((frame = outbound.peek()) != null) {
+				channel.write(frame);
+				if (frame[frame.length - 1].hasRemaining()) {
+					return;
+				}
+				outbound.poll();
+			}
+			if (closeRequested) {
+				close();
+			} else {
+				key.interestOps(interestOps());
+			}
+		}
+
+		private void close() {
+			if (closed) {
+				return;
+			}
+			closed = true;
+			if (key != null) {
+				key.cancel();
+				// Let the next select deregister the key promptly so the
+				// loop can notice when the last connection is gone.
+				selector.wakeup();
+			}
+			try {
+				channel.close();
+			} catch (IOException e) {
+				log().warn("Problem closing channel: " + e.getMessage());
+			}
+			if (handler != null) {
+				handler.notifyDisconnected();
+			}
+		}
+
+		@Override
+		public MessageSink send(Message message) throws IOException {
+			sendFrame(codec.encode(message));
+			return this;
+		}
+
+		@Override
+		public void sendFrame(byte[] frame) throws IOException {
+			if (closeRequested || !channel.isOpen()) {
+				throw new IOException("Connection is closed.");
+			}
+			ByteBuffer header = ByteBuffer.allocate(FRAME_HEADER_LENGTH);
+			header.putInt(frame.length).flip();
+			ByteBuffer[] buffers = { header, ByteBuffer.wrap(frame) };
+			// Frames are queued under a lock so that the rest of a frame the
+			// event loop has partly written cannot land behind one queued by
+			// another thread in the meantime.
+			synchronized (outbound) {
+				if (Thread.currentThread() == eventLoopThread && key != null
+						&& outbound.isEmpty()) {
+					// Replies sent from a handler on the event loop can
+					// usually be written immediately without another trip
+					// through select.
+					channel.write(buffers);
+					if (!buffers[1].hasRemaining()) {
+						return;
+					}
+				}
+				outbound.add(buffers);
+			}
+			pendingWrites.add(this);
+			selector.wakeup();
+		}
+
+		/**
+		 * Closes the connection once everything already sent has been
+		 * written, so that a final {@link Message.ServerGoingDown} still
+		 * reaches the client.
+		 */
+		@Override
+		public void cancel() {
+			closeRequested = true;
+			pendingWrites.add(this);
+			selector.wakeup();
+		}
+
+		@Override
+		public boolean isNetworked() {
+			return true;
+		}
+	}
+}
@@ -0,0 +1,126 @@
+/*
+  Copyright 2015 Ball State University
+
+  This file is part of Collaboration Station.
+
+  Collaboration Station is free software: you can redistribute it
+  and/or modify it under the terms of the GNU General Public
+  License as published by the Free Software Foundation, either
+  version 3 of the License, or (at your option) any later version.
+
+  Collaboration Station is distributed in the hope that it will
+  be useful, but WITHOUT ANY WARRANTY; without even the implied
+  warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+  PURPOSE.  See the GNU General Public License for more details.
+
+  You should have received a copy of the GNU General Public
+  License along with Collaboration Station.  If not, see
+  <http://www.gnu.org/licenses/>.
+*/
+package edu.bsu.issgame.core.net.server;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static playn.core.PlayN.log;
+
+import java.io.IOException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+
+import com.google.common.collect.Queues;
+
+import edu.bsu.issgame.core.net.FrameSink;
+import edu.bsu.issgame.core.net.Message;
+import edu.bsu.issgame.core.net.MessageSink;
+
+/**
+ * Messages waiting to be written to one client. A writer thread drains the
+ * queue so that a slow client only delays its own messages. Until the
+ * writer is started, messages are written by the caller.
+ */
+final class OutboundQueue implements Runnable {
+
+	private static final Outgoing CLOSE = new Outgoing(null, null);
+
+	private static final class Outgoing {
+		final Message message;
+		final byte[] frame;
+
+		Outgoing(Message message, byte[] frame) {
+			this.message = message;
+			this.frame = frame;
+		}
+	}
+
+	private final MessageSink io;
+	private final BlockingQueue<Outgoing> queue = Queues
+			.newLinkedBlockingQueue();
+	private volatile boolean writerStarted = false;
+
+	OutboundQueue(MessageSink io) {
+		this.io = checkNotNull(io);
+	}
+
+	/**
+	 * Queues a message for this client. If the frame is not null, it must be
+	 * the message encoded by {@link edu.bsu.issgame.core.net.MessageCodec};
+	 * it is written instead of the message when the connection accepts
+	 * frames.
+	 */
+	void enqueue(Message message, byte[] frame) {
+		checkNotNull(message);
+		if (writerStarted) {
+			queue.add(new Outgoing(message, frame));
+		} else {
+			write(new Outgoing(message, frame));
+		}
+	}
+
+	int depth() {
+		return queue.size();
+	}
+
+	/**
+	 * Closes the connection once the messages already queued have been
+	 * written.
+	 */
+	void close() {
+		if (writerStarted) {
+			queue.add(CLOSE);
+		} else {
+			io.cancel();
+		}
+	}
+
+	void startWriter(Executor executor) {
+		writerStarted = true;
+		executor.execute(this);
+	}
+
+	@Override
+	public void run() {
+		try {
+			while (true) {
+				Outgoing outgoing = queue.take();
+				if (outgoing == CLOSE) {
+					io.cancel();
+					return;
+				}
+				write(outgoing);
+			}
+		} catch (InterruptedException e) {
+			log().debug("Outbound writer interrupted.");
+		}
+	}
+
+	private void write(Outgoing outgoing) {
+		try {
+			if (outgoing.frame != null && io instanceof FrameSink) {
+				((FrameSink) io).sendFrame(outgoing.frame);
+			} else {
+				io.send(outgoing.message);
+			}
+		} catch (IOException e) {
+			log().warn("Problem writing message. " + e.getMessage());
+		}
+	}
+}
@@ -44,26 +44,44 @@ import edu.bsu.issgame.core.mission.Mission.Result.ScenarioSuccess;
 import edu.bsu.issgame.core.mission.MissionFactory;
 import edu.bsu.issgame.core.mission.Scenario;
 import edu.bsu.issgame.core.net.ClientId;
+import edu.bsu.issgame.core.net.FrameSink;
 import edu.bsu.issgame.core.net.Message;
 import edu.bsu.issgame.core.net.Message.Introduce;
+import edu.bsu.issgame.core.net.Message.LogVerbosityLevel;
 import edu.bsu.issgame.core.net.Message.ReportScore;
 import edu.bsu.issgame.core.net.Message.RequestAdvanceToScenarioSetup;
 import edu.bsu.issgame.core.net.Message.RequestStartGame;
 import edu.bsu.issgame.core.net.Message.RequestStartScenario;
 import edu.bsu.issgame.core.net.Message.VersionMismatch;
-import edu.bsu.issgame.core.net.Message.Visitor;
+import edu.bsu.issgame.core.net.MessageCodec;
+import edu.bsu.issgame.core.net.MessageDispatcher;
+import edu.bsu.issgame.core.net.MessageDispatcher.Handler;
 import edu.bsu.issgame.core.net.PingService;
-
+import edu.bsu.issgame.core.util.HashedWheelTimer;
+
+/**
+ * Accepts client connections and runs the game. Everything that changes the
+ * game's state, from messages and connections to ping failures, is posted
+ * to a {@link Mailbox} and handled on its single thread, so the state and
+ * the list of clients are confined to that thread.
+ */
 public final class Server implements Runnable {
 
 	static final int MAX_PLAYERS = 4;
 
 	private final ConnectionAccepter connector;
-	private boolean stopRequested = false;
+	private volatile boolean stopRequested = false;
+	private volatile boolean shutdownRequested = false;
 	private final ExecutorService executorService;
+	final Mailbox mailbox = new Mailbox();
+
+	// Confined to the mailbox thread.
 	private State state;
 	private List<ClientHandler> clientHandlers = Lists.newArrayList();
 
+	private final HashedWheelTimer heartbeatTimer = new HashedWheelTimer(
+			"Server heartbeats");
+
 	private UnitSignal serverStart = new UnitSignal();
 	private UnitSignal serverStopped = new UnitSignal();
 
@@ -89,6 +107,10 @@ public final class Server implements Runnable {
 
 	public void run() {
 		int connections = 0;
+		if (!shutdownRequested) {
+			heartbeatTimer.start();
+			mailbox.start(executorService);
+		}
 		serverStart.emit();
 		while (!stopRequested && connections <= MAX_PLAYERS) {
 			try {
@@ -115,73 +137,162 @@ public final class Server implements Runnable {
 		log().debug("Server is done.");
 	}
 
-	public void runClientHandler(ClientHandler handler) {
-		log().debug("A client has connected, starting the handler thread.");
+	public void runClientHandler(final ClientHandler handler) {
 		directMessagesFromClientToTheServerState(handler);
-		executorService.execute(handler);
+		mailbox.post(new Runnable() {
+			@Override
+			public void run() {
+				log().debug(
+						"A client has connected, starting the handler thread.");
+				handler.startOutboundWriter(executorService);
+				executorService.execute(handler);
+			}
+		});
 	}
 
-	private void directMessagesFromClientToTheServerState(ClientHandler handler) {
+	private void directMessagesFromClientToTheServerState(
+			final ClientHandler handler) {
 		handler.onReceived().connect(new Slot<MessageReceivedEvent>() {
 			@Override
-			public void onEmit(MessageReceivedEvent event) {
-				state.onReceive(event);
+			public void onEmit(final MessageReceivedEvent event) {
+				mailbox.post(new Runnable() {
+					@Override
+					public void run() {
+						state.onReceive(event);
+					}
+				});
+			}
+		});
+		handler.onDisconnected().connect(new UnitSlot() {
+			@Override
+			public void onEmit() {
+				mailbox.post(new Runnable() {
+					@Override
+					public void run() {
+						onDisconnected(handler);
+					}
+				});
 			}
 		});
 	}
 
+	private void onDisconnected(ClientHandler handler) {
+		if (clientHandlers.remove(handler)) {
+			log().debug("Client disconnected: " + handler);
+			handler.cancel();
+			if (state == inGameState) {
+				inGameState.onClientLeft();
+			}
+		}
+	}
+
+	/**
+	 * A client that stops answering pings in the lobby ends the expedition,
+	 * but once the game has started only that client is dropped, so that the
+	 * others can finish the mission.
+	 */
+	private void onPingFailure(ClientHandler handler) {
+		if (state == inGameState) {
+			log().error(" --- PING FAILURE on client " + handler
+					+ "; dropping it from the game");
+			onDisconnected(handler);
+		} else {
+			log().error(" --- PING FAILURE on client " + handler);
+			shutdown();
+		}
+	}
+
 	private void broadcast(Message message) {
 		checkNotNull(message);
-		synchronized (clientHandlers) {
-			for (ClientHandler clientHandler : clientHandlers) {
+		List<ClientHandler> recipients = clientHandlers;
+		long start = System.nanoTime();
+		byte[] frame = encodeIfAnyRecipientTakesFrames(message, recipients);
+		long encodeNanos = System.nanoTime() - start;
+		for (ClientHandler clientHandler : recipients) {
+			clientHandler.outbound.enqueue(message, frame);
+		}
+		if (message.logVerbosityLevel() == LogVerbosityLevel.DEBUG) {
+			List<Integer> queueDepths = Lists.newArrayList();
+			for (ClientHandler clientHandler : recipients) {
+				queueDepths.add(clientHandler.outboundQueueDepth());
+			}
+			log().debug("Broadcast " + message.getClass().getSimpleName()
+					+ (frame == null ? "" : " as " + frame.length + " bytes")
+					+ "; encoding took " + encodeNanos / 1000
+					+ "us; outbound queue depths " + queueDepths);
+		}
+	}
+
+	private byte[] encodeIfAnyRecipientTakesFrames(Message message,
+			List<ClientHandler> recipients) {
+		for (ClientHandler clientHandler : recipients) {
+			if (clientHandler.io instanceof FrameSink) {
 				try {
-					clientHandler.io.send(message);
+					return MessageCodec.instance().encode(message);
 				} catch (IOException e) {
-					log().warn("Problem writing message. " + e.getMessage());
-					e.printStackTrace();
+					log().warn("Problem encoding message. " + e.getMessage());
+					return null;
 				}
 			}
 		}
+		return null;
 	}
 
-	public void shutdown() {
-		if (stopRequested) {
+	/**
+	 * Stops accepting clients at once, then tells the clients that the
+	 * server is going down and disconnects them once the events already in
+	 * the mailbox have been handled.
+	 */
+	public synchronized void shutdown() {
+		if (shutdownRequested) {
 			log().info(
 					"Shutdown already requested; ignoring duplicate request.");
-		} else {
-			stopRequested = true;
-			log().debug("Server.shutdown()-- broadcasting server going down");
-			broadcast(new Message.ServerGoingDown());
-			try {
-				connector.shutdown();
-			} catch (IOException ioe) {
-				ioe.printStackTrace();
-			}
-			for (ClientHandler handler : clientHandlers) {
-				handler.cancel();
-			}
+			return;
 		}
+		shutdownRequested = true;
+		stopRequested = true;
+		try {
+			connector.shutdown();
+		} catch (IOException ioe) {
+			ioe.printStackTrace();
+		}
+		mailbox.post(new Runnable() {
+			@Override
+			public void run() {
+				log().debug(
+						"Server.shutdown()-- broadcasting server going down");
+				broadcast(new Message.ServerGoingDown());
+				for (ClientHandler handler : clientHandlers) {
+					handler.cancel();
+				}
+				heartbeatTimer.stop();
+				log().debug("Server mailbox " + mailbox);
+				mailbox.stop();
+			}
+		});
 	}
 
 	public boolean wasShutdownRequested() {
-		return stopRequested;
+		return shutdownRequested;
 	}
 
 	private void startPingServicesOn(final ClientHandler handler) {
 		if (handler.io.isNetworked()) {
 			PingService.Server pingServer = PingService
-					.createServer(handler.io);
-			handler.onReceived().connect(pingServer);
+					.createServer(handler.queuedSink);
 			pingServer.onFailure(new UnitSlot() {
 				@Override
 				public void onEmit() {
-					log().error(" --- PING FAILURE on client " + handler);
-					broadcast(new Message.ServerGoingDown());
-					shutdown();
+					mailbox.post(new Runnable() {
+						@Override
+						public void run() {
+							onPingFailure(handler);
+						}
+					});
 				}
 			});
 			log().debug("Server is starting the ping service.");
-			executorService.execute(pingServer);
+			handler.startPingService(pingServer, heartbeatTimer);
 		}
 	}
 
@@ -230,47 +341,50 @@ public final class Server implements Runnable {
 	private final State lobbyState = new State.AbstractState() {
 		@Override
 		public void onReceive(MessageReceivedEvent event) {
-			event.message.accept(messageProcessor, event.handler);
+			messageProcessor.dispatch(event.message, event.handler);
 		}
 
-		private Message.Visitor messageProcessor = new Message.Visitor.Adapter() {
-			@Override
-			public void visit(Introduce introduce, Object... args) {
-				ClientHandler handler = (ClientHandler) args[0];
-				synchronized (clientHandlers) {
-					clientHandlers.add(handler);
-				}
-				List<ClientId> clientIdList = makeClientIdList();
-				Message.Welcome welcome = new Message.Welcome(clientIdList);
-				broadcast(welcome);
-				startPingServicesOn(handler);
-			}
-
-			private List<ClientId> makeClientIdList() {
-				List<ClientId> list = Lists.newArrayList();
-				synchronized (clientHandlers) {
-					for (ClientHandler handler : clientHandlers) {
-						list.add(handler.id());
+		private final MessageDispatcher<ClientHandler> messageProcessor = MessageDispatcher
+				.<ClientHandler> create()
+				.on(Introduce.class, new Handler<Introduce, ClientHandler>() {
+					@Override
+					public void handle(Introduce introduce,
+							ClientHandler handler) {
+						clientHandlers.add(handler);
+						List<ClientId> clientIdList = makeClientIdList();
+						Message.Welcome welcome = new Message.Welcome(
+								clientIdList);
+						broadcast(welcome);
+						startPingServicesOn(handler);
 					}
-				}
-				return list;
-			}
-
-			@Override
-			public void visit(VersionMismatch versionMismatch, Object... args) {
-				ClientHandler handler = (ClientHandler) args[0];
-				handler.cancel();
-			}
-
-			@Override
-			public void visit(RequestStartGame request, Object... args) {
-				startGameWithCurrentClients();
+				})
+				.on(VersionMismatch.class,
+						new Handler<VersionMismatch, ClientHandler>() {
+							@Override
+							public void handle(VersionMismatch versionMismatch,
+									ClientHandler handler) {
+								handler.cancel();
+							}
+						})
+				.on(RequestStartGame.class,
+						new Handler<RequestStartGame, ClientHandler>() {
+							@Override
+							public void handle(RequestStartGame request,
+									ClientHandler handler) {
+								startGameWithCurrentClients();
+							}
+						});
+
+		private List<ClientId> makeClientIdList() {
+			List<ClientId> list = Lists.newArrayList();
+			for (ClientHandler handler : clientHandlers) {
+				list.add(handler.id());
 			}
-		};
-
+			return list;
+		}
 	};
 
-	private final State inGameState = new InGameState();
+	private final InGameState inGameState = new InGameState();
 
 	private final class InGameState extends State.AbstractState {
 
@@ -278,60 +392,91 @@ public final class Server implements Runnable {
 
 		private Mission mission;
 
-		private final Visitor visitor = new CautiousVisitor() {
-
-			@Override
-			public void visit(RequestAdvanceToScenarioSetup request,
-					Object... args) {
-				Scenario scenario = mission.scenario();
-				broadcast(new Message.AdvanceToScenarioSetup(scenario));
-			}
+		private final MessageDispatcher<ClientHandler> messageProcessor = MessageDispatcher
+				.<ClientHandler> create()
+				.on(RequestAdvanceToScenarioSetup.class,
+						new Handler<RequestAdvanceToScenarioSetup, ClientHandler>() {
+							@Override
+							public void handle(
+									RequestAdvanceToScenarioSetup request,
+									ClientHandler sender) {
+								Scenario scenario = mission.scenario();
+								broadcast(new Message.AdvanceToScenarioSetup(
+										scenario));
+							}
+						})
+				.on(RequestStartScenario.class,
+						new Handler<RequestStartScenario, ClientHandler>() {
+							@Override
+							public void handle(RequestStartScenario request,
+									ClientHandler sender) {
+								broadcast(new Message.StartScenario(request));
+							}
+						})
+				.on(ReportScore.class, new Handler<ReportScore, ClientHandler>() {
+					@Override
+					public void handle(ReportScore reportScore,
+							ClientHandler sender) {
+						recordScore(sender, reportScore);
+					}
+				})
+				.on(RequestStartGame.class,
+						new Handler<RequestStartGame, ClientHandler>() {
+							@Override
+							public void handle(RequestStartGame request,
+									ClientHandler sender) {
+								enterState(inGameState);
+							}
+						});
+
+		private void recordScore(ClientHandler sender, ReportScore reportScore) {
+			scoreboard.put(sender.id(), reportScore.score);
+			finishScenarioIfAllClientsHaveReported();
+		}
 
-			@Override
-			public void visit(RequestStartScenario request, Object... args) {
-				broadcast(new Message.StartScenario(request));
+		/** A client that left may have been the last one still playing. */
+		private void onClientLeft() {
+			if (scoreboard.size() > 0) {
+				finishScenarioIfAllClientsHaveReported();
 			}
+		}
 
-			@Override
-			public void visit(ReportScore reportScore, Object... args) {
-				ClientHandler sender = (ClientHandler) args[0];
-				scoreboard.put(sender.id(), reportScore.score);
-				if (allClientsHaveReportedScore()) {
-					Score total = scoreboard.sum();
-					Result result = mission.evaluateCurrentScenario(total);
-					result.accept(new Mission.Result.Visitor() {
-						@Override
-						public void visit(ScenarioSuccess success) {
-							Scenario nextScenario = mission.scenario();
-							broadcast(new Message.ScenarioFinishedWithSuccess(
-									scoreboard, nextScenario));
-						}
-
-						@Override
-						public void visit(MissionSuccess success) {
-							broadcast(new Message.ScenarioFinishedSuccesfullyEndingMission(
-									scoreboard, mission.conclusion));
-						}
+		private void finishScenarioIfAllClientsHaveReported() {
+			if (allClientsHaveReportedScore()) {
+				Score total = scoreboard.sum();
+				Result result = mission.evaluateCurrentScenario(total);
+				result.accept(new Mission.Result.Visitor() {
+					@Override
+					public void visit(ScenarioSuccess success) {
+						Scenario nextScenario = mission.scenario();
+						broadcast(new Message.ScenarioFinishedWithSuccess(
+								scoreboard, nextScenario));
+					}
 
-						@Override
-						public void visit(Failure failure) {
-							broadcast(new Message.ScenarioFinishedInFailure(
-									scoreboard));
-						}
-					});
-					scoreboard = new Scoreboard();
-				}
-			}
+					@Override
+					public void visit(MissionSuccess success) {
+						broadcast(new Message.ScenarioFinishedSuccesfullyEndingMission(
+								scoreboard, mission.conclusion));
+					}
 
-			@Override
-			public void visit(RequestStartGame request, Object... args) {
-				enterState(inGameState);
+					@Override
+					public void visit(Failure failure) {
+						broadcast(new Message.ScenarioFinishedInFailure(
+								scoreboard));
+					}
+				});
+				scoreboard = new Scoreboard();
 			}
+		}
 
-			private boolean allClientsHaveReportedScore() {
-				return scoreboard.size() == clientHandlers.size();
+		private boolean allClientsHaveReportedScore() {
+			for (ClientHandler handler : clientHandlers) {
+				if (scoreboard.get(handler.id()) == null) {
+					return false;
+				}
 			}
-		};
+			return true;
+		}
 
 		@Override
 		public void onEnter() {
@@ -350,7 +495,7 @@ public final class Server implements Runnable {
 
 		@Override
 		public void onReceive(MessageReceivedEvent event) {
-			event.message.accept(visitor, event.handler);
+			messageProcessor.dispatch(event.message, event.handler);
 		}
 	};
 
@@ -360,6 +505,11 @@ public final class Server implements Runnable {
 	}
 
 	public void broadcastNewsOfMyDemise() {
-		broadcast(new Message.ServerGoingDown());
+		mailbox.post(new Runnable() {
+			@Override
+			public void run() {
+				broadcast(new Message.ServerGoingDown());
+			}
+		});
 	}
 }
@@ -19,25 +19,34 @@
 */
 package edu.bsu.issgame.core.net.server;
 
+import static com.google.common.base.Preconditions.checkNotNull;
+
 import java.io.IOException;
 import java.net.ServerSocket;
 import java.net.Socket;
 
-import edu.bsu.issgame.core.net.MessageIO;
+import edu.bsu.issgame.core.net.WireFormat;
 
 public class SocketConnectionAccepter implements ConnectionAccepter {
 
 	private final ServerSocket serverSocket;
+	private final WireFormat wireFormat;
 
 	public SocketConnectionAccepter(int port) throws IOException {
+		this(port, WireFormat.SERIALIZED);
+	}
+
+	public SocketConnectionAccepter(int port, WireFormat wireFormat)
+			throws IOException {
 		this.serverSocket = new ServerSocket(port);
+		this.wireFormat = checkNotNull(wireFormat);
 	}
 
 	@Override
 	public ClientHandler acceptClientConnection(Server server)
 			throws IOException {
 		Socket socket = serverSocket.accept();
-		return new ClientHandler(MessageIO.SocketAdapter.inServerMode(socket),
+		return new ClientHandler(wireFormat.inServerMode(socket),
 				server.expeditionName, server.versionCode);
 	}
 
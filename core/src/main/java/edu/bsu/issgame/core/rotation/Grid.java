@@ -21,29 +21,49 @@ package edu.bsu.issgame.core.rotation;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
 
+import java.util.AbstractSet;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collection;
-import java.util.EnumSet;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
-import java.util.Set;
+import java.util.NoSuchElementException;
+import java.util.Random;
 
+import pythagoras.i.Dimension;
 import pythagoras.i.IDimension;
 import pythagoras.i.IPoint;
 import pythagoras.i.Point;
-import pythagoras.i.Rectangle;
 import react.Signal;
 import react.SignalView;
+import react.UnitSignal;
 
 import com.google.common.base.MoreObjects;
+import com.google.common.base.Predicate;
+import com.google.common.base.Predicates;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
-import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 
 import edu.bsu.issgame.core.rotation.Path.Node;
 
+/**
+ * A rectangular grid of rotatable cells. Each cell's connections are kept as
+ * a four-bit mask in a flat array indexed by {@code x + y * width}, with one
+ * bit per {@link Direction} in ordinal order. {@link Cell} is a view onto
+ * that array; cells are created once per grid, so they can be compared by
+ * identity.
+ * <p>
+ * The set of cells connected to the start is maintained as cells change.
+ * When a single cell changes, only the cells reachable from it before or
+ * after the change are searched again, and {@link #onConnectivityChanged()}
+ * reports the cells whose {@link Cell#isConnectedToStart()} flipped. The
+ * searches reuse a single queue and bitsets, so a grid should only be used
+ * from one thread at a time.
+ */
 public class Grid {
 
 	public static Builder create(IDimension size) {
@@ -94,78 +114,95 @@ public class Grid {
 		}
 	}
 
-	public final class Cell {
-		private boolean isConnectedToStart;
-		private final IPoint position;
-		private final EnumSet<Direction> directions = EnumSet
-				.noneOf(Direction.class);
+	private static final Direction[] DIRECTIONS = Direction.values();
+	private static final int ALL_DIRECTIONS = 0xF;
 
-		private final Signal<Cell> onTurnRight = Signal.create();
+	private static final List<ImmutableSet<Direction>> DIRECTION_SETS = directionSets();
 
-		private Cell(IPoint position) {
-			this.position = position;
+	private static List<ImmutableSet<Direction>> directionSets() {
+		List<ImmutableSet<Direction>> result = Lists.newArrayList();
+		for (int mask = 0; mask <= ALL_DIRECTIONS; mask++) {
+			List<Direction> directions = Lists.newArrayList();
+			for (Direction d : DIRECTIONS) {
+				if ((mask & bit(d)) != 0) {
+					directions.add(d);
+				}
+			}
+			result.add(Sets.immutableEnumSet(directions));
 		}
+		return result;
+	}
 
-		public boolean isConnectedToStart() {
-			return isConnectedToStart;
+	private static int bit(Direction d) {
+		return 1 << d.ordinal();
+	}
+
+	private static int rotateRight(int mask) {
+		return rotateRight(mask, 1);
+	}
+
+	private static int rotateRight(int mask, int turns) {
+		return ((mask << turns) | (mask >>> (DIRECTIONS.length - turns)))
+				& ALL_DIRECTIONS;
+	}
+
+	public final class Cell {
+		private final int index;
+		private Signal<Cell> onTurnRight;
+
+		private Cell(int index) {
+			this.index = index;
 		}
 
-		public void setConnectedToStart(boolean isConnectedToStart) {
-			this.isConnectedToStart = isConnectedToStart;
+		public boolean isConnectedToStart() {
+			refreshIfStale();
+			return connectedFlags.get(index);
 		}
 
 		public boolean has(Direction d) {
-			return directions.contains(d);
+			return (masks[index] & bit(d)) != 0;
 		}
 
 		public Cell add(Direction d) {
-			isConnectedToStart = false;
-			directions.add(d);
+			changeMask(index, masks[index] | bit(d));
 			return this;
 		}
 
 		public ImmutableSet<Direction> directions() {
-			return Sets.immutableEnumSet(directions);
+			return DIRECTION_SETS.get(masks[index]);
 		}
 
 		@Override
 		public String toString() {
 			return MoreObjects.toStringHelper(this)//
-					.add("directions", directions)//
+					.add("directions", directions())//
 					.toString();
 		}
 
 		public SignalView<Cell> onTurnRight() {
+			if (onTurnRight == null) {
+				onTurnRight = Signal.create();
+			}
 			return onTurnRight;
 		}
 
 		public void turnRight() {
-			EnumSet<Direction> rotatedDirections = EnumSet
-					.noneOf(Direction.class);
-			for (Direction dir : directions) {
-				rotatedDirections.add(dir.turnRight());
+			changeMask(index, rotateRight(masks[index]));
+			if (onTurnRight != null) {
+				onTurnRight.emit(this);
 			}
-			directions.clear();
-			directions.addAll(rotatedDirections);
-			onTurnRight.emit(this);
 		}
 
 		public boolean isConnectedTo(Direction direction) {
-			if (has(direction)) {
-				IPoint neighborPosition = direction.of(position);
-				if (isOnGrid(neighborPosition)) {
-					return at(neighborPosition).has(direction.opposite());
-				}
-			}
-			return false;
+			return neighborIndex(index, direction) >= 0;
 		}
 
 		public Collection<Cell> connectedNeighbors() {
 			List<Cell> result = Lists.newArrayList();
-			for (Direction direction : Direction.values()) {
-				if (isConnectedTo(direction)) {
-					Cell neighbor = at(direction.of(position));
-					result.add(neighbor);
+			for (Direction direction : DIRECTIONS) {
+				int neighbor = neighborIndex(index, direction);
+				if (neighbor >= 0) {
+					result.add(cells[neighbor]);
 				}
 			}
 			return result;
@@ -174,37 +211,89 @@ public class Grid {
 
 	public final Direction startDirection;
 	public final Direction finishDirection;
-	private final IDimension size;
+	private final int width;
+	private final int height;
 	private final IPoint startCell;
 	private final IPoint finishCell;
-	private final Rectangle bounds;
+	private final int startIndex;
+	private final int finishIndex;
 	private static final float T_PROBABILITY = 0.2f;
 
-	private Map<IPoint, Cell> map = Maps.newHashMap();
+	private final byte[] masks;
+	private final Cell[] cells;
+	private final BitSet connectedFlags = new BitSet();
+	private final BitSet visited = new BitSet();
+	private final BitSet affected = new BitSet();
+	private final int[] searchQueue;
+	private final Signal<Collection<Cell>> onConnectivityChanged = Signal
+			.create();
+	private final UnitSignal onReset = new UnitSignal();
+	private int bulkUpdateDepth;
+	private boolean stale;
 
 	private Grid(Builder builder) {
-		this.size = builder.size;
+		this.width = builder.size.width();
+		this.height = builder.size.height();
 		this.startDirection = builder.startDirection;
 		this.finishDirection = builder.finishDirection;
 		this.startCell = builder.startCell;
 		this.finishCell = builder.finishCell;
-		this.bounds = new Rectangle(0, 0, size.width(), size.height());
-		initializeEmptyMap();
+		this.masks = new byte[width * height];
+		this.cells = new Cell[masks.length];
+		this.searchQueue = new int[masks.length];
+		for (int i = 0; i < cells.length; i++) {
+			cells[i] = new Cell(i);
+		}
+		this.startIndex = indexOf(startCell);
+		this.finishIndex = indexOf(finishCell);
 		putDirectionMarkersForStartAndFinishCells();
+		refresh();
 	}
 
-	private void initializeEmptyMap() {
-		for (int col = 0; col < size.width(); col++) {
-			for (int row = 0; row < size.height(); row++) {
-				Point position = new Point(col, row);
-				map.put(position, new Cell(position));
-			}
+	private void putDirectionMarkersForStartAndFinishCells() {
+		masks[startIndex] |= bit(startDirection);
+		masks[finishIndex] |= bit(finishDirection);
+	}
+
+	private int indexOf(IPoint location) {
+		return indexOf(location.x(), location.y());
+	}
+
+	private int indexOf(int x, int y) {
+		if (!isOnGrid(x, y)) {
+			throw new IndexOutOfBoundsException("Not on grid: " + x + ","
+					+ y);
 		}
+		return x + y * width;
 	}
 
-	private void putDirectionMarkersForStartAndFinishCells() {
-		map.get(startCell).directions.add(startDirection);
-		map.get(finishCell).directions.add(finishDirection);
+	/**
+	 * Returns the direction mask of the cell at the given index, with one bit
+	 * per {@link Direction} in ordinal order.
+	 */
+	int maskAt(int index) {
+		return masks[index];
+	}
+
+	private boolean isOnGrid(int x, int y) {
+		return x >= 0 && y >= 0 && x < width && y < height;
+	}
+
+	/**
+	 * Returns the index of the cell that the given cell connects to in the
+	 * given direction, or -1 if there is no such connection.
+	 */
+	private int neighborIndex(int index, Direction d) {
+		if ((masks[index] & bit(d)) == 0) {
+			return -1;
+		}
+		int x = index % width + d.xMod;
+		int y = index / width + d.yMod;
+		if (!isOnGrid(x, y)) {
+			return -1;
+		}
+		int neighbor = x + y * width;
+		return (masks[neighbor] & bit(d.opposite())) != 0 ? neighbor : -1;
 	}
 
 	public boolean doesPathConnectStartToEnd(Path path) {
@@ -213,76 +302,175 @@ public class Grid {
 	}
 
 	public void layPath(Path path) {
+		beginBulkUpdate();
+		try {
+			layNodes(path);
+		} finally {
+			endBulkUpdate();
+		}
+	}
+
+	private void layNodes(Path path) {
 		for (Node node : path) {
 			checkArgument(isOnGrid(node.location()), "Path node not on grid: "
 					+ node);
-			Cell cell = map.get(node.location());
+			int index = indexOf(node.location());
+			int mask = masks[index];
 			if (node.hasPrevious()) {
-				Direction d = node.directionFromPrevious();
-				cell.directions.add(d);
+				mask |= bit(node.directionFromPrevious());
 			}
 			if (node.hasNext()) {
-				Direction d = node.directionToNext();
-				cell.directions.add(d);
+				mask |= bit(node.directionToNext());
 			}
+			changeMask(index, mask);
 		}
 	}
 
 	public boolean isOnGrid(IPoint location) {
-		return bounds.contains(location);
+		return isOnGrid(location.x(), location.y());
 	}
 
 	public final Cell at(int x, int y) {
-		return at(new Point(x, y));
+		return cells[indexOf(x, y)];
 	}
 
 	public Cell at(IPoint location) {
-		if (!isOnGrid(location)) {
-			throw new IndexOutOfBoundsException();
-		} else {
-			return map.get(location);
-		}
+		return cells[indexOf(location)];
 	}
 
 	public int width() {
-		return size.width();
+		return width;
 	}
 
 	public int height() {
-		return size.height();
+		return height;
 	}
 
 	public void addFillCells() {
-		for (IPoint p : map.keySet()) {
-			Cell cell = map.get(p);
+		addFillCells(new Random());
+	}
+
+	public void addFillCells(Random random) {
+		checkNotNull(random);
+		beginBulkUpdate();
+		try {
+			fillCells(random);
+		} finally {
+			endBulkUpdate();
+		}
+	}
+
+	private void fillCells(Random random) {
+		for (Cell cell : cells) {
 			int numberOfDirections;
-			if (1 - Math.random() < T_PROBABILITY) {
+			if (random.nextFloat() < T_PROBABILITY) {
 				numberOfDirections = 3;
 			} else {
 				numberOfDirections = 2;
 			}
-			while (cell.directions().size() < numberOfDirections) {
-				cell.add(Direction.getRandom());
+			while (Integer.bitCount(masks[cell.index]) < numberOfDirections) {
+				cell.add(DIRECTIONS[random.nextInt(DIRECTIONS.length)]);
 			}
 		}
 	}
 
 	public boolean isSolved() {
-		Cell start = at(startCell);
-		Cell finish = at(finishCell);
-		if (start.has(startDirection) && finish.has(finishDirection)) {
-			Collection<Cell> connected = connectedToStart();
-			return connected.contains(finish);
+		refreshIfStale();
+		return isSolvedWith(connectedFlags);
+	}
+
+	private boolean isSolvedWith(BitSet connected) {
+		return (masks[finishIndex] & bit(finishDirection)) != 0
+				&& connected.get(finishIndex);
+	}
+
+	/**
+	 * Removes every connection except those of the start and finish cells to
+	 * the outside of the grid.
+	 */
+	public void clear() {
+		beginBulkUpdate();
+		try {
+			for (int i = 0; i < masks.length; i++) {
+				changeMask(i, 0);
+			}
+			putDirectionMarkersForStartAndFinishCells();
+		} finally {
+			endBulkUpdate();
 		}
-		return false;
+	}
+
+	public void scramble(Random random) {
+		scramble(random, Predicates.<Grid> alwaysTrue());
+	}
+
+	/**
+	 * Gives every cell a random orientation, repeating until the grid is not
+	 * solved and the given condition accepts it, and then emits
+	 * {@link #onReset()}. No turn or connectivity events are emitted, so
+	 * listeners should treat the reset as a change to every cell.
+	 */
+	public void scramble(Random random, Predicate<? super Grid> acceptable) {
+		checkNotNull(random);
+		checkNotNull(acceptable);
+		do {
+			for (int i = 0; i < masks.length; i++) {
+				masks[i] = (byte) rotateRight(masks[i],
+						random.nextInt(DIRECTIONS.length));
+			}
+			resetConnectivity();
+		} while (isSolvedWith(connectedFlags) || !acceptable.apply(this));
+		onReset.emit();
+	}
+
+	private void resetConnectivity() {
+		searchFromStart();
+		connectedFlags.clear();
+		connectedFlags.or(visited);
+		stale = false;
+	}
+
+	/**
+	 * Returns a copy of every cell's direction mask, for
+	 * {@link #restoreMasks(byte[])}.
+	 */
+	byte[] copyMasks() {
+		refreshIfStale();
+		return masks.clone();
+	}
+
+	/**
+	 * Replaces every cell's direction mask with the given ones and emits
+	 * {@link #onReset()}, as {@link #scramble(Random)} does.
+	 */
+	void restoreMasks(byte[] savedMasks) {
+		checkArgument(savedMasks.length == masks.length,
+				"Masks are for a grid of another size");
+		checkState(bulkUpdateDepth == 0, "Cannot restore during a bulk update");
+		System.arraycopy(savedMasks, 0, masks, 0, masks.length);
+		resetConnectivity();
+		onReset.emit();
+	}
+
+	/**
+	 * Returns an empty grid of the same size with the same start and finish.
+	 * Only final fields are read, so this may be called from any thread.
+	 */
+	Grid blankCopy() {
+		Builder builder = new Builder(new Dimension(width, height));
+		builder.startDirection = startDirection;
+		builder.startCell = startCell;
+		builder.finishDirection = finishDirection;
+		builder.finishCell = finishCell;
+		return builder.build();
+	}
+
+	public SignalView<Void> onReset() {
+		return onReset;
 	}
 
 	public ArrayList<Cell> getCells() {
-		ArrayList<Cell> cells = new ArrayList<Cell>();
-		for (IPoint point : map.keySet()) {
-			cells.add(map.get(point));
-		}
-		return cells;
+		return Lists.newArrayList(cells);
 	}
 
 	public IPoint startPoint() {
@@ -294,25 +482,181 @@ public class Grid {
 	}
 
 	public Iterable<Cell> cells() {
-		return map.values();
+		return Arrays.asList(cells);
 	}
 
 	public Collection<Cell> connectedToStart() {
-		Set<Cell> result = Sets.newHashSet();
-		Cell c = at(startCell);
-		if (c.has(startDirection)) {
-			result.add(c);
-			recurse(c, result);
+		refreshIfStale();
+		return new CellSet((BitSet) connectedFlags.clone());
+	}
+
+	/**
+	 * Emits the cells whose {@link Cell#isConnectedToStart()} flipped after a
+	 * change to the grid.
+	 */
+	public SignalView<Collection<Cell>> onConnectivityChanged() {
+		return onConnectivityChanged;
+	}
+
+	/**
+	 * Defers connectivity tracking until the matching
+	 * {@link #endBulkUpdate()}, when the connected cells are recomputed once.
+	 * Use this when changing many cells at a time, where searching after each
+	 * change would cost more than a single full search. Queries made in
+	 * between still see up-to-date connectivity. Calls may be nested.
+	 */
+	public void beginBulkUpdate() {
+		bulkUpdateDepth++;
+	}
+
+	public void endBulkUpdate() {
+		checkState(bulkUpdateDepth > 0, "No bulk update in progress");
+		bulkUpdateDepth--;
+		if (bulkUpdateDepth == 0) {
+			refreshIfStale();
 		}
-		return result;
 	}
 
-	private void recurse(Cell c, Set<Cell> result) {
-		for (Cell neighbor : c.connectedNeighbors()) {
-			if (!result.contains(neighbor)) {
-				result.add(neighbor);
-				recurse(neighbor, result);
+	private void changeMask(int index, int newMask) {
+		if (masks[index] == newMask) {
+			return;
+		}
+		if (bulkUpdateDepth > 0 || stale) {
+			masks[index] = (byte) newMask;
+			stale = true;
+			return;
+		}
+		affected.clear();
+		fillComponent(index, visited);
+		affected.or(visited);
+		masks[index] = (byte) newMask;
+		fillComponent(index, visited);
+		affected.or(visited);
+		if (affected.get(startIndex)) {
+			searchFromStart();
+		} else {
+			visited.clear();
+		}
+		publishChanges(affected);
+	}
+
+	private void refreshIfStale() {
+		if (stale) {
+			refresh();
+		}
+	}
+
+	private void refresh() {
+		stale = false;
+		searchFromStart();
+		affected.clear();
+		affected.or(visited);
+		affected.or(connectedFlags);
+		publishChanges(affected);
+	}
+
+	/**
+	 * Copies {@link #visited} into the connected flags for the given
+	 * candidate cells and emits those that flipped. Cells outside the
+	 * candidates must not have changed.
+	 */
+	private void publishChanges(BitSet candidates) {
+		List<Cell> changed = null;
+		for (int i = candidates.nextSetBit(0); i >= 0; i = candidates
+				.nextSetBit(i + 1)) {
+			boolean connected = visited.get(i);
+			if (connected != connectedFlags.get(i)) {
+				connectedFlags.set(i, connected);
+				if (changed == null) {
+					changed = Lists.newArrayList();
+				}
+				changed.add(cells[i]);
 			}
 		}
+		if (changed != null) {
+			onConnectivityChanged.emit(changed);
+		}
+	}
+
+	private void searchFromStart() {
+		if ((masks[startIndex] & bit(startDirection)) != 0) {
+			fillComponent(startIndex, visited);
+		} else {
+			visited.clear();
+		}
+	}
+
+	/**
+	 * Replaces the contents of the given set with every cell reachable from
+	 * the given one.
+	 */
+	private void fillComponent(int from, BitSet into) {
+		into.clear();
+		int head = 0;
+		int tail = 0;
+		into.set(from);
+		searchQueue[tail++] = from;
+		while (head < tail) {
+			int index = searchQueue[head++];
+			for (Direction d : DIRECTIONS) {
+				int neighbor = neighborIndex(index, d);
+				if (neighbor >= 0 && !into.get(neighbor)) {
+					into.set(neighbor);
+					searchQueue[tail++] = neighbor;
+				}
+			}
+		}
+	}
+
+	private final class CellSet extends AbstractSet<Cell> {
+		private final BitSet members;
+		private final int size;
+
+		private CellSet(BitSet members) {
+			this.members = members;
+			this.size = members.cardinality();
+		}
+
+		@Override
+		public boolean contains(Object o) {
+			if (o instanceof Cell) {
+				int index = ((Cell) o).index;
+				return index < cells.length && cells[index] == o
+						&& members.get(index);
+			}
+			return false;
+		}
+
+		@Override
+		public Iterator<Cell> iterator() {
+			return new Iterator<Cell>() {
+				private int next = members.nextSetBit(0);
+
+				@Override
+				public boolean hasNext() {
+					return next >= 0;
+				}
+
+				@Override
+				public Cell next() {
+					if (next < 0) {
+						throw new NoSuchElementException();
+					}
+					Cell result = cells[next];
+					next = members.nextSetBit(next + 1);
+					return result;
+				}
+
+				@Override
+				public void remove() {
+					throw new UnsupportedOperationException();
+				}
+			};
+		}
+
+		@Override
+		public int size() {
+			return size;
+		}
 	}
 }
@@ -19,9 +19,11 @@
 */
 package edu.bsu.issgame.core.rotation;
 
+import static com.google.common.base.Preconditions.checkArgument;
+
 import java.util.Random;
 
-import edu.bsu.issgame.core.rotation.Grid.Cell;
+import com.google.common.base.Predicate;
 
 public class GridRandomizer {
 
@@ -31,20 +33,63 @@ public class GridRandomizer {
 		return INSTANCE;
 	}
 
-	private final Random random = new Random();
+	/**
+	 * Returns a randomizer of its own, for use off the game thread or where
+	 * the same boards must come up again.
+	 */
+	public static GridRandomizer withSeed(long seed) {
+		return new GridRandomizer(new Random(seed));
+	}
+
+	private static final int MAX_ATTEMPTS = 20;
+
+	private final Random random;
+	private final GridSolver solver = GridSolver.create();
 
 	private GridRandomizer() {
+		this(new Random());
+	}
+
+	private GridRandomizer(Random random) {
+		this.random = random;
 	}
 
 	public void randomize(Grid grid) {
-		do {
-			for (Cell cell : grid.cells()) {
-				int randomRotationCount = random.nextInt(3);
-				for (int i = 0; i < randomRotationCount; i++) {
-					cell.turnRight();
-				}
-			}
-		} while (grid.isSolved());
+		grid.scramble(random);
+	}
+
+	/**
+	 * Scrambles the grid until the fewest taps that solve it fall within the
+	 * given range, settling for whatever comes up after
+	 * {@value #MAX_ATTEMPTS} attempts. Returns the fewest taps that solve the
+	 * board that was kept.
+	 */
+	public int randomize(Grid grid, int minimumTaps, int maximumTaps) {
+		checkArgument(minimumTaps <= maximumTaps, "Empty range of taps");
+		DifficultyFilter filter = new DifficultyFilter(minimumTaps,
+				maximumTaps);
+		grid.scramble(random, filter);
+		return filter.taps;
+	}
+
+	private final class DifficultyFilter implements Predicate<Grid> {
+		private final int minimumTaps;
+		private final int maximumTaps;
+		private int attempts;
+		private int taps;
+
+		private DifficultyFilter(int minimumTaps, int maximumTaps) {
+			this.minimumTaps = minimumTaps;
+			this.maximumTaps = maximumTaps;
+		}
+
+		@Override
+		public boolean apply(Grid grid) {
+			attempts++;
+			taps = solver.minimumTaps(grid);
+			return (taps >= minimumTaps && taps <= maximumTaps)
+					|| attempts >= MAX_ATTEMPTS;
+		}
 	}
 
 }
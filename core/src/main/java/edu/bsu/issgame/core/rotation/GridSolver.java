@@ -0,0 +1,372 @@
+/*
+  Copyright 2015 Ball State University
+
+  This file is part of Collaboration Station.
+
+  Collaboration Station is free software: you can redistribute it
+  and/or modify it under the terms of the GNU General Public
+  License as published by the Free Software Foundation, either
+  version 3 of the License, or (at your option) any later version.
+
+  Collaboration Station is distributed in the hope that it will
+  be useful, but WITHOUT ANY WARRANTY; without even the implied
+  warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+  PURPOSE.  See the GNU General Public License for more details.
+
+  You should have received a copy of the GNU General Public
+  License along with Collaboration Station.  If not, see
+  <http://www.gnu.org/licenses/>.
+*/
+package edu.bsu.issgame.core.rotation;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+
+import java.util.Arrays;
+
+/**
+ * Finds the fewest {@link Grid.Cell#turnRight()} taps that connect a grid's
+ * start to its finish.
+ * <p>
+ * A solution is a simple path of cells from the start to the finish, with
+ * each cell on it turned so that it opens toward both its neighbors on the
+ * path. Cells off the path need no taps. The cost of passing through a cell
+ * in at one side and out of another is the fewest right turns that give it
+ * both openings. This accounts for each tile's symmetry: a bar tile has only
+ * two distinct states and a cross tile only one.
+ * <p>
+ * The cheapest such path is found by decremental state-space relaxation.
+ * An A* search runs over states of (cell, entry side, which tracked cells
+ * have been visited). A tracked cell may be entered only once, but other
+ * cells may be revisited, so each search gives a lower bound. If the
+ * cheapest walk revisits a cell, those cells join the tracked set and the
+ * search runs again. Once the walk is simple, it is optimal. In practice
+ * only a handful of cells ever need tracking. The A* estimate is the exact
+ * cost with nothing tracked, from one backward Dijkstra pass. If the tracked
+ * states would outgrow a fixed limit, an {@link IllegalStateException} is
+ * thrown rather than exhausting memory.
+ */
+public final class GridSolver {
+
+	public static final int UNSOLVABLE = -1;
+
+	private static final int SIDES = 4;
+	private static final int NONE = -1;
+	private static final int INFEASIBLE = Integer.MAX_VALUE / 4;
+	private static final int[] OPPOSITE = { 2, 3, 0, 1 };
+	private static final int[] X_STEP = new int[SIDES];
+	private static final int[] Y_STEP = new int[SIDES];
+	private static final int[] TURN_COST = turnCosts();
+
+	static {
+		for (Direction d : Direction.values()) {
+			X_STEP[d.ordinal()] = d.xMod;
+			Y_STEP[d.ordinal()] = d.yMod;
+		}
+	}
+
+	/**
+	 * Tabulates, for every mask and every pair of sides, the fewest right
+	 * turns after which the mask opens on both sides.
+	 */
+	private static int[] turnCosts() {
+		int[] result = new int[16 * SIDES * SIDES];
+		Arrays.fill(result, INFEASIBLE);
+		for (int mask = 0; mask < 16; mask++) {
+			for (int turns = SIDES - 1; turns >= 0; turns--) {
+				int rotated = ((mask << turns) | (mask >>> (SIDES - turns))) & 0xF;
+				for (int in = 0; in < SIDES; in++) {
+					for (int out = 0; out < SIDES; out++) {
+						if (in != out && (rotated & (1 << in)) != 0
+								&& (rotated & (1 << out)) != 0) {
+							result[(mask * SIDES + in) * SIDES + out] = turns;
+						}
+					}
+				}
+			}
+		}
+		return result;
+	}
+
+	private static final int NOT_TRACKED = -1;
+	private static final int MAX_STATES = 1 << 22;
+
+	public static GridSolver create() {
+		return new GridSolver();
+	}
+
+	private int width;
+	private int height;
+	private int cellCount;
+	private int start;
+	private int startSide;
+	private int finish;
+	private int finishSide;
+	private int[] masks;
+	private int[] trackedBit;
+	private int trackedCount;
+	private int[] seen;
+	private int seenStamp;
+
+	private int[] estimate;
+	private int[] distance = new int[0];
+	private int[] predecessor = new int[0];
+	private int[] stateStamp = new int[0];
+	private int searchStamp;
+	private int terminalCost;
+	private int terminalPredecessor;
+	private long[] heap = new long[64];
+	private int heapSize;
+
+	private GridSolver() {
+	}
+
+	/**
+	 * Returns the fewest taps that would make the grid solved, which is zero
+	 * if it already is, or {@link #UNSOLVABLE} if no orientation of the
+	 * cells connects the start to the finish.
+	 */
+	public int minimumTaps(Grid grid) {
+		prepare(checkNotNull(grid));
+		while (true) {
+			int taps = cheapestWalk();
+			if (taps == INFEASIBLE) {
+				return UNSOLVABLE;
+			}
+			if (!trackRevisitedCells()) {
+				return taps;
+			}
+		}
+	}
+
+	private void prepare(Grid grid) {
+		width = grid.width();
+		height = grid.height();
+		cellCount = width * height;
+		start = indexOf(grid.startPoint().x(), grid.startPoint().y());
+		startSide = grid.startDirection.ordinal();
+		finish = indexOf(grid.finishPoint().x(), grid.finishPoint().y());
+		finishSide = grid.finishDirection.ordinal();
+		if (masks == null || masks.length != cellCount) {
+			masks = new int[cellCount];
+			trackedBit = new int[cellCount];
+			seen = new int[cellCount];
+			estimate = new int[cellCount * SIDES];
+		}
+		for (int i = 0; i < cellCount; i++) {
+			masks[i] = grid.maskAt(i);
+		}
+		Arrays.fill(trackedBit, NOT_TRACKED);
+		trackedCount = 0;
+		estimateRemainingCosts();
+	}
+
+	/**
+	 * Fills {@link #estimate} with the cheapest cost from each (cell, entry
+	 * side) state to leaving the finish when any cell may be revisited.
+	 */
+	private void estimateRemainingCosts() {
+		Arrays.fill(estimate, INFEASIBLE);
+		heapSize = 0;
+		for (int in = 0; in < SIDES; in++) {
+			int c = cost(finish, in, finishSide);
+			if (c < INFEASIBLE) {
+				estimate[finish * SIDES + in] = c;
+				push(c, finish * SIDES + in);
+			}
+		}
+		while (heapSize > 0) {
+			long top = pop();
+			int d = (int) (top >>> 32);
+			int state = (int) top;
+			if (d > estimate[state]) {
+				continue;
+			}
+			int previous = neighbor(state / SIDES, state % SIDES);
+			if (previous < 0 || previous == finish) {
+				continue;
+			}
+			int out = OPPOSITE[state % SIDES];
+			for (int in = 0; in < SIDES; in++) {
+				int candidate = d + cost(previous, in, out);
+				int previousState = previous * SIDES + in;
+				if (candidate < estimate[previousState]) {
+					estimate[previousState] = candidate;
+					push(candidate, previousState);
+				}
+			}
+		}
+	}
+
+	private int indexOf(int x, int y) {
+		return x + y * width;
+	}
+
+	private int cost(int cell, int in, int out) {
+		return TURN_COST[(masks[cell] * SIDES + in) * SIDES + out];
+	}
+
+	/**
+	 * Returns the cell beyond the given side of a cell, or -1 if that side
+	 * faces off the grid.
+	 */
+	private int neighbor(int cell, int side) {
+		int x = cell % width + X_STEP[side];
+		int y = cell / width + Y_STEP[side];
+		if (x < 0 || y < 0 || x >= width || y >= height) {
+			return -1;
+		}
+		return indexOf(x, y);
+	}
+
+	private int stateOf(int visited, int cell, int side) {
+		return (visited * cellCount + cell) * SIDES + side;
+	}
+
+	private int visitedAfterEntering(int visited, int cell) {
+		int bit = trackedBit[cell];
+		if (bit == NOT_TRACKED) {
+			return visited;
+		}
+		if ((visited & (1 << bit)) != 0) {
+			return -1;
+		}
+		return visited | (1 << bit);
+	}
+
+	/**
+	 * Runs A* from entering the start to leaving the finish, entering each
+	 * tracked cell at most once, and returns the cost of the cheapest walk or
+	 * {@link #INFEASIBLE}. A walk ends as soon as it reaches the finish,
+	 * since a simple path cannot pass through it.
+	 */
+	private int cheapestWalk() {
+		int stateCount = (cellCount << trackedCount) * SIDES;
+		if (distance.length < stateCount) {
+			distance = new int[stateCount];
+			predecessor = new int[stateCount];
+			stateStamp = new int[stateCount];
+		}
+		searchStamp++;
+		heapSize = 0;
+		int terminal = stateCount;
+		int first = stateOf(visitedAfterEntering(0, start), start, startSide);
+		if (estimate[start * SIDES + startSide] >= INFEASIBLE) {
+			return INFEASIBLE;
+		}
+		terminalCost = INFEASIBLE;
+		reach(first, 0, NONE);
+		while (heapSize > 0) {
+			long top = pop();
+			int state = (int) top;
+			if (state == terminal) {
+				return (int) (top >>> 32);
+			}
+			int d = distance[state];
+			int side = state % SIDES;
+			int cell = (state / SIDES) % cellCount;
+			if ((int) (top >>> 32) > d + estimate[cell * SIDES + side]) {
+				continue;
+			}
+			int visited = state / SIDES / cellCount;
+			if (cell == finish) {
+				int c = cost(cell, side, finishSide);
+				if (d + c < terminalCost) {
+					terminalCost = d + c;
+					terminalPredecessor = state;
+					push(terminalCost, terminal);
+				}
+				continue;
+			}
+			for (int exit = 0; exit < SIDES; exit++) {
+				int c = cost(cell, side, exit);
+				int next = neighbor(cell, exit);
+				if (c >= INFEASIBLE || next < 0) {
+					continue;
+				}
+				int nextVisited = visitedAfterEntering(visited, next);
+				if (nextVisited < 0) {
+					continue;
+				}
+				int nextState = stateOf(nextVisited, next, OPPOSITE[exit]);
+				if (stateStamp[nextState] != searchStamp
+						|| d + c < distance[nextState]) {
+					reach(nextState, d + c, state);
+				}
+			}
+		}
+		return INFEASIBLE;
+	}
+
+	private void reach(int state, int d, int from) {
+		int remaining = estimate[(state / SIDES) % cellCount * SIDES + state
+				% SIDES];
+		if (remaining >= INFEASIBLE) {
+			return;
+		}
+		stateStamp[state] = searchStamp;
+		distance[state] = d;
+		predecessor[state] = from;
+		push(d + remaining, state);
+	}
+
+	/**
+	 * Starts tracking every cell that the last cheapest walk entered more
+	 * than once, returning false if there were none.
+	 */
+	private boolean trackRevisitedCells() {
+		boolean found = false;
+		seenStamp++;
+		for (int state = terminalPredecessor; state != NONE; state = predecessor[state]) {
+			int cell = (state / SIDES) % cellCount;
+			if (seen[cell] != seenStamp) {
+				seen[cell] = seenStamp;
+			} else if (trackedBit[cell] == NOT_TRACKED) {
+				checkState((cellCount << (trackedCount + 1)) * SIDES <= MAX_STATES,
+						"Too many revisited cells to track");
+				trackedBit[cell] = trackedCount++;
+				found = true;
+			}
+		}
+		return found;
+	}
+
+	private void push(int cost, int state) {
+		if (heapSize == heap.length) {
+			heap = Arrays.copyOf(heap, heapSize * 2);
+		}
+		int i = heapSize++;
+		long entry = ((long) cost << 32) | state;
+		while (i > 0) {
+			int parent = (i - 1) / 2;
+			if (heap[parent] <= entry) {
+				break;
+			}
+			heap[i] = heap[parent];
+			i = parent;
+		}
+		heap[i] = entry;
+	}
+
+	private long pop() {
+		long result = heap[0];
+		long last = heap[--heapSize];
+		int i = 0;
+		while (true) {
+			int child = 2 * i + 1;
+			if (child >= heapSize) {
+				break;
+			}
+			if (child + 1 < heapSize && heap[child + 1] < heap[child]) {
+				child++;
+			}
+			if (last <= heap[child]) {
+				break;
+			}
+			heap[i] = heap[child];
+			i = child;
+		}
+		heap[i] = last;
+		return result;
+	}
+}
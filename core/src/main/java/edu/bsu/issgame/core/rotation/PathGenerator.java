@@ -19,77 +19,184 @@
 */
 package edu.bsu.issgame.core.rotation;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 
-import java.util.List;
 import java.util.Random;
 
 import pythagoras.i.IPoint;
 
-import com.google.common.collect.Lists;
-
+/**
+ * Generates a path from a grid's start cell to its finish cell by a
+ * randomized depth-first search. Every cell is entered at most once, so
+ * generation takes time linear in the size of the grid and always finishes.
+ * <p>
+ * The order in which neighbors are tried is biased by two targets. While the
+ * path is shorter than the target length allows, moves that do not approach
+ * the finish are preferred, and once it is not, moves toward the finish are.
+ * The tortuosity, from 0 to 1, is how strongly turns are preferred over going
+ * straight. The targets shape the path but are not guaranteed.
+ */
 public class PathGenerator {
 
+	public static final float DEFAULT_TORTUOSITY = 0.5f;
+	private static final float DEFAULT_LENGTH_FACTOR = 1.5f;
+	private static final Direction[] DIRECTIONS = Direction.values();
+	private static final int NO_DIRECTION = -1;
+
 	public static PathGenerator create() {
-		return new PathGenerator();
+		return new PathGenerator(new Random());
+	}
+
+	public static PathGenerator withSeed(long seed) {
+		return new PathGenerator(new Random(seed));
 	}
 
-	private static final Random random = new Random();
+	private final Random random;
+	private int targetLength;
+	private float tortuosity = DEFAULT_TORTUOSITY;
 
-	private List<IPoint> list = Lists.newArrayList();
-	private boolean foundAPathFromStartToFinish = false;
-	private Grid grid;
+	private PathGenerator(Random random) {
+		this.random = checkNotNull(random);
+	}
+
+	/**
+	 * Sets the number of cells the generated paths should aim for. By default
+	 * this is half again the shortest possible path.
+	 */
+	public PathGenerator withTargetLength(int targetLength) {
+		checkArgument(targetLength > 0, "Target length must be positive");
+		this.targetLength = targetLength;
+		return this;
+	}
 
-	private PathGenerator() {
+	public PathGenerator withTortuosity(float tortuosity) {
+		checkArgument(tortuosity >= 0 && tortuosity <= 1,
+				"Tortuosity must be between 0 and 1");
+		this.tortuosity = tortuosity;
+		return this;
 	}
 
 	public Path generatePathFor(Grid grid) {
-		this.grid = checkNotNull(grid);
-		do {
-			list.clear();
-			list.add(grid.startPoint());
-			foundAPathFromStartToFinish = tryToMakeAPath();
-		} while (!foundAPathFromStartToFinish);
-		Path result = buildPathFromList();
-		cleanUp();
-		return result;
+		return new Search(checkNotNull(grid)).run();
 	}
 
-	private boolean tryToMakeAPath() {
-		while (true) {
-			IPoint lastThing = list.get(list.size() - 1);
-			Direction d = randomDirection();
-			IPoint neighbor = d.of(lastThing);
-			if (isLegalMove(neighbor)) {
-				list.add(neighbor);
-				if (neighbor.equals(grid.finishPoint())) {
-					return true;
+	private final class Search {
+		private final int width;
+		private final int height;
+		private final int finishX;
+		private final int finishY;
+		private final int target;
+		private final boolean[] visited;
+		private final int[] stack;
+		private final int[] candidates;
+		private final int[] candidateCount;
+		private final int[] nextCandidate;
+		private final float[] keys = new float[DIRECTIONS.length];
+		private int depth;
+
+		private Search(Grid grid) {
+			width = grid.width();
+			height = grid.height();
+			finishX = grid.finishPoint().x();
+			finishY = grid.finishPoint().y();
+			int cellCount = width * height;
+			visited = new boolean[cellCount];
+			stack = new int[cellCount];
+			candidates = new int[cellCount * DIRECTIONS.length];
+			candidateCount = new int[cellCount];
+			nextCandidate = new int[cellCount];
+			IPoint start = grid.startPoint();
+			target = targetLength > 0 ? targetLength
+					: defaultTargetLength(start);
+			push(start.x() + start.y() * width, NO_DIRECTION);
+		}
+
+		private int defaultTargetLength(IPoint start) {
+			int shortest = distanceToFinish(start.x() + start.y() * width) + 1;
+			return (int) (shortest * DEFAULT_LENGTH_FACTOR);
+		}
+
+		private Path run() {
+			int finish = finishX + finishY * width;
+			while (stack[depth] != finish) {
+				int frame = depth;
+				if (nextCandidate[frame] == candidateCount[frame]) {
+					depth--;
+					continue;
+				}
+				int move = candidates[frame * DIRECTIONS.length
+						+ nextCandidate[frame]++];
+				int neighbor = neighborOf(stack[frame], move);
+				if (!visited[neighbor]) {
+					depth++;
+					push(neighbor, move);
 				}
-			} else {
-				return false;
 			}
+			return buildPath();
 		}
-	}
-	
-	private static Direction randomDirection() {
-		int index = random.nextInt(Direction.values().length);
-		return Direction.values()[index];
-	}
 
-	private boolean isLegalMove(IPoint neighbor) {
-		return grid.isOnGrid(neighbor) && !list.contains(neighbor);
-	}
+		private void push(int cell, int direction) {
+			visited[cell] = true;
+			stack[depth] = cell;
+			orderCandidates(cell, direction);
+		}
 
-	private Path buildPathFromList() {
-		Path result = Path.create();
-		for (IPoint p : list)
-			result.add(p.x(), p.y());
-		return result;
-	}
+		/**
+		 * Lists the moves out of the cell at the top of the stack, in the
+		 * order they should be tried.
+		 */
+		private void orderCandidates(int cell, int arrivedMoving) {
+			int base = depth * DIRECTIONS.length;
+			int count = 0;
+			int distance = distanceToFinish(cell);
+			boolean hasSlack = target - (depth + 1) > distance;
+			for (int d = 0; d < DIRECTIONS.length; d++) {
+				int neighbor = neighborOf(cell, d);
+				if (neighbor < 0 || visited[neighbor]) {
+					continue;
+				}
+				boolean closer = distanceToFinish(neighbor) < distance;
+				float key = random.nextFloat();
+				if (closer == hasSlack) {
+					key += 1;
+				}
+				if (arrivedMoving != NO_DIRECTION) {
+					key += d == arrivedMoving ? tortuosity : 1 - tortuosity;
+				}
+				int i = count++;
+				while (i > 0 && keys[i - 1] > key) {
+					keys[i] = keys[i - 1];
+					candidates[base + i] = candidates[base + i - 1];
+					i--;
+				}
+				keys[i] = key;
+				candidates[base + i] = d;
+			}
+			candidateCount[depth] = count;
+			nextCandidate[depth] = 0;
+		}
 
-	private void cleanUp() {
-		list.clear();
-		foundAPathFromStartToFinish = false;
-		grid = null;
+		private int neighborOf(int cell, int direction) {
+			int x = cell % width + DIRECTIONS[direction].xMod;
+			int y = cell / width + DIRECTIONS[direction].yMod;
+			if (x < 0 || y < 0 || x >= width || y >= height) {
+				return -1;
+			}
+			return x + y * width;
+		}
+
+		private int distanceToFinish(int cell) {
+			return Math.abs(cell % width - finishX)
+					+ Math.abs(cell / width - finishY);
+		}
+
+		private Path buildPath() {
+			Path result = Path.create();
+			for (int i = 0; i <= depth; i++) {
+				result.add(stack[i] % width, stack[i] / width);
+			}
+			return result;
+		}
 	}
 }
@@ -0,0 +1,91 @@
+/*
+  Copyright 2015 Ball State University
+
+  This file is part of Collaboration Station.
+
+  Collaboration Station is free software: you can redistribute it
+  and/or modify it under the terms of the GNU General Public
+  License as published by the Free Software Foundation, either
+  version 3 of the License, or (at your option) any later version.
+
+  Collaboration Station is distributed in the hope that it will
+  be useful, but WITHOUT ANY WARRANTY; without even the implied
+  warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+  PURPOSE.  See the GNU General Public License for more details.
+
+  You should have received a copy of the GNU General Public
+  License along with Collaboration Station.  If not, see
+  <http://www.gnu.org/licenses/>.
+*/
+package edu.bsu.issgame.core.rotation;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.Random;
+
+import edu.bsu.issgame.core.util.BoardPool;
+
+/**
+ * A scrambled board for a {@link Grid}, kept as the direction mask of every
+ * cell so that it can be made away from the grid it will be played on.
+ */
+final class RotationBoard {
+
+	/**
+	 * Returns a generator of boards shaped like the given grid, each scrambled
+	 * so that the fewest taps that solve it fall within the given range where
+	 * possible. Boards are generated on grids of their own, so the generator
+	 * may be used from any thread.
+	 */
+	static BoardPool.Generator<RotationBoard> generatorFor(Grid grid,
+			int minimumTaps, int maximumTaps) {
+		return new Generator(grid, minimumTaps, maximumTaps);
+	}
+
+	public final int minimumTapsToSolve;
+	private final byte[] masks;
+
+	private RotationBoard(byte[] masks, int minimumTapsToSolve) {
+		this.masks = masks;
+		this.minimumTapsToSolve = minimumTapsToSolve;
+	}
+
+	/**
+	 * Lays this board on the given grid, which emits {@link Grid#onReset()}.
+	 */
+	public void restoreOnto(Grid grid) {
+		grid.restoreMasks(masks);
+	}
+
+	private static final class Generator implements
+			BoardPool.Generator<RotationBoard> {
+		private final Grid template;
+		private final int minimumTaps;
+		private final int maximumTaps;
+
+		private Generator(Grid template, int minimumTaps, int maximumTaps) {
+			this.template = checkNotNull(template);
+			checkArgument(minimumTaps <= maximumTaps, "Empty range of taps");
+			this.minimumTaps = minimumTaps;
+			this.maximumTaps = maximumTaps;
+		}
+
+		@Override
+		public RotationBoard generate(int index, long seed) {
+			Random random = new Random(seed);
+			Grid grid = template.blankCopy();
+			grid.beginBulkUpdate();
+			try {
+				grid.layPath(PathGenerator.withSeed(random.nextLong())
+						.generatePathFor(grid));
+				grid.addFillCells(random);
+			} finally {
+				grid.endBulkUpdate();
+			}
+			int taps = GridRandomizer.withSeed(random.nextLong()).randomize(
+					grid, minimumTaps, maximumTaps);
+			return new RotationBoard(grid.copyMasks(), taps);
+		}
+	}
+}
@@ -26,6 +26,9 @@ import static playn.core.PlayN.pointer;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
 
 import playn.core.Image;
 import playn.core.ImageLayer;
@@ -37,21 +40,29 @@ import pythagoras.f.Dimension;
 import pythagoras.f.MathUtil;
 import pythagoras.i.Point;
 import react.Slot;
+import react.UnitSlot;
 import tripleplay.util.Input.Registration;
 import tripleplay.util.PointerInput;
 
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
 
 import edu.bsu.issgame.core.AbstractGameScreen;
 import edu.bsu.issgame.core.CommonGameScreenUI;
 import edu.bsu.issgame.core.GameImage;
 import edu.bsu.issgame.core.GameSound;
 import edu.bsu.issgame.core.MinigameType;
+import edu.bsu.issgame.core.assetmgt.LoadableImage;
 import edu.bsu.issgame.core.rotation.Grid.Cell;
+import edu.bsu.issgame.core.util.BoardPool;
 
 public class TileRotationGameScreen extends CommonGameScreenUI {
 
-	private static final int POINTS_PER_BOARD = 10;
+	private static final int BASE_POINTS_PER_BOARD = 6;
+	private static final int TAPS_PER_BONUS_POINT = 2;
+	private static final int MIN_TAPS_TO_SOLVE = 4;
+	private static final int MAX_TAPS_TO_SOLVE = 14;
 	private static final float ROTATION_DURATION_MS = 250f;
 	private static final Dimension TILE_SIZE = new Dimension(
 			graphics().width() * 0.10f, //
@@ -75,11 +86,12 @@ public class TileRotationGameScreen extends CommonGameScreenUI {
 		}
 	};
 
-	private List<Layer> startAndEndlayers = new ArrayList<Layer>();
 	private List<Tile> tiles = new ArrayList<Tile>();
+	private final Map<Cell, Tile> tilesByCell = Maps.newHashMap();
 	private Layer endTile;
 	private Layer endTileComplete;
 	private Grid grid;
+	private int minimumTapsToSolve;
 	private final PointerInput pointerInput = new PointerInput();
 	private final Runnable solutionChecker = new Runnable() {
 		@Override
@@ -87,48 +99,19 @@ public class TileRotationGameScreen extends CommonGameScreenUI {
 			checkIfSolved();
 		}
 	};
-	private final Runnable imageUpdater = new Runnable() {
-		private boolean solved;
-		private Collection<Cell> cellsConnectedToStart;
-
-		@Override
-		public void run() {
-			solved = grid.isSolved();
-			updateEndBlockLayer();
-			cellsConnectedToStart = grid.connectedToStart();
-			for (Tile tile : tiles) {
-				updateImageFor(tile);
-			}
-		}
-
-		private void updateEndBlockLayer() {
-			endTile.setVisible(!solved);
-			endTileComplete.setVisible(solved);
-		}
-
-		private void updateImageFor(Tile tile) {
-			if (cellsConnectedToStart.contains(tile.cell)) {
-				if (solved) {
-					tile.useCircuitImage();
-				} else {
-					tile.useGlowImage();
-				}
-			} else {
-				tile.useNormalImage();
-			}
-		}
-	};
+	private final ImageUpdater imageUpdater = new ImageUpdater();
+	private BoardPool<RotationBoard> boardPool;
 	private final List<Registration> pointerRegistrations = Lists
 			.newArrayList();
 
 	public TileRotationGameScreen(AbstractGameScreen previous) {
 		super(previous);
-		setBackground(GameImage.TILE_ROTATION_BACKGROUND.image);
+		setBackground(LoadableImage.TILE_ROTATION_BACKGROUND);
 		pointer().setListener(pointerInput.plistener);
 		initGrid();
 		addStartAndEndPoints();
 		addTiles();
-		imageUpdater.run();
+		imageUpdater.refreshAll();
 	}
 
 	private void addStartAndEndPoints() {
@@ -145,10 +128,8 @@ public class TileRotationGameScreen extends CommonGameScreenUI {
 				+ deltaColEnd, grid.finishPoint().y() + deltaRowEnd);
 		endTile = end;
 		layer.addAt(end, endLocation.x, endLocation.y);
-		startAndEndlayers.add(end);
 		anim.setVisible(endComplete, false);
 		layer.addAt(endComplete, endLocation.x, endLocation.y);
-		startAndEndlayers.add(endComplete);
 		endTileComplete = endComplete;
 	}
 
@@ -173,7 +154,6 @@ public class TileRotationGameScreen extends CommonGameScreenUI {
 		Point startLocation = getTileLocation(grid.startPoint().x()
 				+ deltaColStart, grid.startPoint().y() + deltaRowStart);
 		layer.addAt(start, startLocation.x, startLocation.y);
-		startAndEndlayers.add(start);
 	}
 
 	private ImageLayer createStartTile() {
@@ -196,14 +176,29 @@ public class TileRotationGameScreen extends CommonGameScreenUI {
 		grid = Grid.create(GRID_SIZE).withStart(Direction.WEST).of(0, 0)
 				.andFinish(Direction.EAST)
 				.of(GRID_SIZE.width - 1, GRID_SIZE.height - 1);
-		PathGenerator gen = PathGenerator.create();
-		Path path = gen.generatePathFor(grid);
-		grid.layPath(path);
-		grid.addFillCells();
-		GridRandomizer.instance().randomize(grid);
+		boardPool = new BoardPool<RotationBoard>("Rotation boards",
+				RotationBoard.generatorFor(grid, MIN_TAPS_TO_SOLVE,
+						MAX_TAPS_TO_SOLVE), new Random().nextLong());
+		layNewBoard();
+	}
+
+	private void layNewBoard() {
+		RotationBoard board = boardPool.take();
+		board.restoreOnto(grid);
+		minimumTapsToSolve = board.minimumTapsToSolve;
 	}
 
 	private void addTiles() {
+		grid.onConnectivityChanged().connect(imageUpdater.changedCells);
+		grid.onReset().connect(new UnitSlot() {
+			@Override
+			public void onEmit() {
+				for (Tile tile : tiles) {
+					tile.reset();
+				}
+				imageUpdater.refreshAll();
+			}
+		});
 		for (int col = 0; col < grid.width(); col++) {
 			for (int row = 0; row < grid.height(); row++) {
 				final Cell cell = (grid.at(col, row));
@@ -213,7 +208,7 @@ public class TileRotationGameScreen extends CommonGameScreenUI {
 						new Pointer.Adapter() {
 							@Override
 							public void onPointerStart(Event event) {
-								GameSound.ZAP.sound.play();
+								GameSound.ZAP.play();
 								cell.turnRight();
 							}
 						}));
@@ -224,6 +219,7 @@ public class TileRotationGameScreen extends CommonGameScreenUI {
 						+ TILE_SIZE.height / 2;
 				layer.addAt(tileLayer, x, y);
 				tiles.add(tile);
+				tilesByCell.put(cell, tile);
 			}
 		}
 	}
@@ -231,20 +227,31 @@ public class TileRotationGameScreen extends CommonGameScreenUI {
 	private final class Tile {
 		final Cell cell;
 		final ImageLayer layer;
-		private final Image tileImage;
-		private final Image glowTileImage;
-		private final Image finishedTileImage;
+		private Image tileImage;
+		private Image glowTileImage;
+		private Image finishedTileImage;
 
 		private Tile(Cell cell) {
 			this.cell = cell;
+			layer = graphics().createImageLayer();
+			layer.setSize(TILE_SIZE.width, TILE_SIZE.height);
+			layer.setOrigin(layer.width() / 2, layer.height() / 2);
+			reset();
+		}
+
+		/**
+		 * Matches the images and rotation to the cell's current directions and
+		 * undoes the fade from the end of the previous board.
+		 */
+		void reset() {
 			TileOrientation orientation = new TileOrientation(cell.directions());
 			tileImage = TileImageBundle.NORMAL.imageFor(orientation);
 			glowTileImage = TileImageBundle.GLOW.imageFor(orientation);
 			finishedTileImage = TileImageBundle.CIRCUIT.imageFor(orientation);
-			layer = graphics().createImageLayer(tileImage);
-			layer.setSize(TILE_SIZE.width, TILE_SIZE.height);
-			layer.setOrigin(layer.width() / 2, layer.height() / 2);
+			layer.setImage(tileImage);
 			layer.setRotation((float) (orientation.rightTurns * (Math.PI / 2)));
+			layer.setAlpha(1);
+			layer.setScale(1);
 		}
 
 		public void useCircuitImage() {
@@ -260,6 +267,64 @@ public class TileRotationGameScreen extends CommonGameScreenUI {
 		}
 	}
 
+	/**
+	 * Swaps tile images once a rotation has finished. Only the tiles whose
+	 * connection to the start changed are updated, unless the board has just
+	 * become solved or unsolved, which changes every connected tile.
+	 */
+	private final class ImageUpdater implements Runnable {
+		private final Set<Tile> staleTiles = Sets.newHashSet();
+		private boolean solved;
+
+		final Slot<Collection<Cell>> changedCells = new Slot<Collection<Cell>>() {
+			@Override
+			public void onEmit(Collection<Cell> cells) {
+				for (Cell cell : cells) {
+					staleTiles.add(tilesByCell.get(cell));
+				}
+			}
+		};
+
+		@Override
+		public void run() {
+			boolean nowSolved = grid.isSolved();
+			if (nowSolved != solved) {
+				refreshAll();
+			} else {
+				for (Tile tile : staleTiles) {
+					updateImageFor(tile);
+				}
+				staleTiles.clear();
+			}
+		}
+
+		void refreshAll() {
+			solved = grid.isSolved();
+			updateEndBlockLayer();
+			for (Tile tile : tiles) {
+				updateImageFor(tile);
+			}
+			staleTiles.clear();
+		}
+
+		private void updateEndBlockLayer() {
+			endTile.setVisible(!solved);
+			endTileComplete.setVisible(solved);
+		}
+
+		private void updateImageFor(Tile tile) {
+			if (tile.cell.isConnectedToStart()) {
+				if (solved) {
+					tile.useCircuitImage();
+				} else {
+					tile.useGlowImage();
+				}
+			} else {
+				tile.useNormalImage();
+			}
+		}
+	}
+
 	private final class TileRotator extends Slot<Cell> {
 		private final Layer tileLayer;
 
@@ -292,17 +357,17 @@ public class TileRotationGameScreen extends CommonGameScreenUI {
 	}
 
 	private void incrementScore() {
-		int amountToAdd = POINTS_PER_BOARD;
+		int amountToAdd = BASE_POINTS_PER_BOARD + minimumTapsToSolve
+				/ TAPS_PER_BONUS_POINT;
 		score.update(score.get().addMaintenance(amountToAdd));
 	}
 
 	private void fadeOutAndResetBoard() {
-		GameSound.SUCCESS.sound.play();
-		final Collection<Cell> solutionCells = grid.connectedToStart();
+		GameSound.SUCCESS.play();
 		final List<Tile> solutionTiles = Lists.newArrayList();
 		final List<Tile> quickFadeTiles = Lists.newArrayList();
 		for (Tile tile : tiles) {
-			if (solutionCells.contains(tile.cell)) {
+			if (tile.cell.isConnectedToStart()) {
 				solutionTiles.add(tile);
 			} else {
 				quickFadeTiles.add(tile);
@@ -353,18 +418,7 @@ public class TileRotationGameScreen extends CommonGameScreenUI {
 	}
 
 	private void resetBoard() {
-		for (Layer layerToRemove : startAndEndlayers) {
-			layer.remove(layerToRemove);
-		}
-		startAndEndlayers.clear();
-		for (Tile tile : tiles) {
-			layer.remove(tile.layer);
-		}
-		tiles.clear();
-		initGrid();
-		addStartAndEndPoints();
-		addTiles();
-		imageUpdater.run();
+		layNewBoard();
 		INPUT_ENABLER.run();
 	}
 
@@ -382,4 +436,16 @@ public class TileRotationGameScreen extends CommonGameScreenUI {
 		pointer().setListener(null);
 	}
 
+	@Override
+	public void wasAdded() {
+		super.wasAdded();
+		boardPool.start();
+	}
+
+	@Override
+	public void wasRemoved() {
+		super.wasRemoved();
+		boardPool.stop();
+	}
+
 }
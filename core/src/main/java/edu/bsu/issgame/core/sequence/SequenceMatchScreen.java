@@ -24,16 +24,12 @@ import static playn.core.PlayN.graphics;
 import static playn.core.PlayN.log;
 import static playn.core.PlayN.pointer;
 
-import java.util.Map;
-
 import playn.core.Layer;
 import playn.core.Pointer;
 import playn.core.Pointer.Event;
 import pythagoras.f.IPoint;
 import pythagoras.f.Point;
 import tripleplay.anim.AnimBuilder;
-import tripleplay.sound.MultiClip;
-import tripleplay.sound.SoundBoard;
 import tripleplay.ui.Label;
 import tripleplay.ui.Root;
 import tripleplay.ui.Shim;
@@ -41,15 +37,14 @@ import tripleplay.ui.layout.AxisLayout;
 import tripleplay.util.PointerInput;
 
 import com.google.common.collect.ImmutableMap;
-import com.google.common.collect.Maps;
 
 import edu.bsu.issgame.core.AbstractGameScreen;
 import edu.bsu.issgame.core.CommonGameScreenUI;
 import edu.bsu.issgame.core.CustomStyleSheet;
-import edu.bsu.issgame.core.GameImage;
 import edu.bsu.issgame.core.GameSound;
 import edu.bsu.issgame.core.MinigameType;
 import edu.bsu.issgame.core.Score;
+import edu.bsu.issgame.core.assetmgt.LoadableImage;
 
 public class SequenceMatchScreen extends CommonGameScreenUI {
 	private static final IPoint percentOfScreen(float w, float h) {
@@ -92,18 +87,15 @@ public class SequenceMatchScreen extends CommonGameScreenUI {
 			SequenceItemType.PHYSICS);
 	private Sequence sequence;
 	private Root root;
-	private SoundBoard soundBoard = new SoundBoard();
 	private Label watchCloselyLabel = new Label("Watch closely...");
-	private Map<SequenceItemType, MultiClip> clipMap = Maps.newHashMap();
 
 	public SequenceMatchScreen(AbstractGameScreen previous) {
 		super(previous);
 		createRoot();
-		setBackground(GameImage.SEQUENCE_MATCHING_BACKGROUND.image);
+		setBackground(LoadableImage.SEQUENCE_MATCHING_BACKGROUND);
 		placeSequenceButtonsOnScreen();
 		sequence = new Sequence().addItem();
 		root.add(watchCloselyLabel);
-		initializeSoundBoard();
 		enterState(pauseBetweenRoundsState);
 	}
 
@@ -114,13 +106,6 @@ public class SequenceMatchScreen extends CommonGameScreenUI {
 		root.add(new Shim(15, 15));
 	}
 
-	private void initializeSoundBoard() {
-		for (SequenceItemType type : SequenceItemType.values()) {
-			MultiClip clip = new MultiClip(soundBoard, type.sfx.path, 2, 0.4f);
-			clipMap.put(type, clip);
-		}
-	}
-
 	private void placeSequenceButtonsOnScreen() {
 		for (SequenceButton button : buttonMap.values()) {
 			IPoint ipoint = buttonLocationMap.get(button.getButtonType());
@@ -144,7 +129,7 @@ public class SequenceMatchScreen extends CommonGameScreenUI {
 	}
 
 	private void playSfxFor(SequenceItemType buttonType) {
-		clipMap.get(buttonType).reserve().play();
+		buttonType.sfx.play();
 	}
 
 	private void updateScore() {
@@ -411,7 +396,7 @@ public class SequenceMatchScreen extends CommonGameScreenUI {
 
 		@Override
 		public void onEnter() {
-			GameSound.SEQUENCE_INCORRECT.sound.play();
+			GameSound.SEQUENCE_INCORRECT.play();
 			disableInput();
 			sequence.reset();
 			sequence.resetPointer();
@@ -437,4 +422,4 @@ public class SequenceMatchScreen extends CommonGameScreenUI {
 		disableInput();
 	}
 	
-}
\ No newline at end of file
+}
\ No newline at end of file
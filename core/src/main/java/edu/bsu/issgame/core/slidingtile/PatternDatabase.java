@@ -0,0 +1,228 @@
+/*
+  Copyright 2015 Ball State University
+
+  This file is part of Collaboration Station.
+
+  Collaboration Station is free software: you can redistribute it
+  and/or modify it under the terms of the GNU General Public
+  License as published by the Free Software Foundation, either
+  version 3 of the License, or (at your option) any later version.
+
+  Collaboration Station is distributed in the hope that it will
+  be useful, but WITHOUT ANY WARRANTY; without even the implied
+  warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+  PURPOSE.  See the GNU General Public License for more details.
+
+  You should have received a copy of the GNU General Public
+  License along with Collaboration Station.  If not, see
+  <http://www.gnu.org/licenses/>.
+*/
+package edu.bsu.issgame.core.slidingtile;
+
+import java.util.Arrays;
+
+/**
+ * Additive pattern databases for the 4x4 puzzle with the hole belonging in
+ * the bottom right corner. The fifteen tiles are split into three groups of
+ * five, and each group's table holds the fewest moves of that group's own
+ * tiles that bring them home from every placement, letting the hole pass
+ * freely through cells the group does not use. Since no move is counted by
+ * two groups, the three counts add up to a lower bound on the moves needed.
+ * <p>
+ * Each table is found by searching back from the solved puzzle, one move
+ * count at a time. The tables take about 1.5MB once built; building them
+ * needs a few seconds and some tens of megabytes more.
+ */
+final class PatternDatabase {
+
+	private static final int SIDE = 4;
+	private static final int CELLS = SIDE * SIDE;
+	private static final int HOLE_PIECE = CELLS - 1;
+	private static final int[][] PATTERNS = { { 0, 1, 2, 4, 5 },
+			{ 3, 6, 7, 10, 11 }, { 8, 9, 12, 13, 14 } };
+	private static final byte UNSEEN = -1;
+
+	private static PatternDatabase instance;
+
+	static boolean fits(int cols, int rows, int holePiece) {
+		return cols == SIDE && rows == SIDE && holePiece == HOLE_PIECE;
+	}
+
+	static synchronized PatternDatabase instance() {
+		if (instance == null) {
+			instance = new PatternDatabase();
+		}
+		return instance;
+	}
+
+	private final byte[][] tables = new byte[PATTERNS.length][];
+
+	private PatternDatabase() {
+		for (int i = 0; i < PATTERNS.length; i++) {
+			tables[i] = build(PATTERNS[i]);
+		}
+	}
+
+	/**
+	 * Returns a lower bound on the moves needed, given the cell of every
+	 * piece.
+	 */
+	int lowerBound(int[] cellOf) {
+		int bound = 0;
+		for (int i = 0; i < PATTERNS.length; i++) {
+			int[] pattern = PATTERNS[i];
+			int used = 0;
+			int index = 0;
+			for (int j = 0; j < pattern.length; j++) {
+				int cell = cellOf[pattern[j]];
+				index = index * (CELLS - j) + rank(cell, used);
+				used |= 1 << cell;
+			}
+			bound += tables[i][index];
+		}
+		return bound;
+	}
+
+	/** The position of the cell among those not yet used. */
+	private static int rank(int cell, int used) {
+		return cell - Integer.bitCount(used & ((1 << cell) - 1));
+	}
+
+	/**
+	 * Indexes a placement of distinct cells, packed four bits to a cell, so
+	 * that every placement of that many cells has its own index below
+	 * 16 * 15 * ... for as many factors as there are cells.
+	 */
+	private static int indexOf(int packed, int count) {
+		int used = 0;
+		int index = 0;
+		for (int j = 0; j < count; j++) {
+			int cell = (packed >>> (4 * j)) & 0xF;
+			index = index * (CELLS - j) + rank(cell, used);
+			used |= 1 << cell;
+		}
+		return index;
+	}
+
+	private static int placements(int count) {
+		int result = 1;
+		for (int j = 0; j < count; j++) {
+			result *= CELLS - j;
+		}
+		return result;
+	}
+
+	/**
+	 * Searches every placement of the pattern's tiles and the hole, packed as
+	 * the tiles' cells followed by the hole's, in order of how many tile
+	 * moves they are from solved. Moving the hole into a cell the pattern
+	 * does not use is free, so each move count first spreads to everything
+	 * the hole can reach for free and then to what one more tile move
+	 * reaches.
+	 */
+	private static byte[] build(int[] pattern) {
+		int size = pattern.length;
+		int holeShift = 4 * size;
+		byte[] table = new byte[placements(size)];
+		byte[] seen = new byte[placements(size + 1)];
+		Arrays.fill(table, UNSEEN);
+		Arrays.fill(seen, UNSEEN);
+		int solved = HOLE_PIECE << holeShift;
+		for (int j = 0; j < size; j++) {
+			solved |= pattern[j] << (4 * j);
+		}
+		IntStack frontier = new IntStack();
+		IntStack pending = new IntStack();
+		IntStack next = new IntStack();
+		frontier.push(solved);
+		for (byte moves = 0; !frontier.isEmpty(); moves++) {
+			while (!frontier.isEmpty()) {
+				int state = frontier.pop();
+				int index = indexOf(state, size + 1);
+				if (seen[index] == UNSEEN) {
+					seen[index] = moves;
+					pending.push(state);
+				}
+			}
+			while (!pending.isEmpty()) {
+				int state = pending.pop();
+				int tiles = state & ((1 << holeShift) - 1);
+				int tableIndex = indexOf(tiles, size);
+				if (table[tableIndex] == UNSEEN) {
+					table[tableIndex] = moves;
+				}
+				int hole = state >>> holeShift;
+				for (int d = 0; d < 4; d++) {
+					int neighbor = neighbor(hole, d);
+					if (neighbor < 0) {
+						continue;
+					}
+					int tile = tileAt(tiles, size, neighbor);
+					if (tile < 0) {
+						int moved = tiles | (neighbor << holeShift);
+						int movedIndex = indexOf(moved, size + 1);
+						if (seen[movedIndex] == UNSEEN) {
+							seen[movedIndex] = moves;
+							pending.push(moved);
+						}
+					} else {
+						int movedTiles = (tiles & ~(0xF << (4 * tile)))
+								| (hole << (4 * tile));
+						int moved = movedTiles | (neighbor << holeShift);
+						if (seen[indexOf(moved, size + 1)] == UNSEEN) {
+							next.push(moved);
+						}
+					}
+				}
+			}
+			IntStack swap = frontier;
+			frontier = next;
+			next = swap;
+		}
+		return table;
+	}
+
+	private static int neighbor(int cell, int direction) {
+		int x = cell % SIDE;
+		int y = cell / SIDE;
+		switch (direction) {
+		case 0:
+			return y > 0 ? cell - SIDE : -1;
+		case 1:
+			return y < SIDE - 1 ? cell + SIDE : -1;
+		case 2:
+			return x > 0 ? cell - 1 : -1;
+		default:
+			return x < SIDE - 1 ? cell + 1 : -1;
+		}
+	}
+
+	private static int tileAt(int tiles, int size, int cell) {
+		for (int j = 0; j < size; j++) {
+			if (((tiles >>> (4 * j)) & 0xF) == cell) {
+				return j;
+			}
+		}
+		return -1;
+	}
+
+	private static final class IntStack {
+		private int[] values = new int[1024];
+		private int size;
+
+		void push(int value) {
+			if (size == values.length) {
+				values = Arrays.copyOf(values, size * 2);
+			}
+			values[size++] = value;
+		}
+
+		int pop() {
+			return values[--size];
+		}
+
+		boolean isEmpty() {
+			return size == 0;
+		}
+	}
+}
@@ -21,16 +21,26 @@ package edu.bsu.issgame.core.slidingtile;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import java.util.List;
+
+import com.google.common.collect.ImmutableList;
+
 public final class PuzzleBundle {
 
 	public final PuzzleViewData image;
 	public final PuzzleDifficulty difficulty;
 	public final int numberOfMoves;
 
+	/**
+	 * The directions the hole moves in to shuffle the solved puzzle, in order.
+	 */
+	public final List<Direction> shuffle;
+
 	public PuzzleBundle(PuzzleViewData image, PuzzleDifficulty difficulty,
-			int numberOfMoves) {
+			int numberOfMoves, List<Direction> shuffle) {
 		this.image = checkNotNull(image);
 		this.difficulty = checkNotNull(difficulty);
 		this.numberOfMoves = numberOfMoves;
+		this.shuffle = ImmutableList.copyOf(shuffle);
 	}
 }
@@ -19,82 +19,69 @@
 */
 package edu.bsu.issgame.core.slidingtile;
 
+import java.util.Collections;
 import java.util.List;
-import java.util.Queue;
+import java.util.Random;
 
+import pythagoras.i.Point;
+
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
 
-public class PuzzleFactory {
+import edu.bsu.issgame.core.util.BoardPool;
+
+/**
+ * Makes the puzzles in order of increasing difficulty, each shuffled to
+ * exactly its difficulty's {@link PuzzleDifficulty#minimumMovesRequired}
+ * from solved. A puzzle depends only on its index and seed, so puzzles may
+ * be generated from any thread and in any order.
+ */
+public class PuzzleFactory implements BoardPool.Generator<PuzzleBundle> {
+
+	private static final ImmutableList<PuzzleDifficulty> PUZZLE_DIFFICULTIES = ImmutableList
+			.of(PuzzleDifficulty.EASY, PuzzleDifficulty.EASY,
+					PuzzleDifficulty.EASY, PuzzleDifficulty.MEDIUM,
+					PuzzleDifficulty.MEDIUM, PuzzleDifficulty.MEDIUM,
+					PuzzleDifficulty.MEDIUM, PuzzleDifficulty.HARD,
+					PuzzleDifficulty.HARD, PuzzleDifficulty.HARD,
+					PuzzleDifficulty.EXTREME);
 
-	private final Queue<Integer> numberOfMovesQueue = Lists.newLinkedList();
-	private final Queue<PuzzleDifficulty> puzzleDifficultyQueue = Lists.newLinkedList();
-	private final List<PuzzleViewData> puzzleImages = Lists.newArrayList();
+	private final long imageOrderSeed;
 
 	public PuzzleFactory() {
-		fillImageList();
-		initPuzzleDifficultyQueue();
-		initNumberOfMovesQueue();
-	}
-	
-	private void fillImageList() {
-		for (PuzzleViewData puzzleImage : PuzzleViewData.values()) {
-			puzzleImages.add(puzzleImage);
-		}
+		this(new Random().nextLong());
 	}
 
-	private void initPuzzleDifficultyQueue() {
-		puzzleDifficultyQueue.add(PuzzleDifficulty.EASY);
-		puzzleDifficultyQueue.add(PuzzleDifficulty.EASY);
-		puzzleDifficultyQueue.add(PuzzleDifficulty.EASY);
-		puzzleDifficultyQueue.add(PuzzleDifficulty.MEDIUM);
-		puzzleDifficultyQueue.add(PuzzleDifficulty.MEDIUM);
-		puzzleDifficultyQueue.add(PuzzleDifficulty.MEDIUM);
-		puzzleDifficultyQueue.add(PuzzleDifficulty.MEDIUM);
-		puzzleDifficultyQueue.add(PuzzleDifficulty.HARD);
-		puzzleDifficultyQueue.add(PuzzleDifficulty.HARD);
-		puzzleDifficultyQueue.add(PuzzleDifficulty.HARD);
-		puzzleDifficultyQueue.add(PuzzleDifficulty.EXTREME);
-	}
-	
-	private void initNumberOfMovesQueue() {
-		numberOfMovesQueue.add(2);
-		numberOfMovesQueue.add(3);
-		numberOfMovesQueue.add(3);
-		numberOfMovesQueue.add(4);
-		numberOfMovesQueue.add(4);
-		numberOfMovesQueue.add(5);
-		numberOfMovesQueue.add(5);
-		numberOfMovesQueue.add(2);
-		numberOfMovesQueue.add(4);
-		numberOfMovesQueue.add(5);
+	/**
+	 * Each run through the puzzle images is shuffled by a seed derived from
+	 * the given one, so that no image repeats until all have been used.
+	 */
+	public PuzzleFactory(long imageOrderSeed) {
+		this.imageOrderSeed = imageOrderSeed;
 	}
 
-	private PuzzleDifficulty getDifficulty() {
-		if (puzzleDifficultyQueue.size() == 1) {
-			return puzzleDifficultyQueue.peek();
-		} else {
-			return puzzleDifficultyQueue.remove();
-		}
+	private PuzzleViewData getPuzzleImage(int index) {
+		List<PuzzleViewData> puzzleImages = Lists
+				.newArrayList(PuzzleViewData.values());
+		int round = index / puzzleImages.size();
+		Collections.shuffle(puzzleImages, new Random(imageOrderSeed + round));
+		return puzzleImages.get(index % puzzleImages.size());
 	}
 
-	public PuzzleBundle nextPuzzle() {
-		int index = (int) (Math.random() * puzzleImages.size());
-		PuzzleViewData puzzleImage =  puzzleImages.remove(index);
-		if (puzzleImages.isEmpty()) {
-			fillImageList();
-		}
-		return new PuzzleBundle(puzzleImage, getDifficulty(), getNumberOfMoves());
+	private PuzzleDifficulty getDifficulty(int index) {
+		return PUZZLE_DIFFICULTIES.get(Math.min(index,
+				PUZZLE_DIFFICULTIES.size() - 1));
 	}
 
-	private int getNumberOfMoves() {
-		int numberOfMoves;
-		if (numberOfMovesQueue.size() > 1) {
-			numberOfMoves = numberOfMovesQueue.remove();
-		} else if (numberOfMovesQueue.size() == 1) {
-			numberOfMoves = numberOfMovesQueue.peek();
-		} else {
-			numberOfMoves = 0;
-		}
-		return numberOfMoves;
+	@Override
+	public PuzzleBundle generate(int index, long seed) {
+		Random random = new Random(seed);
+		PuzzleViewData puzzleImage = getPuzzleImage(index);
+		PuzzleDifficulty difficulty = getDifficulty(index);
+		Point size = difficulty.puzzleSize;
+		int numberOfMoves = difficulty.minimumMovesRequired;
+		return new PuzzleBundle(puzzleImage, difficulty, numberOfMoves,
+				PuzzleScrambler.create().scramble(size.x, size.y,
+						numberOfMoves, random));
 	}
 }
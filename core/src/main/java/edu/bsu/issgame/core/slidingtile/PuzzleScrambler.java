@@ -0,0 +1,134 @@
+/*
+  Copyright 2015 Ball State University
+
+  This file is part of Collaboration Station.
+
+  Collaboration Station is free software: you can redistribute it
+  and/or modify it under the terms of the GNU General Public
+  License as published by the Free Software Foundation, either
+  version 3 of the License, or (at your option) any later version.
+
+  Collaboration Station is distributed in the hope that it will
+  be useful, but WITHOUT ANY WARRANTY; without even the implied
+  warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+  PURPOSE.  See the GNU General Public License for more details.
+
+  You should have received a copy of the GNU General Public
+  License along with Collaboration Station.  If not, see
+  <http://www.gnu.org/licenses/>.
+*/
+package edu.bsu.issgame.core.slidingtile;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import com.google.common.collect.Lists;
+
+/**
+ * Shuffles solved puzzles to an exact distance from solved. The hole takes a
+ * random walk from the bottom right corner in which every step leaves the
+ * puzzle one move further from solved than the step before, backing up
+ * whenever a step would not. The walk's length is therefore the fewest moves
+ * that solve the puzzle it leaves.
+ * <p>
+ * A scrambler keeps a {@link SlidingPuzzleSolver}, so it should only be used
+ * from one thread at a time.
+ */
+public final class PuzzleScrambler {
+
+	public static PuzzleScrambler create() {
+		return new PuzzleScrambler();
+	}
+
+	private static final Direction[] DIRECTIONS = Direction.values();
+
+	private final SlidingPuzzleSolver solver = SlidingPuzzleSolver.create();
+	private int cols;
+	private int rows;
+	private int[] pieces;
+	private int hole;
+
+	private PuzzleScrambler() {
+	}
+
+	/**
+	 * Returns the directions the hole moves in, in order, to leave a solved
+	 * puzzle of the given size exactly the given number of moves from solved.
+	 * 
+	 * @throws IllegalArgumentException
+	 *             if no arrangement of the puzzle is that far from solved
+	 */
+	public List<Direction> scramble(int cols, int rows, int optimalMoves,
+			Random random) {
+		checkArgument(cols > 0 && rows > 0, "Puzzle must have cells");
+		checkArgument(optimalMoves >= 0, "Moves cannot be negative");
+		checkNotNull(random);
+		this.cols = cols;
+		this.rows = rows;
+		pieces = new int[cols * rows];
+		for (int i = 0; i < pieces.length; i++) {
+			pieces[i] = i;
+		}
+		hole = pieces.length - 1;
+		List<Direction> walk = Lists.newArrayListWithCapacity(optimalMoves);
+		checkArgument(extend(walk, optimalMoves, random),
+				"No %sx%s arrangement is %s moves from solved", cols, rows,
+				optimalMoves);
+		return walk;
+	}
+
+	private boolean extend(List<Direction> walk, int optimalMoves,
+			Random random) {
+		if (walk.size() == optimalMoves) {
+			return true;
+		}
+		List<Direction> directions = Lists.newArrayList(DIRECTIONS);
+		Collections.shuffle(directions, random);
+		for (Direction d : directions) {
+			int next = neighbor(d);
+			if (next < 0) {
+				continue;
+			}
+			int from = hole;
+			moveHoleTo(next);
+			// Each move changes the distance from solved by exactly one.
+			solver.load(cols, rows, pieces, hole);
+			if (!solver.isSolvableWithin(walk.size())) {
+				walk.add(d);
+				if (extend(walk, optimalMoves, random)) {
+					return true;
+				}
+				walk.remove(walk.size() - 1);
+			}
+			moveHoleTo(from);
+		}
+		return false;
+	}
+
+	private int neighbor(Direction d) {
+		int x = hole % cols;
+		int y = hole / cols;
+		switch (d) {
+		case UP:
+			return y > 0 ? hole - cols : -1;
+		case DOWN:
+			return y < rows - 1 ? hole + cols : -1;
+		case LEFT:
+			return x > 0 ? hole - 1 : -1;
+		case RIGHT:
+			return x < cols - 1 ? hole + 1 : -1;
+		default:
+			throw new IllegalStateException("Unhandled direction " + d);
+		}
+	}
+
+	private void moveHoleTo(int cell) {
+		pieces[hole] = pieces[cell];
+		pieces[cell] = pieces.length - 1;
+		hole = cell;
+	}
+}
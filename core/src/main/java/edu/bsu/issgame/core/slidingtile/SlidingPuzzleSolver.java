@@ -0,0 +1,277 @@
+/*
+  Copyright 2015 Ball State University
+
+  This file is part of Collaboration Station.
+
+  Collaboration Station is free software: you can redistribute it
+  and/or modify it under the terms of the GNU General Public
+  License as published by the Free Software Foundation, either
+  version 3 of the License, or (at your option) any later version.
+
+  Collaboration Station is distributed in the hope that it will
+  be useful, but WITHOUT ANY WARRANTY; without even the implied
+  warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+  PURPOSE.  See the GNU General Public License for more details.
+
+  You should have received a copy of the GNU General Public
+  License along with Collaboration Station.  If not, see
+  <http://www.gnu.org/licenses/>.
+*/
+package edu.bsu.issgame.core.slidingtile;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Finds the fewest moves that solve a sliding tile puzzle by iterative
+ * deepening A*. The estimate is the Manhattan distance of every tile plus
+ * two moves for each tile that has to leave its row or column to get past
+ * another tile bound for the same line. Both are updated as moves are tried,
+ * so only the two lines a move touches are looked at again.
+ * <p>
+ * A solver reuses its working arrays, so it should only be used from one
+ * thread at a time.
+ */
+public final class SlidingPuzzleSolver {
+
+	public static SlidingPuzzleSolver create() {
+		return new SlidingPuzzleSolver(false);
+	}
+
+	/**
+	 * Returns a solver that also uses {@link PatternDatabase additive pattern
+	 * databases} for 4x4 puzzles whose hole belongs in the bottom right
+	 * corner. The databases are built the first time they are needed, which
+	 * takes a few seconds.
+	 */
+	public static SlidingPuzzleSolver withPatternDatabases() {
+		return new SlidingPuzzleSolver(true);
+	}
+
+	private static final int FOUND = -1;
+
+	private final boolean usePatternDatabases;
+	private int cols;
+	private int rows;
+	private int[] pieces = new int[0];
+	private int[] cellOf = new int[0];
+	private int[] conflicts = new int[0];
+	private int[] lineGoals = new int[0];
+	private int[] increasingRun = new int[0];
+	private int holePiece;
+	private int hole;
+	private int manhattan;
+	private int conflictMoves;
+	private PatternDatabase database;
+	private long nodes;
+
+	private SlidingPuzzleSolver(boolean usePatternDatabases) {
+		this.usePatternDatabases = usePatternDatabases;
+	}
+
+	public int optimalMoves(TilePuzzle puzzle) {
+		load(puzzle);
+		return optimalMoves();
+	}
+
+	public boolean isSolvableWithin(TilePuzzle puzzle, int moves) {
+		load(puzzle);
+		return isSolvableWithin(moves);
+	}
+
+	/**
+	 * The number of positions looked at since the solver was created, for
+	 * measuring.
+	 */
+	public long nodesSearched() {
+		return nodes;
+	}
+
+	private void load(TilePuzzle puzzle) {
+		checkNotNull(puzzle);
+		int[] arrangement = new int[puzzle.cols * puzzle.rows];
+		for (int i = 0; i < arrangement.length; i++) {
+			arrangement[i] = puzzle.pieceAt(i);
+		}
+		load(puzzle.cols, puzzle.rows, arrangement, puzzle.getHoleIndex());
+	}
+
+	/**
+	 * Takes a copy of the given arrangement, which holds for each cell the
+	 * index of the cell its piece belongs in. The piece in the cell given as
+	 * the hole is the hole's piece.
+	 */
+	void load(int cols, int rows, int[] arrangement, int holeCell) {
+		checkArgument(arrangement.length == cols * rows,
+				"Arrangement does not fit the puzzle");
+		this.cols = cols;
+		this.rows = rows;
+		if (pieces.length != arrangement.length) {
+			pieces = new int[arrangement.length];
+			cellOf = new int[arrangement.length];
+		}
+		if (conflicts.length != cols + rows) {
+			conflicts = new int[cols + rows];
+			lineGoals = new int[Math.max(cols, rows)];
+			increasingRun = new int[lineGoals.length];
+		}
+		System.arraycopy(arrangement, 0, pieces, 0, pieces.length);
+		for (int cell = 0; cell < pieces.length; cell++) {
+			cellOf[pieces[cell]] = cell;
+		}
+		hole = holeCell;
+		holePiece = pieces[holeCell];
+		manhattan = 0;
+		for (int cell = 0; cell < pieces.length; cell++) {
+			if (cell != hole) {
+				manhattan += distance(cell, pieces[cell]);
+			}
+		}
+		conflictMoves = 0;
+		for (int line = 0; line < conflicts.length; line++) {
+			conflicts[line] = lineConflicts(line);
+			conflictMoves += 2 * conflicts[line];
+		}
+		database = usePatternDatabases
+				&& PatternDatabase.fits(cols, rows, holePiece) ? PatternDatabase
+				.instance() : null;
+	}
+
+	int optimalMoves() {
+		int bound = estimate();
+		while (true) {
+			int next = search(0, bound, -1);
+			if (next == FOUND) {
+				return bound;
+			}
+			bound = next;
+		}
+	}
+
+	boolean isSolvableWithin(int moves) {
+		return estimate() <= moves && search(0, moves, -1) == FOUND;
+	}
+
+	/**
+	 * Searches below the current position for a solution within the bound,
+	 * never moving the hole straight back to where it came from. Returns
+	 * {@link #FOUND}, or else the smallest estimate that went over the bound.
+	 */
+	private int search(int movesSoFar, int bound, int previousHole) {
+		nodes++;
+		int estimate = estimate();
+		if (movesSoFar + estimate > bound) {
+			return movesSoFar + estimate;
+		}
+		if (estimate == 0) {
+			return FOUND;
+		}
+		int smallest = Integer.MAX_VALUE;
+		int x = hole % cols;
+		int y = hole / cols;
+		for (int i = 0; i < 4; i++) {
+			int next;
+			if (i == 0 && y > 0) {
+				next = hole - cols;
+			} else if (i == 1 && y < rows - 1) {
+				next = hole + cols;
+			} else if (i == 2 && x > 0) {
+				next = hole - 1;
+			} else if (i == 3 && x < cols - 1) {
+				next = hole + 1;
+			} else {
+				continue;
+			}
+			if (next == previousHole) {
+				continue;
+			}
+			int from = hole;
+			moveFrom(next);
+			int result = search(movesSoFar + 1, bound, from);
+			moveFrom(from);
+			if (result == FOUND) {
+				return FOUND;
+			}
+			smallest = Math.min(smallest, result);
+		}
+		return smallest;
+	}
+
+	private int estimate() {
+		int estimate = manhattan + conflictMoves;
+		if (database != null) {
+			estimate = Math.max(estimate, database.lowerBound(cellOf));
+		}
+		return estimate;
+	}
+
+	private void moveFrom(int cell) {
+		int piece = pieces[cell];
+		int from = hole;
+		manhattan += distance(from, piece) - distance(cell, piece);
+		pieces[from] = piece;
+		cellOf[piece] = from;
+		pieces[cell] = holePiece;
+		cellOf[holePiece] = cell;
+		hole = cell;
+		if (Math.abs(cell - from) == cols) {
+			updateConflicts(cell / cols);
+			updateConflicts(from / cols);
+		} else {
+			updateConflicts(rows + cell % cols);
+			updateConflicts(rows + from % cols);
+		}
+	}
+
+	private void updateConflicts(int line) {
+		int updated = lineConflicts(line);
+		conflictMoves += 2 * (updated - conflicts[line]);
+		conflicts[line] = updated;
+	}
+
+	private int distance(int cell, int piece) {
+		return Math.abs(cell % cols - piece % cols)
+				+ Math.abs(cell / cols - piece / cols);
+	}
+
+	/**
+	 * Returns how many of the tiles bound for the given line, which is a row
+	 * below {@code rows} and a column after, have to leave it so that the
+	 * rest are already in order.
+	 */
+	private int lineConflicts(int line) {
+		int count = 0;
+		if (line < rows) {
+			for (int x = 0; x < cols; x++) {
+				int piece = pieces[x + line * cols];
+				if (piece != holePiece && piece / cols == line) {
+					lineGoals[count++] = piece % cols;
+				}
+			}
+		} else {
+			int column = line - rows;
+			for (int y = 0; y < rows; y++) {
+				int piece = pieces[column + y * cols];
+				if (piece != holePiece && piece % cols == column) {
+					lineGoals[count++] = piece / cols;
+				}
+			}
+		}
+		return count - longestIncreasingRun(count);
+	}
+
+	private int longestIncreasingRun(int count) {
+		int longest = 0;
+		for (int i = 0; i < count; i++) {
+			increasingRun[i] = 1;
+			for (int j = 0; j < i; j++) {
+				if (lineGoals[j] < lineGoals[i]) {
+					increasingRun[i] = Math.max(increasingRun[i],
+							increasingRun[j] + 1);
+				}
+			}
+			longest = Math.max(longest, increasingRun[i]);
+		}
+		return longest;
+	}
+}
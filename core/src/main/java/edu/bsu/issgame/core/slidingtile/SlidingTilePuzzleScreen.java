@@ -24,8 +24,8 @@ import static playn.core.PlayN.pointer;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
 
-import playn.core.CanvasImage;
 import playn.core.Image;
 import playn.core.ImageLayer;
 import playn.core.Pointer;
@@ -46,10 +46,11 @@ import edu.bsu.issgame.core.AbstractGameScreen;
 import edu.bsu.issgame.core.CommonGameScreenUI;
 import edu.bsu.issgame.core.CustomStyleSheet;
 import edu.bsu.issgame.core.GameFont;
-import edu.bsu.issgame.core.GameImage;
 import edu.bsu.issgame.core.GameSound;
 import edu.bsu.issgame.core.MinigameType;
+import edu.bsu.issgame.core.assetmgt.LoadableImage;
 import edu.bsu.issgame.core.slidingtile.TilePuzzle.Move;
+import edu.bsu.issgame.core.util.BoardPool;
 import edu.bsu.issgame.core.util.ImageSlicer;
 
 public class SlidingTilePuzzleScreen extends CommonGameScreenUI {
@@ -70,14 +71,14 @@ public class SlidingTilePuzzleScreen extends CommonGameScreenUI {
 	private TilePuzzle puzzleModel;
 	private TilePuzzle clonePuzzle;
 	private PuzzleDifficulty difficulty;
-	private final PuzzleFactory puzzleFactory = new PuzzleFactory();
+	private final BoardPool<PuzzleBundle> puzzlePool = new BoardPool<PuzzleBundle>(
+			"Sliding puzzles", new PuzzleFactory(), new Random().nextLong());
 	private ResetButton resetButton;
-	private CanvasImage holeImage;
+	private Image holeImage;
 	private Image puzzleImage;
 	private PuzzleBundle puzzle;
 
 	private PointerInput pInput = new PointerInput();
-	private List<Move> shuffleMoves = new ArrayList<Move>();
 	private List<TileLayer> tileLayers = new ArrayList<TileLayer>();
 	private List<TileLayer> cloneList = new ArrayList<TileLayer>();
 
@@ -88,7 +89,7 @@ public class SlidingTilePuzzleScreen extends CommonGameScreenUI {
 		initializePuzzle();
 		showOriginalPuzzleImage();
 		addResetButton();
-		setBackground(GameImage.SLIDING_PUZZLE_BACKGROUND.image);
+		setBackground(LoadableImage.SLIDING_PUZZLE_BACKGROUND);
 		shortDelayThenShufflePuzzle();
 	}
 
@@ -146,17 +147,17 @@ public class SlidingTilePuzzleScreen extends CommonGameScreenUI {
 	}
 
 	private void initializePuzzle() {
-		puzzle = puzzleFactory.nextPuzzle();
+		puzzle = puzzlePool.take();
 		difficulty = puzzle.difficulty;
 		Point puzzleSize = difficulty.puzzleSize;
 		puzzleImage = puzzle.image.image;
-		List<CanvasImage> puzzlePieceImages = ImageSlicer.cuts(puzzleImage)
+		List<Image> puzzlePieceImages = ImageSlicer.cuts(puzzleImage)
 				.intoSlicesAlongAxis(puzzleSize.x, puzzleSize.y);
 		puzzleModel = TilePuzzle.columns(puzzleSize.x).rows(puzzleSize.y)
 				.withHoleAt(puzzleSize.x - 1, puzzleSize.y - 1).build();
 		ArrayList<TileLayer> unshuffledLayer = new ArrayList<TileLayer>();
 		for (int n = 0; n < puzzlePieceImages.size(); n++) {
-			CanvasImage image = puzzlePieceImages.get(n);
+			Image image = puzzlePieceImages.get(n);
 			Tile tile;
 			if (n < puzzleModel.getHoleIndex()) {
 				tile = puzzleModel.getTiles().get(n);
@@ -198,35 +199,26 @@ public class SlidingTilePuzzleScreen extends CommonGameScreenUI {
 	}
 
 	private void shortDelayThenShufflePuzzle() {
-		shuffleMoves.add(puzzleModel.getRandomMove());
 		anim.delay(1000).then().action(new Runnable() {
 			@Override
 			public void run() {
-				shufflePuzzle(puzzle.numberOfMoves);
+				shufflePuzzle(0);
 			}
 		});
 
 	}
 
-	private void shufflePuzzle(final int numberOfMoves) {
+	private void shufflePuzzle(final int step) {
 		int shuffleDelay = 100;
-		Move randomMove = puzzleModel.getRandomMove();
-		Move lastMove = shuffleMoves.get(shuffleMoves.size() - 1);
-		while (randomMove.direction == lastMove.direction.opposite()) {
-			randomMove = puzzleModel.getRandomMove();
-		}
+		Point tilePosition = puzzle.shuffle.get(step).findNeighbor(
+				puzzleModel.getHole());
 		for (final TileLayer tileLayer : tileLayers) {
-			if (randomMove.tile.equals(tileLayer.tile)) {
-				final Move moveToMake = randomMove;
+			if (tileLayer.tile.position().get().equals(tilePosition)) {
 				anim.action(new Runnable() {
 					@Override
 					public void run() {
-						if (makeMove(tileLayer.tile)) {
-							tileLayer.animateLayer(ANIMATION_MS);
-							shuffleMoves.add(moveToMake);
-						} else {
-							shufflePuzzle(numberOfMoves);
-						}
+						makeMove(tileLayer.tile);
+						tileLayer.animateLayer(ANIMATION_MS);
 					}
 				})//
 						.then()//
@@ -235,8 +227,8 @@ public class SlidingTilePuzzleScreen extends CommonGameScreenUI {
 						.action(new Runnable() {
 							@Override
 							public void run() {
-								if (numberOfMoves > 0)
-									shufflePuzzle(numberOfMoves - 1);
+								if (step + 1 < puzzle.shuffle.size())
+									shufflePuzzle(step + 1);
 							}
 						});
 			}
@@ -292,7 +284,7 @@ public class SlidingTilePuzzleScreen extends CommonGameScreenUI {
 
 		private RFuture<Void> animateLayer(float duration) {
 			final RPromise<Void> promise = RPromise.create();
-			GameSound.TILE_SLIDE.sound.play();
+			GameSound.TILE_SLIDE.play();
 			setInputEnabled(false);
 			anim.tweenTranslation(tileLayer)//
 					.to(getDestination().x, getDestination().y)//
@@ -345,7 +337,7 @@ public class SlidingTilePuzzleScreen extends CommonGameScreenUI {
 			for (TileLayer layer : tileLayers) {
 				layer.setInputEnabled(false);
 			}
-			GameSound.SLIDING_PUZZLE_COMPLETE.sound.play();
+			GameSound.SLIDING_PUZZLE_COMPLETE.play();
 			score.update(score.get().addMaintenance(difficulty.score));
 			animateReset();
 		}
@@ -460,5 +452,17 @@ public class SlidingTilePuzzleScreen extends CommonGameScreenUI {
 		pointer().setListener(null);
 	}
 
+	@Override
+	public void wasAdded() {
+		super.wasAdded();
+		puzzlePool.start();
+	}
+
+	@Override
+	public void wasRemoved() {
+		super.wasRemoved();
+		puzzlePool.stop();
+	}
+
 	
 }
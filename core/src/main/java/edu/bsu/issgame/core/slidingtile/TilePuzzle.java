@@ -24,20 +24,25 @@ import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.base.Preconditions.checkState;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
-import java.util.Map;
+import java.util.Random;
 import java.util.Set;
 
 import pythagoras.i.IPoint;
 import pythagoras.i.Point;
-import pythagoras.i.Rectangle;
 
-import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 
-import edu.bsu.issgame.core.util.ReadingOrderComparator;
-
+/**
+ * A sliding tile puzzle kept as a permutation: each cell, indexed by
+ * {@code x + y * cols}, holds the index of the cell its piece belongs in.
+ * The hole is a piece like any other, so a move swaps two entries. The
+ * number of misplaced tiles and a Zobrist hash of the arrangement are kept up
+ * to date as moves are made, so checks and moves take constant time.
+ * <p>
+ * Each {@link Tile} is a view of one piece, and its position is updated as
+ * the piece moves.
+ */
 public class TilePuzzle {
 
 	public static Builder columns(int columns) {
@@ -78,83 +83,153 @@ public class TilePuzzle {
 		}
 	}
 
+	/**
+	 * Returns random keys for every piece in every cell of a puzzle with the
+	 * given number of cells. The keys depend only on the number of cells, so
+	 * hashes of puzzles of the same size can be compared.
+	 */
+	private static long[] zobristKeys(int cells) {
+		Random random = new Random(cells);
+		long[] keys = new long[cells * cells];
+		for (int i = 0; i < keys.length; i++) {
+			keys[i] = random.nextLong();
+		}
+		return keys;
+	}
+
 	public final int rows;
 	public final int cols;
-	
-	private final Map<Point, Tile> board = Maps.newHashMap();
-	private final Rectangle bounds;
 
-	private Point hole;
+	private final int holePiece;
+	private final int[] pieceAt;
+	private final int[] cellOf;
+	private final Tile[] tiles;
+	private final long[] zobristKeys;
+	private int misplaced;
+	private long hash;
 
 	private TilePuzzle(Builder builder) {
 		rows = builder.rows;
 		cols = builder.columns;
-		this.bounds = new Rectangle(0, 0, builder.columns, builder.rows);
-		for (int row = 0; row < bounds.height; row++) {
-			for (int column = 0; column < bounds.width; column++) {
-				Point p = new Point(column, row);
-				Tile tile = new Tile(p);
-				board.put(p, tile);
+		holePiece = builder.holeLocation.x + builder.holeLocation.y * cols;
+		pieceAt = new int[rows * cols];
+		cellOf = new int[pieceAt.length];
+		tiles = new Tile[pieceAt.length];
+		zobristKeys = zobristKeys(pieceAt.length);
+		for (int i = 0; i < pieceAt.length; i++) {
+			pieceAt[i] = i;
+			cellOf[i] = i;
+			hash ^= key(i, i);
+			if (i != holePiece) {
+				tiles[i] = new Tile(pointAt(i));
 			}
 		}
-		this.hole = builder.holeLocation;
-		board.remove(hole);
 	}
-	
-	private TilePuzzle(int cols, int rows, Point hole, List<Tile> tiles)
-	{
-		this.cols=cols;
-		this.rows=rows;
-		this.hole=hole;
-		this.bounds = new Rectangle(0,0, cols, rows);
-		for(Tile tile: tiles)
-		{
-			board.put((Point) tile.position().get(), tile.clone());
+
+	private TilePuzzle(TilePuzzle original) {
+		rows = original.rows;
+		cols = original.cols;
+		holePiece = original.holePiece;
+		pieceAt = original.pieceAt.clone();
+		cellOf = original.cellOf.clone();
+		tiles = new Tile[pieceAt.length];
+		zobristKeys = original.zobristKeys;
+		misplaced = original.misplaced;
+		hash = original.hash;
+		for (int i = 0; i < tiles.length; i++) {
+			if (original.tiles[i] != null) {
+				tiles[i] = original.tiles[i].clone();
+			}
 		}
 	}
 
+	private long key(int cell, int piece) {
+		return zobristKeys[cell * pieceAt.length + piece];
+	}
+
+	private Point pointAt(int index) {
+		return new Point(index % cols, index / cols);
+	}
+
+	private int indexOf(IPoint p) {
+		return p.x() + p.y() * cols;
+	}
+
+	private boolean isInPuzzle(IPoint p) {
+		return p.x() >= 0 && p.y() >= 0 && p.x() < cols && p.y() < rows;
+	}
+
 	public IPoint getHole() {
-		return new Point(hole);
+		return pointAt(cellOf[holePiece]);
 	}
-	
-	public int getHoleIndex()
-	{
-		IPoint hole = getHole();
-		int holeNumber = hole.x()+hole.y()*cols;
-		return holeNumber;
-		
+
+	public int getHoleIndex() {
+		return cellOf[holePiece];
 	}
 
-	public Set<Move> getPossibleMoves() {
-		PossibleMoveSetBuilder moveSetBuilder = new PossibleMoveSetBuilder();
-		for (Direction d : Direction.values()) {
-			moveSetBuilder.checkDirectionFromHole(d);
-		}
-		return moveSetBuilder.set;
+	/**
+	 * Returns the index of the cell that the piece in the given cell belongs
+	 * in. The hole's piece belongs where the hole started.
+	 */
+	public int pieceAt(int index) {
+		return pieceAt[index];
 	}
-	
-	public Move getRandomMove()
-	{
-		ArrayList<Move> moves = new ArrayList<Move>(getPossibleMoves());
-		int index = (int) (Math.random()*moves.size());
-		return moves.get(index);
+
+	/**
+	 * Whether the tile in the given cell is next to the hole.
+	 */
+	public boolean canMoveFrom(int index) {
+		int hole = cellOf[holePiece];
+		int distance = Math.abs(index - hole);
+		return distance == cols
+				|| (distance == 1 && Math.min(index, hole) % cols != cols - 1);
 	}
 
-	private final class PossibleMoveSetBuilder {
-		private final Set<Move> set = Sets.newHashSet();
+	/**
+	 * Slides the tile in the given cell into the hole.
+	 */
+	public void moveFrom(int index) {
+		checkArgument(canMoveFrom(index), "Not next to the hole: %s", index);
+		int hole = cellOf[holePiece];
+		int piece = pieceAt[index];
+		if (index == piece) {
+			misplaced++;
+		} else if (hole == piece) {
+			misplaced--;
+		}
+		hash ^= key(index, piece) ^ key(hole, holePiece) ^ key(hole, piece)
+				^ key(index, holePiece);
+		pieceAt[hole] = piece;
+		cellOf[piece] = hole;
+		pieceAt[index] = holePiece;
+		cellOf[holePiece] = index;
+		tiles[piece].setPosition(pointAt(hole));
+	}
 
-		public void checkDirectionFromHole(Direction d) {
+	/**
+	 * A hash of the arrangement of the pieces. Puzzles of the same size in the
+	 * same arrangement have the same hash.
+	 */
+	public long zobristHash() {
+		return hash;
+	}
+
+	public Set<Move> getPossibleMoves() {
+		Set<Move> moves = Sets.newHashSet();
+		IPoint hole = getHole();
+		for (Direction d : Direction.values()) {
 			Point p = d.findNeighbor(hole);
 			if (isInPuzzle(p)) {
-				Tile t = board.get(p);
-				checkState(t != null, "Tile should be present at " + p);
-				set.add(new Move(t, d.opposite()));
+				moves.add(new Move(tiles[pieceAt[indexOf(p)]], d.opposite()));
 			}
 		}
+		return moves;
 	}
 
-	private boolean isInPuzzle(Point p) {
-		return bounds.outcode(p) == 0;
+	public Move getRandomMove() {
+		ArrayList<Move> moves = new ArrayList<Move>(getPossibleMoves());
+		int index = (int) (Math.random() * moves.size());
+		return moves.get(index);
 	}
 
 	public final class Move {
@@ -168,96 +243,52 @@ public class TilePuzzle {
 		}
 
 		public void make() {
-			updateTilePosition();
-			updateHolePosition();
-		}
-
-		private void updateTilePosition() {
-			IPoint tileOriginalPosition = tile.position().get();
-			Point tileNewPosition = direction
-					.findNeighbor(tileOriginalPosition);
-			board.remove(tileOriginalPosition);
-			board.put(tileNewPosition, tile);
-			tile.setPosition(tileNewPosition);
-		}
-
-		private void updateHolePosition() {
-			Direction toMoveHole = direction.opposite();
-			hole = toMoveHole.findNeighbor(hole);
+			IPoint from = tile.position().get();
+			checkState(direction.findNeighbor(from).equals(getHole()),
+					"Tile does not move into the hole");
+			moveFrom(indexOf(from));
 		}
 
 		public boolean isForTile(Tile t) {
 			return this.tile.equals(t);
 		}
 	}
-	
-	public boolean isSolved()
-	{
-		boolean solved=true;
-		
-		for(Tile tile: getTiles())
-		{
-			if(!tile.isInProperPosition())
-			{
-				solved=false;
-			}
-		}
-		
-		return solved;
+
+	public boolean isSolved() {
+		return misplaced == 0;
 	}
 
+	/**
+	 * Returns the tiles in reading order of where they are now.
+	 */
 	public List<Tile> getTiles() {
-		
-		List<Tile> tiles = new ArrayList<Tile>(board.values());
-		Collections.sort(tiles, new ReadingOrderComparator());
-		
-		return tiles;
-	}
-	
-	public Tile getTile(Point initialPosition)
-	{
-		List<Tile> tiles = getTiles();
-		
-		for(Tile tile: tiles)
-		{
-			;
-			if(tile.initialPosition.get().equals(initialPosition))
-				return tile;
+		List<Tile> result = new ArrayList<Tile>(pieceAt.length - 1);
+		for (int piece : pieceAt) {
+			if (piece != holePiece) {
+				result.add(tiles[piece]);
+			}
 		}
-		return null;
+		return result;
 	}
-	
-	public boolean canMove(Tile tile)
-	{
-		Set<Move> possibleMoves = getPossibleMoves();
-		for(Move possibleMove: possibleMoves)
-		{
-			if(possibleMove.isForTile(tile))
-				return true;
-		}
-		return false;
+
+	public Tile getTile(Point initialPosition) {
+		return isInPuzzle(initialPosition) ? tiles[indexOf(initialPosition)]
+				: null;
 	}
-	
-	public int checkNumberOfTilesOutOfPlace()
-	{
-		int numberOfTilesOutOfPlace=0;
-		for(Tile tile: getTiles())
-		{
-			if(!tile.isInProperPosition())
-			{
-				numberOfTilesOutOfPlace++;
-			}
-		}
-		return numberOfTilesOutOfPlace;
+
+	public boolean canMove(Tile tile) {
+		return canMoveFrom(indexOf(tile.position().get()));
+	}
+
+	public int checkNumberOfTilesOutOfPlace() {
+		return misplaced;
 	}
-	
-	public Move getMove(Tile tile, Direction direction)
-	{
+
+	public Move getMove(Tile tile, Direction direction) {
 		return new Move(tile, direction);
 	}
-	
-	public TilePuzzle clone()
-	{
-		return new TilePuzzle(this.cols, this.rows, this.hole, this.getTiles());
+
+	public TilePuzzle clone() {
+		return new TilePuzzle(this);
 	}
-}
\ No newline at end of file
+}
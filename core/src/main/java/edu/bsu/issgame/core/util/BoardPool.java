@@ -0,0 +1,168 @@
+/*
+  Copyright 2015 Ball State University
+
+  This file is part of Collaboration Station.
+
+  Collaboration Station is free software: you can redistribute it
+  and/or modify it under the terms of the GNU General Public
+  License as published by the Free Software Foundation, either
+  version 3 of the License, or (at your option) any later version.
+
+  Collaboration Station is distributed in the hope that it will
+  be useful, but WITHOUT ANY WARRANTY; without even the implied
+  warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+  PURPOSE.  See the GNU General Public License for more details.
+
+  You should have received a copy of the GNU General Public
+  License along with Collaboration Station.  If not, see
+  <http://www.gnu.org/licenses/>.
+*/
+package edu.bsu.issgame.core.util;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+import static playn.core.PlayN.log;
+
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import com.google.common.collect.Maps;
+
+/**
+ * Keeps a few boards generated ahead of time on a low-priority daemon
+ * thread, so that starting the next board does not stall the game thread.
+ * Boards are numbered from zero, and board <i>n</i> is generated from its
+ * index and the <i>n</i>th seed of a sequence derived from the pool's seed.
+ * {@link #take()} always returns the boards in index order.
+ * <p>
+ * Boards are handed over through a concurrent map: {@link #take()} never
+ * waits for the worker, and generates a board on the calling thread if its
+ * board is not ready. The generator may therefore be called from two
+ * threads at once, and must not depend on the order of its calls. Boards
+ * must be taken from one thread.
+ */
+public final class BoardPool<T> {
+
+	public interface Generator<T> {
+		T generate(int index, long seed);
+	}
+
+	public static final int DEFAULT_CAPACITY = 2;
+
+	/** Spaces the board seeds apart; the 64-bit golden ratio. */
+	private static final long SEED_INCREMENT = 0x9E3779B97F4A7C15L;
+
+	private final String name;
+	private final Generator<T> generator;
+	private final int capacity;
+	private final long seed;
+	private final ConcurrentMap<Integer, T> boards = Maps.newConcurrentMap();
+	private final AtomicInteger ready = new AtomicInteger();
+	private final AtomicInteger nextToTake = new AtomicInteger();
+	private volatile Thread worker;
+	private volatile boolean stopped = false;
+
+	public BoardPool(String name, Generator<T> generator, long seed) {
+		this(name, generator, DEFAULT_CAPACITY, seed);
+	}
+
+	public BoardPool(String name, Generator<T> generator, int capacity,
+			long seed) {
+		this.name = checkNotNull(name);
+		this.generator = checkNotNull(generator);
+		checkArgument(capacity > 0, "Capacity must be positive: %s", capacity);
+		this.capacity = capacity;
+		this.seed = seed;
+	}
+
+	/**
+	 * Starts filling the pool if it is not already being filled.
+	 */
+	public synchronized BoardPool<T> start() {
+		checkState(!stopped, "Pool has been stopped.");
+		if (worker == null) {
+			worker = new Thread(new Worker(), name);
+			worker.setDaemon(true);
+			worker.setPriority(Thread.MIN_PRIORITY);
+			worker.start();
+		}
+		return this;
+	}
+
+	/**
+	 * Stops the worker and drops the boards it made. {@link #take()} still
+	 * works afterwards, generating each board on the calling thread.
+	 */
+	public synchronized void stop() {
+		stopped = true;
+		if (worker != null) {
+			worker.interrupt();
+			LockSupport.unpark(worker);
+			worker = null;
+		}
+		boards.clear();
+		ready.set(0);
+	}
+
+	public boolean isStopped() {
+		return stopped;
+	}
+
+	/** The number of boards that can be taken without generating one. */
+	public int ready() {
+		return ready.get();
+	}
+
+	public T take() {
+		int index = nextToTake.getAndIncrement();
+		T board = boards.remove(index);
+		if (board == null) {
+			return generate(index);
+		}
+		ready.decrementAndGet();
+		LockSupport.unpark(worker);
+		return board;
+	}
+
+	private T generate(int index) {
+		return generator.generate(index, seed + index * SEED_INCREMENT);
+	}
+
+	private final class Worker implements Runnable {
+		private int nextToGenerate = 0;
+
+		@Override
+		public void run() {
+			try {
+				while (!stopped) {
+					if (ready.get() < capacity) {
+						// Skips boards that take() has already made itself.
+						int index = Math.max(nextToGenerate, nextToTake.get());
+						nextToGenerate = index + 1;
+						offer(index, generate(index));
+					} else {
+						LockSupport.park(this);
+					}
+				}
+			} catch (RuntimeException e) {
+				log().warn("Board generation failed on " + name, e);
+			}
+			boards.clear();
+			ready.set(0);
+		}
+
+		private void offer(int index, T board) {
+			if (stopped || index < nextToTake.get()) {
+				return;
+			}
+			boards.put(index, board);
+			ready.incrementAndGet();
+			// take() may have passed this board while it was being added.
+			if (index < nextToTake.get() && boards.remove(index) != null) {
+				ready.decrementAndGet();
+			}
+		}
+	}
+}
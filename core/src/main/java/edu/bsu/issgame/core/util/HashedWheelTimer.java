@@ -0,0 +1,216 @@
+/*
+  Copyright 2015 Ball State University
+
+  This file is part of Collaboration Station.
+
+  Collaboration Station is free software: you can redistribute it
+  and/or modify it under the terms of the GNU General Public
+  License as published by the Free Software Foundation, either
+  version 3 of the License, or (at your option) any later version.
+
+  Collaboration Station is distributed in the hope that it will
+  be useful, but WITHOUT ANY WARRANTY; without even the implied
+  warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+  PURPOSE.  See the GNU General Public License for more details.
+
+  You should have received a copy of the GNU General Public
+  License along with Collaboration Station.  If not, see
+  <http://www.gnu.org/licenses/>.
+*/
+package edu.bsu.issgame.core.util;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+import static playn.core.PlayN.log;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Queues;
+
+/**
+ * Runs many short tasks after a delay on one thread. Deadlines are kept in a
+ * ring of buckets, one per tick; each tick the thread runs the due tasks of
+ * one bucket, so scheduling and cancelling cost the same however many tasks
+ * are pending. Tasks run up to one tick late, which suits heartbeats and
+ * timeouts rather than precise timing.
+ * <p>
+ * Tasks run on the timer's thread and must not block.
+ */
+public final class HashedWheelTimer {
+
+	public static final long DEFAULT_TICK_MS = 10;
+	public static final int DEFAULT_TICKS_PER_WHEEL = 512;
+
+	public interface Timeout {
+		void cancel();
+
+		boolean isCancelled();
+	}
+
+	private final class ScheduledTask implements Timeout {
+		private final Runnable task;
+		private final long deadlineNanos;
+		private long remainingRounds;
+		private volatile boolean cancelled = false;
+
+		ScheduledTask(Runnable task, long deadlineNanos) {
+			this.task = task;
+			this.deadlineNanos = deadlineNanos;
+		}
+
+		@Override
+		public void cancel() {
+			cancelled = true;
+		}
+
+		@Override
+		public boolean isCancelled() {
+			return cancelled;
+		}
+	}
+
+	private final String name;
+	private final long tickNanos;
+	private final List<List<ScheduledTask>> wheel;
+	private final int mask;
+	private final Queue<ScheduledTask> newTasks = Queues
+			.newConcurrentLinkedQueue();
+	private long startNanos;
+	private Thread worker;
+	private volatile boolean stopped = false;
+
+	public HashedWheelTimer(String name) {
+		this(name, DEFAULT_TICK_MS, TimeUnit.MILLISECONDS,
+				DEFAULT_TICKS_PER_WHEEL);
+	}
+
+	public HashedWheelTimer(String name, long tickDuration, TimeUnit unit,
+			int ticksPerWheel) {
+		this.name = checkNotNull(name);
+		checkArgument(tickDuration > 0, "Tick must be positive.");
+		checkArgument(ticksPerWheel > 0 && Integer.bitCount(ticksPerWheel) == 1,
+				"Ticks per wheel must be a power of two: %s", ticksPerWheel);
+		this.tickNanos = unit.toNanos(tickDuration);
+		this.mask = ticksPerWheel - 1;
+		this.wheel = Lists.newArrayListWithCapacity(ticksPerWheel);
+		for (int i = 0; i < ticksPerWheel; i++) {
+			wheel.add(Lists.<ScheduledTask> newLinkedList());
+		}
+	}
+
+	/**
+	 * Starts the timer thread if it is not already running. Tasks scheduled
+	 * before the timer starts wait for it.
+	 */
+	public synchronized void start() {
+		checkState(!stopped, "Timer has been stopped.");
+		if (worker == null) {
+			startNanos = System.nanoTime();
+			worker = new Thread(new Worker(), name);
+			worker.setDaemon(true);
+			worker.start();
+		}
+	}
+
+	/**
+	 * Stops the timer thread. Pending tasks are dropped. A task may stop its
+	 * own timer; the thread then finishes after the current tick.
+	 */
+	public synchronized void stop() {
+		stopped = true;
+		if (worker != null) {
+			if (worker != Thread.currentThread()) {
+				worker.interrupt();
+			}
+			worker = null;
+		}
+	}
+
+	public boolean isStopped() {
+		return stopped;
+	}
+
+	public Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+		checkNotNull(task);
+		ScheduledTask scheduled = new ScheduledTask(task, System.nanoTime()
+				+ unit.toNanos(Math.max(0, delay)));
+		if (!stopped) {
+			newTasks.add(scheduled);
+		}
+		return scheduled;
+	}
+
+	private final class Worker implements Runnable {
+		private long tick = 0;
+
+		@Override
+		public void run() {
+			while (!stopped) {
+				if (!awaitNextTick()) {
+					break;
+				}
+				transferNewTasks();
+				runDueTasks(wheel.get((int) (tick & mask)));
+				tick++;
+			}
+			newTasks.clear();
+		}
+
+		private boolean awaitNextTick() {
+			long tickEnd = startNanos + (tick + 1) * tickNanos;
+			long remaining = tickEnd - System.nanoTime();
+			if (remaining > 0) {
+				try {
+					TimeUnit.NANOSECONDS.sleep(remaining);
+				} catch (InterruptedException e) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		private void transferNewTasks() {
+			ScheduledTask task;
+			while ((task = newTasks.poll()) != null) {
+				if (task.cancelled) {
+					continue;
+				}
+				long ticksAway = Math.max(0, (task.deadlineNanos - startNanos
+						+ tickNanos - 1)
+						/ tickNanos - 1);
+				long targetTick = Math.max(tick, ticksAway);
+				task.remainingRounds = (targetTick - tick) / wheel.size();
+				wheel.get((int) (targetTick & mask)).add(task);
+			}
+		}
+
+		private void runDueTasks(List<ScheduledTask> bucket) {
+			Iterator<ScheduledTask> iterator = bucket.iterator();
+			while (iterator.hasNext() && !stopped) {
+				ScheduledTask task = iterator.next();
+				if (task.cancelled) {
+					iterator.remove();
+				} else if (task.remainingRounds > 0) {
+					task.remainingRounds--;
+				} else {
+					iterator.remove();
+					runSafely(task.task);
+				}
+			}
+		}
+
+		private void runSafely(Runnable task) {
+			try {
+				task.run();
+			} catch (RuntimeException e) {
+				log().warn("Timer task failed: " + e.getMessage());
+				e.printStackTrace();
+			}
+		}
+	}
+}
@@ -19,47 +19,114 @@
 */
 package edu.bsu.issgame.core.util;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
-import static playn.core.PlayN.graphics;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
-import playn.core.CanvasImage;
 import playn.core.Image;
 
-import com.google.common.collect.Lists;
+import com.google.common.base.Objects;
+import com.google.common.collect.ImmutableList;
 
+/**
+ * Cuts an image into a grid of equal slices. Each slice is a
+ * {@link Image#subImage region} of the source, so it shares the source's
+ * pixels and texture rather than copying them.
+ * <p>
+ * The slices of the last few images cut are kept, so cutting the same image
+ * the same way again returns the same slices. The cache is not synchronized
+ * and, like the images themselves, should only be used from the game thread.
+ */
 public class ImageSlicer {
 
-	
-	
+	public static final int CACHED_SLICINGS = 8;
+
+	private static final Map<SliceKey, List<Image>> cache = new LinkedHashMap<SliceKey, List<Image>>(
+			16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(
+				Map.Entry<SliceKey, List<Image>> eldest) {
+			return size() > CACHED_SLICINGS;
+		}
+	};
+
 	public static ImageSlicer cuts(Image image) {
 		return new ImageSlicer(image);
 	}
 
+	/** Forgets every cached slicing. */
+	public static void clearCache() {
+		cache.clear();
+	}
+
 	private final Image source;
 
 	private ImageSlicer(Image image) {
 		this.source = checkNotNull(image);
 	}
 
-	public List<CanvasImage> intoSlicesAlongAxis(int cols, int rows) {
+	/**
+	 * Returns the slices in reading order. Any pixels left over when the
+	 * source does not divide evenly are in no slice.
+	 */
+	public List<Image> intoSlicesAlongAxis(int cols, int rows) {
+		checkArgument(cols > 0 && rows > 0, "Must cut into at least one slice");
+		SliceKey key = new SliceKey(source, cols, rows);
+		List<Image> slices = cache.get(key);
+		if (slices == null) {
+			slices = slice(cols, rows);
+			if (source.isReady()) {
+				cache.put(key, slices);
+			}
+		}
+		return slices;
+	}
+
+	private List<Image> slice(int cols, int rows) {
 		final int sliceWidth = (int) (source.width() / cols);
 		final int sliceHeight = (int) (source.height() / rows);
-		final int[] pixelData = new int[sliceWidth * sliceHeight];
-		final List<CanvasImage> list = Lists.newArrayList();
-		for (int y = 0; y< rows; y++) {
-			for (int x= 0; x < cols; x++) {
-				CanvasImage image = graphics().createImage(sliceWidth,
-						sliceHeight);
-				source.getRgb(x * sliceWidth, y * sliceHeight, sliceWidth,
-						sliceHeight, pixelData, 0, sliceWidth);
-				image.setRgb(0, 0, sliceWidth, sliceHeight, pixelData, 0,
-						sliceWidth);
-				list.add(image);
+		ImmutableList.Builder<Image> slices = ImmutableList.builder();
+		for (int y = 0; y < rows; y++) {
+			for (int x = 0; x < cols; x++) {
+				slices.add(source.subImage(x * sliceWidth, y * sliceHeight,
+						sliceWidth, sliceHeight));
 			}
 		}
-		return list;
+		return slices.build();
 	}
 
+	/**
+	 * Identifies a slicing by the source image itself, not by its contents.
+	 */
+	private static final class SliceKey {
+		private final Image image;
+		private final int cols;
+		private final int rows;
+
+		SliceKey(Image image, int cols, int rows) {
+			this.image = image;
+			this.cols = cols;
+			this.rows = rows;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof SliceKey)) {
+				return false;
+			}
+			SliceKey other = (SliceKey) obj;
+			return image == other.image && cols == other.cols
+					&& rows == other.rows;
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hashCode(System.identityHashCode(image), cols, rows);
+		}
+	}
 }
@@ -0,0 +1,220 @@
+/*
+  Copyright 2015 Ball State University
+
+  This file is part of Collaboration Station.
+
+  Collaboration Station is free software: you can redistribute it
+  and/or modify it under the terms of the GNU General Public
+  License as published by the Free Software Foundation, either
+  version 3 of the License, or (at your option) any later version.
+
+  Collaboration Station is distributed in the hope that it will
+  be useful, but WITHOUT ANY WARRANTY; without even the implied
+  warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+  PURPOSE.  See the GNU General Public License for more details.
+
+  You should have received a copy of the GNU General Public
+  License along with Collaboration Station.  If not, see
+  <http://www.gnu.org/licenses/>.
+*/
+package edu.bsu.issgame.core.util;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A fixed-capacity byte ring for exactly one writing thread and one reading
+ * thread. Positions are published through atomics rather than a lock, and a
+ * thread that has to wait parks until the other side unparks it, so a
+ * blocked reader sees new bytes as soon as they are written.
+ * <p>
+ * A reader blocked on an empty ring throws
+ * {@link BlockingReadOperationInterruptedException} when interrupted, and
+ * sees the end of the stream once the writer has closed and every byte has
+ * been read.
+ */
+public final class SpscByteRing {
+
+	private final byte[] buffer;
+	private final int mask;
+
+	/** Total bytes written; only the writer advances it. */
+	private final AtomicLong tail = new AtomicLong();
+
+	/** Total bytes read; only the reader advances it. */
+	private final AtomicLong head = new AtomicLong();
+
+	private volatile Thread waitingReader;
+	private volatile Thread waitingWriter;
+	private volatile boolean writerClosed = false;
+	private volatile boolean readerClosed = false;
+
+	private final InputStream inputStream = new RingInputStream();
+	private final OutputStream outputStream = new RingOutputStream();
+
+	public SpscByteRing(int capacity) {
+		checkArgument(capacity > 0 && Integer.bitCount(capacity) == 1,
+				"Capacity must be a power of two: %s", capacity);
+		buffer = new byte[capacity];
+		mask = capacity - 1;
+	}
+
+	public InputStream getInputStream() {
+		return inputStream;
+	}
+
+	public OutputStream getOutputStream() {
+		return outputStream;
+	}
+
+	public int capacity() {
+		return buffer.length;
+	}
+
+	public int available() {
+		return (int) (tail.get() - head.get());
+	}
+
+	private final class RingInputStream extends InputStream {
+
+		private final byte[] single = new byte[1];
+
+		@Override
+		public int read() throws IOException {
+			return read(single, 0, 1) < 0 ? -1 : single[0] & 0xff;
+		}
+
+		@Override
+		public int read(byte[] bytes, int offset, int length)
+				throws IOException {
+			if (readerClosed) {
+				throw new IOException("Ring input is closed.");
+			}
+			if (length == 0) {
+				return 0;
+			}
+			long readPosition = head.get();
+			long writePosition = awaitBytes(readPosition);
+			if (writePosition == readPosition) {
+				return -1;
+			}
+			int count = (int) Math.min(length, writePosition - readPosition);
+			int start = (int) readPosition & mask;
+			int firstPart = Math.min(count, buffer.length - start);
+			System.arraycopy(buffer, start, bytes, offset, firstPart);
+			System.arraycopy(buffer, 0, bytes, offset + firstPart, count
+					- firstPart);
+			head.set(readPosition + count);
+			LockSupport.unpark(waitingWriter);
+			return count;
+		}
+
+		/**
+		 * Returns the write position once it is past the given read
+		 * position, or the read position itself if the writer closed
+		 * without writing more.
+		 */
+		private long awaitBytes(long readPosition) throws IOException {
+			long writePosition = tail.get();
+			if (writePosition != readPosition) {
+				return writePosition;
+			}
+			waitingReader = Thread.currentThread();
+			try {
+				while ((writePosition = tail.get()) == readPosition) {
+					if (writerClosed) {
+						// The writer may have written just before closing.
+						return tail.get();
+					}
+					LockSupport.park(this);
+					if (Thread.interrupted()) {
+						throw new BlockingReadOperationInterruptedException();
+					}
+				}
+				return writePosition;
+			} finally {
+				waitingReader = null;
+			}
+		}
+
+		@Override
+		public int available() {
+			return SpscByteRing.this.available();
+		}
+
+		@Override
+		public void close() {
+			readerClosed = true;
+			LockSupport.unpark(waitingWriter);
+		}
+	}
+
+	private final class RingOutputStream extends OutputStream {
+
+		private final byte[] single = new byte[1];
+
+		@Override
+		public void write(int b) throws IOException {
+			single[0] = (byte) b;
+			write(single, 0, 1);
+		}
+
+		@Override
+		public void write(byte[] bytes, int offset, int length)
+				throws IOException {
+			while (length > 0) {
+				if (writerClosed) {
+					throw new IOException("Ring output is closed.");
+				}
+				long writePosition = tail.get();
+				int space = awaitSpace(writePosition);
+				int count = Math.min(length, space);
+				int start = (int) writePosition & mask;
+				int firstPart = Math.min(count, buffer.length - start);
+				System.arraycopy(bytes, offset, buffer, start, firstPart);
+				System.arraycopy(bytes, offset + firstPart, buffer, 0, count
+						- firstPart);
+				tail.set(writePosition + count);
+				LockSupport.unpark(waitingReader);
+				offset += count;
+				length -= count;
+			}
+		}
+
+		private int awaitSpace(long writePosition) throws IOException {
+			int space = buffer.length - (int) (writePosition - head.get());
+			if (space > 0) {
+				return space;
+			}
+			waitingWriter = Thread.currentThread();
+			try {
+				while ((space = buffer.length
+						- (int) (writePosition - head.get())) == 0) {
+					if (readerClosed) {
+						throw new IOException("Ring input is closed.");
+					}
+					LockSupport.park(this);
+					if (Thread.interrupted()) {
+						throw new InterruptedIOException(
+								"Waiting for space in the ring interrupted.");
+					}
+				}
+				return space;
+			} finally {
+				waitingWriter = null;
+			}
+		}
+
+		@Override
+		public void close() {
+			writerClosed = true;
+			LockSupport.unpark(waitingReader);
+		}
+	}
+}
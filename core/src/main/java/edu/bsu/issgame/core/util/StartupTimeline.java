@@ -0,0 +1,86 @@
+/*
+  Copyright 2015 Ball State University
+
+  This file is part of Collaboration Station.
+
+  Collaboration Station is free software: you can redistribute it
+  and/or modify it under the terms of the GNU General Public
+  License as published by the Free Software Foundation, either
+  version 3 of the License, or (at your option) any later version.
+
+  Collaboration Station is distributed in the hope that it will
+  be useful, but WITHOUT ANY WARRANTY; without even the implied
+  warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+  PURPOSE.  See the GNU General Public License for more details.
+
+  You should have received a copy of the GNU General Public
+  License along with Collaboration Station.  If not, see
+  <http://www.gnu.org/licenses/>.
+*/
+package edu.bsu.issgame.core.util;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static playn.core.PlayN.log;
+
+import java.util.Map;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.Maps;
+
+/**
+ * Records when startup milestones such as the first interactive frame are
+ * reached, in milliseconds since the timeline was created, and logs each one.
+ * Only the first occurrence of a milestone counts.
+ */
+public final class StartupTimeline {
+
+	public static final String GAME_INIT = "game init";
+	public static final String WELCOME_ASSETS_LOADED = "welcome assets loaded";
+	public static final String FIRST_INTERACTIVE_FRAME = "first interactive frame";
+	public static final String ALL_ASSETS_LOADED = "all assets loaded";
+
+	private static final StartupTimeline INSTANCE = create();
+
+	public static StartupTimeline instance() {
+		return INSTANCE;
+	}
+
+	@VisibleForTesting
+	static StartupTimeline create() {
+		return new StartupTimeline();
+	}
+
+	private final long startNanos = System.nanoTime();
+	private final Map<String, Long> marks = Maps.newLinkedHashMap();
+
+	private StartupTimeline() {
+	}
+
+	public synchronized void mark(String milestone) {
+		checkNotNull(milestone);
+		if (marks.containsKey(milestone)) {
+			return;
+		}
+		long millis = (System.nanoTime() - startNanos) / 1000000;
+		marks.put(milestone, millis);
+		log().info("Startup: " + milestone + " at " + millis + "ms");
+	}
+
+	public synchronized boolean hasReached(String milestone) {
+		return marks.containsKey(milestone);
+	}
+
+	/** Milliseconds from creation to the milestone. */
+	public synchronized long millisTo(String milestone) {
+		Long millis = marks.get(milestone);
+		if (millis == null) {
+			throw new IllegalStateException(milestone + " was not reached");
+		}
+		return millis;
+	}
+
+	@Override
+	public synchronized String toString() {
+		return "StartupTimeline" + marks;
+	}
+}
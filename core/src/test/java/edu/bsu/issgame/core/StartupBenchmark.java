@@ -0,0 +1,121 @@
+/*
+  Copyright 2015 Ball State University
+
+  This file is part of Collaboration Station.
+
+  Collaboration Station is free software: you can redistribute it
+  and/or modify it under the terms of the GNU General Public
+  License as published by the Free Software Foundation, either
+  version 3 of the License, or (at your option) any later version.
+
+  Collaboration Station is distributed in the hope that it will
+  be useful, but WITHOUT ANY WARRANTY; without even the implied
+  warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+  PURPOSE.  See the GNU General Public License for more details.
+
+  You should have received a copy of the GNU General Public
+  License along with Collaboration Station.  If not, see
+  <http://www.gnu.org/licenses/>.
+*/
+package edu.bsu.issgame.core;
+
+import static playn.core.PlayN.assets;
+
+import java.lang.reflect.Field;
+
+import playn.core.AbstractPlatform;
+import playn.core.AssetWatcher;
+import playn.core.PlayN;
+import playn.core.util.RunQueue;
+import react.UnitSlot;
+import edu.bsu.issgame.core.assetmgt.LoadableImage;
+import edu.bsu.issgame.core.assetmgt.StagedAssetLoader;
+import edu.bsu.issgame.core.assetmgt.StagedAssetLoader.Priority;
+import edu.bsu.issgame.core.cardmatch.CardType;
+import edu.bsu.issgame.core.net.HeadlessTestCase;
+
+/**
+ * Times how long the loading screen holds back the welcome screen, either
+ * waiting for every asset as it used to ({@code all}) or only for the
+ * welcome screen's own ({@code staged}). Run each mode in a fresh JVM,
+ * since decoded images are shared for the life of the process. Sounds that
+ * the classpath cannot decode count as loaded in both modes. It is not part
+ * of the test suite.
+ */
+public final class StartupBenchmark extends HeadlessTestCase {
+
+	public static void main(String[] args) throws Exception {
+		if (args.length != 1 || !(args[0].equals("all") || args[0].equals("staged"))) {
+			System.err.println("Usage: StartupBenchmark all|staged");
+			System.exit(1);
+		}
+		final long start = System.nanoTime();
+		final long[] welcomeReady = { 0 };
+		final long[] allLoaded = { 0 };
+		if (args[0].equals("all")) {
+			AssetWatcher watcher = new AssetWatcher(new AssetWatcher.Listener() {
+				@Override
+				public void error(Throwable e) {
+				}
+
+				@Override
+				public void done() {
+					// The welcome screen then decoded its images itself.
+					LoadableImage.TITLE.loadSync();
+					LoadableImage.WELCOME_BG.loadSync();
+					welcomeReady[0] = allLoaded[0] = System.nanoTime();
+				}
+			});
+			for (CardType type : CardType.values()) {
+				watcher.add(type.image);
+			}
+			for (GameImage gameImage : GameImage.values()) {
+				watcher.add(gameImage.image);
+			}
+			for (GameSound gameSound : GameSound.values()) {
+				watcher.add(assets().getSound(gameSound.path));
+			}
+			for (CountryFlagImage flag : CountryFlagImage.values()) {
+				watcher.add(flag.image);
+			}
+			watcher.start();
+		} else {
+			StagedAssetLoader loader = LoadingScreen.createAssetLoader()
+					.start();
+			loader.whenLoaded(Priority.CRITICAL).onComplete(new UnitSlot() {
+				@Override
+				public void onEmit() {
+					LoadableImage.TITLE.loadSync();
+					LoadableImage.WELCOME_BG.loadSync();
+					welcomeReady[0] = System.nanoTime();
+				}
+			});
+			loader.whenLoaded(Priority.LOW).onComplete(new UnitSlot() {
+				@Override
+				public void onEmit() {
+					allLoaded[0] = System.nanoTime();
+				}
+			});
+		}
+		RunQueue frame = runQueue();
+		while (allLoaded[0] == 0) {
+			frame.execute();
+			Thread.sleep(1);
+		}
+		System.out.println(String.format(
+				"%-7s welcome ready %6.0f ms, all loaded %6.0f ms", args[0],
+				(welcomeReady[0] - start) / 1e6, (allLoaded[0] - start) / 1e6));
+		System.exit(0);
+	}
+
+	// The platform only delivers load callbacks from its game loop, which a
+	// headless platform never runs, so this harness drives the queue itself.
+	private static RunQueue runQueue() throws Exception {
+		Field field = AbstractPlatform.class.getDeclaredField("runQueue");
+		field.setAccessible(true);
+		return (RunQueue) field.get(PlayN.platform());
+	}
+
+	private StartupBenchmark() {
+	}
+}
@@ -0,0 +1,91 @@
+/*
+  Copyright 2015 Ball State University
+
+  This file is part of Collaboration Station.
+
+  Collaboration Station is free software: you can redistribute it
+  and/or modify it under the terms of the GNU General Public
+  License as published by the Free Software Foundation, either
+  version 3 of the License, or (at your option) any later version.
+
+  Collaboration Station is distributed in the hope that it will
+  be useful, but WITHOUT ANY WARRANTY; without even the implied
+  warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+  PURPOSE.  See the GNU General Public License for more details.
+
+  You should have received a copy of the GNU General Public
+  License along with Collaboration Station.  If not, see
+  <http://www.gnu.org/licenses/>.
+*/
+package edu.bsu.issgame.core.assetmgt;
+
+import static playn.core.PlayN.assets;
+
+import java.util.List;
+
+import playn.java.JavaAssets;
+import pythagoras.i.Dimension;
+
+import com.google.common.collect.Lists;
+
+import edu.bsu.issgame.core.ScreenScale;
+import edu.bsu.issgame.core.net.HeadlessTestCase;
+
+/**
+ * Decodes every image the game loads at each density and prints the decoded
+ * bytes and decode time of each variant set, then the density a few common
+ * screen sizes pick. Run with {@code main}; it is not part of the test
+ * suite.
+ */
+public final class AssetDensityReport extends HeadlessTestCase {
+
+	private static final int ROUNDS = 5;
+
+	private static final Dimension[] SCREENS = { new Dimension(750, 421),
+			new Dimension(1024, 600), new Dimension(1280, 800),
+			new Dimension(1920, 1200), new Dimension(2560, 1600) };
+
+	public static void main(String[] args) {
+		TextureAtlas atlas = TextureAtlas.load();
+		List<String> paths = decodedPaths(atlas);
+		System.out.println(String.format("%-16s %6s %14s %10s", "density",
+				"files", "decoded bytes", "decode ms"));
+		for (AssetDensity density : AssetDensity.values()) {
+			((JavaAssets) assets()).setAssetScale(density.factor);
+			long bytes = 0;
+			long nanos = 0;
+			for (int i = 0; i < ROUNDS; i++) {
+				AssetRegistry registry = AssetRegistry.create(
+						AssetRegistry.DEFAULT_TEXTURE_BUDGET, atlas);
+				long start = System.nanoTime();
+				for (String path : paths) {
+					registry.imageSync(path);
+				}
+				nanos += System.nanoTime() - start;
+				bytes = registry.decodedBytes();
+			}
+			System.out.println(String.format("%-16s %6d %14d %10.1f",
+					density, paths.size(), bytes, nanos / 1e6 / ROUNDS));
+		}
+		for (Dimension screen : SCREENS) {
+			ScreenScale scale = ScreenScale.forSize(screen);
+			System.out.println(String.format("%-10s playmat %4dx%-4d -> %s",
+					screen.width + "x" + screen.height,
+					scale.playmatSize.width, scale.playmatSize.height,
+					AssetDensity.closestTo(scale.playmatScale)));
+		}
+	}
+
+	private static List<String> decodedPaths(TextureAtlas atlas) {
+		List<String> paths = Lists.newArrayList(atlas.pages());
+		for (LoadableImage image : LoadableImage.values()) {
+			if (!atlas.contains(image.path()) && !paths.contains(image.path())) {
+				paths.add(image.path());
+			}
+		}
+		return paths;
+	}
+
+	private AssetDensityReport() {
+	}
+}
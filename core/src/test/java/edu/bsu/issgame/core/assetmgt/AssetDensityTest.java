@@ -0,0 +1,114 @@
+/*
+  Copyright 2015 Ball State University
+
+  This file is part of Collaboration Station.
+
+  Collaboration Station is free software: you can redistribute it
+  and/or modify it under the terms of the GNU General Public
+  License as published by the Free Software Foundation, either
+  version 3 of the License, or (at your option) any later version.
+
+  Collaboration Station is distributed in the hope that it will
+  be useful, but WITHOUT ANY WARRANTY; without even the implied
+  warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+  PURPOSE.  See the GNU General Public License for more details.
+
+  You should have received a copy of the GNU General Public
+  License along with Collaboration Station.  If not, see
+  <http://www.gnu.org/licenses/>.
+*/
+package edu.bsu.issgame.core.assetmgt;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static playn.core.PlayN.assets;
+
+import org.junit.After;
+import org.junit.Test;
+
+import playn.core.Image;
+import playn.java.JavaAssets;
+import pythagoras.i.Dimension;
+import edu.bsu.issgame.core.ScreenScale;
+import edu.bsu.issgame.core.net.HeadlessTestCase;
+
+public class AssetDensityTest extends HeadlessTestCase {
+
+	@After
+	public void tearDown() {
+		((JavaAssets) assets()).setAssetScale(1);
+	}
+
+	@Test
+	public void testDesignSizePicksFull() {
+		assertEquals(AssetDensity.FULL, AssetDensity.closestTo(1f));
+	}
+
+	@Test
+	public void testLargerThanDesignPicksFull() {
+		assertEquals(AssetDensity.FULL, AssetDensity.closestTo(1.3f));
+	}
+
+	@Test
+	public void testSmallScalePicksHalf() {
+		assertEquals(AssetDensity.HALF, AssetDensity.closestTo(0.33f));
+	}
+
+	@Test
+	public void testTieGoesToLargerDensity() {
+		assertEquals(AssetDensity.THREE_QUARTERS,
+				AssetDensity.closestTo(0.625f));
+	}
+
+	@Test
+	public void testDesktopWindowPicksHalf() {
+		AssetRegistry registry = AssetRegistry.create(
+				AssetRegistry.DEFAULT_TEXTURE_BUDGET, TextureAtlas.empty());
+		assertEquals(AssetDensity.HALF, registry.useDensityFor(ScreenScale
+				.forSize(new Dimension(750, 421))));
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testDensityCannotChangeAfterLoading() {
+		AssetRegistry registry = AssetRegistry.create(
+				AssetRegistry.DEFAULT_TEXTURE_BUDGET, TextureAtlas.empty());
+		registry.imageSync(LoadableImage.TITLE.path());
+		registry.useDensityFor(ScreenScale.forSize(new Dimension(750, 421)));
+	}
+
+	@Test
+	public void testVariantPathsUsePlayNSuffixes() {
+		assertEquals("images/title.png",
+				AssetDensity.FULL.variantPath("images/title.png"));
+		assertEquals("images/title@5x.png",
+				AssetDensity.HALF.variantPath("images/title.png"));
+		assertEquals("images/title@7x.png",
+				AssetDensity.THREE_QUARTERS.variantPath("images/title.png"));
+	}
+
+	@Test
+	public void testIsVariant() {
+		assertTrue(AssetDensity.isVariant("images/title@5x.png"));
+		assertFalse(AssetDensity.isVariant("images/title.png"));
+	}
+
+	@Test
+	public void testEveryImageHasItsVariants() throws Exception {
+		for (LoadableImage image : LoadableImage.values()) {
+			for (AssetDensity density : AssetDensity.values()) {
+				assets().getBytesSync(density.variantPath(image.path()));
+			}
+		}
+	}
+
+	@Test
+	public void testVariantKeepsDesignSize() {
+		Image full = assets().getImageSync(LoadableImage.TITLE.path());
+		((JavaAssets) assets()).setAssetScale(AssetDensity.HALF.factor);
+		Image half = assets().getImageSync(LoadableImage.TITLE.path());
+		assertEquals(AssetDensity.HALF.factor, half.scale().factor, 0);
+		assertEquals(full.width(), half.width(), 1 / AssetDensity.HALF.factor);
+		assertEquals(full.height(), half.height(), 1 / AssetDensity.HALF.factor);
+	}
+}
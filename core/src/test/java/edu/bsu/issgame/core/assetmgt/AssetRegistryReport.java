@@ -0,0 +1,146 @@
+/*
+  Copyright 2015 Ball State University
+
+  This file is part of Collaboration Station.
+
+  Collaboration Station is free software: you can redistribute it
+  and/or modify it under the terms of the GNU General Public
+  License as published by the Free Software Foundation, either
+  version 3 of the License, or (at your option) any later version.
+
+  Collaboration Station is distributed in the hope that it will
+  be useful, but WITHOUT ANY WARRANTY; without even the implied
+  warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+  PURPOSE.  See the GNU General Public License for more details.
+
+  You should have received a copy of the GNU General Public
+  License along with Collaboration Station.  If not, see
+  <http://www.gnu.org/licenses/>.
+*/
+package edu.bsu.issgame.core.assetmgt;
+
+import static edu.bsu.issgame.core.assetmgt.LoadableImage.*;
+
+import java.util.List;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+
+import edu.bsu.issgame.core.GameImage;
+import edu.bsu.issgame.core.net.HeadlessTestCase;
+
+/**
+ * Walks the screens in the order a player meets them, twice, and prints the
+ * bytes of pixels each screen uses, the bytes the old per-call loading
+ * decoded on entering it, and the bytes the registry decodes. Run with
+ * {@code main}; it is not part of the test suite.
+ */
+public final class AssetRegistryReport extends HeadlessTestCase {
+
+	private static final class Screen {
+		private final String name;
+		private final List<String> paths;
+		private final List<String> pathsLoadedPerVisit;
+		private final List<String> backgrounds;
+
+		private Screen(String name, List<String> loadedOnce,
+				List<String> loadedPerVisit, LoadableImage... backgrounds) {
+			this.name = name;
+			this.pathsLoadedPerVisit = loadedPerVisit;
+			this.paths = ImmutableList.<String> builder().addAll(loadedOnce)
+					.addAll(loadedPerVisit).build();
+			this.backgrounds = paths(backgrounds);
+		}
+	}
+
+	private static final List<String> NONE = ImmutableList.of();
+
+	private static List<String> paths(LoadableImage... images) {
+		List<String> result = Lists.newArrayList();
+		for (LoadableImage image : images) {
+			result.add(image.path());
+		}
+		return result;
+	}
+
+	private static List<String> gameImagePaths() {
+		List<String> result = Lists.newArrayList();
+		for (GameImage image : GameImage.values()) {
+			result.add(image.path);
+		}
+		return result;
+	}
+
+	private static final List<Screen> SCREENS = ImmutableList.of(//
+			new Screen("Loading", NONE, gameImagePaths()),//
+			new Screen("Welcome", NONE, paths(TITLE, WELCOME_BG)),//
+			new Screen("Intro", NONE, paths(INTRO_1, INTRO_2, INTRO_3, INTRO_4)),//
+			new Screen("RoleSelect", NONE, paths(WELCOME_BG)),//
+			new Screen("SearchingForHost", paths(SEARCHING_FOR_HOST_BG), NONE),//
+			new Screen("AwaitingPlayers", paths(LOBBY_BG), NONE, LOBBY_BG),//
+			new Screen("MissionIntroduction",
+					paths(SCENARIO_INFORMATION_BACKGROUND), NONE),//
+			new Screen("TaskAssignment", paths(TASK_ASSIGNMENT_BACKGROUND),
+					NONE),//
+			new Screen("MemoryBoard", paths(MEMORY_BOARD_BACKGROUND,
+					CARD_BACK), NONE, MEMORY_BOARD_BACKGROUND),//
+			new Screen("SequenceMatch", paths(SEQUENCE_MATCHING_BACKGROUND),
+					NONE, SEQUENCE_MATCHING_BACKGROUND),//
+			new Screen("TileRotation", paths(TILE_ROTATION_BACKGROUND, L_WIRE,
+					T_WIRE, BAR_WIRE, L_WIRE_GLOW, T_WIRE_GLOW, BAR_WIRE_GLOW,
+					L_WIRE_CIRCUIT, T_WIRE_CIRCUIT, BAR_WIRE_CIRCUIT,
+					START_ROTATION, FINISH_ROTATION, FINISH_ROTATION_COMPLETE),
+					NONE, TILE_ROTATION_BACKGROUND),//
+			new Screen("SlidingTilePuzzle", paths(SLIDING_PUZZLE_BACKGROUND,
+					SLIDING_IMAGE_ORBITPATH, SLIDING_PUZZLE_ROBOT,
+					SLIDING_PUZZLE_ASTRONAUT), NONE, SLIDING_PUZZLE_BACKGROUND),//
+			new Screen("Score", paths(SCORE_SCREEN_BACKGROUND), NONE),//
+			new Screen("ScenarioFailure", paths(LOSE_SCIENCE_SCREEN,
+					LOSE_MAINTAINANCE_SCREEN, LOSE_FINAL_SCREEN), NONE),//
+			new Screen("MissionConclusion", paths(WIN_FINAL_SCREEN), NONE),//
+			new Screen("Credits", NONE, paths(CREDITS_BG, SMS_LOGO, BSU_LOGO,
+					TCM_LOGO)));
+
+	public static void main(String[] args) {
+		AssetRegistry registry = AssetRegistry
+				.withTextureBudget(AssetRegistry.DEFAULT_TEXTURE_BUDGET);
+		for (String pass : new String[] { "first", "again" }) {
+			System.out.println(String.format("%-20s %6s %12s %12s %12s %12s",
+					"screen", "pass", "in use", "old decoded", "now decoded",
+					"textures"));
+			for (Screen screen : SCREENS) {
+				long before = registry.decodedBytes();
+				for (String path : screen.paths) {
+					registry.imageSync(path);
+				}
+				long oldDecoded = 0;
+				for (String path : screen.pathsLoadedPerVisit) {
+					oldDecoded += registry.decodedBytes(ImmutableSet.of(path));
+				}
+				List<AssetRegistry.Handle> handles = Lists.newArrayList();
+				for (String path : screen.backgrounds) {
+					handles.add(registry.acquireBackground(path));
+				}
+				System.out.println(String.format(
+						"%-20s %6s %12d %12d %12d %12d", screen.name, pass,
+						registry.decodedBytes(ImmutableSet.copyOf(screen.paths)),
+						oldDecoded, registry.decodedBytes() - before,
+						registry.textureBytes()));
+				for (AssetRegistry.Handle handle : handles) {
+					handle.release();
+				}
+			}
+		}
+		System.out.println(String.format(
+				"decodes %d, decoded bytes %d, evictions %d",
+				registry.decodes(), registry.decodedBytes(),
+				registry.evictions()));
+		// GameImage has started PlayN's background loader, which would keep
+		// the JVM alive.
+		System.exit(0);
+	}
+
+	private AssetRegistryReport() {
+	}
+}
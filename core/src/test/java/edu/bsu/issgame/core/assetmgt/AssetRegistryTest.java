@@ -0,0 +1,163 @@
+/*
+  Copyright 2015 Ball State University
+
+  This file is part of Collaboration Station.
+
+  Collaboration Station is free software: you can redistribute it
+  and/or modify it under the terms of the GNU General Public
+  License as published by the Free Software Foundation, either
+  version 3 of the License, or (at your option) any later version.
+
+  Collaboration Station is distributed in the hope that it will
+  be useful, but WITHOUT ANY WARRANTY; without even the implied
+  warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+  PURPOSE.  See the GNU General Public License for more details.
+
+  You should have received a copy of the GNU General Public
+  License along with Collaboration Station.  If not, see
+  <http://www.gnu.org/licenses/>.
+*/
+package edu.bsu.issgame.core.assetmgt;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import playn.core.Image;
+import edu.bsu.issgame.core.net.HeadlessTestCase;
+
+public class AssetRegistryTest extends HeadlessTestCase {
+
+	private static final String MEMORY = LoadableImage.MEMORY_BOARD_BACKGROUND
+			.path();
+	private static final String SCORE = LoadableImage.SCORE_SCREEN_BACKGROUND
+			.path();
+	private static final String CREDITS = LoadableImage.CREDITS_BG.path();
+	private static final String CARD_BACK = LoadableImage.CARD_BACK.path();
+	private static final long BACKGROUND_BYTES = 540 * 360 * 4;
+
+	private AssetRegistry registry;
+
+	@Before
+	public void setUp() {
+		registry = AssetRegistry
+				.withTextureBudget(AssetRegistry.DEFAULT_TEXTURE_BUDGET);
+	}
+
+	@Test
+	public void testEachPathIsDecodedOnce() {
+		assertSame(registry.imageSync(MEMORY), registry.imageSync(MEMORY));
+		assertSame(registry.imageSync(MEMORY), registry.acquire(MEMORY)
+				.image());
+		assertEquals(1, registry.decodes());
+	}
+
+	@Test
+	public void testSyncRequestDuringBackgroundLoad_doesNotDecodeAgain() {
+		Image pending = registry.image(SCORE);
+		assertSame(pending, registry.imageSync(SCORE));
+		assertSame(pending, registry.acquireSync(SCORE).image());
+		assertEquals(1, registry.decodes());
+	}
+
+	@Test
+	public void testPathsSharedByTwoNamesAreDecodedOnce() {
+		registry.imageSync(LoadableImage.RESET_BUTTON.path());
+		registry.imageSync(LoadableImage.SLIDING_PUZZLE_ROBOT.path());
+		assertEquals(1, registry.decodes());
+	}
+
+	@Test
+	public void testDecodedBytesCountsEachPathOnce() {
+		registry.imageSync(MEMORY);
+		registry.imageSync(MEMORY);
+		assertEquals(BACKGROUND_BYTES, registry.decodedBytes());
+	}
+
+	@Test
+	public void testAcquireAndReleaseCountReferences() {
+		AssetRegistry.Handle first = registry.acquire(MEMORY);
+		AssetRegistry.Handle second = registry.acquire(MEMORY);
+		first.release();
+		assertEquals(1, registry.references(MEMORY));
+		second.release();
+		assertEquals(0, registry.references(MEMORY));
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testReleasingTwiceIsAnError() {
+		AssetRegistry.Handle handle = registry.acquire(MEMORY);
+		handle.release();
+		handle.release();
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testReleasedHandleHasNoImage() {
+		AssetRegistry.Handle handle = registry.acquire(MEMORY);
+		handle.release();
+		handle.image();
+	}
+
+	@Test
+	public void testUnreferencedBackgroundIsEvictedOverBudget() {
+		registry.setTextureBudget(BACKGROUND_BYTES);
+		decode(MEMORY, SCORE);
+		registry.acquireBackground(MEMORY).release();
+		registry.acquireBackground(SCORE);
+		assertFalse(registry.isResident(MEMORY));
+		assertTrue(registry.isResident(SCORE));
+		assertEquals(BACKGROUND_BYTES, registry.textureBytes());
+	}
+
+	@Test
+	public void testReferencedBackgroundIsNeverEvicted() {
+		registry.setTextureBudget(BACKGROUND_BYTES);
+		decode(MEMORY, SCORE);
+		registry.acquireBackground(MEMORY);
+		registry.acquireBackground(SCORE);
+		assertTrue(registry.isResident(MEMORY));
+		assertEquals(0, registry.evictions());
+	}
+
+	@Test
+	public void testOtherImagesAreNeverEvicted() {
+		registry.setTextureBudget(0);
+		decode(CARD_BACK);
+		registry.acquire(CARD_BACK).release();
+		assertTrue(registry.isResident(CARD_BACK));
+	}
+
+	@Test
+	public void testLeastRecentlyUsedBackgroundIsEvictedFirst() {
+		registry.setTextureBudget(2 * BACKGROUND_BYTES);
+		decode(MEMORY, SCORE, CREDITS);
+		AssetRegistry.Handle memory = registry.acquireBackground(MEMORY);
+		AssetRegistry.Handle score = registry.acquireBackground(SCORE);
+		score.release();
+		memory.release();
+		registry.acquireBackground(CREDITS);
+		assertFalse(registry.isResident(SCORE));
+		assertTrue(registry.isResident(MEMORY));
+	}
+
+	@Test
+	public void testEvictedBackgroundIsNotDecodedAgain() {
+		registry.setTextureBudget(BACKGROUND_BYTES);
+		decode(MEMORY, SCORE);
+		registry.acquireBackground(MEMORY).release();
+		registry.acquireBackground(SCORE).release();
+		registry.acquireBackground(MEMORY);
+		assertTrue(registry.isResident(MEMORY));
+		assertEquals(2, registry.decodes());
+	}
+
+	private void decode(String... paths) {
+		for (String path : paths) {
+			registry.imageSync(path);
+		}
+	}
+}
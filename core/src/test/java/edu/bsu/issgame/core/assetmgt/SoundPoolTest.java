@@ -0,0 +1,202 @@
+/*
+  Copyright 2015 Ball State University
+
+  This file is part of Collaboration Station.
+
+  Collaboration Station is free software: you can redistribute it
+  and/or modify it under the terms of the GNU General Public
+  License as published by the Free Software Foundation, either
+  version 3 of the License, or (at your option) any later version.
+
+  Collaboration Station is distributed in the hope that it will
+  be useful, but WITHOUT ANY WARRANTY; without even the implied
+  warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+  PURPOSE.  See the GNU General Public License for more details.
+
+  You should have received a copy of the GNU General Public
+  License along with Collaboration Station.  If not, see
+  <http://www.gnu.org/licenses/>.
+*/
+package edu.bsu.issgame.core.assetmgt;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import playn.core.AssetWatcher;
+import playn.core.Sound;
+
+import com.google.common.base.Function;
+import com.google.common.base.Ticker;
+import com.google.common.collect.Lists;
+
+import edu.bsu.issgame.core.GameSound;
+import edu.bsu.issgame.core.net.HeadlessTestCase;
+
+public class SoundPoolTest extends HeadlessTestCase {
+
+	private final List<Sound> loaded = Lists.newArrayList();
+	private long nanos;
+	private SoundPool pool;
+
+	@Before
+	public void setUp() {
+		pool = SoundPool.create(new Function<String, Sound>() {
+			@Override
+			public Sound apply(String path) {
+				Sound sound = mock(Sound.class);
+				loaded.add(sound);
+				return sound;
+			}
+		}, new Ticker() {
+			@Override
+			public long read() {
+				return nanos;
+			}
+		});
+	}
+
+	private void advance(long millis) {
+		nanos += TimeUnit.MILLISECONDS.toNanos(millis);
+	}
+
+	@Test
+	public void testPreloadLoadsEveryVoiceOnce() {
+		pool.preload(mock(AssetWatcher.class));
+		int voices = 0;
+		for (GameSound sound : GameSound.values()) {
+			voices += sound.maxVoices;
+		}
+		assertEquals(voices, loaded.size());
+	}
+
+	@Test
+	public void testPreloadingOneEffect_loadsOnlyItsVoices() {
+		pool.preload(mock(AssetWatcher.class), GameSound.BUTTON_CLICK);
+		assertEquals(GameSound.BUTTON_CLICK.maxVoices, loaded.size());
+		pool.preload(mock(AssetWatcher.class));
+		pool.play(GameSound.BUTTON_CLICK);
+		int voices = 0;
+		for (GameSound sound : GameSound.values()) {
+			voices += sound.maxVoices;
+		}
+		assertEquals(voices, loaded.size());
+	}
+
+	@Test
+	public void testTrigger_playsThroughThePool() {
+		Sound click = pool.trigger(GameSound.BUTTON_CLICK);
+		click.play();
+		advance(SoundPool.RETRIGGER_GAP_MS - 1);
+		click.play();
+		assertEquals(GameSound.BUTTON_CLICK.maxVoices, loaded.size());
+		verify(loaded.get(0), times(1)).play();
+		assertEquals(2, pool.triggers());
+		assertEquals(1, pool.coalesced());
+	}
+
+	@Test
+	public void testPlayingAgainReusesTheVoices() {
+		for (int i = 0; i < 10; i++) {
+			pool.play(GameSound.CARD_FLIP);
+			advance(100);
+		}
+		assertEquals(GameSound.CARD_FLIP.maxVoices, loaded.size());
+	}
+
+	@Test
+	public void testIdleVoiceIsPlayed() {
+		pool.play(GameSound.TILE_SLIDE);
+		verify(loaded.get(0)).play();
+		verify(loaded.get(1), never()).play();
+	}
+
+	@Test
+	public void testBusyVoiceIsSkipped() {
+		pool.play(GameSound.TILE_SLIDE);
+		when(loaded.get(0).isPlaying()).thenReturn(true);
+		advance(100);
+		pool.play(GameSound.TILE_SLIDE);
+		verify(loaded.get(1)).play();
+	}
+
+	@Test
+	public void testOldestVoiceIsStolenWhenAllAreBusy() {
+		pool.play(GameSound.TILE_SLIDE);
+		when(loaded.get(0).isPlaying()).thenReturn(true);
+		advance(100);
+		pool.play(GameSound.TILE_SLIDE);
+		when(loaded.get(1).isPlaying()).thenReturn(true);
+		advance(100);
+		pool.play(GameSound.TILE_SLIDE);
+		verify(loaded.get(0)).stop();
+		verify(loaded.get(0), times(2)).play();
+		assertEquals(2, loaded.size());
+		assertEquals(1, pool.stolen());
+	}
+
+	@Test
+	public void testQuickRetriggerIsCoalesced() {
+		pool.play(GameSound.CARD_FLIP);
+		advance(SoundPool.RETRIGGER_GAP_MS - 1);
+		pool.play(GameSound.CARD_FLIP);
+		verify(loaded.get(1), never()).play();
+		assertEquals(1, pool.coalesced());
+	}
+
+	@Test
+	public void testRetriggerAfterTheGapPlays() {
+		pool.play(GameSound.SEQUENCE_BIOLOGY);
+		advance(SoundPool.RETRIGGER_GAP_MS);
+		pool.play(GameSound.SEQUENCE_BIOLOGY);
+		assertEquals(0, pool.coalesced());
+	}
+
+	@Test
+	public void testLatencyOfALateStartIsMeasuredOnUpdate() {
+		pool.play(GameSound.ZAP);
+		advance(20);
+		when(loaded.get(0).isPlaying()).thenReturn(true);
+		pool.update();
+		assertEquals(1, pool.started());
+		assertEquals(20f, pool.averageLatencyMillis(), 0.001f);
+	}
+
+	@Test
+	public void testStartWithinPlayIsTimedAtOnce() {
+		pool.preload(mock(AssetWatcher.class));
+		Sound zap = loaded.get(voiceIndexOf(GameSound.ZAP));
+		when(zap.isPlaying()).thenReturn(false, false, true);
+		pool.play(GameSound.ZAP);
+		assertEquals(1, pool.started());
+		assertEquals(0f, pool.maxLatencyMillis(), 0.001f);
+	}
+
+	private static int voiceIndexOf(GameSound target) {
+		int index = 0;
+		for (GameSound sound : GameSound.values()) {
+			if (sound == target) {
+				return index;
+			}
+			index += sound.maxVoices;
+		}
+		throw new IllegalArgumentException();
+	}
+
+	@Test
+	public void testNotStartedVoiceIsNotCounted() {
+		pool.play(GameSound.ZAP);
+		advance(20);
+		pool.update();
+		assertEquals(0, pool.started());
+	}
+}
@@ -0,0 +1,136 @@
+/*
+  Copyright 2015 Ball State University
+
+  This file is part of Collaboration Station.
+
+  Collaboration Station is free software: you can redistribute it
+  and/or modify it under the terms of the GNU General Public
+  License as published by the Free Software Foundation, either
+  version 3 of the License, or (at your option) any later version.
+
+  Collaboration Station is distributed in the hope that it will
+  be useful, but WITHOUT ANY WARRANTY; without even the implied
+  warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+  PURPOSE.  See the GNU General Public License for more details.
+
+  You should have received a copy of the GNU General Public
+  License along with Collaboration Station.  If not, see
+  <http://www.gnu.org/licenses/>.
+*/
+package edu.bsu.issgame.core.assetmgt;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import playn.core.AssetWatcher;
+import playn.core.Image;
+import playn.core.util.Callback;
+import react.UnitSlot;
+
+import com.google.common.collect.Lists;
+
+import edu.bsu.issgame.core.assetmgt.StagedAssetLoader.Priority;
+import edu.bsu.issgame.core.assetmgt.StagedAssetLoader.Request;
+import edu.bsu.issgame.core.net.HeadlessTestCase;
+
+public class StagedAssetLoaderTest extends HeadlessTestCase {
+
+	private final List<Callback<? super Image>> pending = Lists.newArrayList();
+	private final List<Priority> requested = Lists.newArrayList();
+	private StagedAssetLoader loader;
+
+	@Before
+	public void setUp() {
+		loader = StagedAssetLoader.create();
+	}
+
+	@Test
+	public void testLaterStageIsNotRequestedUntilEarlierOneLoads() {
+		loader.add(Priority.CRITICAL, oneImage(Priority.CRITICAL))
+				.add(Priority.HIGH, oneImage(Priority.HIGH)).start();
+		assertEquals(Lists.newArrayList(Priority.CRITICAL), requested);
+		loadNext();
+		assertEquals(Lists.newArrayList(Priority.CRITICAL, Priority.HIGH),
+				requested);
+	}
+
+	@Test
+	public void testStageCompletesWhenItsAssetsLoad() {
+		loader.add(Priority.CRITICAL, oneImage(Priority.CRITICAL))
+				.add(Priority.HIGH, oneImage(Priority.HIGH)).start();
+		loadNext();
+		assertTrue(isLoaded(Priority.CRITICAL));
+		assertFalse(isLoaded(Priority.HIGH));
+	}
+
+	@Test
+	public void testEmptyStagesCompleteOnStart() {
+		loader.start();
+		assertTrue(isLoaded(Priority.LOW));
+	}
+
+	@Test
+	public void testFailedStageStillStartsTheNextOne() {
+		loader.add(Priority.CRITICAL, oneImage(Priority.CRITICAL))
+				.add(Priority.HIGH, oneImage(Priority.HIGH)).start();
+		pending.remove(0).onFailure(new RuntimeException("missing"));
+		assertTrue(loader.whenLoaded(Priority.CRITICAL).isCompleteNow());
+		assertFalse(isLoaded(Priority.CRITICAL));
+		assertEquals(2, requested.size());
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testCannotAddAfterStarting() {
+		loader.start();
+		loader.add(Priority.LOW, oneImage(Priority.LOW));
+	}
+
+	private boolean isLoaded(Priority priority) {
+		final boolean[] loaded = { false };
+		loader.whenLoaded(priority).onSuccess(new UnitSlot() {
+			@Override
+			public void onEmit() {
+				loaded[0] = true;
+			}
+		});
+		return loaded[0];
+	}
+
+	private void loadNext() {
+		pending.remove(0).onSuccess(null);
+	}
+
+	private Request oneImage(final Priority priority) {
+		return new Request() {
+			@Override
+			public void addTo(AssetWatcher watcher) {
+				requested.add(priority);
+				watcher.add(pendingImage());
+			}
+		};
+	}
+
+	@SuppressWarnings("unchecked")
+	private Image pendingImage() {
+		Image image = mock(Image.class);
+		doAnswer(new Answer<Void>() {
+			@Override
+			public Void answer(InvocationOnMock invocation) {
+				pending.add((Callback<? super Image>) invocation.getArguments()[0]);
+				return null;
+			}
+		}).when(image).addCallback(any(Callback.class));
+		return image;
+	}
+}
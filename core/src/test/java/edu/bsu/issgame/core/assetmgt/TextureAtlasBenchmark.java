@@ -0,0 +1,116 @@
+/*
+  Copyright 2015 Ball State University
+
+  This file is part of Collaboration Station.
+
+  Collaboration Station is free software: you can redistribute it
+  and/or modify it under the terms of the GNU General Public
+  License as published by the Free Software Foundation, either
+  version 3 of the License, or (at your option) any later version.
+
+  Collaboration Station is distributed in the hope that it will
+  be useful, but WITHOUT ANY WARRANTY; without even the implied
+  warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+  PURPOSE.  See the GNU General Public License for more details.
+
+  You should have received a copy of the GNU General Public
+  License along with Collaboration Station.  If not, see
+  <http://www.gnu.org/licenses/>.
+*/
+package edu.bsu.issgame.core.assetmgt;
+
+import static playn.core.PlayN.assets;
+
+import java.util.List;
+import java.util.Set;
+
+import playn.core.Image;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+
+import edu.bsu.issgame.core.net.HeadlessTestCase;
+
+/**
+ * Times loading every packed image from its own file against loading the
+ * atlas pages, and counts the textures the card and wire screens draw from.
+ * Run with {@code main}; it is not part of the test suite.
+ */
+public final class TextureAtlasBenchmark extends HeadlessTestCase {
+
+	private static final int ROUNDS = 10;
+
+	public static void main(String[] args) {
+		TextureAtlas atlas = TextureAtlas.load();
+		List<String> packed = packedPaths(atlas);
+		long separate = 0;
+		long pages = 0;
+		for (int i = 0; i < ROUNDS; i++) {
+			long start = System.nanoTime();
+			for (String path : packed) {
+				assets().getImageSync(path);
+			}
+			long middle = System.nanoTime();
+			AssetRegistry registry = AssetRegistry.create(
+					AssetRegistry.DEFAULT_TEXTURE_BUDGET, atlas);
+			for (String path : packed) {
+				registry.imageSync(path);
+			}
+			long end = System.nanoTime();
+			separate += middle - start;
+			pages += end - middle;
+		}
+		System.out.println(String.format("%-10s %8s %10s", "", "files",
+				"load ms"));
+		System.out.println(String.format("%-10s %8d %10.1f", "separate",
+				packed.size(), separate / 1e6 / ROUNDS));
+		System.out.println(String.format("%-10s %8d %10.1f", "atlas",
+				atlas.pages().size(), pages / 1e6 / ROUNDS));
+		printTextures("MemoryBoard", atlas, "images/cards/",
+				"images/memorycard_cardback");
+		printTextures("TileRotation", atlas, "images/l_square",
+				"images/t_square", "images/bar_square");
+	}
+
+	private static List<String> packedPaths(TextureAtlas atlas) {
+		List<String> paths = Lists.newArrayList();
+		for (LoadableImage image : LoadableImage.values()) {
+			if (atlas.contains(image.path())) {
+				paths.add(image.path());
+			}
+		}
+		for (String card : new String[] { "ant", "butterfly", "fish", "fly",
+				"glove_syringe", "mouse", "plants", "slug", "spider", "squid" }) {
+			paths.add("images/cards/" + card + "_carddesign.png");
+		}
+		for (String flag : new String[] { "usa", "china", "canada",
+				"european_union", "japan" }) {
+			paths.add("images/" + flag + "_flag.png");
+		}
+		return paths;
+	}
+
+	private static void printTextures(String screen, TextureAtlas atlas,
+			String... prefixes) {
+		AssetRegistry registry = AssetRegistry.create(
+				AssetRegistry.DEFAULT_TEXTURE_BUDGET, atlas);
+		int images = 0;
+		Set<Image> textures = Sets.newHashSet();
+		for (String path : packedPaths(atlas)) {
+			for (String prefix : prefixes) {
+				if (path.startsWith(prefix)) {
+					Image image = registry.imageSync(path);
+					images++;
+					textures.add(image instanceof Image.Region ? ((Image.Region) image)
+							.parent() : image);
+				}
+			}
+		}
+		System.out.println(String.format(
+				"%-12s draws %2d images from %d texture(s), was %d", screen,
+				images, textures.size(), images));
+	}
+
+	private TextureAtlasBenchmark() {
+	}
+}
@@ -0,0 +1,99 @@
+/*
+  Copyright 2015 Ball State University
+
+  This file is part of Collaboration Station.
+
+  Collaboration Station is free software: you can redistribute it
+  and/or modify it under the terms of the GNU General Public
+  License as published by the Free Software Foundation, either
+  version 3 of the License, or (at your option) any later version.
+
+  Collaboration Station is distributed in the hope that it will
+  be useful, but WITHOUT ANY WARRANTY; without even the implied
+  warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+  PURPOSE.  See the GNU General Public License for more details.
+
+  You should have received a copy of the GNU General Public
+  License along with Collaboration Station.  If not, see
+  <http://www.gnu.org/licenses/>.
+*/
+package edu.bsu.issgame.core.assetmgt;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import playn.core.Image;
+import pythagoras.i.Rectangle;
+import edu.bsu.issgame.core.CountryFlagImage;
+import edu.bsu.issgame.core.cardmatch.CardType;
+import edu.bsu.issgame.core.net.HeadlessTestCase;
+
+public class TextureAtlasTest extends HeadlessTestCase {
+
+	private static final String INDEX = "# comment\n"//
+			+ "atlas/a.png\n"//
+			+ "images/one.png 1 1 10 20\n"//
+			+ "images/two.png 14 1 5 5\n"//
+			+ "atlas/b.png\n"//
+			+ "images/three.png 1 1 8 8\n";
+
+	@Test
+	public void testParseReadsPagesAndBounds() {
+		TextureAtlas atlas = TextureAtlas.parse(INDEX);
+		assertEquals("atlas/a.png", atlas.pageOf("images/two.png"));
+		assertEquals("atlas/b.png", atlas.pageOf("images/three.png"));
+		assertEquals(new Rectangle(1, 1, 10, 20),
+				atlas.boundsOf("images/one.png"));
+		assertEquals(2, atlas.pages().size());
+	}
+
+	@Test
+	public void testUnpackedPathIsNotContained() {
+		assertFalse(TextureAtlas.parse(INDEX).contains("images/four.png"));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testEntryBeforePageIsRejected() {
+		TextureAtlas.parse("images/one.png 1 1 10 20\n");
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testMalformedLineIsRejected() {
+		TextureAtlas.parse("atlas/a.png\nimages/one.png 1 1\n");
+	}
+
+	@Test
+	public void testPackedImagesAreInTheShippedAtlas() {
+		TextureAtlas atlas = TextureAtlas.load();
+		for (LoadableImage image : new LoadableImage[] {
+				LoadableImage.CARD_BACK, LoadableImage.L_WIRE,
+				LoadableImage.T_WIRE_GLOW, LoadableImage.BAR_WIRE_CIRCUIT,
+				LoadableImage.SCIENCE_ICON, LoadableImage.MAINTAINENCE_ICON }) {
+			assertTrue(image.path(), atlas.contains(image.path()));
+		}
+		assertEquals(3, atlas.pages().size());
+	}
+
+	@Test
+	public void testRegistryHandsOutRegionsOfOnePage() {
+		AssetRegistry registry = AssetRegistry.create(
+				AssetRegistry.DEFAULT_TEXTURE_BUDGET, TextureAtlas.load());
+		Image back = registry.imageSync(LoadableImage.CARD_BACK.path());
+		Image ant = registry.imageSync("images/cards/ant_carddesign.png");
+		assertSame(((Image.Region) back).parent(),
+				((Image.Region) ant).parent());
+		assertEquals(265, back.width(), 0);
+		assertEquals(160, back.height(), 0);
+		assertEquals(1, registry.decodes());
+	}
+
+	@Test
+	public void testEnumImagesResolveToAtlasRegions() {
+		assertTrue(CardType.SQUID.image instanceof Image.Region);
+		assertTrue(CountryFlagImage.JAPAN.image instanceof Image.Region);
+	}
+}
@@ -0,0 +1,64 @@
+/*
+  Copyright 2015 Ball State University
+
+  This file is part of Collaboration Station.
+
+  Collaboration Station is free software: you can redistribute it
+  and/or modify it under the terms of the GNU General Public
+  License as published by the Free Software Foundation, either
+  version 3 of the License, or (at your option) any later version.
+
+  Collaboration Station is distributed in the hope that it will
+  be useful, but WITHOUT ANY WARRANTY; without even the implied
+  warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+  PURPOSE.  See the GNU General Public License for more details.
+
+  You should have received a copy of the GNU General Public
+  License along with Collaboration Station.  If not, see
+  <http://www.gnu.org/licenses/>.
+*/
+package edu.bsu.issgame.core.net;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Method;
+
+/**
+ * Counts the bytes allocated by the current thread, where the JVM can tell.
+ * HotSpot exposes this through {@code com.sun.management.ThreadMXBean},
+ * which is looked up reflectively so that tests still compile elsewhere.
+ */
+public final class AllocationCounter {
+
+	private static final ThreadMXBean THREADS = ManagementFactory
+			.getThreadMXBean();
+	private static final Method ALLOCATED_BYTES = findAllocatedBytesMethod();
+
+	private static Method findAllocatedBytesMethod() {
+		try {
+			Method method = Class.forName("com.sun.management.ThreadMXBean")
+					.getMethod("getThreadAllocatedBytes", long.class);
+			method.invoke(THREADS, Thread.currentThread().getId());
+			return method;
+		} catch (Exception e) {
+			return null;
+		}
+	}
+
+	public static boolean isSupported() {
+		return ALLOCATED_BYTES != null;
+	}
+
+	public static long allocatedBytes() {
+		try {
+			return (Long) ALLOCATED_BYTES.invoke(THREADS, Thread
+					.currentThread().getId());
+		} catch (Exception e) {
+			throw new IllegalStateException(
+					"Allocation counting is not supported.", e);
+		}
+	}
+
+	private AllocationCounter() {
+	}
+}
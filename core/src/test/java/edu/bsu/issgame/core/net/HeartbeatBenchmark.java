@@ -0,0 +1,214 @@
+/*
+  Copyright 2015 Ball State University
+
+  This file is part of Collaboration Station.
+
+  Collaboration Station is free software: you can redistribute it
+  and/or modify it under the terms of the GNU General Public
+  License as published by the Free Software Foundation, either
+  version 3 of the License, or (at your option) any later version.
+
+  Collaboration Station is distributed in the hope that it will
+  be useful, but WITHOUT ANY WARRANTY; without even the implied
+  warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+  PURPOSE.  See the GNU General Public License for more details.
+
+  You should have received a copy of the GNU General Public
+  License along with Collaboration Station.  If not, see
+  <http://www.gnu.org/licenses/>.
+*/
+package edu.bsu.issgame.core.net;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import react.UnitSlot;
+
+import com.google.common.collect.Lists;
+
+import edu.bsu.issgame.core.net.Message.Ping;
+import edu.bsu.issgame.core.net.Message.PingAck;
+import edu.bsu.issgame.core.net.server.MessageReceivedEvent;
+import edu.bsu.issgame.core.util.HashedWheelTimer;
+
+/**
+ * Watches hundreds of simulated peers with {@link PingService} on one
+ * {@link HashedWheelTimer}, reporting the extra threads, the pings sent and
+ * any false failures. Then compares how late a periodic deadline fires on
+ * the shared timer against a sleeping thread per peer. Run with
+ * {@code main}; it is not part of the test suite.
+ */
+public final class HeartbeatBenchmark extends HeadlessTestCase {
+
+	private static final int[] PEER_COUNTS = { 100, 500, 1000 };
+	private static final int INTERVAL_MS = 50;
+	private static final int RUN_MS = 2000;
+
+	public static void main(String[] args) throws Exception {
+		System.out.println(String.format("%-8s %10s %10s %10s", "peers",
+				"threads", "pings", "failures"));
+		for (int peers : PEER_COUNTS) {
+			watchPeers(peers);
+		}
+		System.out.println();
+		System.out.println(String.format("%-18s %8s %8s %10s %10s %10s",
+				"deadlines", "peers", "threads", "p50 late", "p99 late",
+				"max late"));
+		for (int peers : PEER_COUNTS) {
+			reportLateness("shared timer", peers, sharedTimerLateness(peers));
+			reportLateness("thread per peer", peers,
+					threadPerPeerLateness(peers));
+		}
+	}
+
+	private static void watchPeers(int peerCount) throws InterruptedException {
+		int threadsBefore = Thread.activeCount();
+		HashedWheelTimer timer = new HashedWheelTimer("Benchmark heartbeats");
+		timer.start();
+		AtomicInteger pings = new AtomicInteger();
+		final AtomicInteger failures = new AtomicInteger();
+		List<PingService.Server> servers = Lists.newArrayList();
+		for (int i = 0; i < peerCount; i++) {
+			AckingSink io = new AckingSink(pings);
+			PingService.Server server = PingService.createServer(io)
+					.acknowledgmentWindow(INTERVAL_MS);
+			io.server = server;
+			server.onFailure(new UnitSlot() {
+				@Override
+				public void onEmit() {
+					failures.incrementAndGet();
+				}
+			});
+			server.start(timer);
+			servers.add(server);
+		}
+		Thread.sleep(RUN_MS);
+		int threads = Thread.activeCount() - threadsBefore;
+		for (PingService.Server server : servers) {
+			server.stop();
+		}
+		timer.stop();
+		// Let the timer thread finish so the next run counts from zero.
+		Thread.sleep(100);
+		System.out.println(String.format("%-8d %10d %10d %10d", peerCount,
+				threads, pings.get(), failures.get()));
+	}
+
+	private static List<Long> sharedTimerLateness(int peerCount)
+			throws InterruptedException {
+		final List<Long> lateness = Collections
+				.synchronizedList(Lists.<Long> newArrayList());
+		final HashedWheelTimer timer = new HashedWheelTimer(
+				"Benchmark deadlines");
+		timer.start();
+		final long intervalNanos = TimeUnit.MILLISECONDS.toNanos(INTERVAL_MS);
+		for (int i = 0; i < peerCount; i++) {
+			final long firstDeadline = System.nanoTime() + intervalNanos;
+			timer.schedule(new Runnable() {
+				private long deadline = firstDeadline;
+
+				@Override
+				public void run() {
+					long now = System.nanoTime();
+					lateness.add(now - deadline);
+					deadline = now + intervalNanos;
+					timer.schedule(this, intervalNanos, TimeUnit.NANOSECONDS);
+				}
+			}, intervalNanos, TimeUnit.NANOSECONDS);
+		}
+		Thread.sleep(RUN_MS);
+		timer.stop();
+		return lateness;
+	}
+
+	private static List<Long> threadPerPeerLateness(int peerCount)
+			throws InterruptedException {
+		final List<Long> lateness = Collections
+				.synchronizedList(Lists.<Long> newArrayList());
+		final long intervalNanos = TimeUnit.MILLISECONDS.toNanos(INTERVAL_MS);
+		List<Thread> threads = Lists.newArrayList();
+		for (int i = 0; i < peerCount; i++) {
+			Thread thread = new Thread(new Runnable() {
+				@Override
+				public void run() {
+					try {
+						while (true) {
+							long deadline = System.nanoTime() + intervalNanos;
+							TimeUnit.NANOSECONDS.sleep(intervalNanos);
+							lateness.add(System.nanoTime() - deadline);
+						}
+					} catch (InterruptedException e) {
+						return;
+					}
+				}
+			});
+			thread.setDaemon(true);
+			thread.start();
+			threads.add(thread);
+		}
+		Thread.sleep(RUN_MS);
+		for (Thread thread : threads) {
+			thread.interrupt();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		return lateness;
+	}
+
+	private static void reportLateness(String name, int peerCount,
+			List<Long> lateness) {
+		List<Long> sorted;
+		synchronized (lateness) {
+			sorted = Lists.newArrayList(lateness);
+		}
+		Collections.sort(sorted);
+		int threads = name.equals("shared timer") ? 1 : peerCount;
+		System.out.println(String.format("%-18s %8d %8d %8.2fms %8.2fms %8.2fms",
+				name, peerCount, threads, millis(percentile(sorted, 50)),
+				millis(percentile(sorted, 99)),
+				millis(sorted.get(sorted.size() - 1))));
+	}
+
+	private static long percentile(List<Long> sorted, int percent) {
+		return sorted.get((sorted.size() - 1) * percent / 100);
+	}
+
+	private static double millis(long nanos) {
+		return nanos / 1e6;
+	}
+
+	/**
+	 * Answers each ping at once, as a healthy client on a fast link would.
+	 */
+	private static final class AckingSink implements MessageSink {
+		private final AtomicInteger pings;
+		private PingService.Server server;
+
+		AckingSink(AtomicInteger pings) {
+			this.pings = pings;
+		}
+
+		@Override
+		public MessageSink send(Message message) {
+			pings.incrementAndGet();
+			server.onEmit(new MessageReceivedEvent(null, PingAck
+					.acknowledging((Ping) message)));
+			return this;
+		}
+
+		@Override
+		public void cancel() {
+		}
+
+		@Override
+		public boolean isNetworked() {
+			return true;
+		}
+	}
+
+	private HeartbeatBenchmark() {
+	}
+}
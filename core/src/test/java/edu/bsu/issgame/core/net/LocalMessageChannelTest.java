@@ -0,0 +1,164 @@
+/*
+  Copyright 2015 Ball State University
+
+  This file is part of Collaboration Station.
+
+  Collaboration Station is free software: you can redistribute it
+  and/or modify it under the terms of the GNU General Public
+  License as published by the Free Software Foundation, either
+  version 3 of the License, or (at your option) any later version.
+
+  Collaboration Station is distributed in the hope that it will
+  be useful, but WITHOUT ANY WARRANTY; without even the implied
+  warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+  PURPOSE.  See the GNU General Public License for more details.
+
+  You should have received a copy of the GNU General Public
+  License along with Collaboration Station.  If not, see
+  <http://www.gnu.org/licenses/>.
+*/
+package edu.bsu.issgame.core.net;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import edu.bsu.issgame.core.MinigameType;
+import edu.bsu.issgame.core.Score;
+import edu.bsu.issgame.core.Scoreboard;
+import edu.bsu.issgame.core.util.BlockingReadOperationInterruptedException;
+
+public class LocalMessageChannelTest {
+
+	private ExecutorService executorService;
+
+	@Before
+	public void setUp() {
+		executorService = Executors.newCachedThreadPool();
+	}
+
+	@After
+	public void tearDown() {
+		executorService.shutdownNow();
+	}
+
+	@Test
+	public void testImmutableMessageIsHandedOverAsIs() throws IOException {
+		LocalMessageChannel channel = new LocalMessageChannel();
+		Message message = new Message.StartMission(SampleMessages.INTRODUCTION);
+		channel.a.send(message);
+		assertSame(message, channel.b.read());
+	}
+
+	@Test
+	public void testScoreboardIsCopied() throws IOException {
+		LocalMessageChannel channel = new LocalMessageChannel();
+		Scoreboard scoreboard = SampleMessages.scoreboard();
+		channel.a.send(new Message.ScenarioFinishedInFailure(scoreboard));
+		scoreboard.put(SampleMessages.USA, Score.ZERO);
+		Scoreboard received = ((Message.ScenarioFinishedInFailure) channel.b
+				.read()).scoreboard;
+		assertNotSame(scoreboard, received);
+		assertEquals(SampleMessages.scoreboard().get(SampleMessages.USA),
+				received.get(SampleMessages.USA));
+	}
+
+	@Test
+	public void testPlayerMinigameMapIsCopied() throws IOException {
+		LocalMessageChannel channel = new LocalMessageChannel();
+		Message.RequestStartScenario request = new Message.RequestStartScenario(
+				SampleMessages.playerMinigameMap());
+		channel.b.send(request);
+		request.map.put(SampleMessages.USA, MinigameType.SLIDING_PUZZLE);
+		Message.RequestStartScenario received = (Message.RequestStartScenario) channel.a
+				.read();
+		assertEquals(SampleMessages.playerMinigameMap(), received.map);
+	}
+
+	@Test
+	public void testCopiesCanBeTurnedOff() throws IOException {
+		LocalMessageChannel channel = LocalMessageChannel
+				.withoutDefensiveCopies();
+		Message message = new Message.ScenarioFinishedInFailure(
+				SampleMessages.scoreboard());
+		channel.a.send(message);
+		assertSame(message, channel.b.read());
+	}
+
+	@Test
+	public void testStop_interruptsReader() throws Exception {
+		final LocalMessageChannel channel = new LocalMessageChannel();
+		Future<Boolean> reader = executorService.submit(new Callable<Boolean>() {
+			@Override
+			public Boolean call() throws IOException {
+				try {
+					channel.b.read();
+					return false;
+				} catch (BlockingReadOperationInterruptedException e) {
+					return true;
+				}
+			}
+		});
+		Thread.sleep(100);
+		channel.stop();
+		assertTrue(reader.get(1, TimeUnit.SECONDS));
+	}
+
+	@Test
+	public void testSendBlocksWhenQueueIsFull() throws Exception {
+		final LocalMessageChannel channel = new LocalMessageChannel(1, true);
+		channel.a.send(new Message.ServerGoingDown());
+		Future<?> blockedSend = executorService.submit(new Callable<Void>() {
+			@Override
+			public Void call() throws IOException {
+				channel.a.send(new Message.ServerGoingDown());
+				return null;
+			}
+		});
+		Thread.sleep(100);
+		assertFalse(blockedSend.isDone());
+		channel.b.read();
+		blockedSend.get(1, TimeUnit.SECONDS);
+	}
+
+	@Test(expected = BlockingReadOperationInterruptedException.class)
+	public void testCancelBetweenReads_nextReadFails() throws Exception {
+		LocalMessageChannel channel = new LocalMessageChannel();
+		channel.a.send(new Message.ServerGoingDown());
+		channel.b.read();
+		channel.b.cancel();
+		channel.b.read();
+	}
+
+	@Test
+	public void testSendToCancelledEnd_fails() throws Exception {
+		LocalMessageChannel channel = new LocalMessageChannel();
+		channel.b.cancel();
+		try {
+			channel.a.send(new Message.ServerGoingDown());
+			fail();
+		} catch (IOException expected) {
+		}
+	}
+
+	@Test(expected = IOException.class)
+	public void testSendTimesOutWhenPeerStopsReading() throws Exception {
+		LocalMessageChannel channel = new LocalMessageChannel(1, true, 50);
+		channel.a.send(new Message.ServerGoingDown());
+		channel.a.send(new Message.ServerGoingDown());
+	}
+}
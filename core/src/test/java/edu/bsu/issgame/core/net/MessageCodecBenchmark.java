@@ -0,0 +1,101 @@
+/*
+  Copyright 2015 Ball State University
+
+  This file is part of Collaboration Station.
+
+  Collaboration Station is free software: you can redistribute it
+  and/or modify it under the terms of the GNU General Public
+  License as published by the Free Software Foundation, either
+  version 3 of the License, or (at your option) any later version.
+
+  Collaboration Station is distributed in the hope that it will
+  be useful, but WITHOUT ANY WARRANTY; without even the implied
+  warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+  PURPOSE.  See the GNU General Public License for more details.
+
+  You should have received a copy of the GNU General Public
+  License along with Collaboration Station.  If not, see
+  <http://www.gnu.org/licenses/>.
+*/
+package edu.bsu.issgame.core.net;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+/**
+ * Compares {@link MessageCodec} against Java serialization for every message
+ * type. The serialized stream is reset after each message so that no message
+ * is sent as a back-reference to an earlier one; sizes therefore include the
+ * class descriptors. Run with {@code main}; it is not part of the test suite.
+ */
+public final class MessageCodecBenchmark {
+
+	private static final int WARMUP_ITERATIONS = 20000;
+	private static final int ITERATIONS = 100000;
+
+	public static void main(String[] args) throws Exception {
+		System.out.println(String.format("%-42s %10s %10s %12s %12s",
+				"message", "ser bytes", "bin bytes", "ser ns/msg",
+				"bin ns/msg"));
+		for (Message message : SampleMessages.all()) {
+			String name = message.getClass().getSimpleName();
+			int serializedBytes = serializedSize(message);
+			int binaryBytes = MessageCodec.instance().encode(message).length;
+			timeSerialized(message, WARMUP_ITERATIONS);
+			timeBinary(message, WARMUP_ITERATIONS);
+			long serializedNanos = timeSerialized(message, ITERATIONS);
+			long binaryNanos = timeBinary(message, ITERATIONS);
+			System.out.println(String.format("%-42s %10d %10d %12d %12d",
+					name, serializedBytes, binaryBytes, serializedNanos
+							/ ITERATIONS, binaryNanos / ITERATIONS));
+		}
+	}
+
+	private static int serializedSize(Message message)
+			throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		ObjectOutputStream out = new ObjectOutputStream(bytes);
+		out.writeObject(message);
+		out.reset();
+		out.flush();
+		int before = bytes.size();
+		out.writeObject(message);
+		out.reset();
+		out.flush();
+		return bytes.size() - before;
+	}
+
+	private static long timeSerialized(Message message, int iterations)
+			throws IOException, ClassNotFoundException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		ObjectOutputStream out = new ObjectOutputStream(bytes);
+		long start = System.nanoTime();
+		for (int i = 0; i < iterations; i++) {
+			out.writeObject(message);
+			out.reset();
+		}
+		out.flush();
+		ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(
+				bytes.toByteArray()));
+		for (int i = 0; i < iterations; i++) {
+			in.readObject();
+		}
+		return System.nanoTime() - start;
+	}
+
+	private static long timeBinary(Message message, int iterations)
+			throws IOException {
+		MessageCodec codec = MessageCodec.instance();
+		long start = System.nanoTime();
+		for (int i = 0; i < iterations; i++) {
+			codec.decode(codec.encode(message));
+		}
+		return System.nanoTime() - start;
+	}
+
+	private MessageCodecBenchmark() {
+	}
+}
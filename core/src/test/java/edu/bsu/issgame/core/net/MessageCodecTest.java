@@ -0,0 +1,174 @@
+/*
+  Copyright 2015 Ball State University
+
+  This file is part of Collaboration Station.
+
+  Collaboration Station is free software: you can redistribute it
+  and/or modify it under the terms of the GNU General Public
+  License as published by the Free Software Foundation, either
+  version 3 of the License, or (at your option) any later version.
+
+  Collaboration Station is distributed in the hope that it will
+  be useful, but WITHOUT ANY WARRANTY; without even the implied
+  warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+  PURPOSE.  See the GNU General Public License for more details.
+
+  You should have received a copy of the GNU General Public
+  License along with Collaboration Station.  If not, see
+  <http://www.gnu.org/licenses/>.
+*/
+package edu.bsu.issgame.core.net;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.IOException;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.io.StreamCorruptedException;
+import java.util.UUID;
+
+import org.junit.Test;
+
+import edu.bsu.issgame.core.Score;
+import edu.bsu.issgame.core.Scoreboard;
+import edu.bsu.issgame.core.mission.Scenario;
+
+public class MessageCodecTest {
+
+	private final MessageCodec codec = MessageCodec.instance();
+
+	@Test
+	public void testRoundTrip_everyMessageType_keepsClass() throws IOException {
+		for (Message message : SampleMessages.all()) {
+			Message decoded = roundTrip(message);
+			assertEquals(message.getClass(), decoded.getClass());
+		}
+	}
+
+	private Message roundTrip(Message message) throws IOException {
+		return codec.decode(codec.encode(message));
+	}
+
+	@Test
+	public void testRoundTrip_hello() throws IOException {
+		Message.Hello decoded = (Message.Hello) roundTrip(new Message.Hello(
+				"Expedition 42", 7));
+		assertEquals("Expedition 42", decoded.expeditionName);
+		assertEquals(7, decoded.verisonCode);
+	}
+
+	@Test
+	public void testRoundTrip_introduce() throws IOException {
+		UUID uuid = UUID.randomUUID();
+		Message.Introduce decoded = (Message.Introduce) roundTrip(new Message.Introduce(
+				uuid));
+		assertEquals(uuid, decoded.uuid);
+	}
+
+	@Test
+	public void testRoundTrip_welcome_keepsClientOrderAndCountries()
+			throws IOException {
+		Message.Welcome welcome = new Message.Welcome(
+				SampleMessages.scoreboard().keySet());
+		Message.Welcome decoded = (Message.Welcome) roundTrip(welcome);
+		assertEquals(welcome.clients, decoded.clients);
+		for (int i = 0; i < welcome.clients.size(); i++) {
+			assertEquals(welcome.clients.get(i).country,
+					decoded.clients.get(i).country);
+		}
+	}
+
+	@Test
+	public void testRoundTrip_startMission_keepsBothTexts() throws IOException {
+		Message.StartMission decoded = (Message.StartMission) roundTrip(new Message.StartMission(
+				SampleMessages.INTRODUCTION));
+		assertEquals(SampleMessages.INTRODUCTION.asText(),
+				decoded.introduction.asText());
+		assertEquals(SampleMessages.INTRODUCTION.commanderText(),
+				decoded.introduction.commanderText());
+	}
+
+	@Test
+	public void testRoundTrip_startScenario_keepsMap() throws IOException {
+		Message.StartScenario decoded = (Message.StartScenario) roundTrip(new Message.StartScenario(
+				new Message.RequestStartScenario(SampleMessages
+						.playerMinigameMap())));
+		assertEquals(SampleMessages.playerMinigameMap(), decoded.map);
+	}
+
+	@Test
+	public void testRoundTrip_reportScore() throws IOException {
+		Score score = Score.maintenance(3).science(-2);
+		Message.ReportScore decoded = (Message.ReportScore) roundTrip(new Message.ReportScore(
+				score));
+		assertEquals(score, decoded.score);
+	}
+
+	@Test
+	public void testRoundTrip_scenarioFinishedWithSuccess() throws IOException {
+		Message.ScenarioFinishedWithSuccess decoded = (Message.ScenarioFinishedWithSuccess) roundTrip(new Message.ScenarioFinishedWithSuccess(
+				SampleMessages.scoreboard(), SampleMessages.SCENARIO));
+		assertScoreboardsEqual(SampleMessages.scoreboard(), decoded.scoreboard);
+		assertScenariosEqual(SampleMessages.SCENARIO, decoded.nextScenario);
+	}
+
+	private static void assertScoreboardsEqual(Scoreboard expected,
+			Scoreboard actual) {
+		assertEquals(expected.keySet(), actual.keySet());
+		for (ClientId id : expected.keySet()) {
+			assertEquals(expected.get(id), actual.get(id));
+		}
+	}
+
+	private static void assertScenariosEqual(Scenario expected, Scenario actual) {
+		assertEquals(expected.exposition.asText(), actual.exposition.asText());
+		assertEquals(expected.goal, actual.goal);
+		assertEquals(expected.track, actual.track);
+	}
+
+	@Test
+	public void testRoundTrip_scenarioFinishedWithoutNextScenario()
+			throws IOException {
+		Message.ScenarioFinishedWithSuccess decoded = (Message.ScenarioFinishedWithSuccess) roundTrip(new Message.ScenarioFinishedWithSuccess(
+				new Scoreboard(), null));
+		assertNull(decoded.nextScenario);
+	}
+
+	@Test
+	public void testRoundTrip_advanceToScenarioSetup() throws IOException {
+		Message.AdvanceToScenarioSetup decoded = (Message.AdvanceToScenarioSetup) roundTrip(new Message.AdvanceToScenarioSetup(
+				SampleMessages.SCENARIO));
+		assertScenariosEqual(SampleMessages.SCENARIO, decoded.scenario);
+	}
+
+	@Test
+	public void testRoundTrip_ping_keepsTimestamp() throws IOException {
+		Message.Ping decoded = (Message.Ping) roundTrip(new Message.Ping(
+				123456789012L));
+		assertEquals(123456789012L, decoded.sentAtNanos);
+	}
+
+	@Test
+	public void testRoundTrip_pingAck_keepsTimestamp() throws IOException {
+		Message.PingAck decoded = (Message.PingAck) roundTrip(new Message.PingAck(
+				-42L));
+		assertEquals(-42L, decoded.pingSentAtNanos);
+	}
+
+	@Test(expected = StreamCorruptedException.class)
+	public void testDecode_unknownTag_throwsException() throws IOException {
+		codec.decode(new byte[] { 127 });
+	}
+
+	@Test
+	public void testFramedMessageIO_sendAndRead() throws IOException {
+		PipedInputStream in = new PipedInputStream(4096);
+		PipedOutputStream out = new PipedOutputStream(in);
+		FramedMessageIO io = FramedMessageIO.overStreams(in, out, in);
+		for (Message message : SampleMessages.all()) {
+			io.send(message);
+			assertEquals(message.getClass(), io.read().getClass());
+		}
+	}
+}
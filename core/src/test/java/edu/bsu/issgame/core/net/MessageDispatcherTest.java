@@ -0,0 +1,143 @@
+/*
+  Copyright 2015 Ball State University
+
+  This file is part of Collaboration Station.
+
+  Collaboration Station is free software: you can redistribute it
+  and/or modify it under the terms of the GNU General Public
+  License as published by the Free Software Foundation, either
+  version 3 of the License, or (at your option) any later version.
+
+  Collaboration Station is distributed in the hope that it will
+  be useful, but WITHOUT ANY WARRANTY; without even the implied
+  warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+  PURPOSE.  See the GNU General Public License for more details.
+
+  You should have received a copy of the GNU General Public
+  License along with Collaboration Station.  If not, see
+  <http://www.gnu.org/licenses/>.
+*/
+package edu.bsu.issgame.core.net;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+
+import edu.bsu.issgame.core.Country;
+import edu.bsu.issgame.core.Score;
+import edu.bsu.issgame.core.net.Message.Ping;
+import edu.bsu.issgame.core.net.Message.ReportScore;
+import edu.bsu.issgame.core.net.MessageDispatcher.Handler;
+
+public class MessageDispatcherTest extends HeadlessTestCase {
+
+	private final MessageDispatcher<String> dispatcher = MessageDispatcher
+			.create();
+	private final List<String> calls = Lists.newArrayList();
+
+	@Test
+	public void testDispatchesToTheHandlerForTheMessageType() {
+		dispatcher.on(Ping.class, recording("ping"));
+		dispatcher.on(ReportScore.class, recording("score"));
+		dispatcher.dispatch(new ReportScore(Score.ZERO), "context");
+		assertEquals(Lists.newArrayList("score:context"), calls);
+	}
+
+	@Test
+	public void testCallsEverySubscriberInOrder() {
+		dispatcher.on(Ping.class, recording("first"));
+		dispatcher.on(Ping.class, recording("second"));
+		dispatcher.dispatch(Ping.sentNow(), "context");
+		assertEquals(Lists.newArrayList("first:context", "second:context"),
+				calls);
+	}
+
+	@Test
+	public void testUnsubscribedMessagesGoToTheFallback() {
+		dispatcher.on(Ping.class, recording("ping"));
+		dispatcher.otherwise(recording("fallback"));
+		dispatcher.dispatch(new Message.ServerGoingDown(), "context");
+		assertEquals(Lists.newArrayList("fallback:context"), calls);
+	}
+
+	@Test
+	public void testEveryMessageClassHasItsOwnType() {
+		for (MessageType type : MessageType.values()) {
+			assertSame(type, MessageType.of(type.messageClass));
+		}
+	}
+
+	@Test
+	public void testSteadyStateDispatchAllocatesNothing() throws IOException {
+		assumeTrue(AllocationCounter.isSupported());
+		final long[] total = new long[1];
+		MessageDispatcher<ClientId> dispatcher = MessageDispatcher.create();
+		dispatcher.on(ReportScore.class, new Handler<ReportScore, ClientId>() {
+			@Override
+			public void handle(ReportScore message, ClientId context) {
+				total[0] += message.score.science;
+			}
+		});
+		dispatcher.on(Ping.class, new Handler<Message, Object>() {
+			@Override
+			public void handle(Message message, Object context) {
+				total[0]++;
+			}
+		});
+		dispatcher.on(Ping.class, new Handler<Ping, Object>() {
+			@Override
+			public void handle(Ping ping, Object context) {
+				total[0] += ping.sentAtNanos & 1;
+			}
+		});
+		List<Message> decoded = decodedMessages(1000);
+		ClientId sender = new ClientId(Country.USA, UUID.randomUUID());
+		for (int i = 0; i < 20; i++) {
+			dispatchAll(dispatcher, decoded, sender);
+		}
+		long before = AllocationCounter.allocatedBytes();
+		for (int i = 0; i < 100; i++) {
+			dispatchAll(dispatcher, decoded, sender);
+		}
+		long allocated = AllocationCounter.allocatedBytes() - before;
+		assertTrue(total[0] > 0);
+		assertTrue("Allocated " + allocated + " bytes", allocated < 1024);
+	}
+
+	private static List<Message> decodedMessages(int count) throws IOException {
+		MessageCodec codec = MessageCodec.instance();
+		List<Message> messages = Lists.newArrayList();
+		for (int i = 0; i < count; i++) {
+			Message message = i % 3 == 0 ? new ReportScore(Score
+					.maintenance(i).science(i))
+					: i % 3 == 1 ? Ping.sentNow() : new Message.PingAck(i);
+			messages.add(codec.decode(codec.encode(message)));
+		}
+		return messages;
+	}
+
+	private static void dispatchAll(MessageDispatcher<ClientId> dispatcher,
+			List<Message> messages, ClientId context) {
+		for (int i = 0; i < messages.size(); i++) {
+			dispatcher.dispatch(messages.get(i), context);
+		}
+	}
+
+	private Handler<Message, Object> recording(final String name) {
+		return new Handler<Message, Object>() {
+			@Override
+			public void handle(Message message, Object context) {
+				calls.add(name + ":" + context);
+			}
+		};
+	}
+}
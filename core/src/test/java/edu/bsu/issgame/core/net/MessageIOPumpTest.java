@@ -30,6 +30,8 @@ import java.util.concurrent.TimeUnit;
 
 import org.junit.Test;
 
+import edu.bsu.issgame.core.Score;
+
 public class MessageIOPumpTest {
 
 	@Test
@@ -41,6 +43,35 @@ public class MessageIOPumpTest {
 		assertEquals(message, received);
 	}
 
+	@Test
+	public void testSendsFromTwoThreads_allArrive() throws Exception {
+		final int perThread = 2000;
+		final MessageIOPump pump = new MessageIOPump();
+		ExecutorService service = Executors.newCachedThreadPool();
+		for (int t = 0; t < 2; t++) {
+			final int science = t;
+			service.execute(new Runnable() {
+				@Override
+				public void run() {
+					try {
+						for (int i = 0; i < perThread; i++) {
+							pump.a.send(new Message.ReportScore(Score
+									.maintenance(i).science(science)));
+						}
+					} catch (IOException e) {
+						throw new RuntimeException(e);
+					}
+				}
+			});
+		}
+		int[] next = new int[2];
+		for (int i = 0; i < 2 * perThread; i++) {
+			Score score = ((Message.ReportScore) pump.b.read()).score;
+			assertEquals(next[score.science]++, score.maintenance);
+		}
+		service.shutdown();
+	}
+
 	@Test
 	public void testStop_interruptsReader() throws IOException,
 			InterruptedException {
@@ -88,7 +119,7 @@ public class MessageIOPumpTest {
 		private static final long serialVersionUID = -1608919046377594850L;
 
 		@Override
-		public void accept(Visitor visitor, Object... args) {
+		public MessageType type() {
 			throw new UnsupportedOperationException();
 		}
 
@@ -19,6 +19,8 @@
 */
 package edu.bsu.issgame.core.net;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.mock;
@@ -26,31 +28,48 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 
 import java.io.IOException;
+import java.util.concurrent.TimeUnit;
 
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 
 import react.UnitSlot;
+import edu.bsu.issgame.core.Score;
 import edu.bsu.issgame.core.net.Message.Ping;
 import edu.bsu.issgame.core.net.Message.PingAck;
+import edu.bsu.issgame.core.net.server.MessageReceivedEvent;
+import edu.bsu.issgame.core.util.HashedWheelTimer;
 
 public class PingServiceTest {
 
 	private static final int TEST_TIME_TO_LIVE_MS = 1;
-	private MessageIO io;
+	private MessageSink io;
 	private PingService.Server server;
 	private UnitSlot onFailureSlot;
 	private PingService.Client client;
+	private HashedWheelTimer timer;
 
 	@Before
 	public void setUp() {
-		io = mock(MessageIO.class);
+		io = mock(MessageSink.class);
+		timer = new HashedWheelTimer("Test heartbeats", 1,
+				TimeUnit.MILLISECONDS, 64);
+		timer.start();
 	}
-	
+
+	@After
+	public void tearDown() {
+		timer.stop();
+	}
+
 	@Test
 	public void testServerEmitsPing() throws IOException {
-		givenANewServer();
-		server.run();
+		server = PingService.createServer(io).acknowledgmentWindow(20);
+		server.start(timer);
+		sleep(30);
+		server.stop();
 		verify(io).send(any(Message.Ping.class));
 	}
 
@@ -62,8 +81,8 @@ public class PingServiceTest {
 	public void testServerEmitsFailureOnNoPingAcknowledgment() {
 		givenANewServer();
 		givenAFailureSlotConnection();
-		server.run();
-		sleep(5);
+		server.start(timer);
+		sleep(TEST_TIME_TO_LIVE_MS * 100);
 		verify(onFailureSlot).onEmit();
 	}
 
@@ -80,13 +99,75 @@ public class PingServiceTest {
 		}
 	}
 
+	@Test
+	public void testLateAckAfterFastRoundTrips_doesNotDropTheClient() {
+		server = PingService.createServer(io).acknowledgmentWindow(20);
+		givenAFailureSlotConnection();
+		server.start(timer);
+		for (int i = 0; i < 50; i++) {
+			server.onEmit(new MessageReceivedEvent(null, PingAck
+					.acknowledging(new Ping(System.nanoTime()
+							- TimeUnit.MILLISECONDS.toNanos(1)))));
+		}
+		sleep(250);
+		server.onEmit(new MessageReceivedEvent(null, PingAck
+				.acknowledging(new Ping(System.nanoTime()
+						- TimeUnit.MILLISECONDS.toNanos(250)))));
+		sleep(20);
+		server.stop();
+		verifyNoMoreInteractions(onFailureSlot);
+	}
+
 	@Test
 	public void testClientAcknowledgesPing() throws IOException {
 		givenANewClient();
-		Ping.instance().accept(client.visitor);
+		client.pingHandler.handle(Ping.sentNow(), null);
 		verify(io).send(any(PingAck.class));
 	}
 
+	@Test
+	public void testClientAckCarriesThePingTimestamp() throws IOException {
+		givenANewClient();
+		client.pingHandler.handle(new Ping(12345L), null);
+		ArgumentCaptor<Message> sent = ArgumentCaptor.forClass(Message.class);
+		verify(io).send(sent.capture());
+		assertEquals(12345L, ((PingAck) sent.getValue()).pingSentAtNanos);
+	}
+
+	@Test
+	public void testClientTreatsAnyMessageAsLiveness() {
+		client = PingService.createClient(io).timeToLive(50);
+		givenAClientFailureSlot();
+		client.start(timer);
+		for (int i = 0; i < 10; i++) {
+			client.onReceived(new Message.ServerGoingDown());
+			sleep(20);
+		}
+		client.stop();
+		verifyNoMoreInteractions(onFailureSlot);
+	}
+
+	@Test
+	public void testServerDoesNotPingWhileHearingFromClient() {
+		server = PingService.createServer(io).acknowledgmentWindow(60);
+		server.start(timer);
+		for (int i = 0; i < 5; i++) {
+			sleep(20);
+			server.onEmit(new MessageReceivedEvent(null,
+					new Message.ReportScore(Score.ZERO)));
+		}
+		server.stop();
+		verifyNoMoreInteractions(io);
+	}
+
+	@Test
+	public void testServerMeasuresRoundTripTime() {
+		givenANewServer();
+		long fiveMillisAgo = System.nanoTime() - 5000000L;
+		server.onEmit(new MessageReceivedEvent(null, new PingAck(fiveMillisAgo)));
+		assertTrue(server.roundTripTimeMicros().get() >= 5000);
+	}
+
 	private void givenANewClient() {
 		client = PingService.createClient(io).timeToLive(TEST_TIME_TO_LIVE_MS);
 	}
@@ -105,21 +186,30 @@ public class PingServiceTest {
 	}
 
 	private void whenTheClientRunsForSomeTime(int milliseconds) {
-		Thread thread = new Thread(client);
-		thread.start();
+		client.start(timer);
 		sleep(milliseconds);
-		thread.interrupt();		
 	}
 	
 	@Test
 	public void testClientStop_doesNotSendPing() throws IOException {
 		givenANewClient();
 		client.stop();
-		Message ping = Message.Ping.instance();
-		ping.accept(client.visitor);
+		Ping ping = Ping.sentNow();
+		client.pingHandler.handle(ping, null);
 		verifyNoMoreInteractions(io);
 	}
 	
+	@Test
+	public void testServerStop_cancelsPendingCheck() {
+		givenANewServer();
+		givenAFailureSlotConnection();
+		server.start(timer);
+		server.stop();
+		sleep(TEST_TIME_TO_LIVE_MS * 20);
+		verifyNoMoreInteractions(io);
+		verifyNoMoreInteractions(onFailureSlot);
+	}
+
 	@Test
 	public void testClientStop_doesNotReportPingFailure() throws IOException {
 		givenANewClient();
@@ -0,0 +1,138 @@
+/*
+  Copyright 2015 Ball State University
+
+  This file is part of Collaboration Station.
+
+  Collaboration Station is free software: you can redistribute it
+  and/or modify it under the terms of the GNU General Public
+  License as published by the Free Software Foundation, either
+  version 3 of the License, or (at your option) any later version.
+
+  Collaboration Station is distributed in the hope that it will
+  be useful, but WITHOUT ANY WARRANTY; without even the implied
+  warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+  PURPOSE.  See the GNU General Public License for more details.
+
+  You should have received a copy of the GNU General Public
+  License along with Collaboration Station.  If not, see
+  <http://www.gnu.org/licenses/>.
+*/
+package edu.bsu.issgame.core.net;
+
+import static edu.bsu.issgame.core.net.ResettingObjectOutputStream.DEFAULT_MESSAGE_LIMIT;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import edu.bsu.issgame.core.Score;
+
+public class ResettingObjectOutputStreamTest {
+
+	private static final int SOAK_MESSAGES = 1000000;
+	private static final int SOAK_WARMUP_MESSAGES = 100000;
+	private static final long ALLOWED_HEAP_GROWTH = 16 * 1024 * 1024;
+
+	@Test
+	public void testRepeatedObjectTakesNoNewHandle() throws IOException {
+		ResettingObjectOutputStream out = ResettingObjectOutputStream.create(
+				new ByteArrayOutputStream(), 100, Long.MAX_VALUE);
+		Message ping = Message.Ping.sentNow();
+		out.writeMessage(ping);
+		int handles = out.handleTableSize();
+		out.writeMessage(ping);
+		assertEquals(handles, out.handleTableSize());
+	}
+
+	@Test
+	public void testResetsAfterMessageLimit() throws IOException {
+		ResettingObjectOutputStream out = ResettingObjectOutputStream.create(
+				new ByteArrayOutputStream(), 3, Long.MAX_VALUE);
+		for (int i = 0; i < 3; i++) {
+			out.writeMessage(new Message.ReportScore(Score.ZERO));
+		}
+		assertEquals(1, out.resetCount());
+		assertEquals(0, out.handleTableSize());
+	}
+
+	@Test
+	public void testResetsAfterByteLimit() throws IOException {
+		ResettingObjectOutputStream out = ResettingObjectOutputStream.create(
+				new ByteArrayOutputStream(), Integer.MAX_VALUE, 1);
+		out.writeMessage(new Message.ReportScore(Score.ZERO));
+		assertEquals(1, out.resetCount());
+	}
+
+	@Test
+	public void testReaderFollowsResets() throws Exception {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		ResettingObjectOutputStream out = ResettingObjectOutputStream.create(
+				bytes, 2, Long.MAX_VALUE);
+		for (int i = 0; i < 5; i++) {
+			out.writeMessage(new Message.ReportScore(Score.maintenance(i)
+					.science(0)));
+		}
+		ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(
+				bytes.toByteArray()));
+		for (int i = 0; i < 5; i++) {
+			Message.ReportScore report = (Message.ReportScore) in.readObject();
+			assertEquals(Score.maintenance(i).science(0), report.score);
+		}
+	}
+
+	@Test
+	public void testSoak_heapStaysFlatOverAMillionMessages() throws Exception {
+		final MessageIOPump pump = new MessageIOPump();
+		ExecutorService executorService = Executors.newSingleThreadExecutor();
+		try {
+			Future<Integer> reader = executorService
+					.submit(new Callable<Integer>() {
+						@Override
+						public Integer call() throws Exception {
+							for (int i = 0; i < SOAK_MESSAGES; i++) {
+								pump.b.read();
+							}
+							return SOAK_MESSAGES;
+						}
+					});
+			sendReports(pump, SOAK_WARMUP_MESSAGES);
+			long heapAfterWarmup = usedHeapAfterGc();
+			sendReports(pump, SOAK_MESSAGES - SOAK_WARMUP_MESSAGES);
+			assertEquals(SOAK_MESSAGES, reader.get(60, TimeUnit.SECONDS)
+					.intValue());
+			long growth = usedHeapAfterGc() - heapAfterWarmup;
+			assertTrue("Heap grew by " + growth + " bytes",
+					growth < ALLOWED_HEAP_GROWTH);
+			assertTrue(pump.a.handleTableSize() <= 2 * DEFAULT_MESSAGE_LIMIT);
+		} finally {
+			executorService.shutdownNow();
+		}
+	}
+
+	private static void sendReports(MessageIOPump pump, int count)
+			throws IOException {
+		for (int i = 0; i < count; i++) {
+			pump.a.send(new Message.ReportScore(Score.maintenance(i % 100)
+					.science(i % 7)));
+		}
+	}
+
+	private static long usedHeapAfterGc() throws InterruptedException {
+		Runtime runtime = Runtime.getRuntime();
+		for (int i = 0; i < 3; i++) {
+			System.gc();
+			Thread.sleep(50);
+		}
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+}
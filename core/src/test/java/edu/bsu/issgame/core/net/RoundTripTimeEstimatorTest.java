@@ -0,0 +1,63 @@
+/*
+  Copyright 2015 Ball State University
+
+  This file is part of Collaboration Station.
+
+  Collaboration Station is free software: you can redistribute it
+  and/or modify it under the terms of the GNU General Public
+  License as published by the Free Software Foundation, either
+  version 3 of the License, or (at your option) any later version.
+
+  Collaboration Station is distributed in the hope that it will
+  be useful, but WITHOUT ANY WARRANTY; without even the implied
+  warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+  PURPOSE.  See the GNU General Public License for more details.
+
+  You should have received a copy of the GNU General Public
+  License along with Collaboration Station.  If not, see
+  <http://www.gnu.org/licenses/>.
+*/
+package edu.bsu.issgame.core.net;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class RoundTripTimeEstimatorTest {
+
+	private final RoundTripTimeEstimator estimator = new RoundTripTimeEstimator(
+			1000, 10, 100000);
+
+	@Test
+	public void testInitialTimeoutBeforeSamples() {
+		assertFalse(estimator.hasSamples());
+		assertEquals(1000, estimator.timeoutNanos());
+	}
+
+	@Test
+	public void testFirstSampleSetsSmoothedValueAndHalfVariation() {
+		estimator.addSample(200);
+		assertEquals(200, estimator.smoothedNanos());
+		assertEquals(100, estimator.variationNanos());
+		assertEquals(600, estimator.timeoutNanos());
+	}
+
+	@Test
+	public void testSteadySamplesShrinkTheTimeout() {
+		for (int i = 0; i < 100; i++) {
+			estimator.addSample(200);
+		}
+		assertEquals(200, estimator.smoothedNanos());
+		assertTrue(estimator.timeoutNanos() < 220);
+	}
+
+	@Test
+	public void testTimeoutIsClamped() {
+		estimator.addSample(1);
+		assertEquals(10, estimator.timeoutNanos());
+		estimator.addSample(10000000);
+		assertEquals(100000, estimator.timeoutNanos());
+	}
+}
@@ -0,0 +1,109 @@
+/*
+  Copyright 2015 Ball State University
+
+  This file is part of Collaboration Station.
+
+  Collaboration Station is free software: you can redistribute it
+  and/or modify it under the terms of the GNU General Public
+  License as published by the Free Software Foundation, either
+  version 3 of the License, or (at your option) any later version.
+
+  Collaboration Station is distributed in the hope that it will
+  be useful, but WITHOUT ANY WARRANTY; without even the implied
+  warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+  PURPOSE.  See the GNU General Public License for more details.
+
+  You should have received a copy of the GNU General Public
+  License along with Collaboration Station.  If not, see
+  <http://www.gnu.org/licenses/>.
+*/
+package edu.bsu.issgame.core.net;
+
+import java.util.List;
+import java.util.UUID;
+
+import com.google.common.collect.ImmutableList;
+
+import edu.bsu.issgame.core.Country;
+import edu.bsu.issgame.core.MinigameType;
+import edu.bsu.issgame.core.PlayerMinigameMap;
+import edu.bsu.issgame.core.Score;
+import edu.bsu.issgame.core.Scoreboard;
+import edu.bsu.issgame.core.assetmgt.Jukebox.Track;
+import edu.bsu.issgame.core.mission.Exposition;
+import edu.bsu.issgame.core.mission.RoleBasedExposition;
+import edu.bsu.issgame.core.mission.Scenario;
+import edu.bsu.issgame.core.mission.TextExposition;
+
+/**
+ * One representative instance of every {@link Message} type, filled in the
+ * way a four-player expedition would fill them.
+ */
+public final class SampleMessages {
+
+	public static final ClientId USA = new ClientId(Country.USA,
+			UUID.randomUUID());
+	public static final ClientId CHINA = new ClientId(Country.CHINA,
+			UUID.randomUUID());
+	public static final ClientId CANADA = new ClientId(Country.CANADA,
+			UUID.randomUUID());
+	public static final ClientId JAPAN = new ClientId(Country.JAPAN,
+			UUID.randomUUID());
+
+	public static final Exposition INTRODUCTION = RoleBasedExposition
+			.forCrew("You are an Astronaut on the International Space Station.")
+			.andCommanderText("You are the Commander.");
+
+	public static final Scenario SCENARIO = Scenario
+			.withExposition(
+					TextExposition
+							.fromText("You've made it safely aboard the ISS!"))
+			.andTrack(Track.MINIGAME_MUSIC_2)
+			.andGoal(Score.maintenance(25).science(15));
+
+	public static Scoreboard scoreboard() {
+		Scoreboard scoreboard = new Scoreboard();
+		scoreboard.put(USA, Score.maintenance(4).science(12));
+		scoreboard.put(CHINA, Score.maintenance(9).science(0));
+		scoreboard.put(CANADA, Score.maintenance(0).science(20));
+		scoreboard.put(JAPAN, Score.maintenance(14).science(3));
+		return scoreboard;
+	}
+
+	public static PlayerMinigameMap playerMinigameMap() {
+		PlayerMinigameMap map = new PlayerMinigameMap();
+		map.put(USA, MinigameType.MEMORY);
+		map.put(CHINA, MinigameType.SLIDING_PUZZLE);
+		map.put(CANADA, MinigameType.TILE_ROTATION);
+		map.put(JAPAN, MinigameType.PATTERN_REPEAT);
+		return map;
+	}
+
+	public static List<Message> all() {
+		Message.RequestStartScenario request = new Message.RequestStartScenario(
+				playerMinigameMap());
+		return ImmutableList.<Message> of(//
+				new Message.Hello("Expedition 42", 7),//
+				new Message.Introduce(UUID.randomUUID()),//
+				new Message.VersionMismatch(),//
+				new Message.Welcome(ImmutableList.of(USA, CHINA, CANADA, JAPAN)),//
+				new Message.StartMission(INTRODUCTION),//
+				new Message.RequestStartGame(),//
+				request,//
+				new Message.StartScenario(request),//
+				new Message.ReportScore(Score.maintenance(4).science(12)),//
+				new Message.ScenarioFinishedWithSuccess(scoreboard(), SCENARIO),//
+				new Message.ServerGoingDown(),//
+				new Message.ScenarioFinishedSuccesfullyEndingMission(
+						scoreboard(), TextExposition.fromText("Congratulations!")),//
+				new Message.ScenarioFinishedInFailure(scoreboard()),//
+				new Message.AdvanceToScenarioSetup(SCENARIO),//
+				new Message.RequestAdvanceToScenarioSetup(),//
+				new Message.Ping(1000L),//
+				new Message.PingAck(1000L),//
+				Message.RequestStartMission.instance());
+	}
+
+	private SampleMessages() {
+	}
+}
@@ -20,6 +20,8 @@
 package edu.bsu.issgame.core.net.client;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 
@@ -41,10 +43,12 @@ import com.google.common.collect.ImmutableList;
 import edu.bsu.issgame.core.Country;
 import edu.bsu.issgame.core.PlayerMinigameMap;
 import edu.bsu.issgame.core.mission.Exposition;
+import edu.bsu.issgame.core.net.AllocationCounter;
 import edu.bsu.issgame.core.net.ClientId;
 import edu.bsu.issgame.core.net.HeadlessTestCase;
 import edu.bsu.issgame.core.net.Message;
 import edu.bsu.issgame.core.net.Message.Introduce;
+import edu.bsu.issgame.core.net.Message.PingAck;
 import edu.bsu.issgame.core.net.Message.RequestStartGame;
 import edu.bsu.issgame.core.net.Message.VersionMismatch;
 import edu.bsu.issgame.core.net.TestClientIO;
@@ -159,4 +163,29 @@ public class ClientTest extends HeadlessTestCase {
 				mock(Exposition.class));
 		client.receive(startMessage);
 	}
+
+	@Test
+	public void testReceive_steadyState_allocatesNothingBeyondTheMessage()
+			throws IOException {
+		assumeTrue(AllocationCounter.isSupported());
+		Message[] received = new Message[1000];
+		for (int i = 0; i < received.length; i++) {
+			received[i] = new PingAck(i);
+		}
+		for (int i = 0; i < 20; i++) {
+			receiveAll(received);
+		}
+		long before = AllocationCounter.allocatedBytes();
+		for (int i = 0; i < 100; i++) {
+			receiveAll(received);
+		}
+		long allocated = AllocationCounter.allocatedBytes() - before;
+		assertTrue("Allocated " + allocated + " bytes", allocated < 1024);
+	}
+
+	private void receiveAll(Message[] messages) throws IOException {
+		for (Message message : messages) {
+			client.receive(message);
+		}
+	}
 }
@@ -0,0 +1,122 @@
+/*
+  Copyright 2015 Ball State University
+
+  This file is part of Collaboration Station.
+
+  Collaboration Station is free software: you can redistribute it
+  and/or modify it under the terms of the GNU General Public
+  License as published by the Free Software Foundation, either
+  version 3 of the License, or (at your option) any later version.
+
+  Collaboration Station is distributed in the hope that it will
+  be useful, but WITHOUT ANY WARRANTY; without even the implied
+  warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+  PURPOSE.  See the GNU General Public License for more details.
+
+  You should have received a copy of the GNU General Public
+  License along with Collaboration Station.  If not, see
+  <http://www.gnu.org/licenses/>.
+*/
+package edu.bsu.issgame.core.net.server;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.google.common.collect.Lists;
+
+import edu.bsu.issgame.core.net.FrameSink;
+import edu.bsu.issgame.core.net.HeadlessTestCase;
+import edu.bsu.issgame.core.net.Message;
+import edu.bsu.issgame.core.net.MessageCodec;
+import edu.bsu.issgame.core.net.MessageSink;
+import edu.bsu.issgame.core.net.SampleMessages;
+
+/**
+ * Compares encoding a broadcast once per client against encoding it once
+ * and sharing the frame among the {@link OutboundQueue}s. Reports the time
+ * per broadcast until every client's copy has been written, and the deepest
+ * outbound queue seen. Run with {@code main}; it is not part of the
+ * test suite.
+ */
+public final class BroadcastBenchmark extends HeadlessTestCase {
+
+	private static final int[] CLIENT_COUNTS = { 4, 32, 256 };
+	private static final int BROADCASTS = 2000;
+
+	public static void main(String[] args) throws Exception {
+		Message message = new Message.ScenarioFinishedWithSuccess(
+				SampleMessages.scoreboard(), SampleMessages.SCENARIO);
+		run(null, CLIENT_COUNTS[0], message, false);
+		run(null, CLIENT_COUNTS[0], message, true);
+		System.out.println(String.format("%-14s %8s %14s %12s", "strategy",
+				"clients", "us/broadcast", "max depth"));
+		for (int clients : CLIENT_COUNTS) {
+			run("per client", clients, message, false);
+			run("encode once", clients, message, true);
+		}
+	}
+
+	private static void run(String name, int clientCount, Message message,
+			boolean encodeOnce) throws Exception {
+		ExecutorService executorService = Executors.newCachedThreadPool();
+		CountDownLatch done = new CountDownLatch(clientCount * BROADCASTS);
+		List<OutboundQueue> queues = Lists.newArrayList();
+		for (int i = 0; i < clientCount; i++) {
+			OutboundQueue queue = new OutboundQueue(new DiscardingSink(done));
+			queue.startWriter(executorService);
+			queues.add(queue);
+		}
+		int maxDepth = 0;
+		long start = System.nanoTime();
+		for (int i = 0; i < BROADCASTS; i++) {
+			byte[] frame = encodeOnce ? MessageCodec.instance().encode(message)
+					: null;
+			for (OutboundQueue queue : queues) {
+				queue.enqueue(message, frame);
+				maxDepth = Math.max(maxDepth, queue.depth());
+			}
+		}
+		done.await();
+		long elapsed = System.nanoTime() - start;
+		executorService.shutdownNow();
+		if (name == null) {
+			return;
+		}
+		System.out.println(String.format("%-14s %8d %14.1f %12d", name,
+				clientCount, elapsed / 1000.0 / BROADCASTS, maxDepth));
+	}
+
+	private static final class DiscardingSink implements FrameSink {
+		private final CountDownLatch done;
+
+		DiscardingSink(CountDownLatch done) {
+			this.done = done;
+		}
+
+		@Override
+		public MessageSink send(Message message) throws IOException {
+			sendFrame(MessageCodec.instance().encode(message));
+			return this;
+		}
+
+		@Override
+		public void sendFrame(byte[] frame) {
+			done.countDown();
+		}
+
+		@Override
+		public void cancel() {
+		}
+
+		@Override
+		public boolean isNetworked() {
+			return true;
+		}
+	}
+
+	private BroadcastBenchmark() {
+	}
+}
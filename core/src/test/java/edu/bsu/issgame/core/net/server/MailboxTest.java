@@ -0,0 +1,132 @@
+/*
+  Copyright 2015 Ball State University
+
+  This file is part of Collaboration Station.
+
+  Collaboration Station is free software: you can redistribute it
+  and/or modify it under the terms of the GNU General Public
+  License as published by the Free Software Foundation, either
+  version 3 of the License, or (at your option) any later version.
+
+  Collaboration Station is distributed in the hope that it will
+  be useful, but WITHOUT ANY WARRANTY; without even the implied
+  warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+  PURPOSE.  See the GNU General Public License for more details.
+
+  You should have received a copy of the GNU General Public
+  License along with Collaboration Station.  If not, see
+  <http://www.gnu.org/licenses/>.
+*/
+package edu.bsu.issgame.core.net.server;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+
+import edu.bsu.issgame.core.net.HeadlessTestCase;
+
+public class MailboxTest extends HeadlessTestCase {
+
+	private static final int TIMEOUT_MS = 2000;
+
+	private ExecutorService executorService;
+	private Mailbox mailbox;
+
+	@Before
+	public void setUp() {
+		executorService = Executors.newCachedThreadPool();
+		mailbox = new Mailbox();
+	}
+
+	@After
+	public void tearDown() {
+		executorService.shutdownNow();
+	}
+
+	@Test
+	public void testHandlesEventsInPostedOrder() throws InterruptedException {
+		final List<Integer> handled = Lists.newArrayList();
+		for (int i = 0; i < 100; i++) {
+			final int value = i;
+			mailbox.post(new Runnable() {
+				@Override
+				public void run() {
+					handled.add(value);
+				}
+			});
+		}
+		CountDownLatch done = postLatch();
+		mailbox.start(executorService);
+		assertTrue(done.await(TIMEOUT_MS, TimeUnit.MILLISECONDS));
+		for (int i = 0; i < 100; i++) {
+			assertEquals(i, handled.get(i).intValue());
+		}
+	}
+
+	@Test
+	public void testHandlesEventsOnOneThread() throws InterruptedException {
+		final List<Thread> threads = Lists.newArrayList();
+		mailbox.start(executorService);
+		for (int i = 0; i < 10; i++) {
+			mailbox.post(new Runnable() {
+				@Override
+				public void run() {
+					threads.add(Thread.currentThread());
+				}
+			});
+		}
+		assertTrue(postLatch().await(TIMEOUT_MS, TimeUnit.MILLISECONDS));
+		for (Thread thread : threads) {
+			assertEquals(threads.get(0), thread);
+		}
+	}
+
+	@Test
+	public void testStopHandlesEventsAlreadyPosted()
+			throws InterruptedException {
+		CountDownLatch handled = postLatch();
+		mailbox.stop();
+		CountDownLatch notHandled = postLatch();
+		mailbox.start(executorService);
+		assertTrue(handled.await(TIMEOUT_MS, TimeUnit.MILLISECONDS));
+		Thread.sleep(20);
+		assertEquals(1, notHandled.getCount());
+	}
+
+	@Test
+	public void testFailingEventDoesNotStopTheMailbox()
+			throws InterruptedException {
+		mailbox.post(new Runnable() {
+			@Override
+			public void run() {
+				throw new IllegalStateException("Expected by the test.");
+			}
+		});
+		CountDownLatch done = postLatch();
+		mailbox.start(executorService);
+		assertTrue(done.await(TIMEOUT_MS, TimeUnit.MILLISECONDS));
+		assertEquals(2, mailbox.handledCount());
+	}
+
+	private CountDownLatch postLatch() {
+		final CountDownLatch latch = new CountDownLatch(1);
+		mailbox.post(new Runnable() {
+			@Override
+			public void run() {
+				latch.countDown();
+			}
+		});
+		return latch;
+	}
+}
@@ -0,0 +1,185 @@
+/*
+  Copyright 2015 Ball State University
+
+  This file is part of Collaboration Station.
+
+  Collaboration Station is free software: you can redistribute it
+  and/or modify it under the terms of the GNU General Public
+  License as published by the Free Software Foundation, either
+  version 3 of the License, or (at your option) any later version.
+
+  Collaboration Station is distributed in the hope that it will
+  be useful, but WITHOUT ANY WARRANTY; without even the implied
+  warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+  PURPOSE.  See the GNU General Public License for more details.
+
+  You should have received a copy of the GNU General Public
+  License along with Collaboration Station.  If not, see
+  <http://www.gnu.org/licenses/>.
+*/
+package edu.bsu.issgame.core.net.server;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import react.Slot;
+import edu.bsu.issgame.core.Score;
+import edu.bsu.issgame.core.net.FramedMessageIO;
+import edu.bsu.issgame.core.net.HeadlessTestCase;
+import edu.bsu.issgame.core.net.Message;
+import edu.bsu.issgame.core.net.MessageIO;
+
+public class NioConnectionAccepterTest extends HeadlessTestCase {
+
+	private static final int TEST_VERSIONCODE = 0;
+	private static final int TIMEOUT_MS = 2000;
+
+	private ExecutorService executorService;
+	private NioConnectionAccepter accepter;
+	private Server server;
+	private MessageIO client;
+	private ClientHandler handler;
+	private final BlockingQueue<Message> receivedByServer = new LinkedBlockingQueue<Message>();
+
+	@Before
+	public void setUp() throws IOException {
+		executorService = Executors.newCachedThreadPool();
+		accepter = new NioConnectionAccepter(0);
+		server = new Server(executorService, accepter, "DummyExpeditionName",
+				TEST_VERSIONCODE);
+		Socket socket = new Socket(InetAddress.getLocalHost(),
+				accepter.localPort());
+		client = FramedMessageIO.overSocket(socket);
+		handler = accepter.acceptClientConnection(server);
+		handler.onReceived().connect(new Slot<MessageReceivedEvent>() {
+			@Override
+			public void onEmit(MessageReceivedEvent event) {
+				receivedByServer.add(event.message);
+			}
+		});
+		handler.run();
+	}
+
+	@After
+	public void tearDown() throws IOException {
+		accepter.shutdown();
+		client.cancel();
+		executorService.shutdown();
+	}
+
+	@Test
+	public void testRun_sendsHello() throws Exception {
+		assertEquals(Message.Hello.class, client.read().getClass());
+	}
+
+	@Test
+	public void testIntroduction_isDeliveredAndIdentifiesClient()
+			throws Exception {
+		client.read();
+		UUID uuid = UUID.randomUUID();
+		client.send(new Message.Introduce(uuid));
+		Message received = receivedByServer.poll(TIMEOUT_MS,
+				TimeUnit.MILLISECONDS);
+		assertNotNull(received);
+		assertEquals(uuid, handler.id().uuid);
+	}
+
+	@Test
+	public void testManyMessages_arriveInOrder() throws Exception {
+		client.read();
+		client.send(new Message.Introduce(UUID.randomUUID()));
+		for (int i = 0; i < 100; i++) {
+			client.send(new Message.ReportScore(Score.maintenance(i)
+					.science(0)));
+		}
+		receivedByServer.poll(TIMEOUT_MS, TimeUnit.MILLISECONDS);
+		for (int i = 0; i < 100; i++) {
+			Message.ReportScore report = (Message.ReportScore) receivedByServer
+					.poll(TIMEOUT_MS, TimeUnit.MILLISECONDS);
+			assertEquals(i, report.score.maintenance);
+		}
+	}
+
+	@Test
+	public void testRepliesAndSendsFromOtherThreads_arriveAsWholeFrames()
+			throws Exception {
+		final int replies = 2000;
+		final int sends = 20000;
+		client.read();
+		handler.onReceived().connect(new Slot<MessageReceivedEvent>() {
+			@Override
+			public void onEmit(MessageReceivedEvent event) {
+				if (event.message instanceof Message.ReportScore) {
+					sendQuietly(Score.maintenance(0).science(1));
+				}
+			}
+		});
+		executorService.execute(new Runnable() {
+			@Override
+			public void run() {
+				for (int i = 0; i < sends; i++) {
+					sendQuietly(Score.maintenance(i).science(0));
+				}
+			}
+		});
+		client.send(new Message.Introduce(UUID.randomUUID()));
+		for (int i = 0; i < replies; i++) {
+			client.send(new Message.ReportScore(Score.maintenance(0).science(0)));
+		}
+		int repliesRead = 0;
+		int lastSend = -1;
+		for (int i = 0; i < replies + sends; i++) {
+			Message.ReportScore report = (Message.ReportScore) client.read();
+			if (report.score.science == 1) {
+				repliesRead++;
+			} else {
+				assertEquals(lastSend + 1, report.score.maintenance);
+				lastSend = report.score.maintenance;
+			}
+		}
+		assertEquals(replies, repliesRead);
+	}
+
+	private void sendQuietly(Score score) {
+		try {
+			handler.io.send(new Message.ReportScore(score));
+		} catch (IOException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	@Test
+	public void testCancel_flushesPendingMessagesBeforeClosing()
+			throws Exception {
+		client.read();
+		handler.io.send(new Message.ServerGoingDown());
+		handler.cancel();
+		assertEquals(Message.ServerGoingDown.class, client.read().getClass());
+		assertTrue(readReachesEndOfStream());
+	}
+
+	private boolean readReachesEndOfStream() throws Exception {
+		try {
+			client.read();
+			return false;
+		} catch (EOFException expected) {
+			return true;
+		}
+	}
+}
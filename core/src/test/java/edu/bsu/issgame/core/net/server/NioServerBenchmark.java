@@ -0,0 +1,153 @@
+/*
+  Copyright 2015 Ball State University
+
+  This file is part of Collaboration Station.
+
+  Collaboration Station is free software: you can redistribute it
+  and/or modify it under the terms of the GNU General Public
+  License as published by the Free Software Foundation, either
+  version 3 of the License, or (at your option) any later version.
+
+  Collaboration Station is distributed in the hope that it will
+  be useful, but WITHOUT ANY WARRANTY; without even the implied
+  warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+  PURPOSE.  See the GNU General Public License for more details.
+
+  You should have received a copy of the GNU General Public
+  License along with Collaboration Station.  If not, see
+  <http://www.gnu.org/licenses/>.
+*/
+package edu.bsu.issgame.core.net.server;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import react.Slot;
+
+import com.google.common.collect.Lists;
+
+import edu.bsu.issgame.core.net.FramedMessageIO;
+import edu.bsu.issgame.core.net.HeadlessTestCase;
+import edu.bsu.issgame.core.net.Message;
+import edu.bsu.issgame.core.net.MessageIO;
+import edu.bsu.issgame.core.net.WireFormat;
+
+/**
+ * Loopback comparison of the thread-per-client {@link SocketConnectionAccepter}
+ * and the selector-based {@link NioConnectionAccepter}. Each simulated client
+ * sends a ping that the server answers; all clients are driven from the
+ * benchmark thread so that the reported thread counts belong to the server.
+ * Run with {@code main}; it is not part of the test suite.
+ */
+public final class NioServerBenchmark extends HeadlessTestCase {
+
+	private static final int[] CLIENT_COUNTS = { 4, 32, 256 };
+	private static final int ROUNDS = 50;
+	private static final int FIRST_PORT = 18910;
+
+	private interface AccepterFactory {
+		ConnectionAccepter create(int port) throws IOException;
+	}
+
+	public static void main(String[] args) throws Exception {
+		System.out.println(String.format("%-10s %8s %8s %12s %12s",
+				"accepter", "clients", "threads", "mean us", "p99 us"));
+		int port = FIRST_PORT;
+		for (int clients : CLIENT_COUNTS) {
+			run("blocking", clients, port++, new AccepterFactory() {
+				@Override
+				public ConnectionAccepter create(int port) throws IOException {
+					return new SocketConnectionAccepter(port, WireFormat.BINARY);
+				}
+			});
+			run("nio", clients, port++, new AccepterFactory() {
+				@Override
+				public ConnectionAccepter create(int port) throws IOException {
+					return new NioConnectionAccepter(port);
+				}
+			});
+		}
+		System.exit(0);
+	}
+
+	private static void run(String name, int clientCount, int port,
+			AccepterFactory factory) throws Exception {
+		int threadsBefore = Thread.activeCount();
+		ExecutorService executorService = Executors.newCachedThreadPool();
+		ConnectionAccepter accepter = factory.create(port);
+		Server server = new Server(executorService, accepter, "Benchmark", 0);
+		List<MessageIO> clients = Lists.newArrayList();
+		for (int i = 0; i < clientCount; i++) {
+			Socket socket = new Socket(InetAddress.getLocalHost(), port);
+			clients.add(FramedMessageIO.overSocket(socket));
+			ClientHandler handler = accepter.acceptClientConnection(server);
+			handler.onReceived().connect(new Slot<MessageReceivedEvent>() {
+				@Override
+				public void onEmit(MessageReceivedEvent event) {
+					if (event.message instanceof Message.Ping) {
+						try {
+							event.handler.io.send(Message.PingAck
+									.acknowledging((Message.Ping) event.message));
+						} catch (IOException e) {
+							throw new RuntimeException(e);
+						}
+					}
+				}
+			});
+			executorService.execute(handler);
+		}
+		for (MessageIO client : clients) {
+			client.read();
+			client.send(new Message.Introduce(UUID.randomUUID()));
+		}
+		Thread.sleep(200);
+		int serverThreads = Thread.activeCount() - threadsBefore;
+
+		long[] latencies = new long[clientCount * ROUNDS];
+		long[] sentAt = new long[clientCount];
+		for (int round = 0; round < ROUNDS; round++) {
+			for (int i = 0; i < clientCount; i++) {
+				sentAt[i] = System.nanoTime();
+				clients.get(i).send(Message.Ping.sentNow());
+			}
+			for (int i = 0; i < clientCount; i++) {
+				clients.get(i).read();
+				latencies[round * clientCount + i] = System.nanoTime()
+						- sentAt[i];
+			}
+		}
+		Arrays.sort(latencies);
+		long total = 0;
+		for (long latency : latencies) {
+			total += latency;
+		}
+		System.out.println(String.format("%-10s %8d %8d %12d %12d", name,
+				clientCount, serverThreads, total / latencies.length / 1000,
+				latencies[latencies.length * 99 / 100] / 1000));
+
+		accepter.shutdown();
+		for (MessageIO client : clients) {
+			client.cancel();
+		}
+		executorService.shutdownNow();
+		executorService.awaitTermination(5, TimeUnit.SECONDS);
+		awaitThreadCount(threadsBefore);
+	}
+
+	private static void awaitThreadCount(int count)
+			throws InterruptedException {
+		for (int i = 0; i < 50 && Thread.activeCount() > count; i++) {
+			Thread.sleep(100);
+		}
+	}
+
+	private NioServerBenchmark() {
+	}
+}
@@ -0,0 +1,206 @@
+/*
+  Copyright 2015 Ball State University
+
+  This file is part of Collaboration Station.
+
+  Collaboration Station is free software: you can redistribute it
+  and/or modify it under the terms of the GNU General Public
+  License as published by the Free Software Foundation, either
+  version 3 of the License, or (at your option) any later version.
+
+  Collaboration Station is distributed in the hope that it will
+  be useful, but WITHOUT ANY WARRANTY; without even the implied
+  warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+  PURPOSE.  See the GNU General Public License for more details.
+
+  You should have received a copy of the GNU General Public
+  License along with Collaboration Station.  If not, see
+  <http://www.gnu.org/licenses/>.
+*/
+package edu.bsu.issgame.core.net.server;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+
+import edu.bsu.issgame.core.net.FrameSink;
+import edu.bsu.issgame.core.net.HeadlessTestCase;
+import edu.bsu.issgame.core.net.Message;
+import edu.bsu.issgame.core.net.MessageIO;
+
+public class OutboundQueueTest extends HeadlessTestCase {
+
+	private static final int TIMEOUT_MS = 2000;
+
+	private ExecutorService executorService;
+
+	@Before
+	public void setUp() {
+		executorService = Executors.newCachedThreadPool();
+	}
+
+	@After
+	public void tearDown() {
+		executorService.shutdownNow();
+	}
+
+	@Test
+	public void testMessagesAreWrittenInOrder() throws Exception {
+		RecordingIO io = new RecordingIO(10);
+		OutboundQueue queue = startedQueueFor(io);
+		List<Message> sent = Lists.newArrayList();
+		for (int i = 0; i < 10; i++) {
+			Message message = new Message.ServerGoingDown();
+			sent.add(message);
+			queue.enqueue(message, null);
+		}
+		assertTrue(io.written.await(TIMEOUT_MS, TimeUnit.MILLISECONDS));
+		assertEquals(sent, io.writes);
+	}
+
+	@Test
+	public void testSharedFrameIsWrittenToFrameSink() throws Exception {
+		FrameRecordingIO io = new FrameRecordingIO(1);
+		OutboundQueue queue = startedQueueFor(io);
+		byte[] frame = new byte[] { 1, 2, 3 };
+		queue.enqueue(new Message.ServerGoingDown(), frame);
+		assertTrue(io.written.await(TIMEOUT_MS, TimeUnit.MILLISECONDS));
+		assertSame(frame, io.writes.get(0));
+	}
+
+	@Test
+	public void testMessageIsWrittenWhenConnectionTakesNoFrames()
+			throws Exception {
+		RecordingIO io = new RecordingIO(1);
+		OutboundQueue queue = startedQueueFor(io);
+		Message message = new Message.ServerGoingDown();
+		queue.enqueue(message, new byte[] { 1, 2, 3 });
+		assertTrue(io.written.await(TIMEOUT_MS, TimeUnit.MILLISECONDS));
+		assertSame(message, io.writes.get(0));
+	}
+
+	@Test
+	public void testCloseCancelsAfterQueuedMessagesAreWritten()
+			throws Exception {
+		RecordingIO io = new RecordingIO(2);
+		io.blockWrites();
+		OutboundQueue queue = startedQueueFor(io);
+		queue.enqueue(new Message.ServerGoingDown(), null);
+		queue.enqueue(new Message.ServerGoingDown(), null);
+		queue.close();
+		assertFalse(io.cancelled.await(100, TimeUnit.MILLISECONDS));
+		io.unblockWrites();
+		assertTrue(io.cancelled.await(TIMEOUT_MS, TimeUnit.MILLISECONDS));
+		assertEquals(2, io.writes.size());
+	}
+
+	@Test
+	public void testSlowClientDoesNotDelayOthers() throws Exception {
+		RecordingIO slow = new RecordingIO(1);
+		slow.blockWrites();
+		RecordingIO fast = new RecordingIO(1);
+		OutboundQueue slowQueue = startedQueueFor(slow);
+		OutboundQueue fastQueue = startedQueueFor(fast);
+		Message message = new Message.ServerGoingDown();
+		slowQueue.enqueue(message, null);
+		slowQueue.enqueue(message, null);
+		fastQueue.enqueue(message, null);
+		assertTrue(fast.written.await(TIMEOUT_MS, TimeUnit.MILLISECONDS));
+		assertTrue(slow.writes.isEmpty());
+		assertTrue(slowQueue.depth() >= 1);
+		slow.unblockWrites();
+	}
+
+	@Test
+	public void testMessagesAreWrittenDirectlyBeforeWriterStarts()
+			throws Exception {
+		RecordingIO io = new RecordingIO(1);
+		OutboundQueue queue = new OutboundQueue(io);
+		queue.enqueue(new Message.ServerGoingDown(), null);
+		assertEquals(1, io.writes.size());
+		queue.close();
+		assertEquals(0, io.cancelled.getCount());
+	}
+
+	private OutboundQueue startedQueueFor(MessageIO io) {
+		OutboundQueue queue = new OutboundQueue(io);
+		queue.startWriter(executorService);
+		return queue;
+	}
+
+	private static class RecordingIO implements MessageIO {
+		final List<Object> writes = Lists.newCopyOnWriteArrayList();
+		final CountDownLatch written;
+		final CountDownLatch cancelled = new CountDownLatch(1);
+		private CountDownLatch gate = new CountDownLatch(0);
+
+		RecordingIO(int expectedWrites) {
+			written = new CountDownLatch(expectedWrites);
+		}
+
+		void blockWrites() {
+			gate = new CountDownLatch(1);
+		}
+
+		void unblockWrites() {
+			gate.countDown();
+		}
+
+		void record(Object written) throws IOException {
+			try {
+				gate.await();
+			} catch (InterruptedException e) {
+				throw new IOException("Interrupted");
+			}
+			writes.add(written);
+			this.written.countDown();
+		}
+
+		@Override
+		public Message read() {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public MessageIO send(Message message) throws IOException {
+			record(message);
+			return this;
+		}
+
+		@Override
+		public void cancel() {
+			cancelled.countDown();
+		}
+
+		@Override
+		public boolean isNetworked() {
+			return true;
+		}
+	}
+
+	private static final class FrameRecordingIO extends RecordingIO implements
+			FrameSink {
+		FrameRecordingIO(int expectedWrites) {
+			super(expectedWrites);
+		}
+
+		@Override
+		public void sendFrame(byte[] frame) throws IOException {
+			record(frame);
+		}
+	}
+}
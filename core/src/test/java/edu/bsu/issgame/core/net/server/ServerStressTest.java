@@ -0,0 +1,221 @@
+/*
+  Copyright 2015 Ball State University
+
+  This file is part of Collaboration Station.
+
+  Collaboration Station is free software: you can redistribute it
+  and/or modify it under the terms of the GNU General Public
+  License as published by the Free Software Foundation, either
+  version 3 of the License, or (at your option) any later version.
+
+  Collaboration Station is distributed in the hope that it will
+  be useful, but WITHOUT ANY WARRANTY; without even the implied
+  warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+  PURPOSE.  See the GNU General Public License for more details.
+
+  You should have received a copy of the GNU General Public
+  License along with Collaboration Station.  If not, see
+  <http://www.gnu.org/licenses/>.
+*/
+package edu.bsu.issgame.core.net.server;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static playn.core.PlayN.log;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import react.UnitSlot;
+
+import com.google.common.collect.Lists;
+
+import edu.bsu.issgame.core.Score;
+import edu.bsu.issgame.core.net.HeadlessTestCase;
+import edu.bsu.issgame.core.net.Message;
+import edu.bsu.issgame.core.net.MessageSink;
+import edu.bsu.issgame.core.net.MessageType;
+
+/**
+ * Many clients report their scores at the same time, each from its own
+ * thread, as their reader threads would. Every round must end with exactly
+ * one result for every client.
+ */
+public class ServerStressTest extends HeadlessTestCase {
+
+	private static final int CLIENTS = 32;
+	private static final int ROUNDS = 200;
+	private static final int TIMEOUT_MS = 5000;
+
+	private ExecutorService executorService;
+	private Server server;
+
+	@Before
+	public void setUp() throws InterruptedException {
+		executorService = Executors.newCachedThreadPool();
+		server = new Server(executorService, new IdleConnectionAccepter(),
+				"Stress", 0);
+		final CountDownLatch started = new CountDownLatch(1);
+		server.onServerStart().connect(new UnitSlot() {
+			@Override
+			public void onEmit() {
+				started.countDown();
+			}
+		});
+		executorService.execute(server);
+		assertTrue(started.await(TIMEOUT_MS, TimeUnit.MILLISECONDS));
+	}
+
+	@After
+	public void tearDown() {
+		server.shutdown();
+		executorService.shutdownNow();
+	}
+
+	@Test
+	public void testConcurrentScoreReports() throws Exception {
+		List<RecordingSink> ios = Lists.newArrayList();
+		final List<ClientHandler> handlers = Lists.newArrayList();
+		for (int i = 0; i < CLIENTS; i++) {
+			RecordingSink io = new RecordingSink(false);
+			ClientHandler handler = ClientHandler.eventDriven(io, "Stress", 0);
+			server.runClientHandler(handler);
+			handler.handle(new Message.Introduce(UUID.randomUUID()));
+			ios.add(io);
+			handlers.add(handler);
+		}
+		handlers.get(0).handle(new Message.RequestStartGame());
+		for (RecordingSink io : ios) {
+			assertTrue(io.missionStarted.tryAcquire(TIMEOUT_MS,
+					TimeUnit.MILLISECONDS));
+		}
+
+		List<Future<Integer>> reporters = Lists.newArrayList();
+		for (int i = 0; i < CLIENTS; i++) {
+			reporters.add(executorService.submit(reportEveryRound(
+					handlers.get(i), ios.get(i))));
+		}
+		for (Future<Integer> reporter : reporters) {
+			assertEquals(ROUNDS, reporter.get().intValue());
+		}
+		for (RecordingSink io : ios) {
+			assertEquals(ROUNDS, io.results);
+		}
+
+		log().info("Server mailbox after " + CLIENTS * ROUNDS
+				+ " concurrent score reports: " + server.mailbox);
+		assertTrue(server.mailbox.handledCount() >= CLIENTS * ROUNDS);
+		assertTrue(server.mailbox.maxDepth() >= 1);
+	}
+
+	@Test
+	public void testPingFailureDuringGame_dropsOnlyThatClient()
+			throws Exception {
+		RecordingSink silent = new RecordingSink(true);
+		RecordingSink live = new RecordingSink(false);
+		ClientHandler silentHandler = ClientHandler.eventDriven(silent,
+				"Stress", 0);
+		ClientHandler liveHandler = ClientHandler.eventDriven(live, "Stress",
+				0);
+		for (ClientHandler handler : Lists.newArrayList(silentHandler,
+				liveHandler)) {
+			server.runClientHandler(handler);
+			handler.handle(new Message.Introduce(UUID.randomUUID()));
+		}
+		liveHandler.handle(new Message.RequestStartGame());
+		assertTrue(live.missionStarted.tryAcquire(TIMEOUT_MS,
+				TimeUnit.MILLISECONDS));
+
+		// The silent client never answers its pings, so the round can only
+		// finish once it has been dropped.
+		liveHandler.handle(new Message.ReportScore(Score.ZERO));
+		assertTrue(live.roundFinished.tryAcquire(TIMEOUT_MS,
+				TimeUnit.MILLISECONDS));
+		assertFalse(server.wasShutdownRequested());
+	}
+
+	private static Callable<Integer> reportEveryRound(
+			final ClientHandler handler, final RecordingSink io) {
+		return new Callable<Integer>() {
+			@Override
+			public Integer call() throws InterruptedException {
+				int rounds = 0;
+				while (rounds < ROUNDS) {
+					handler.handle(new Message.ReportScore(Score.ZERO));
+					if (!io.roundFinished.tryAcquire(TIMEOUT_MS,
+							TimeUnit.MILLISECONDS)) {
+						break;
+					}
+					rounds++;
+				}
+				return rounds;
+			}
+		};
+	}
+
+	private static final class RecordingSink implements MessageSink {
+		final Semaphore missionStarted = new Semaphore(0);
+		final Semaphore roundFinished = new Semaphore(0);
+		volatile int results = 0;
+		private final boolean networked;
+
+		RecordingSink(boolean networked) {
+			this.networked = networked;
+		}
+
+		@Override
+		public MessageSink send(Message message) {
+			if (message.type() == MessageType.START_MISSION) {
+				missionStarted.release();
+			} else if (message.type() == MessageType.SCENARIO_FINISHED_IN_FAILURE) {
+				// Only the mailbox thread sends, so this is not a race.
+				results++;
+				roundFinished.release();
+			}
+			return this;
+		}
+
+		@Override
+		public void cancel() {
+		}
+
+		@Override
+		public boolean isNetworked() {
+			return networked;
+		}
+	}
+
+	private static final class IdleConnectionAccepter implements
+			ConnectionAccepter {
+		private final CountDownLatch shutdown = new CountDownLatch(1);
+
+		@Override
+		public ClientHandler acceptClientConnection(Server server)
+				throws IOException {
+			try {
+				shutdown.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			throw new IOException("Accepter shut down.");
+		}
+
+		@Override
+		public void shutdown() {
+			shutdown.countDown();
+		}
+	}
+}
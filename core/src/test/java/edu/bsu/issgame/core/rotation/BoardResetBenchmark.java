@@ -0,0 +1,115 @@
+/*
+  Copyright 2015 Ball State University
+
+  This file is part of Collaboration Station.
+
+  Collaboration Station is free software: you can redistribute it
+  and/or modify it under the terms of the GNU General Public
+  License as published by the Free Software Foundation, either
+  version 3 of the License, or (at your option) any later version.
+
+  Collaboration Station is distributed in the hope that it will
+  be useful, but WITHOUT ANY WARRANTY; without even the implied
+  warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+  PURPOSE.  See the GNU General Public License for more details.
+
+  You should have received a copy of the GNU General Public
+  License along with Collaboration Station.  If not, see
+  <http://www.gnu.org/licenses/>.
+*/
+package edu.bsu.issgame.core.rotation;
+
+import java.util.Arrays;
+
+import pythagoras.i.Dimension;
+import edu.bsu.issgame.core.util.BoardPool;
+
+/**
+ * Times the work the game thread does to lay the next rotation board, first
+ * generating it in place as the screen used to and then taking it from a
+ * {@link BoardPool} that has had time to fill between boards. A 60 FPS frame
+ * is about 16,700 microseconds. Run with {@code main}; it is not part of the
+ * test suite.
+ */
+public final class BoardResetBenchmark {
+
+	private static final int[] SIZES = { 4, 10 };
+	private static final int MIN_TAPS = 4;
+	private static final int MAX_TAPS = 14;
+	private static final int WARMUP_BOARDS = 200;
+	private static final int BOARDS = 1000;
+
+	public static void main(String[] args) throws InterruptedException {
+		System.out.println(String.format("%-8s %-12s %10s %10s %10s %10s",
+				"grid", "reset", "avg us", "p50 us", "p99 us", "max us"));
+		for (int size : SIZES) {
+			runSynchronous(size, WARMUP_BOARDS);
+			print(size, "synchronous", runSynchronous(size, BOARDS));
+			runPooled(size, WARMUP_BOARDS);
+			print(size, "pooled", runPooled(size, BOARDS));
+		}
+	}
+
+	private static void print(int size, String reset, long[] nanos) {
+		long total = 0;
+		for (long n : nanos) {
+			total += n;
+		}
+		Arrays.sort(nanos);
+		System.out.println(String.format(
+				"%-8s %-12s %10.1f %10.1f %10.1f %10.1f", size + "x" + size,
+				reset, total / 1000.0 / nanos.length,
+				nanos[nanos.length / 2] / 1000.0,
+				nanos[nanos.length * 99 / 100] / 1000.0,
+				nanos[nanos.length - 1] / 1000.0));
+	}
+
+	private static Grid createGrid(int size) {
+		return Grid.create(new Dimension(size, size))//
+				.withStart(Direction.WEST).of(0, 0)//
+				.andFinish(Direction.EAST).of(size - 1, size - 1);
+	}
+
+	private static long[] runSynchronous(int size, int boards) {
+		Grid grid = createGrid(size);
+		PathGenerator generator = PathGenerator.withSeed(size);
+		GridRandomizer randomizer = GridRandomizer.withSeed(size);
+		long[] nanos = new long[boards];
+		for (int i = 0; i < boards; i++) {
+			long start = System.nanoTime();
+			grid.beginBulkUpdate();
+			try {
+				grid.clear();
+				grid.layPath(generator.generatePathFor(grid));
+				grid.addFillCells();
+			} finally {
+				grid.endBulkUpdate();
+			}
+			randomizer.randomize(grid, MIN_TAPS, MAX_TAPS);
+			nanos[i] = System.nanoTime() - start;
+		}
+		return nanos;
+	}
+
+	private static long[] runPooled(int size, int boards)
+			throws InterruptedException {
+		Grid grid = createGrid(size);
+		BoardPool<RotationBoard> pool = new BoardPool<RotationBoard>(
+				"Benchmark boards", RotationBoard.generatorFor(grid, MIN_TAPS,
+						MAX_TAPS), size).start();
+		long[] nanos = new long[boards];
+		for (int i = 0; i < boards; i++) {
+			while (pool.ready() < BoardPool.DEFAULT_CAPACITY) {
+				Thread.sleep(1);
+			}
+			long start = System.nanoTime();
+			pool.take().restoreOnto(grid);
+			nanos[i] = System.nanoTime() - start;
+		}
+		pool.stop();
+		return nanos;
+	}
+
+	private BoardResetBenchmark() {
+	}
+}
@@ -0,0 +1,111 @@
+/*
+  Copyright 2015 Ball State University
+
+  This file is part of Collaboration Station.
+
+  Collaboration Station is free software: you can redistribute it
+  and/or modify it under the terms of the GNU General Public
+  License as published by the Free Software Foundation, either
+  version 3 of the License, or (at your option) any later version.
+
+  Collaboration Station is distributed in the hope that it will
+  be useful, but WITHOUT ANY WARRANTY; without even the implied
+  warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+  PURPOSE.  See the GNU General Public License for more details.
+
+  You should have received a copy of the GNU General Public
+  License along with Collaboration Station.  If not, see
+  <http://www.gnu.org/licenses/>.
+*/
+package edu.bsu.issgame.core.rotation;
+
+import java.util.Random;
+
+import pythagoras.i.Dimension;
+
+/**
+ * Times {@link Grid#isSolved()}, {@link GridRandomizer#randomize(Grid)} and
+ * single tile turns on filled grids of increasing size. Run with {@code main}; it is not part of
+ * the test suite.
+ */
+public final class GridBenchmark {
+
+	private static final int[] SIZES = { 5, 20, 100 };
+	private static final int WARMUP_ITERATIONS = 2000;
+	private static final int ITERATIONS = 10000;
+
+	public static void main(String[] args) {
+		System.out.println(String.format("%-10s %16s %16s %16s", "grid",
+				"isSolved ns", "randomize ns", "turn ns"));
+		for (int size : SIZES) {
+			Grid grid = createSolvedGrid(size);
+			timeIsSolved(grid, WARMUP_ITERATIONS);
+			timeRandomize(grid, WARMUP_ITERATIONS);
+			long solvedNanos = timeIsSolved(createSolvedGrid(size), ITERATIONS);
+			long randomizeNanos = timeRandomize(grid, ITERATIONS);
+			timeTurns(grid, WARMUP_ITERATIONS);
+			long turnNanos = timeTurns(grid, ITERATIONS);
+			System.out.println(String.format("%-10s %16d %16d %16d", size
+					+ "x" + size, solvedNanos / ITERATIONS, randomizeNanos
+					/ ITERATIONS, turnNanos / ITERATIONS));
+		}
+	}
+
+	/**
+	 * Lays a path that snakes across every row, so that the whole grid is
+	 * connected to the start.
+	 */
+	private static Grid createSolvedGrid(int size) {
+		boolean endsOnTheLeft = size % 2 == 0;
+		Grid grid = Grid.create(new Dimension(size, size))//
+				.withStart(Direction.WEST).of(0, 0)//
+				.andFinish(endsOnTheLeft ? Direction.WEST : Direction.EAST)//
+				.of(endsOnTheLeft ? 0 : size - 1, size - 1);
+		Path path = Path.create();
+		for (int row = 0; row < size; row++) {
+			for (int i = 0; i < size; i++) {
+				path.add(row % 2 == 0 ? i : size - 1 - i, row);
+			}
+		}
+		grid.layPath(path);
+		grid.addFillCells();
+		return grid;
+	}
+
+	private static long timeIsSolved(Grid grid, int iterations) {
+		int solved = 0;
+		long start = System.nanoTime();
+		for (int i = 0; i < iterations; i++) {
+			if (grid.isSolved()) {
+				solved++;
+			}
+		}
+		long elapsed = System.nanoTime() - start;
+		if (solved != iterations) {
+			throw new IllegalStateException("Grid should stay solved");
+		}
+		return elapsed;
+	}
+
+	private static long timeRandomize(Grid grid, int iterations) {
+		GridRandomizer randomizer = GridRandomizer.instance();
+		long start = System.nanoTime();
+		for (int i = 0; i < iterations; i++) {
+			randomizer.randomize(grid);
+		}
+		return System.nanoTime() - start;
+	}
+
+	private static long timeTurns(Grid grid, int iterations) {
+		Random random = new Random(0);
+		long start = System.nanoTime();
+		for (int i = 0; i < iterations; i++) {
+			grid.at(random.nextInt(grid.width()),
+					random.nextInt(grid.height())).turnRight();
+		}
+		return System.nanoTime() - start;
+	}
+
+	private GridBenchmark() {
+	}
+}
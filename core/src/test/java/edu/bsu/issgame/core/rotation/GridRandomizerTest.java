@@ -0,0 +1,70 @@
+/*
+  Copyright 2015 Ball State University
+
+  This file is part of Collaboration Station.
+
+  Collaboration Station is free software: you can redistribute it
+  and/or modify it under the terms of the GNU General Public
+  License as published by the Free Software Foundation, either
+  version 3 of the License, or (at your option) any later version.
+
+  Collaboration Station is distributed in the hope that it will
+  be useful, but WITHOUT ANY WARRANTY; without even the implied
+  warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+  PURPOSE.  See the GNU General Public License for more details.
+
+  You should have received a copy of the GNU General Public
+  License along with Collaboration Station.  If not, see
+  <http://www.gnu.org/licenses/>.
+*/
+package edu.bsu.issgame.core.rotation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import pythagoras.i.Dimension;
+
+public class GridRandomizerTest {
+
+	private Grid grid;
+
+	@Test
+	public void testRandomize_withTapRange_tapsAreInRange() {
+		for (int i = 0; i < 50; i++) {
+			givenA4x4GridWithALaidPath(i);
+			int taps = GridRandomizer.instance().randomize(grid, 4, 14);
+			assertTrue("Taps: " + taps, taps >= 4 && taps <= 14);
+		}
+	}
+
+	private void givenA4x4GridWithALaidPath(long seed) {
+		grid = Grid.create(new Dimension(4, 4))//
+				.withStart(Direction.WEST).of(0, 0)//
+				.andFinish(Direction.EAST).of(3, 3);
+		grid.layPath(PathGenerator.withSeed(seed).generatePathFor(grid));
+		grid.addFillCells();
+	}
+
+	@Test
+	public void testRandomize_withTapRange_returnsMinimumTapsOfKeptBoard() {
+		givenA4x4GridWithALaidPath(1);
+		int taps = GridRandomizer.instance().randomize(grid, 4, 14);
+		assertEquals(GridSolver.create().minimumTaps(grid), taps);
+	}
+
+	@Test
+	public void testRandomize_isNotSolved() {
+		givenA4x4GridWithALaidPath(2);
+		GridRandomizer.instance().randomize(grid);
+		assertFalse(grid.isSolved());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testRandomize_emptyTapRange_throwsException() {
+		givenA4x4GridWithALaidPath(3);
+		GridRandomizer.instance().randomize(grid, 5, 4);
+	}
+}
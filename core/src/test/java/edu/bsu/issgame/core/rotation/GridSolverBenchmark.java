@@ -0,0 +1,97 @@
+/*
+  Copyright 2015 Ball State University
+
+  This file is part of Collaboration Station.
+
+  Collaboration Station is free software: you can redistribute it
+  and/or modify it under the terms of the GNU General Public
+  License as published by the Free Software Foundation, either
+  version 3 of the License, or (at your option) any later version.
+
+  Collaboration Station is distributed in the hope that it will
+  be useful, but WITHOUT ANY WARRANTY; without even the implied
+  warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+  PURPOSE.  See the GNU General Public License for more details.
+
+  You should have received a copy of the GNU General Public
+  License along with Collaboration Station.  If not, see
+  <http://www.gnu.org/licenses/>.
+*/
+package edu.bsu.issgame.core.rotation;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import pythagoras.i.Dimension;
+
+/**
+ * Solves freshly generated and scrambled boards of several sizes and reports
+ * the spread of minimum tap counts and of solve times. A 60 FPS frame is
+ * about 16,700 microseconds. Run with {@code main}; it is not part of the
+ * test suite.
+ */
+public final class GridSolverBenchmark {
+
+	private static final int[] SIZES = { 4, 10, 20 };
+	private static final int WARMUP_BOARDS = 500;
+	private static final int BOARDS = 2000;
+
+	public static void main(String[] args) {
+		System.out.println(String.format(
+				"%-8s %8s %8s %8s %10s %10s %10s %10s", "grid", "min taps",
+				"avg taps", "max taps", "avg us", "p50 us", "p99 us",
+				"max us"));
+		for (int size : SIZES) {
+			run(size, WARMUP_BOARDS);
+			Stats stats = run(size, BOARDS);
+			Arrays.sort(stats.nanos);
+			System.out.println(String.format(
+					"%-8s %8d %8.1f %8d %10.1f %10.1f %10.1f %10.1f", size
+							+ "x" + size, stats.minTaps, stats.totalTaps
+							/ (double) BOARDS, stats.maxTaps,
+					stats.totalNanos / 1000.0 / BOARDS,
+					stats.nanos[BOARDS / 2] / 1000.0,
+					stats.nanos[BOARDS * 99 / 100] / 1000.0,
+					stats.nanos[BOARDS - 1] / 1000.0));
+		}
+	}
+
+	private static final class Stats {
+		final long[] nanos;
+		int minTaps = Integer.MAX_VALUE;
+		int maxTaps;
+		long totalTaps;
+		long totalNanos;
+
+		Stats(int boards) {
+			nanos = new long[boards];
+		}
+	}
+
+	private static Stats run(int size, int boards) {
+		Random random = new Random(size);
+		PathGenerator generator = PathGenerator.withSeed(size);
+		GridSolver solver = GridSolver.create();
+		Stats stats = new Stats(boards);
+		for (int i = 0; i < boards; i++) {
+			Grid grid = Grid.create(new Dimension(size, size))//
+					.withStart(Direction.WEST).of(0, 0)//
+					.andFinish(Direction.EAST).of(size - 1, size - 1);
+			grid.layPath(generator.generatePathFor(grid));
+			grid.addFillCells();
+			grid.scramble(random);
+			long start = System.nanoTime();
+			int taps = solver.minimumTaps(grid);
+			long elapsed = System.nanoTime() - start;
+			stats.minTaps = Math.min(stats.minTaps, taps);
+			stats.maxTaps = Math.max(stats.maxTaps, taps);
+			stats.totalTaps += taps;
+			stats.totalNanos += elapsed;
+			stats.nanos[i] = elapsed;
+		}
+		return stats;
+	}
+
+	private GridSolverBenchmark() {
+	}
+}
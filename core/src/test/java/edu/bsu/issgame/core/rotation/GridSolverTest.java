@@ -0,0 +1,154 @@
+/*
+  Copyright 2015 Ball State University
+
+  This file is part of Collaboration Station.
+
+  Collaboration Station is free software: you can redistribute it
+  and/or modify it under the terms of the GNU General Public
+  License as published by the Free Software Foundation, either
+  version 3 of the License, or (at your option) any later version.
+
+  Collaboration Station is distributed in the hope that it will
+  be useful, but WITHOUT ANY WARRANTY; without even the implied
+  warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+  PURPOSE.  See the GNU General Public License for more details.
+
+  You should have received a copy of the GNU General Public
+  License along with Collaboration Station.  If not, see
+  <http://www.gnu.org/licenses/>.
+*/
+package edu.bsu.issgame.core.rotation;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import pythagoras.i.Dimension;
+
+import com.google.common.collect.Lists;
+
+import edu.bsu.issgame.core.rotation.Grid.Cell;
+
+public class GridSolverTest {
+
+	private GridSolver solver;
+	private Grid grid;
+
+	@Before
+	public void setUp() {
+		solver = GridSolver.create();
+	}
+
+	@Test
+	public void testMinimumTaps_solvedGrid_zero() {
+		givenA3x3GridWithAStraightPathAcrossTheTop();
+		assertEquals(0, solver.minimumTaps(grid));
+	}
+
+	private void givenA3x3GridWithAStraightPathAcrossTheTop() {
+		grid = Grid.create(new Dimension(3, 3))//
+				.withStart(Direction.WEST).of(0, 0)//
+				.andFinish(Direction.EAST).of(2, 0);
+		grid.layPath(Path.create().add(0, 0).add(1, 0).add(2, 0));
+	}
+
+	@Test
+	public void testMinimumTaps_barTileTurnedOnce_one() {
+		givenA3x3GridWithAStraightPathAcrossTheTop();
+		grid.at(1, 0).turnRight();
+		assertEquals(1, solver.minimumTaps(grid));
+	}
+
+	@Test
+	public void testMinimumTaps_barTileTurnedThreeTimes_oneBySymmetry() {
+		givenA3x3GridWithAStraightPathAcrossTheTop();
+		for (int i = 0; i < 3; i++) {
+			grid.at(1, 0).turnRight();
+		}
+		assertEquals(1, solver.minimumTaps(grid));
+	}
+
+	@Test
+	public void testMinimumTaps_elbowTurnedOnce_three() {
+		grid = Grid.create(new Dimension(3, 3))//
+				.withStart(Direction.WEST).of(0, 0)//
+				.andFinish(Direction.EAST).of(1, 1);
+		grid.layPath(Path.create().add(0, 0).add(1, 0).add(1, 1));
+		grid.at(1, 1).turnRight();
+		assertEquals(3, solver.minimumTaps(grid));
+	}
+
+	@Test
+	public void testMinimumTaps_noPossibleConnection_unsolvable() {
+		grid = Grid.create(new Dimension(2, 1))//
+				.withStart(Direction.WEST).of(0, 0)//
+				.andFinish(Direction.EAST).of(1, 0);
+		assertEquals(GridSolver.UNSOLVABLE, solver.minimumTaps(grid));
+	}
+
+	@Test
+	public void testMinimumTaps_randomBoards_matchExhaustiveSearch() {
+		Random random = new Random(9);
+		for (int board = 0; board < 12; board++) {
+			grid = Grid.create(new Dimension(3, 3))//
+					.withStart(Direction.WEST).of(0, 0)//
+					.andFinish(Direction.EAST).of(2, 2);
+			grid.layPath(PathGenerator.withSeed(board).generatePathFor(grid));
+			grid.addFillCells();
+			grid.scramble(random);
+			assertEquals("Board " + board, exhaustiveMinimumTaps(),
+					solver.minimumTaps(grid));
+		}
+	}
+
+	/**
+	 * Tries every combination of zero to three taps per cell, counting up
+	 * like an odometer so that each step is a single tap.
+	 */
+	private int exhaustiveMinimumTaps() {
+		List<Cell> cells = Lists.newArrayList(grid.cells());
+		int[] taps = new int[cells.size()];
+		int best = GridSolver.UNSOLVABLE;
+		int total = 0;
+		grid.beginBulkUpdate();
+		try {
+			while (true) {
+				if (grid.isSolved() && (best < 0 || total < best)) {
+					best = total;
+				}
+				int i = 0;
+				while (i < taps.length && taps[i] == 3) {
+					cells.get(i).turnRight();
+					taps[i] = 0;
+					total -= 3;
+					i++;
+				}
+				if (i == taps.length) {
+					return best;
+				}
+				cells.get(i).turnRight();
+				taps[i]++;
+				total++;
+			}
+		} finally {
+			grid.endBulkUpdate();
+		}
+	}
+
+	@Test
+	public void testMinimumTaps_solverCanBeReusedAcrossGridSizes() {
+		givenA3x3GridWithAStraightPathAcrossTheTop();
+		solver.minimumTaps(grid);
+		grid = Grid.create(new Dimension(5, 1))//
+				.withStart(Direction.WEST).of(0, 0)//
+				.andFinish(Direction.EAST).of(4, 0);
+		grid.layPath(Path.create().add(0, 0).add(1, 0).add(2, 0).add(3, 0)
+				.add(4, 0));
+		grid.at(2, 0).turnRight();
+		assertEquals(1, solver.minimumTaps(grid));
+	}
+}
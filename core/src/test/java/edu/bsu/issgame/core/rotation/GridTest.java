@@ -25,14 +25,28 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
 
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
 import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
 
 import org.junit.Test;
 
 import pythagoras.i.Dimension;
 import pythagoras.i.Point;
 import react.Slot;
+import react.UnitSlot;
+
+import com.google.common.base.Predicate;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Queues;
+import com.google.common.collect.Sets;
+
 import edu.bsu.issgame.core.rotation.Grid.Cell;
 
 public class GridTest {
@@ -283,13 +297,93 @@ public class GridTest {
 	}
 
 	@Test
-	public void testCellIsConnectedToStart_empty_false() {
+	public void testCellIsConnectedToStart_empty_onlyStartIsConnected() {
 		givenA3x3Grid();
 		for (Cell cell : grid.cells()) {
-			assertFalse(cell.isConnectedToStart());
+			assertEquals(cell == grid.at(0, 0), cell.isConnectedToStart());
 		}
 	}
 
+	@Test
+	public void testCellIsConnectedToStart_afterLayingPath_true() {
+		givenA3x3PathWithZigZagSolution();
+		assertTrue(grid.at(2, 2).isConnectedToStart());
+	}
+
+	@Test
+	public void testTurnRight_breaksPath_cellsAfterBreakAreDisconnected() {
+		givenA3x3PathWithZigZagSolution();
+		grid.at(1, 1).turnRight();
+		assertFalse(grid.at(2, 2).isConnectedToStart());
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void testTurnRight_breaksPath_emitsOnlyChangedCells() {
+		givenA3x3PathWithZigZagSolution();
+		Slot<Collection<Cell>> slot = mock(Slot.class);
+		grid.onConnectivityChanged().connect(slot);
+		grid.at(1, 1).turnRight();
+		verify(slot).onEmit(Arrays.asList(grid.at(1, 1), grid.at(1, 2),
+				grid.at(2, 2)));
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void testTurnRight_noConnectivityChange_emitsNothing() {
+		givenA3x3PathWithZigZagSolution();
+		Slot<Collection<Cell>> slot = mock(Slot.class);
+		grid.onConnectivityChanged().connect(slot);
+		grid.at(2, 0).turnRight();
+		verifyZeroInteractions(slot);
+	}
+
+	@Test
+	public void testTurnRight_randomTurns_matchFullRecompute() {
+		Random random = new Random(42);
+		givenAnNxNGridWithFillCells(12);
+		final Set<Cell> reported = Sets.newHashSet(grid.connectedToStart());
+		grid.onConnectivityChanged().connect(new Slot<Collection<Cell>>() {
+			@Override
+			public void onEmit(Collection<Cell> changed) {
+				for (Cell cell : changed) {
+					if (!reported.remove(cell)) {
+						reported.add(cell);
+					}
+				}
+			}
+		});
+		for (int i = 0; i < 5000; i++) {
+			grid.at(random.nextInt(12), random.nextInt(12)).turnRight();
+			Set<Cell> expected = fullyRecomputedConnectedToStart();
+			assertEquals(expected, reported);
+			for (Cell cell : grid.cells()) {
+				assertEquals(expected.contains(cell), cell.isConnectedToStart());
+			}
+			assertEquals(expected.contains(grid.at(11, 11))
+					&& grid.at(11, 11).has(Direction.EAST), grid.isSolved());
+		}
+	}
+
+	private Set<Cell> fullyRecomputedConnectedToStart() {
+		Set<Cell> result = Sets.newHashSet();
+		Cell start = grid.at(0, 0);
+		if (!start.has(Direction.WEST)) {
+			return result;
+		}
+		Deque<Cell> frontier = Queues.newArrayDeque();
+		result.add(start);
+		frontier.add(start);
+		while (!frontier.isEmpty()) {
+			for (Cell neighbor : frontier.remove().connectedNeighbors()) {
+				if (result.add(neighbor)) {
+					frontier.add(neighbor);
+				}
+			}
+		}
+		return result;
+	}
+
 	@Test
 	public void testConnectedToStart_emptyGrid_hasOneElement() {
 		givenA3x3Grid();
@@ -329,4 +423,139 @@ public class GridTest {
 		grid.at(1, 1).add(Direction.WEST);
 		assertEquals(6, grid.connectedToStart().size());
 	}
-}
\ No newline at end of file
+
+	@Test
+	public void testConnectedToStart_containsCellsOnPath() {
+		givenA3x3PathWithZigZagSolution();
+		assertTrue(grid.connectedToStart().contains(grid.at(1, 1)));
+	}
+
+	@Test
+	public void testConnectedToStart_doesNotContainCellsOffPath() {
+		givenA3x3PathWithZigZagSolution();
+		assertFalse(grid.connectedToStart().contains(grid.at(2, 0)));
+	}
+
+	@Test
+	public void testIsSolved_longSnakingPath_true() {
+		final int size = 200;
+		grid = Grid.create(new Dimension(size, size))//
+				.withStart(Direction.WEST).of(0, 0)//
+				.andFinish(Direction.WEST).of(0, size - 1);
+		Path path = Path.create();
+		for (int row = 0; row < size; row++) {
+			for (int i = 0; i < size; i++) {
+				int col = row % 2 == 0 ? i : size - 1 - i;
+				path.add(col, row);
+			}
+		}
+		grid.layPath(path);
+		assertTrue(grid.isSolved());
+	}
+
+	@Test
+	public void testTurnRight_fourTurnsRestoresDirections() {
+		givenA3x3PathWithZigZagSolution();
+		Cell cell = grid.at(1, 0);
+		EnumSet<Direction> before = EnumSet.copyOf(cell.directions());
+		for (int i = 0; i < 4; i++) {
+			cell.turnRight();
+		}
+		assertEquals(before, cell.directions());
+	}
+
+	@Test
+	public void testScramble_isNotSolved() {
+		givenA3x3PathWithZigZagSolution();
+		grid.addFillCells();
+		grid.scramble(new Random(1));
+		assertFalse(grid.isSolved());
+	}
+
+	@Test
+	public void testScramble_emitsResetOnce() {
+		givenA3x3PathWithZigZagSolution();
+		UnitSlot slot = mock(UnitSlot.class);
+		grid.onReset().connect(slot);
+		grid.scramble(new Random(1));
+		verify(slot).onEmit(null);
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void testScramble_emitsNoTurnsOrConnectivityChanges() {
+		givenA3x3PathWithZigZagSolution();
+		Slot<Cell> turnSlot = mock(Slot.class);
+		Slot<Collection<Cell>> connectivitySlot = mock(Slot.class);
+		for (Cell cell : grid.cells()) {
+			cell.onTurnRight().connect(turnSlot);
+		}
+		grid.onConnectivityChanged().connect(connectivitySlot);
+		grid.scramble(new Random(1));
+		verifyZeroInteractions(turnSlot, connectivitySlot);
+	}
+
+	@Test
+	public void testScramble_keepsTileShapes() {
+		givenA3x3PathWithZigZagSolution();
+		grid.addFillCells();
+		List<Integer> before = directionCounts();
+		grid.scramble(new Random(2));
+		assertEquals(before, directionCounts());
+	}
+
+	private List<Integer> directionCounts() {
+		List<Integer> result = Lists.newArrayList();
+		for (Cell cell : grid.cells()) {
+			result.add(cell.directions().size());
+		}
+		return result;
+	}
+
+	@Test
+	public void testScramble_connectivityMatchesFullRecompute() {
+		givenAnNxNGridWithFillCells(12);
+		for (int seed = 0; seed < 20; seed++) {
+			grid.scramble(new Random(seed));
+			assertEquals(fullyRecomputedConnectedToStart(),
+					Sets.newHashSet(grid.connectedToStart()));
+		}
+	}
+
+	private void givenAnNxNGridWithFillCells(int size) {
+		grid = Grid.create(new Dimension(size, size))//
+				.withStart(Direction.WEST).of(0, 0)//
+				.andFinish(Direction.EAST).of(size - 1, size - 1);
+		grid.addFillCells();
+	}
+
+	@Test
+	public void testClear_leavesOnlyStartAndFinishMarkers() {
+		givenA3x3PathWithZigZagSolution();
+		grid.clear();
+		assertEquals(EnumSet.of(Direction.WEST), grid.at(0, 0).directions());
+		assertEquals(EnumSet.of(Direction.EAST), grid.at(2, 2).directions());
+		assertTrue(grid.at(1, 1).directions().isEmpty());
+	}
+
+	@Test
+	public void testClear_onlyStartIsConnected() {
+		givenA3x3PathWithZigZagSolution();
+		grid.clear();
+		assertEquals(1, grid.connectedToStart().size());
+	}
+
+	@Test
+	public void testScramble_withCondition_repeatsUntilAccepted() {
+		givenA3x3PathWithZigZagSolution();
+		grid.addFillCells();
+		final int[] calls = { 0 };
+		grid.scramble(new Random(4), new Predicate<Grid>() {
+			@Override
+			public boolean apply(Grid input) {
+				return ++calls[0] == 3;
+			}
+		});
+		assertEquals(3, calls[0]);
+	}
+}
@@ -0,0 +1,70 @@
+/*
+  Copyright 2015 Ball State University
+
+  This file is part of Collaboration Station.
+
+  Collaboration Station is free software: you can redistribute it
+  and/or modify it under the terms of the GNU General Public
+  License as published by the Free Software Foundation, either
+  version 3 of the License, or (at your option) any later version.
+
+  Collaboration Station is distributed in the hope that it will
+  be useful, but WITHOUT ANY WARRANTY; without even the implied
+  warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+  PURPOSE.  See the GNU General Public License for more details.
+
+  You should have received a copy of the GNU General Public
+  License along with Collaboration Station.  If not, see
+  <http://www.gnu.org/licenses/>.
+*/
+package edu.bsu.issgame.core.rotation;
+
+import pythagoras.i.Dimension;
+
+/**
+ * Times {@link PathGenerator} on square grids of increasing size, with the
+ * start and finish in opposite corners and targets of the shortest length
+ * and of half the grid. Run with {@code main}; it is not part of the test
+ * suite.
+ */
+public final class PathGeneratorBenchmark {
+
+	private static final int[] SIZES = { 5, 20, 100 };
+	private static final int WARMUP_ITERATIONS = 1000;
+	private static final int ITERATIONS = 5000;
+
+	public static void main(String[] args) {
+		System.out.println(String.format("%-10s %8s %12s %12s", "grid",
+				"target", "mean cells", "ns/path"));
+		for (int size : SIZES) {
+			Grid grid = Grid.create(new Dimension(size, size))//
+					.withStart(Direction.WEST).of(0, 0)//
+					.andFinish(Direction.EAST).of(size - 1, size - 1);
+			int shortest = 2 * size - 1;
+			int half = size * size / 2;
+			for (int target : new int[] { shortest, half }) {
+				PathGenerator generator = PathGenerator.withSeed(size)
+						.withTargetLength(target);
+				generate(generator, grid, WARMUP_ITERATIONS);
+				long start = System.nanoTime();
+				long cells = generate(generator, grid, ITERATIONS);
+				long elapsed = System.nanoTime() - start;
+				System.out.println(String.format("%-10s %8d %12d %12d", size
+						+ "x" + size, target, cells / ITERATIONS, elapsed
+						/ ITERATIONS));
+			}
+		}
+	}
+
+	private static long generate(PathGenerator generator, Grid grid,
+			int iterations) {
+		long cells = 0;
+		for (int i = 0; i < iterations; i++) {
+			cells += generator.generatePathFor(grid).size();
+		}
+		return cells;
+	}
+
+	private PathGeneratorBenchmark() {
+	}
+}
@@ -19,22 +19,29 @@
 */
 package edu.bsu.issgame.core.rotation;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 import java.util.List;
+import java.util.Set;
 
 import org.junit.Before;
 import org.junit.Test;
 
 import pythagoras.i.Dimension;
+import pythagoras.i.IPoint;
 
 import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
 
 import edu.bsu.issgame.core.net.HeadlessTestCase;
+import edu.bsu.issgame.core.rotation.Path.Node;
 
 public class PathGeneratorTest extends HeadlessTestCase {
 
+	private static final int SAMPLE_SIZE = 300;
+
 	private Grid grid;
 	private PathGenerator generator;
 
@@ -85,4 +92,111 @@ public class PathGeneratorTest extends HeadlessTestCase {
 		}
 		return pathList;
 	}
+
+	@Test
+	public void testGeneratePathFor_sameSeed_samePath() {
+		givenAnNxNGrid(8);
+		Path first = PathGenerator.withSeed(7).generatePathFor(grid);
+		Path second = PathGenerator.withSeed(7).generatePathFor(grid);
+		assertEquals(first, second);
+	}
+
+	private void givenAnNxNGrid(int size) {
+		grid = Grid.create(new Dimension(size, size))//
+				.withStart(Direction.WEST).of(0, 0)//
+				.andFinish(Direction.EAST).of(size - 1, size - 1);
+	}
+
+	@Test
+	public void testGeneratePathFor_largeGrid_completesThePuzzle() {
+		givenAnNxNGrid(100);
+		Path path = PathGenerator.withSeed(1).withTargetLength(2000)
+				.generatePathFor(grid);
+		grid.layPath(path);
+		assertTrue(grid.isSolved());
+	}
+
+	@Test
+	public void testGeneratePathFor_pathsAreSelfAvoidingAndContinuous() {
+		givenAnNxNGrid(8);
+		PathGenerator seeded = PathGenerator.withSeed(3).withTargetLength(40);
+		for (int i = 0; i < 100; i++) {
+			assertSelfAvoidingAndContinuous(seeded.generatePathFor(grid));
+		}
+	}
+
+	private void assertSelfAvoidingAndContinuous(Path path) {
+		Set<IPoint> seen = Sets.newHashSet();
+		IPoint previous = null;
+		for (Node node : path) {
+			IPoint location = node.location();
+			assertTrue("Revisited " + location, seen.add(location));
+			if (previous != null) {
+				assertEquals(1, Math.abs(location.x() - previous.x())
+						+ Math.abs(location.y() - previous.y()));
+			}
+			previous = location;
+		}
+	}
+
+	@Test
+	public void testGeneratePathFor_meanLengthIsNearTarget() {
+		givenAnNxNGrid(8);
+		for (int target : new int[] { 15, 24, 32, 40 }) {
+			PathGenerator seeded = PathGenerator.withSeed(target)
+					.withTargetLength(target);
+			double mean = meanLength(seeded, SAMPLE_SIZE);
+			assertEquals("Mean length for target " + target, target, mean,
+					target * 0.15);
+		}
+	}
+
+	private double meanLength(PathGenerator generator, int samples) {
+		long total = 0;
+		for (int i = 0; i < samples; i++) {
+			total += generator.generatePathFor(grid).size();
+		}
+		return total / (double) samples;
+	}
+
+	@Test
+	public void testGeneratePathFor_shortestTarget_alwaysShortest() {
+		givenAnNxNGrid(8);
+		PathGenerator seeded = PathGenerator.withSeed(5).withTargetLength(15);
+		for (int i = 0; i < SAMPLE_SIZE; i++) {
+			assertEquals(15, seeded.generatePathFor(grid).size());
+		}
+	}
+
+	@Test
+	public void testGeneratePathFor_higherTortuosity_moreTurns() {
+		givenAnNxNGrid(8);
+		double straight = meanTurnFraction(PathGenerator.withSeed(11)
+				.withTargetLength(24).withTortuosity(0));
+		double twisty = meanTurnFraction(PathGenerator.withSeed(11)
+				.withTargetLength(24).withTortuosity(1));
+		assertTrue(straight + " vs " + twisty, straight + 0.5 < twisty);
+	}
+
+	private double meanTurnFraction(PathGenerator generator) {
+		double total = 0;
+		for (int i = 0; i < SAMPLE_SIZE; i++) {
+			Path path = generator.generatePathFor(grid);
+			int turns = 0;
+			for (int j = 1; j < path.size() - 1; j++) {
+				Node node = path.getNode(j);
+				if (node.directionFromPrevious().opposite() != node
+						.directionToNext()) {
+					turns++;
+				}
+			}
+			total += turns / (double) (path.size() - 2);
+		}
+		return total / SAMPLE_SIZE;
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testWithTortuosity_outOfRange_throwsException() {
+		PathGenerator.create().withTortuosity(1.5f);
+	}
 }
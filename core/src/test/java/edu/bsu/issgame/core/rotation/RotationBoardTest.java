@@ -0,0 +1,105 @@
+/*
+  Copyright 2015 Ball State University
+
+  This file is part of Collaboration Station.
+
+  Collaboration Station is free software: you can redistribute it
+  and/or modify it under the terms of the GNU General Public
+  License as published by the Free Software Foundation, either
+  version 3 of the License, or (at your option) any later version.
+
+  Collaboration Station is distributed in the hope that it will
+  be useful, but WITHOUT ANY WARRANTY; without even the implied
+  warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+  PURPOSE.  See the GNU General Public License for more details.
+
+  You should have received a copy of the GNU General Public
+  License along with Collaboration Station.  If not, see
+  <http://www.gnu.org/licenses/>.
+*/
+package edu.bsu.issgame.core.rotation;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import pythagoras.i.Dimension;
+import react.UnitSlot;
+import edu.bsu.issgame.core.util.BoardPool;
+
+public class RotationBoardTest {
+
+	private final Grid grid = Grid.create(new Dimension(4, 4))//
+			.withStart(Direction.WEST).of(0, 0)//
+			.andFinish(Direction.EAST).of(3, 3);
+	private final BoardPool.Generator<RotationBoard> generator = RotationBoard
+			.generatorFor(grid, 4, 14);
+
+	@Test
+	public void testGenerate_sameSeed_sameBoard() {
+		Grid other = grid.blankCopy();
+		generator.generate(0, 7).restoreOnto(grid);
+		generator.generate(0, 7).restoreOnto(other);
+		assertArrayEquals(grid.copyMasks(), other.copyMasks());
+	}
+
+	@Test
+	public void testGenerate_leavesTheTemplateGridAlone() {
+		byte[] before = grid.copyMasks();
+		generator.generate(0, 7);
+		assertArrayEquals(before, grid.copyMasks());
+	}
+
+	@Test
+	public void testRestoreOnto_gridIsNotSolved() {
+		for (int seed = 0; seed < 20; seed++) {
+			generator.generate(0, seed).restoreOnto(grid);
+			assertFalse(grid.isSolved());
+		}
+	}
+
+	@Test
+	public void testRestoreOnto_minimumTapsMatchSolver() {
+		for (int seed = 0; seed < 20; seed++) {
+			RotationBoard board = generator.generate(0, seed);
+			board.restoreOnto(grid);
+			assertEquals(GridSolver.create().minimumTaps(grid),
+					board.minimumTapsToSolve);
+		}
+	}
+
+	@Test
+	public void testRestoreOnto_connectivityMatchesAGridBuiltCellByCell() {
+		generator.generate(0, 3).restoreOnto(grid);
+		Grid other = grid.blankCopy();
+		for (int y = 0; y < grid.height(); y++) {
+			for (int x = 0; x < grid.width(); x++) {
+				for (Direction d : grid.at(x, y).directions()) {
+					other.at(x, y).add(d);
+				}
+			}
+		}
+		for (int y = 0; y < grid.height(); y++) {
+			for (int x = 0; x < grid.width(); x++) {
+				assertEquals(other.at(x, y).isConnectedToStart(), grid
+						.at(x, y).isConnectedToStart());
+			}
+		}
+	}
+
+	@Test
+	public void testRestoreOnto_emitsReset() {
+		final boolean[] reset = new boolean[1];
+		grid.onReset().connect(new UnitSlot() {
+			@Override
+			public void onEmit() {
+				reset[0] = true;
+			}
+		});
+		generator.generate(0, 1).restoreOnto(grid);
+		assertTrue(reset[0]);
+	}
+}
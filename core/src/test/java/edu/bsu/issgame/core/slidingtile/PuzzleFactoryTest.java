@@ -0,0 +1,109 @@
+/*
+  Copyright 2015 Ball State University
+
+  This file is part of Collaboration Station.
+
+  Collaboration Station is free software: you can redistribute it
+  and/or modify it under the terms of the GNU General Public
+  License as published by the Free Software Foundation, either
+  version 3 of the License, or (at your option) any later version.
+
+  Collaboration Station is distributed in the hope that it will
+  be useful, but WITHOUT ANY WARRANTY; without even the implied
+  warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+  PURPOSE.  See the GNU General Public License for more details.
+
+  You should have received a copy of the GNU General Public
+  License along with Collaboration Station.  If not, see
+  <http://www.gnu.org/licenses/>.
+*/
+package edu.bsu.issgame.core.slidingtile;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+import org.junit.Test;
+
+import pythagoras.i.Point;
+import pythagoras.i.Rectangle;
+import edu.bsu.issgame.core.net.HeadlessTestCase;
+
+public class PuzzleFactoryTest extends HeadlessTestCase {
+
+	private final PuzzleFactory factory = new PuzzleFactory();
+
+	@Test
+	public void testGenerate_firstPuzzleIsEasy() {
+		assertEquals(PuzzleDifficulty.EASY, factory.generate(0, 1).difficulty);
+	}
+
+	@Test
+	public void testGenerate_difficultyDependsOnlyOnIndex() {
+		assertEquals(PuzzleDifficulty.EXTREME, factory.generate(10, 1).difficulty);
+		assertEquals(PuzzleDifficulty.EASY, factory.generate(0, 2).difficulty);
+		assertEquals(PuzzleDifficulty.MEDIUM, factory.generate(3, 3).difficulty);
+		assertEquals(PuzzleDifficulty.EXTREME, factory.generate(50, 4).difficulty);
+	}
+
+	@Test
+	public void testGenerate_imagesDoNotRepeatWithinARound() {
+		int images = PuzzleViewData.values().length;
+		Set<PuzzleViewData> seen = EnumSet.noneOf(PuzzleViewData.class);
+		for (int i = images; i < 2 * images; i++) {
+			seen.add(factory.generate(i, i).image);
+		}
+		assertEquals(images, seen.size());
+	}
+
+	@Test
+	public void testGenerate_shuffleLeavesThePuzzleExactlyItsMovesFromSolved() {
+		SlidingPuzzleSolver solver = SlidingPuzzleSolver.create();
+		for (int i = 0; i < 20; i++) {
+			PuzzleBundle puzzle = factory.generate(i, i);
+			assertEquals(puzzle.difficulty.minimumMovesRequired,
+					puzzle.numberOfMoves);
+			assertEquals(puzzle.numberOfMoves, puzzle.shuffle.size());
+			assertEquals(puzzle.numberOfMoves,
+					solver.optimalMoves(shuffled(puzzle)));
+		}
+	}
+
+	private static TilePuzzle shuffled(PuzzleBundle puzzle) {
+		Point size = puzzle.difficulty.puzzleSize;
+		TilePuzzle tilePuzzle = TilePuzzle.columns(size.x).rows(size.y)
+				.withHoleAt(size.x - 1, size.y - 1).build();
+		for (Direction d : puzzle.shuffle) {
+			Point tile = d.findNeighbor(tilePuzzle.getHole());
+			tilePuzzle.moveFrom(tile.x + tile.y * size.x);
+		}
+		return tilePuzzle;
+	}
+
+	@Test
+	public void testGenerate_shuffleKeepsTheHoleInThePuzzle() {
+		for (int i = 0; i < 20; i++) {
+			PuzzleBundle puzzle = factory.generate(i, i);
+			Point size = puzzle.difficulty.puzzleSize;
+			Rectangle bounds = new Rectangle(0, 0, size.x, size.y);
+			Point hole = new Point(size.x - 1, size.y - 1);
+			for (Direction d : puzzle.shuffle) {
+				hole = d.findNeighbor(hole);
+				assertTrue(bounds.contains(hole));
+			}
+		}
+	}
+
+	@Test
+	public void testGenerate_shuffleNeverUndoesTheLastMove() {
+		for (int i = 0; i < 20; i++) {
+			PuzzleBundle puzzle = factory.generate(i, i);
+			for (int j = 1; j < puzzle.shuffle.size(); j++) {
+				assertTrue(puzzle.shuffle.get(j) != puzzle.shuffle.get(j - 1)
+						.opposite());
+			}
+		}
+	}
+}
@@ -0,0 +1,76 @@
+/*
+  Copyright 2015 Ball State University
+
+  This file is part of Collaboration Station.
+
+  Collaboration Station is free software: you can redistribute it
+  and/or modify it under the terms of the GNU General Public
+  License as published by the Free Software Foundation, either
+  version 3 of the License, or (at your option) any later version.
+
+  Collaboration Station is distributed in the hope that it will
+  be useful, but WITHOUT ANY WARRANTY; without even the implied
+  warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+  PURPOSE.  See the GNU General Public License for more details.
+
+  You should have received a copy of the GNU General Public
+  License along with Collaboration Station.  If not, see
+  <http://www.gnu.org/licenses/>.
+*/
+package edu.bsu.issgame.core.slidingtile;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import pythagoras.i.Point;
+
+public class PuzzleScramblerTest {
+
+	private final PuzzleScrambler scrambler = PuzzleScrambler.create();
+	private final SlidingPuzzleSolver solver = SlidingPuzzleSolver.create();
+
+	@Test
+	public void testScramble_eachDifficulty_exactlyItsMovesFromSolved() {
+		Random random = new Random(1);
+		for (PuzzleDifficulty difficulty : PuzzleDifficulty.values()) {
+			for (int i = 0; i < 10; i++) {
+				assertScrambledTo(difficulty.puzzleSize.x,
+						difficulty.puzzleSize.y,
+						difficulty.minimumMovesRequired, random);
+			}
+		}
+	}
+
+	@Test
+	public void testScramble_farFromSolved() {
+		assertScrambledTo(4, 4, 30, new Random(2));
+	}
+
+	@Test
+	public void testScramble_sameSeed_sameWalk() {
+		assertEquals(scrambler.scramble(3, 3, 8, new Random(4)),
+				scrambler.scramble(3, 3, 8, new Random(4)));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testScramble_fartherThanAnyArrangement_throwsException() {
+		scrambler.scramble(2, 2, 7, new Random(1));
+	}
+
+	private void assertScrambledTo(int cols, int rows, int moves,
+			Random random) {
+		List<Direction> walk = scrambler.scramble(cols, rows, moves, random);
+		assertEquals(moves, walk.size());
+		TilePuzzle puzzle = TilePuzzle.columns(cols).rows(rows)
+				.withHoleAt(cols - 1, rows - 1).build();
+		for (Direction d : walk) {
+			Point tile = d.findNeighbor(puzzle.getHole());
+			puzzle.moveFrom(tile.x + tile.y * cols);
+		}
+		assertEquals(moves, solver.optimalMoves(puzzle));
+	}
+}
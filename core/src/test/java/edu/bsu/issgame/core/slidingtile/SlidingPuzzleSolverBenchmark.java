@@ -0,0 +1,122 @@
+/*
+  Copyright 2015 Ball State University
+
+  This file is part of Collaboration Station.
+
+  Collaboration Station is free software: you can redistribute it
+  and/or modify it under the terms of the GNU General Public
+  License as published by the Free Software Foundation, either
+  version 3 of the License, or (at your option) any later version.
+
+  Collaboration Station is distributed in the hope that it will
+  be useful, but WITHOUT ANY WARRANTY; without even the implied
+  warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+  PURPOSE.  See the GNU General Public License for more details.
+
+  You should have received a copy of the GNU General Public
+  License along with Collaboration Station.  If not, see
+  <http://www.gnu.org/licenses/>.
+*/
+package edu.bsu.issgame.core.slidingtile;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import pythagoras.i.Point;
+
+/**
+ * Scrambles puzzles to exact distances from solved and times solving them,
+ * for each {@link PuzzleDifficulty} and for harder bands of the 4x4 puzzle,
+ * with and without pattern databases. A 60 FPS frame is about 16,700
+ * microseconds. Run with {@code main}; it is not part of the test suite.
+ */
+public final class SlidingPuzzleSolverBenchmark {
+
+	private static final int PUZZLES = 200;
+	private static final int HARD_PUZZLES = 20;
+	private static final int[] HARD_BANDS = { 20, 30, 40 };
+
+	public static void main(String[] args) {
+		long start = System.nanoTime();
+		SlidingPuzzleSolver withDatabases = SlidingPuzzleSolver
+				.withPatternDatabases();
+		withDatabases.optimalMoves(solved(4, 4));
+		System.out.println(String.format("pattern databases built in %.0f ms",
+				(System.nanoTime() - start) / 1e6));
+		System.out.println(String.format(
+				"%-8s %-6s %6s %-10s %10s %10s %10s %12s %12s", "band",
+				"size", "moves", "estimate", "scramble", "p50 us", "p99 us",
+				"max us", "avg nodes"));
+		for (PuzzleDifficulty difficulty : PuzzleDifficulty.values()) {
+			Point size = difficulty.puzzleSize;
+			run(difficulty.name(), size.x, size.y,
+					difficulty.minimumMovesRequired, PUZZLES, null);
+		}
+		for (int moves : HARD_BANDS) {
+			run("4x4", 4, 4, moves, HARD_PUZZLES, withDatabases);
+		}
+	}
+
+	private static TilePuzzle solved(int cols, int rows) {
+		return TilePuzzle.columns(cols).rows(rows)
+				.withHoleAt(cols - 1, rows - 1).build();
+	}
+
+	private static void run(String band, int cols, int rows, int moves,
+			int puzzles, SlidingPuzzleSolver withDatabases) {
+		PuzzleScrambler scrambler = PuzzleScrambler.create();
+		Random random = new Random(moves);
+		TilePuzzle[] scrambled = new TilePuzzle[puzzles];
+		long scrambleStart = System.nanoTime();
+		for (int i = 0; i < puzzles; i++) {
+			scrambled[i] = apply(cols, rows,
+					scrambler.scramble(cols, rows, moves, random));
+		}
+		double scrambleMicros = (System.nanoTime() - scrambleStart) / 1000.0
+				/ puzzles;
+		report(band, cols, rows, moves, "LC", scrambleMicros, scrambled,
+				SlidingPuzzleSolver.create());
+		if (withDatabases != null) {
+			report(band, cols, rows, moves, "PDB", scrambleMicros, scrambled,
+					withDatabases);
+		}
+	}
+
+	private static TilePuzzle apply(int cols, int rows, List<Direction> walk) {
+		TilePuzzle puzzle = solved(cols, rows);
+		for (Direction d : walk) {
+			Point tile = d.findNeighbor(puzzle.getHole());
+			puzzle.moveFrom(tile.x + tile.y * cols);
+		}
+		return puzzle;
+	}
+
+	private static void report(String band, int cols, int rows, int moves,
+			String estimate, double scrambleMicros, TilePuzzle[] puzzles,
+			SlidingPuzzleSolver solver) {
+		long[] nanos = new long[puzzles.length];
+		long nodesBefore = solver.nodesSearched();
+		for (int i = 0; i < puzzles.length; i++) {
+			long start = System.nanoTime();
+			int solution = solver.optimalMoves(puzzles[i]);
+			nanos[i] = System.nanoTime() - start;
+			if (solution != moves) {
+				throw new AssertionError("Solved in " + solution
+						+ " instead of " + moves);
+			}
+		}
+		Arrays.sort(nanos);
+		System.out.println(String.format(
+				"%-8s %-6s %6d %-10s %10.1f %10.1f %10.1f %12.1f %12.1f",
+				band, cols + "x" + rows, moves, estimate, scrambleMicros,
+				nanos[nanos.length / 2] / 1000.0,
+				nanos[nanos.length * 99 / 100] / 1000.0,
+				nanos[nanos.length - 1] / 1000.0,
+				(solver.nodesSearched() - nodesBefore)
+						/ (double) puzzles.length));
+	}
+
+	private SlidingPuzzleSolverBenchmark() {
+	}
+}
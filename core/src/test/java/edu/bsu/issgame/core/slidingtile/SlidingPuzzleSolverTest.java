@@ -0,0 +1,161 @@
+/*
+  Copyright 2015 Ball State University
+
+  This file is part of Collaboration Station.
+
+  Collaboration Station is free software: you can redistribute it
+  and/or modify it under the terms of the GNU General Public
+  License as published by the Free Software Foundation, either
+  version 3 of the License, or (at your option) any later version.
+
+  Collaboration Station is distributed in the hope that it will
+  be useful, but WITHOUT ANY WARRANTY; without even the implied
+  warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+  PURPOSE.  See the GNU General Public License for more details.
+
+  You should have received a copy of the GNU General Public
+  License along with Collaboration Station.  If not, see
+  <http://www.gnu.org/licenses/>.
+*/
+package edu.bsu.issgame.core.slidingtile;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.google.common.collect.Maps;
+import com.google.common.collect.Queues;
+
+public class SlidingPuzzleSolverTest {
+
+	private final SlidingPuzzleSolver solver = SlidingPuzzleSolver.create();
+	private TilePuzzle puzzle;
+
+	@Test
+	public void testOptimalMoves_solved_zero() {
+		puzzle = TilePuzzle.columns(3).rows(3).withHoleAt(2, 2).build();
+		assertEquals(0, solver.optimalMoves(puzzle));
+	}
+
+	@Test
+	public void testOptimalMoves_oneMoveAway_one() {
+		puzzle = TilePuzzle.columns(3).rows(3).withHoleAt(2, 2).build();
+		puzzle.moveFrom(5);
+		assertEquals(1, solver.optimalMoves(puzzle));
+	}
+
+	@Test
+	public void testOptimalMoves_randomWalkThatUndoesItself_countsWhatIsLeft() {
+		puzzle = TilePuzzle.columns(3).rows(3).withHoleAt(2, 2).build();
+		puzzle.moveFrom(5);
+		puzzle.moveFrom(4);
+		puzzle.moveFrom(5);
+		puzzle.moveFrom(8);
+		assertEquals(0, solver.optimalMoves(puzzle));
+	}
+
+	@Test
+	public void testOptimalMoves_matchesBreadthFirstSearchOn3x2() {
+		assertMatchesBreadthFirstSearch(3, 2, 200);
+	}
+
+	@Test
+	public void testOptimalMoves_matchesBreadthFirstSearchOn3x3() {
+		assertMatchesBreadthFirstSearch(3, 3, 60);
+	}
+
+	@Test
+	public void testOptimalMoves_holeBelongsElsewhere_matchesBreadthFirstSearch() {
+		puzzle = TilePuzzle.columns(3).rows(2).withHoleAt(0, 0).build();
+		Map<String, Integer> distances = breadthFirstDistances(puzzle);
+		walkRandomly(puzzle, 30, new Random(5));
+		assertEquals(distances.get(key(puzzle)).intValue(),
+				solver.optimalMoves(puzzle));
+	}
+
+	@Test
+	public void testIsSolvableWithin() {
+		puzzle = TilePuzzle.columns(3).rows(3).withHoleAt(2, 2).build();
+		puzzle.moveFrom(5);
+		puzzle.moveFrom(4);
+		assertFalse(solver.isSolvableWithin(puzzle, 1));
+		assertTrue(solver.isSolvableWithin(puzzle, 2));
+	}
+
+	@Test
+	public void testOptimalMoves_withPatternDatabases_sameAnswers() {
+		SlidingPuzzleSolver withDatabases = SlidingPuzzleSolver
+				.withPatternDatabases();
+		Random random = new Random(3);
+		for (int i = 0; i < 10; i++) {
+			puzzle = TilePuzzle.columns(4).rows(4).withHoleAt(3, 3).build();
+			walkRandomly(puzzle, 40, random);
+			assertEquals(solver.optimalMoves(puzzle),
+					withDatabases.optimalMoves(puzzle));
+		}
+	}
+
+	private void assertMatchesBreadthFirstSearch(int cols, int rows,
+			int trials) {
+		puzzle = TilePuzzle.columns(cols).rows(rows)
+				.withHoleAt(cols - 1, rows - 1).build();
+		Map<String, Integer> distances = breadthFirstDistances(puzzle);
+		Random random = new Random(cols * rows);
+		for (int i = 0; i < trials; i++) {
+			walkRandomly(puzzle, 1 + random.nextInt(60), random);
+			assertEquals(distances.get(key(puzzle)).intValue(),
+					solver.optimalMoves(puzzle));
+		}
+	}
+
+	private static void walkRandomly(TilePuzzle puzzle, int moves,
+			Random random) {
+		int cells = puzzle.cols * puzzle.rows;
+		for (int i = 0; i < moves; i++) {
+			int from;
+			do {
+				from = random.nextInt(cells);
+			} while (!puzzle.canMoveFrom(from));
+			puzzle.moveFrom(from);
+		}
+	}
+
+	private static Map<String, Integer> breadthFirstDistances(
+			TilePuzzle solved) {
+		Map<String, Integer> distances = Maps.newHashMap();
+		Queue<TilePuzzle> queue = Queues.newArrayDeque();
+		distances.put(key(solved), 0);
+		queue.add(solved.clone());
+		int cells = solved.cols * solved.rows;
+		while (!queue.isEmpty()) {
+			TilePuzzle current = queue.remove();
+			int distance = distances.get(key(current));
+			for (int from = 0; from < cells; from++) {
+				if (current.canMoveFrom(from)) {
+					TilePuzzle next = current.clone();
+					next.moveFrom(from);
+					String key = key(next);
+					if (!distances.containsKey(key)) {
+						distances.put(key, distance + 1);
+						queue.add(next);
+					}
+				}
+			}
+		}
+		return distances;
+	}
+
+	private static String key(TilePuzzle puzzle) {
+		StringBuilder key = new StringBuilder();
+		for (int i = 0; i < puzzle.cols * puzzle.rows; i++) {
+			key.append(puzzle.pieceAt(i)).append(',');
+		}
+		return key.toString();
+	}
+}
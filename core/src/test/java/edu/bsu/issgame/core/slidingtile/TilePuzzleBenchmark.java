@@ -0,0 +1,90 @@
+/*
+  Copyright 2015 Ball State University
+
+  This file is part of Collaboration Station.
+
+  Collaboration Station is free software: you can redistribute it
+  and/or modify it under the terms of the GNU General Public
+  License as published by the Free Software Foundation, either
+  version 3 of the License, or (at your option) any later version.
+
+  Collaboration Station is distributed in the hope that it will
+  be useful, but WITHOUT ANY WARRANTY; without even the implied
+  warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+  PURPOSE.  See the GNU General Public License for more details.
+
+  You should have received a copy of the GNU General Public
+  License along with Collaboration Station.  If not, see
+  <http://www.gnu.org/licenses/>.
+*/
+package edu.bsu.issgame.core.slidingtile;
+
+import java.util.Random;
+
+/**
+ * Measures random moves and solved checks on puzzles from 3x3 to 8x8, both
+ * through {@link TilePuzzle.Move} and through cell indices. Run with
+ * {@code main}; it is not part of the test suite.
+ */
+public final class TilePuzzleBenchmark {
+
+	private static final int WARMUP_ITERATIONS = 200000;
+	private static final int ITERATIONS = 1000000;
+
+	public static void main(String[] args) {
+		System.out.println(String.format("%-6s %14s %14s %14s", "puzzle",
+				"move ns", "index move ns", "solved ns"));
+		for (int size = 3; size <= 8; size++) {
+			TilePuzzle puzzle = TilePuzzle.columns(size).rows(size)
+					.withHoleAt(size - 1, size - 1).build();
+			moveViaMoves(puzzle, WARMUP_ITERATIONS);
+			moveViaIndices(puzzle, WARMUP_ITERATIONS);
+			checkSolved(puzzle, WARMUP_ITERATIONS);
+			System.out.println(String.format("%-6s %14.1f %14.1f %14.1f",
+					size + "x" + size, moveViaMoves(puzzle, ITERATIONS),
+					moveViaIndices(puzzle, ITERATIONS),
+					checkSolved(puzzle, ITERATIONS)));
+		}
+	}
+
+	private static double moveViaMoves(TilePuzzle puzzle, int iterations) {
+		long start = System.nanoTime();
+		for (int i = 0; i < iterations; i++) {
+			puzzle.getRandomMove().make();
+		}
+		return (System.nanoTime() - start) / (double) iterations;
+	}
+
+	private static double moveViaIndices(TilePuzzle puzzle, int iterations) {
+		Random random = new Random(puzzle.cols);
+		int cells = puzzle.cols * puzzle.rows;
+		int[] offsets = { -puzzle.cols, puzzle.cols, -1, 1 };
+		long start = System.nanoTime();
+		for (int i = 0; i < iterations; i++) {
+			int from;
+			do {
+				from = puzzle.getHoleIndex() + offsets[random.nextInt(4)];
+			} while (from < 0 || from >= cells || !puzzle.canMoveFrom(from));
+			puzzle.moveFrom(from);
+		}
+		return (System.nanoTime() - start) / (double) iterations;
+	}
+
+	private static double checkSolved(TilePuzzle puzzle, int iterations) {
+		int solved = 0;
+		long start = System.nanoTime();
+		for (int i = 0; i < iterations; i++) {
+			if (puzzle.isSolved()) {
+				solved++;
+			}
+		}
+		double nanos = (System.nanoTime() - start) / (double) iterations;
+		if (solved < 0) {
+			System.out.println(solved);
+		}
+		return nanos;
+	}
+
+	private TilePuzzleBenchmark() {
+	}
+}
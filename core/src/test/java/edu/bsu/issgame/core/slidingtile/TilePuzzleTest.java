@@ -20,6 +20,7 @@
 package edu.bsu.issgame.core.slidingtile;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
@@ -238,6 +239,86 @@ public class TilePuzzleTest {
 		puzzle.getRandomMove().make();
 		assertTrue(puzzle.checkNumberOfTilesOutOfPlace()==1);
 	}
+	@Test
+	public void testCanMoveFrom_doesNotWrapAcrossRows() {
+		puzzle = TilePuzzle.columns(3).rows(3).withHoleAt(0, 1).build();
+		assertFalse(puzzle.canMoveFrom(2));
+		assertTrue(puzzle.canMoveFrom(4));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testMoveFrom_notNextToTheHole_throwsException() {
+		puzzle = TilePuzzle.columns(3).rows(3).withHoleAt(2, 2).build();
+		puzzle.moveFrom(0);
+	}
+
+	@Test
+	public void testMoveFrom_movesTheTileView() {
+		givenA2x1PuzzleWithTheHoleOnTheRight();
+		puzzle.moveFrom(0);
+		assertEquals(new Point(1, 0), puzzle.getTile(new Point(0, 0))
+				.position().get());
+		assertEquals(1, puzzle.pieceAt(0));
+	}
+
+	@Test
+	public void testMoveFrom_andBack_sameHash() {
+		puzzle = TilePuzzle.columns(3).rows(3).withHoleAt(2, 2).build();
+		long solvedHash = puzzle.zobristHash();
+		puzzle.moveFrom(7);
+		assertTrue(puzzle.zobristHash() != solvedHash);
+		puzzle.moveFrom(8);
+		assertEquals(solvedHash, puzzle.zobristHash());
+	}
+
+	@Test
+	public void testZobristHash_holeCircles2x2Once_tilesRotated_differentHash() {
+		puzzle = TilePuzzle.columns(2).rows(2).withHoleAt(1, 1).build();
+		long solvedHash = puzzle.zobristHash();
+		moveTheHoleAroundThe2x2Puzzle(4);
+		assertEquals(3, puzzle.getHoleIndex());
+		assertTrue(puzzle.zobristHash() != solvedHash);
+	}
+
+	@Test
+	public void testZobristHash_holeCircles2x2ThreeTimes_solvedHash() {
+		puzzle = TilePuzzle.columns(2).rows(2).withHoleAt(1, 1).build();
+		long solvedHash = puzzle.zobristHash();
+		moveTheHoleAroundThe2x2Puzzle(12);
+		assertTrue(puzzle.isSolved());
+		assertEquals(solvedHash, puzzle.zobristHash());
+	}
+
+	private void moveTheHoleAroundThe2x2Puzzle(int moves) {
+		int[] nextHole = { 1, 3, 0, 2 };
+		for (int i = 0; i < moves; i++) {
+			puzzle.moveFrom(nextHole[puzzle.getHoleIndex()]);
+		}
+	}
+
+	@Test
+	public void testRandomMoves_countsMatchAFullCheck() {
+		puzzle = TilePuzzle.columns(4).rows(3).withHoleAt(3, 2).build();
+		for (int i = 0; i < 500; i++) {
+			puzzle.getRandomMove().make();
+			int outOfPlace = 0;
+			for (Tile tile : puzzle.getTiles()) {
+				if (!tile.isInProperPosition()) {
+					outOfPlace++;
+				}
+			}
+			assertEquals(outOfPlace, puzzle.checkNumberOfTilesOutOfPlace());
+			assertEquals(outOfPlace == 0, puzzle.isSolved());
+		}
+	}
+
+	@Test
+	public void testClone_sameHash() {
+		puzzle = TilePuzzle.columns(3).rows(3).withHoleAt(2, 2).build();
+		puzzle.moveFrom(5);
+		assertEquals(puzzle.zobristHash(), puzzle.clone().zobristHash());
+	}
+
 	private Listener<IPoint> createMockListenerIgnoringWarnings() {
 		@SuppressWarnings("unchecked")
 		ValueView.Listener<IPoint> listener = mock(ValueView.Listener.class);
@@ -0,0 +1,196 @@
+/*
+  Copyright 2015 Ball State University
+
+  This file is part of Collaboration Station.
+
+  Collaboration Station is free software: you can redistribute it
+  and/or modify it under the terms of the GNU General Public
+  License as published by the Free Software Foundation, either
+  version 3 of the License, or (at your option) any later version.
+
+  Collaboration Station is distributed in the hope that it will
+  be useful, but WITHOUT ANY WARRANTY; without even the implied
+  warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+  PURPOSE.  See the GNU General Public License for more details.
+
+  You should have received a copy of the GNU General Public
+  License along with Collaboration Station.  If not, see
+  <http://www.gnu.org/licenses/>.
+*/
+package edu.bsu.issgame.core.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+
+import edu.bsu.issgame.core.net.HeadlessTestCase;
+
+public class BoardPoolTest extends HeadlessTestCase {
+
+	private static final long SEED = 42;
+	private static final int CAPACITY = 3;
+
+	private final List<BoardPool<Long>> pools = Lists.newArrayList();
+
+	@After
+	public void tearDown() {
+		for (BoardPool<Long> pool : pools) {
+			pool.stop();
+		}
+	}
+
+	private BoardPool<Long> givenAPool(BoardPool.Generator<Long> generator) {
+		BoardPool<Long> pool = new BoardPool<Long>("Test pool", generator,
+				CAPACITY, SEED);
+		pools.add(pool);
+		return pool;
+	}
+
+	private static final BoardPool.Generator<Long> SEEDS = new BoardPool.Generator<Long>() {
+		@Override
+		public Long generate(int index, long seed) {
+			return seed;
+		}
+	};
+
+	private static final BoardPool.Generator<Long> INDICES = new BoardPool.Generator<Long>() {
+		@Override
+		public Long generate(int index, long seed) {
+			return Long.valueOf(index);
+		}
+	};
+
+	@Test
+	public void testTake_notStarted_generatesOnCaller() {
+		BoardPool<Long> pool = givenAPool(SEEDS);
+		assertEquals(Long.valueOf(SEED), pool.take());
+		assertEquals(0, pool.ready());
+	}
+
+	@Test
+	public void testTake_notStarted_eachBoardHasItsOwnSeed() {
+		BoardPool<Long> pool = givenAPool(SEEDS);
+		assertFalse(pool.take().equals(pool.take()));
+	}
+
+	@Test
+	public void testStart_fillsToCapacity() throws InterruptedException {
+		BoardPool<Long> pool = givenAPool(SEEDS).start();
+		awaitFull(pool);
+		Thread.sleep(20);
+		assertEquals(CAPACITY, pool.ready());
+	}
+
+	@Test
+	public void testTake_refillsAfterTaking() throws InterruptedException {
+		BoardPool<Long> pool = givenAPool(SEEDS).start();
+		awaitFull(pool);
+		pool.take();
+		awaitFull(pool);
+	}
+
+	@Test
+	public void testTake_sameSeed_sameBoards() throws InterruptedException {
+		BoardPool<Long> synchronous = givenAPool(SEEDS);
+		BoardPool<Long> pregenerated = givenAPool(SEEDS).start();
+		awaitFull(pregenerated);
+		Set<Long> expected = Sets.newHashSet();
+		Set<Long> actual = Sets.newHashSet();
+		for (int i = 0; i < 10; i++) {
+			expected.add(synchronous.take());
+			actual.add(pregenerated.take());
+		}
+		awaitFull(pregenerated);
+		assertEquals(expected, actual);
+	}
+
+	@Test
+	public void testTake_workerBehind_boardsStillComeInOrder() {
+		final Thread caller = Thread.currentThread();
+		BoardPool<Long> pool = givenAPool(new BoardPool.Generator<Long>() {
+			@Override
+			public Long generate(int index, long seed) {
+				if (Thread.currentThread() != caller) {
+					try {
+						Thread.sleep(5);
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+				}
+				return Long.valueOf(index);
+			}
+		}).start();
+		for (long i = 0; i < 20; i++) {
+			assertEquals(Long.valueOf(i), pool.take());
+			if (i % 3 == 0) {
+				Thread.yield();
+			}
+		}
+	}
+
+	@Test
+	public void testTake_afterWorkerFilled_boardsComeInOrder()
+			throws InterruptedException {
+		BoardPool<Long> pool = givenAPool(INDICES);
+		assertEquals(Long.valueOf(0), pool.take());
+		pool.start();
+		awaitFull(pool);
+		for (long i = 1; i < 10; i++) {
+			assertEquals(Long.valueOf(i), pool.take());
+		}
+	}
+
+	@Test
+	public void testStop_takeStillGenerates() {
+		BoardPool<Long> pool = givenAPool(SEEDS).start();
+		pool.stop();
+		assertTrue(pool.isStopped());
+		assertEquals(0, pool.ready());
+		pool.take();
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testStart_afterStop_throwsException() {
+		BoardPool<Long> pool = givenAPool(SEEDS);
+		pool.stop();
+		pool.start();
+	}
+
+	@Test
+	public void testTake_workerFailed_generatesOnCaller()
+			throws InterruptedException {
+		final Thread caller = Thread.currentThread();
+		BoardPool<Long> pool = givenAPool(new BoardPool.Generator<Long>() {
+			@Override
+			public Long generate(int index, long seed) {
+				if (Thread.currentThread() != caller) {
+					throw new IllegalStateException("Worker failure");
+				}
+				return seed;
+			}
+		}).start();
+		Thread.sleep(20);
+		assertEquals(0, pool.ready());
+		assertNotNull(pool.take());
+	}
+
+	private static void awaitFull(BoardPool<?> pool)
+			throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+		while (pool.ready() < CAPACITY) {
+			assertTrue("Pool did not fill", System.nanoTime() < deadline);
+			Thread.sleep(1);
+		}
+	}
+}
@@ -0,0 +1,139 @@
+/*
+  Copyright 2015 Ball State University
+
+  This file is part of Collaboration Station.
+
+  Collaboration Station is free software: you can redistribute it
+  and/or modify it under the terms of the GNU General Public
+  License as published by the Free Software Foundation, either
+  version 3 of the License, or (at your option) any later version.
+
+  Collaboration Station is distributed in the hope that it will
+  be useful, but WITHOUT ANY WARRANTY; without even the implied
+  warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+  PURPOSE.  See the GNU General Public License for more details.
+
+  You should have received a copy of the GNU General Public
+  License along with Collaboration Station.  If not, see
+  <http://www.gnu.org/licenses/>.
+*/
+package edu.bsu.issgame.core.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * Measures one-way latency through an object stream pair, as used by the
+ * local message pump, over {@link CircularByteBuffer} and
+ * {@link SpscByteRing}. A writer thread sends timestamps at a steady pace
+ * and the reading thread records how long each took to arrive. Run with
+ * {@code main}; it is not part of the test suite.
+ */
+public final class ByteRingLatencyBenchmark {
+
+	private static final int MESSAGES = 300;
+	private static final long PAUSE_MS = 2;
+	private static final long[] BUCKET_LIMITS_US = { 10, 50, 100, 1000,
+			10000, 100000, Long.MAX_VALUE };
+
+	private interface Pipe {
+		InputStream in();
+
+		OutputStream out();
+	}
+
+	public static void main(String[] args) throws Exception {
+		report("CircularByteBuffer", measure(new Pipe() {
+			private final CircularByteBuffer buffer = new CircularByteBuffer(
+					4096);
+
+			@Override
+			public InputStream in() {
+				return buffer.getInputStream();
+			}
+
+			@Override
+			public OutputStream out() {
+				return buffer.getOutputStream();
+			}
+		}));
+		report("SpscByteRing", measure(new Pipe() {
+			private final SpscByteRing ring = new SpscByteRing(1 << 16);
+
+			@Override
+			public InputStream in() {
+				return ring.getInputStream();
+			}
+
+			@Override
+			public OutputStream out() {
+				return ring.getOutputStream();
+			}
+		}));
+	}
+
+	private static long[] measure(Pipe pipe) throws Exception {
+		final ObjectOutputStream out = new ObjectOutputStream(pipe.out());
+		out.flush();
+		ObjectInputStream in = new ObjectInputStream(pipe.in());
+		Thread writer = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					for (int i = 0; i < MESSAGES; i++) {
+						Thread.sleep(PAUSE_MS);
+						out.writeLong(System.nanoTime());
+						out.flush();
+					}
+				} catch (InterruptedException e) {
+					throw new RuntimeException(e);
+				} catch (IOException e) {
+					throw new RuntimeException(e);
+				}
+			}
+		});
+		writer.start();
+		long[] latencies = new long[MESSAGES];
+		for (int i = 0; i < MESSAGES; i++) {
+			long sent = in.readLong();
+			latencies[i] = (System.nanoTime() - sent) / 1000;
+		}
+		writer.join();
+		Arrays.sort(latencies);
+		return latencies;
+	}
+
+	private static void report(String name, long[] latenciesUs) {
+		System.out.println(String.format("%s: p50 %dus, p99 %dus, max %dus",
+				name, latenciesUs[latenciesUs.length / 2],
+				latenciesUs[latenciesUs.length * 99 / 100],
+				latenciesUs[latenciesUs.length - 1]));
+		int index = 0;
+		long lower = 0;
+		for (long limit : BUCKET_LIMITS_US) {
+			int count = 0;
+			while (index < latenciesUs.length && latenciesUs[index] < limit) {
+				count++;
+				index++;
+			}
+			String label = limit == Long.MAX_VALUE ? ">= " + lower + "us"
+					: lower + "-" + limit + "us";
+			System.out.println(String.format("  %-16s %5d %s", label, count,
+					bar(count)));
+			lower = limit;
+		}
+	}
+
+	private static String bar(int count) {
+		char[] bar = new char[count * 50 / MESSAGES];
+		Arrays.fill(bar, '#');
+		return new String(bar);
+	}
+
+	private ByteRingLatencyBenchmark() {
+	}
+}
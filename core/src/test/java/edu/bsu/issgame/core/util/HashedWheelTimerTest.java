@@ -0,0 +1,128 @@
+/*
+  Copyright 2015 Ball State University
+
+  This file is part of Collaboration Station.
+
+  Collaboration Station is free software: you can redistribute it
+  and/or modify it under the terms of the GNU General Public
+  License as published by the Free Software Foundation, either
+  version 3 of the License, or (at your option) any later version.
+
+  Collaboration Station is distributed in the hope that it will
+  be useful, but WITHOUT ANY WARRANTY; without even the implied
+  warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+  PURPOSE.  See the GNU General Public License for more details.
+
+  You should have received a copy of the GNU General Public
+  License along with Collaboration Station.  If not, see
+  <http://www.gnu.org/licenses/>.
+*/
+package edu.bsu.issgame.core.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class HashedWheelTimerTest {
+
+	private HashedWheelTimer timer;
+
+	@Before
+	public void setUp() {
+		timer = new HashedWheelTimer("Test timer", 1, TimeUnit.MILLISECONDS, 8);
+		timer.start();
+	}
+
+	@After
+	public void tearDown() {
+		timer.stop();
+	}
+
+	@Test
+	public void testTaskRunsNoSoonerThanItsDelay() throws InterruptedException {
+		final CountDownLatch ran = new CountDownLatch(1);
+		final long start = System.nanoTime();
+		final long[] elapsed = new long[1];
+		timer.schedule(new Runnable() {
+			@Override
+			public void run() {
+				elapsed[0] = System.nanoTime() - start;
+				ran.countDown();
+			}
+		}, 5, TimeUnit.MILLISECONDS);
+		assertTrue(ran.await(1, TimeUnit.SECONDS));
+		assertTrue(elapsed[0] >= TimeUnit.MILLISECONDS.toNanos(5));
+	}
+
+	@Test
+	public void testCancelledTaskDoesNotRun() throws InterruptedException {
+		AtomicInteger runs = new AtomicInteger();
+		HashedWheelTimer.Timeout timeout = timer.schedule(counting(runs), 5,
+				TimeUnit.MILLISECONDS);
+		timeout.cancel();
+		Thread.sleep(20);
+		assertTrue(timeout.isCancelled());
+		assertEquals(0, runs.get());
+	}
+
+	@Test
+	public void testDelayLongerThanOneTurnOfTheWheel()
+			throws InterruptedException {
+		AtomicInteger runs = new AtomicInteger();
+		timer.schedule(counting(runs), 30, TimeUnit.MILLISECONDS);
+		Thread.sleep(20);
+		assertEquals(0, runs.get());
+		Thread.sleep(40);
+		assertEquals(1, runs.get());
+	}
+
+	@Test
+	public void testRunsManyTasksOnOneThread() throws InterruptedException {
+		final int count = 1000;
+		final CountDownLatch ran = new CountDownLatch(count);
+		final AtomicInteger threads = new AtomicInteger();
+		final Thread[] first = new Thread[1];
+		for (int i = 0; i < count; i++) {
+			timer.schedule(new Runnable() {
+				@Override
+				public void run() {
+					if (first[0] == null) {
+						first[0] = Thread.currentThread();
+					}
+					if (first[0] != Thread.currentThread()) {
+						threads.incrementAndGet();
+					}
+					ran.countDown();
+				}
+			}, i % 50, TimeUnit.MILLISECONDS);
+		}
+		assertTrue(ran.await(1, TimeUnit.SECONDS));
+		assertEquals(0, threads.get());
+	}
+
+	@Test
+	public void testStoppedTimerDropsTasks() throws InterruptedException {
+		AtomicInteger runs = new AtomicInteger();
+		timer.stop();
+		timer.schedule(counting(runs), 1, TimeUnit.MILLISECONDS);
+		Thread.sleep(10);
+		assertTrue(timer.isStopped());
+		assertEquals(0, runs.get());
+	}
+
+	private static Runnable counting(final AtomicInteger runs) {
+		return new Runnable() {
+			@Override
+			public void run() {
+				runs.incrementAndGet();
+			}
+		};
+	}
+}
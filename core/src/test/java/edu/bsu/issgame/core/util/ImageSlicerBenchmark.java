@@ -0,0 +1,126 @@
+/*
+  Copyright 2015 Ball State University
+
+  This file is part of Collaboration Station.
+
+  Collaboration Station is free software: you can redistribute it
+  and/or modify it under the terms of the GNU General Public
+  License as published by the Free Software Foundation, either
+  version 3 of the License, or (at your option) any later version.
+
+  Collaboration Station is distributed in the hope that it will
+  be useful, but WITHOUT ANY WARRANTY; without even the implied
+  warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+  PURPOSE.  See the GNU General Public License for more details.
+
+  You should have received a copy of the GNU General Public
+  License along with Collaboration Station.  If not, see
+  <http://www.gnu.org/licenses/>.
+*/
+package edu.bsu.issgame.core.util;
+
+import static playn.core.PlayN.graphics;
+
+import java.util.List;
+
+import playn.core.CanvasImage;
+import playn.core.Image;
+
+import com.google.common.collect.Lists;
+
+import edu.bsu.issgame.core.net.HeadlessTestCase;
+
+/**
+ * Times cutting a puzzle-sized image into the slices of each puzzle size,
+ * both the first time and again, and counts the pixel bytes copied into the
+ * slices. The same is measured for the copying slicer that
+ * {@link ImageSlicer} replaced, kept here as the baseline. Run with
+ * {@code main}; it is not part of the test suite.
+ */
+public final class ImageSlicerBenchmark extends HeadlessTestCase {
+
+	private static final int WIDTH = 540;
+	private static final int HEIGHT = 360;
+	private static final int[][] CUTS = { { 3, 2 }, { 3, 3 }, { 4, 3 },
+			{ 4, 4 } };
+	private static final int ROUNDS = 200;
+
+	public static void main(String[] args) {
+		CanvasImage source = graphics().createImage(WIDTH, HEIGHT);
+		source.canvas().setFillColor(0xFF336699).fillRect(0, 0, WIDTH,
+				HEIGHT / 2);
+		System.out.println(String.format("%-6s %12s %14s %12s %12s %14s",
+				"cut", "copying us", "bytes copied", "first us", "again us",
+				"bytes copied"));
+		for (int[] cut : CUTS) {
+			for (int i = 0; i < ROUNDS; i++) {
+				copyingSlices(source, cut[0], cut[1]);
+			}
+			long copying = 0;
+			List<CanvasImage> copies = null;
+			for (int i = 0; i < ROUNDS; i++) {
+				long start = System.nanoTime();
+				copies = copyingSlices(source, cut[0], cut[1]);
+				copying += System.nanoTime() - start;
+			}
+			for (int i = 0; i < ROUNDS; i++) {
+				ImageSlicer.clearCache();
+				ImageSlicer.cuts(source).intoSlicesAlongAxis(cut[0], cut[1]);
+			}
+			long first = 0;
+			long again = 0;
+			List<? extends Image> slices = null;
+			for (int i = 0; i < ROUNDS; i++) {
+				ImageSlicer.clearCache();
+				long start = System.nanoTime();
+				slices = ImageSlicer.cuts(source).intoSlicesAlongAxis(cut[0],
+						cut[1]);
+				long middle = System.nanoTime();
+				ImageSlicer.cuts(source).intoSlicesAlongAxis(cut[0], cut[1]);
+				long end = System.nanoTime();
+				first += middle - start;
+				again += end - middle;
+			}
+			System.out.println(String.format(
+					"%-6s %12.1f %14d %12.1f %12.1f %14d", cut[0] + "x"
+							+ cut[1], copying / 1000.0 / ROUNDS,
+					bytesCopied(copies), first / 1000.0 / ROUNDS, again
+							/ 1000.0 / ROUNDS, bytesCopied(slices)));
+		}
+	}
+
+	/** Counts the pixels of each slice that does not share its source's. */
+	private static long bytesCopied(List<? extends Image> slices) {
+		long bytes = 0;
+		for (Image slice : slices) {
+			if (!(slice instanceof Image.Region)) {
+				bytes += (long) slice.width() * (long) slice.height() * 4;
+			}
+		}
+		return bytes;
+	}
+
+	/** Slices by copying each slice's pixels, as ImageSlicer used to. */
+	private static List<CanvasImage> copyingSlices(Image source, int cols,
+			int rows) {
+		int sliceWidth = (int) (source.width() / cols);
+		int sliceHeight = (int) (source.height() / rows);
+		int[] pixelData = new int[sliceWidth * sliceHeight];
+		List<CanvasImage> list = Lists.newArrayList();
+		for (int y = 0; y < rows; y++) {
+			for (int x = 0; x < cols; x++) {
+				CanvasImage image = graphics().createImage(sliceWidth,
+						sliceHeight);
+				source.getRgb(x * sliceWidth, y * sliceHeight, sliceWidth,
+						sliceHeight, pixelData, 0, sliceWidth);
+				image.setRgb(0, 0, sliceWidth, sliceHeight, pixelData, 0,
+						sliceWidth);
+				list.add(image);
+			}
+		}
+		return list;
+	}
+
+	private ImageSlicerBenchmark() {
+	}
+}
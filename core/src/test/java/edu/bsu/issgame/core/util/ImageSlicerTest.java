@@ -21,6 +21,8 @@ package edu.bsu.issgame.core.util;
 
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static playn.core.PlayN.graphics;
 
 import java.util.List;
@@ -29,6 +31,7 @@ import org.junit.Before;
 import org.junit.Test;
 
 import playn.core.CanvasImage;
+import playn.core.Image;
 import tripleplay.util.Colors;
 import edu.bsu.issgame.core.net.HeadlessTestCase;
 
@@ -38,7 +41,7 @@ public class ImageSlicerTest extends HeadlessTestCase {
 	private static final int TEST_IMAGE_SIZE = 10;
 
 	private CanvasImage image;
-	private List<CanvasImage> images;
+	private List<Image> images;
 	private int[] sourcePixelData;
 	private int[] targetPixelData;
 
@@ -109,4 +112,48 @@ public class ImageSlicerTest extends HeadlessTestCase {
 		readTargetData(sliceSize);
 		assertArrayEquals(sourcePixelData, targetPixelData);
 	}
+
+	@Test
+	public void testSlice_2_lowerRightSlicePixelsMatchSource() {
+		whenSlicingTheTestImageInto(2);
+		int sliceSize = TEST_IMAGE_SIZE / 2;
+		int[] expected = new int[sliceSize * sliceSize];
+		image.getRgb(sliceSize, sliceSize, sliceSize, sliceSize, expected, 0,
+				sliceSize);
+		int[] actual = new int[sliceSize * sliceSize];
+		images.get(3).getRgb(0, 0, sliceSize, sliceSize, actual, 0, sliceSize);
+		assertArrayEquals(expected, actual);
+	}
+
+	@Test
+	public void testSlice_slicesAreRegionsOfTheSource() {
+		whenSlicingTheTestImageInto(2);
+		for (Image slice : images) {
+			assertSame(image, ((Image.Region) slice).parent());
+		}
+	}
+
+	@Test
+	public void testSlice_sameImageSameWay_sameSlices() {
+		whenSlicingTheTestImageInto(2);
+		assertSame(images, ImageSlicer.cuts(image).intoSlicesAlongAxis(2, 2));
+	}
+
+	@Test
+	public void testSlice_sameImageAnotherWay_otherSlices() {
+		whenSlicingTheTestImageInto(2);
+		assertEquals(6, ImageSlicer.cuts(image).intoSlicesAlongAxis(3, 2)
+				.size());
+	}
+
+	@Test
+	public void testSlice_manyImages_leastRecentlyUsedIsForgotten() {
+		whenSlicingTheTestImageInto(2);
+		for (int i = 0; i < ImageSlicer.CACHED_SLICINGS; i++) {
+			ImageSlicer.cuts(graphics().createImage(2, 2)).intoSlicesAlongAxis(
+					1, 1);
+		}
+		assertNotSame(images, ImageSlicer.cuts(image)
+				.intoSlicesAlongAxis(2, 2));
+	}
 }
@@ -0,0 +1,154 @@
+/*
+  Copyright 2015 Ball State University
+
+  This file is part of Collaboration Station.
+
+  Collaboration Station is free software: you can redistribute it
+  and/or modify it under the terms of the GNU General Public
+  License as published by the Free Software Foundation, either
+  version 3 of the License, or (at your option) any later version.
+
+  Collaboration Station is distributed in the hope that it will
+  be useful, but WITHOUT ANY WARRANTY; without even the implied
+  warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+  PURPOSE.  See the GNU General Public License for more details.
+
+  You should have received a copy of the GNU General Public
+  License along with Collaboration Station.  If not, see
+  <http://www.gnu.org/licenses/>.
+*/
+package edu.bsu.issgame.core.util;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class SpscByteRingTest {
+
+	private ExecutorService executorService;
+
+	@Before
+	public void setUp() {
+		executorService = Executors.newCachedThreadPool();
+	}
+
+	@After
+	public void tearDown() {
+		executorService.shutdownNow();
+	}
+
+	@Test
+	public void testWriteAndRead() throws IOException {
+		SpscByteRing ring = new SpscByteRing(16);
+		ring.getOutputStream().write(200);
+		assertEquals(200, ring.getInputStream().read());
+	}
+
+	@Test
+	public void testReadWrapsAroundTheEnd() throws IOException {
+		SpscByteRing ring = new SpscByteRing(8);
+		byte[] first = { 1, 2, 3, 4, 5, 6 };
+		byte[] second = { 7, 8, 9, 10, 11 };
+		ring.getOutputStream().write(first);
+		readFully(ring.getInputStream(), first.length);
+		ring.getOutputStream().write(second);
+		assertArrayEquals(second,
+				readFully(ring.getInputStream(), second.length));
+	}
+
+	@Test
+	public void testWriteAndReadWithObjectStreams() throws IOException,
+			ClassNotFoundException {
+		Object value = "Hello";
+		SpscByteRing ring = new SpscByteRing(1024);
+		ObjectOutputStream out = new ObjectOutputStream(ring.getOutputStream());
+		out.writeObject(value);
+		out.flush();
+		ObjectInputStream in = new ObjectInputStream(ring.getInputStream());
+		assertEquals(value, in.readObject());
+	}
+
+	@Test
+	public void testTransferLargerThanCapacityAcrossThreads()
+			throws Exception {
+		final SpscByteRing ring = new SpscByteRing(64);
+		final byte[] data = new byte[100000];
+		new Random(42).nextBytes(data);
+		Future<byte[]> received = executorService
+				.submit(new Callable<byte[]>() {
+					@Override
+					public byte[] call() throws IOException {
+						return readFully(ring.getInputStream(), data.length);
+					}
+				});
+		OutputStream out = ring.getOutputStream();
+		for (int offset = 0; offset < data.length; offset += 1000) {
+			out.write(data, offset, 1000);
+		}
+		assertArrayEquals(data, received.get(5, TimeUnit.SECONDS));
+	}
+
+	@Test
+	public void testClosedWriterEndsStreamAfterRemainingBytes()
+			throws IOException {
+		SpscByteRing ring = new SpscByteRing(16);
+		ring.getOutputStream().write(7);
+		ring.getOutputStream().close();
+		assertEquals(7, ring.getInputStream().read());
+		assertEquals(-1, ring.getInputStream().read());
+	}
+
+	@Test
+	public void testInterruptedReaderThrows() throws Exception {
+		final SpscByteRing ring = new SpscByteRing(16);
+		Future<Boolean> reader = executorService.submit(new Callable<Boolean>() {
+			@Override
+			public Boolean call() throws IOException {
+				try {
+					ring.getInputStream().read();
+					return false;
+				} catch (BlockingReadOperationInterruptedException e) {
+					return true;
+				}
+			}
+		});
+		Thread.sleep(100);
+		executorService.shutdownNow();
+		assertTrue(reader.get(1, TimeUnit.SECONDS));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testCapacityMustBeAPowerOfTwo() {
+		new SpscByteRing(100);
+	}
+
+	private static byte[] readFully(InputStream in, int length)
+			throws IOException {
+		byte[] bytes = new byte[length];
+		int read = 0;
+		while (read < length) {
+			int count = in.read(bytes, read, length - read);
+			if (count < 0) {
+				throw new IOException("Stream ended early.");
+			}
+			read += count;
+		}
+		return bytes;
+	}
+}
@@ -0,0 +1,61 @@
+/*
+  Copyright 2015 Ball State University
+
+  This file is part of Collaboration Station.
+
+  Collaboration Station is free software: you can redistribute it
+  and/or modify it under the terms of the GNU General Public
+  License as published by the Free Software Foundation, either
+  version 3 of the License, or (at your option) any later version.
+
+  Collaboration Station is distributed in the hope that it will
+  be useful, but WITHOUT ANY WARRANTY; without even the implied
+  warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+  PURPOSE.  See the GNU General Public License for more details.
+
+  You should have received a copy of the GNU General Public
+  License along with Collaboration Station.  If not, see
+  <http://www.gnu.org/licenses/>.
+*/
+package edu.bsu.issgame.core.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import edu.bsu.issgame.core.net.HeadlessTestCase;
+
+public class StartupTimelineTest extends HeadlessTestCase {
+
+	private final StartupTimeline timeline = StartupTimeline.create();
+
+	@Test
+	public void testOnlyTheFirstMarkCounts() throws InterruptedException {
+		timeline.mark(StartupTimeline.GAME_INIT);
+		long first = timeline.millisTo(StartupTimeline.GAME_INIT);
+		Thread.sleep(5);
+		timeline.mark(StartupTimeline.GAME_INIT);
+		assertEquals(first, timeline.millisTo(StartupTimeline.GAME_INIT));
+	}
+
+	@Test
+	public void testMarksAreOrderedInTime() throws InterruptedException {
+		timeline.mark(StartupTimeline.WELCOME_ASSETS_LOADED);
+		Thread.sleep(5);
+		timeline.mark(StartupTimeline.FIRST_INTERACTIVE_FRAME);
+		assertTrue(timeline.millisTo(StartupTimeline.FIRST_INTERACTIVE_FRAME) > timeline
+				.millisTo(StartupTimeline.WELCOME_ASSETS_LOADED));
+	}
+
+	@Test
+	public void testUnmarkedMilestoneIsNotReached() {
+		assertFalse(timeline.hasReached(StartupTimeline.ALL_ASSETS_LOADED));
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testTimeToUnmarkedMilestoneIsAnError() {
+		timeline.millisTo(StartupTimeline.ALL_ASSETS_LOADED);
+	}
+}
@@ -61,8 +61,7 @@ public class BackgroundScalingTest extends HeadlessTestCase {
 
 	@Theory
 	public void testThatBackgroundImageIsCentered(TestSizes canadites) {
-		ScreenScale scale = new ScreenScale();
-		scale.setTestDimension(canadites.getSize());
+		ScreenScale scale = ScreenScale.forSize(canadites.getSize());
 		int uncroppedWidth = scale.uncroppedBackgroundRect.width;
 		int uncroppedHeight = scale.uncroppedBackgroundRect.height;
 
@@ -78,8 +77,7 @@ public class BackgroundScalingTest extends HeadlessTestCase {
 
 	@Theory
 	public void testThatBackgroundImageFillsEntireScreen(TestSizes canadites) {
-		ScreenScale scale = new ScreenScale();
-		scale.setTestDimension(canadites.getSize());
+		ScreenScale scale = ScreenScale.forSize(canadites.getSize());
 		int backgroundImageHeight = scale.backgroundRect.height;
 		int backgroundImageWidth = scale.backgroundRect.width;
 		int screenSizeWidth = scale.screenSize.width;
@@ -95,8 +93,7 @@ public class BackgroundScalingTest extends HeadlessTestCase {
 	@Theory
 	public void testThatBackgroundImageIsOnlyCroppedOnOneAxis(
 			TestSizes canadites) {
-		ScreenScale scale = new ScreenScale();
-		scale.setTestDimension(canadites.getSize());
+		ScreenScale scale = ScreenScale.forSize(canadites.getSize());
 
 		double screenScale = scale.screenRatio;
 		Image modifiedBackgroundImage = scale
@@ -121,7 +118,7 @@ public class BackgroundScalingTest extends HeadlessTestCase {
 
 	@Test
 	public void testThatProjectedBackgroundImageIsOnlyCroppedOnOneAxis() {
-		ScreenScale scale = new ScreenScale();
+		ScreenScale scale = ScreenScale.forDisplay();
 
 		int uncroppedWidth = scale.uncroppedBackgroundRect.width;
 		int uncroppedHeight = scale.uncroppedBackgroundRect.height;
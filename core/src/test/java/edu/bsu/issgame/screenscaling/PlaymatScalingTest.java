@@ -58,14 +58,14 @@ public class PlaymatScalingTest extends HeadlessTestCase {
 
 	@Test
 	public void testThatPlayMatIsSmallerThanScreen() {
-		ScreenScale scale = new ScreenScale();
+		ScreenScale scale = ScreenScale.forDisplay();
 		assertTrue(scale.screenSize.width >= scale.playmatRect.width);
 		assertTrue(scale.screenSize.height >= scale.playmatRect.height);
 	}
 
 	@Test
 	public void testThatPlayMatMaintainsAspectRatio() {
-		ScreenScale scale = new ScreenScale();
+		ScreenScale scale = ScreenScale.forDisplay();
 		double originalRatio = ScreenScale.originalScale;
 		double playmatRatio = getRatio(scale.playmatSize.width,
 				scale.playmatSize.height);
@@ -78,7 +78,7 @@ public class PlaymatScalingTest extends HeadlessTestCase {
 
 	@Test
 	public void testThatPlayMatIsCentered() {
-		ScreenScale scale = new ScreenScale();
+		ScreenScale scale = ScreenScale.forDisplay();
 		int playmatX = scale.playmatRect.x;
 		int playmatY = scale.playmatRect.y;
 		int playmatWidth = scale.playmatRect.width;
@@ -96,7 +96,7 @@ public class PlaymatScalingTest extends HeadlessTestCase {
 
 	@Test
 	public void testThatPlayMatIsOnlyCroppedOnOneAxis() {
-		ScreenScale scale = new ScreenScale();
+		ScreenScale scale = ScreenScale.forDisplay();
 
 		int screenWidth = scale.screenSize.width;
 		int screenHeight = scale.screenSize.height;
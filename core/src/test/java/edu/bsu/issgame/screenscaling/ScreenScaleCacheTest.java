@@ -0,0 +1,80 @@
+/*
+  Copyright 2015 Ball State University
+
+  This file is part of Collaboration Station.
+
+  Collaboration Station is free software: you can redistribute it
+  and/or modify it under the terms of the GNU General Public
+  License as published by the Free Software Foundation, either
+  version 3 of the License, or (at your option) any later version.
+
+  Collaboration Station is distributed in the hope that it will
+  be useful, but WITHOUT ANY WARRANTY; without even the implied
+  warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+  PURPOSE.  See the GNU General Public License for more details.
+
+  You should have received a copy of the GNU General Public
+  License along with Collaboration Station.  If not, see
+  <http://www.gnu.org/licenses/>.
+*/
+package edu.bsu.issgame.screenscaling;
+
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static playn.core.PlayN.assets;
+
+import org.junit.Test;
+
+import playn.core.Image;
+import pythagoras.i.Dimension;
+import edu.bsu.issgame.core.GameImage;
+import edu.bsu.issgame.core.ScreenScale;
+import edu.bsu.issgame.core.net.HeadlessTestCase;
+
+public class ScreenScaleCacheTest extends HeadlessTestCase {
+
+	private static final Image BACKGROUND = assets().getImageSync(
+			GameImage.SCORE_SCREEN_BACKGROUND.path);
+
+	@Test
+	public void testDisplayScaleIsShared() {
+		assertSame(ScreenScale.forDisplay(), ScreenScale.forDisplay());
+	}
+
+	@Test
+	public void testScaleIsSharedPerSize() {
+		assertSame(ScreenScale.forSize(new Dimension(640, 480)),
+				ScreenScale.forSize(new Dimension(640, 480)));
+		assertNotSame(ScreenScale.forSize(new Dimension(640, 480)),
+				ScreenScale.forSize(new Dimension(800, 480)));
+	}
+
+	@Test
+	public void testBackgroundIsCroppedOncePerSize() {
+		ScreenScale scale = ScreenScale.forSize(new Dimension(700, 300));
+		assertSame(scale.getBackgroundSubImage(BACKGROUND),
+				scale.getBackgroundSubImage(BACKGROUND));
+	}
+
+	@Test
+	public void testBackgroundIsCroppedAgainForAnotherSize() {
+		assertNotSame(ScreenScale.forSize(new Dimension(700, 300))
+				.getBackgroundSubImage(BACKGROUND),
+				ScreenScale.forSize(new Dimension(600, 500))
+						.getBackgroundSubImage(BACKGROUND));
+	}
+
+	@Test
+	public void testLoadingBackgroundIsNotCached() {
+		Image loading = assets().getImage(
+				GameImage.MEMORY_BOARD_BACKGROUND.path);
+		ScreenScale scale = ScreenScale.forSize(new Dimension(640, 480));
+		assertNotSame(scale.getBackgroundSubImage(loading),
+				scale.getBackgroundSubImage(loading));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testEmptySizeIsRejected() {
+		ScreenScale.forSize(new Dimension(0, 0));
+	}
+}
@@ -0,0 +1,89 @@
+/*
+  Copyright 2015 Ball State University
+
+  This file is part of Collaboration Station.
+
+  Collaboration Station is free software: you can redistribute it
+  and/or modify it under the terms of the GNU General Public
+  License as published by the Free Software Foundation, either
+  version 3 of the License, or (at your option) any later version.
+
+  Collaboration Station is distributed in the hope that it will
+  be useful, but WITHOUT ANY WARRANTY; without even the implied
+  warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+  PURPOSE.  See the GNU General Public License for more details.
+
+  You should have received a copy of the GNU General Public
+  License along with Collaboration Station.  If not, see
+  <http://www.gnu.org/licenses/>.
+*/
+package edu.bsu.issgame.screenscaling;
+
+import static playn.core.PlayN.assets;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Method;
+
+import playn.core.Image;
+import edu.bsu.issgame.core.ScreenScale;
+import edu.bsu.issgame.core.assetmgt.LoadableImage;
+import edu.bsu.issgame.core.net.HeadlessTestCase;
+
+/**
+ * Replays the screen-scaling work of moving through the lobby, task
+ * assignment, game preparation and a minigame: each screen gets its scale,
+ * crops its background and places its labels. Reports time and bytes
+ * allocated per transition. Run with {@code main}; it is not part of the
+ * test suite.
+ */
+public final class ScreenTransitionBenchmark extends HeadlessTestCase {
+
+	private static final int WARMUP = 20000;
+	private static final int TRANSITIONS = 200000;
+
+	private static final LoadableImage[] BACKGROUNDS = {
+			LoadableImage.LOBBY_BG, LoadableImage.TASK_ASSIGNMENT_BACKGROUND,
+			LoadableImage.SCENARIO_INFORMATION_BACKGROUND,
+			LoadableImage.MEMORY_BOARD_BACKGROUND };
+
+	public static void main(String[] args) throws Exception {
+		Image[] backgrounds = new Image[BACKGROUNDS.length];
+		for (int i = 0; i < backgrounds.length; i++) {
+			backgrounds[i] = assets().getImageSync(BACKGROUNDS[i].path());
+		}
+		int sink = 0;
+		for (int i = 0; i < WARMUP; i++) {
+			sink += transition(backgrounds[i % backgrounds.length]);
+		}
+		long bytes = allocatedBytes();
+		long start = System.nanoTime();
+		for (int i = 0; i < TRANSITIONS; i++) {
+			sink += transition(backgrounds[i % backgrounds.length]);
+		}
+		long nanos = System.nanoTime() - start;
+		bytes = allocatedBytes() - bytes;
+		System.out.println(String.format(
+				"%.0f ns and %d bytes per transition (%d)",
+				(double) nanos / TRANSITIONS, bytes / TRANSITIONS, sink & 1));
+	}
+
+	// HotSpot's extension of ThreadMXBean, reached reflectively so the test
+	// sources still build against the plain JDK API.
+	private static long allocatedBytes() throws Exception {
+		Method method = Class.forName("com.sun.management.ThreadMXBean")
+				.getMethod("getThreadAllocatedBytes", long.class);
+		return (Long) method.invoke(ManagementFactory.getThreadMXBean(),
+				Thread.currentThread().getId());
+	}
+
+	private static int transition(Image background) {
+		ScreenScale scale = ScreenScale.forDisplay();
+		Image cropped = scale.getBackgroundSubImage(background);
+		return (int) cropped.width() + scale.getScaledPosition().x
+				+ scale.getScaledScreenSize().width
+				+ scale.getScaledPosition().y;
+	}
+
+	private ScreenTransitionBenchmark() {
+	}
+}
@@ -0,0 +1,143 @@
+/*
+  Copyright 2015 Ball State University
+
+  This file is part of Collaboration Station.
+
+  Collaboration Station is free software: you can redistribute it
+  and/or modify it under the terms of the GNU General Public
+  License as published by the Free Software Foundation, either
+  version 3 of the License, or (at your option) any later version.
+
+  Collaboration Station is distributed in the hope that it will
+  be useful, but WITHOUT ANY WARRANTY; without even the implied
+  warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+  PURPOSE.  See the GNU General Public License for more details.
+
+  You should have received a copy of the GNU General Public
+  License along with Collaboration Station.  If not, see
+  <http://www.gnu.org/licenses/>.
+*/
+package edu.bsu.issgame.java;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+import javax.imageio.ImageIO;
+
+import com.google.common.collect.Lists;
+
+import edu.bsu.issgame.core.assetmgt.AssetDensity;
+
+/**
+ * Writes the scaled-down variant of every PNG in the assets directory for
+ * each {@link AssetDensity} below full size. Run it with the assets
+ * directory as its argument after changing any image, after
+ * {@link AtlasPacker} if the atlas changed, e.g.
+ * {@code mvn -Pdensities process-classes} in this module, and commit the
+ * output.
+ */
+public final class AssetScaler {
+
+	public static void main(String[] args) throws IOException {
+		if (args.length != 1) {
+			System.err.println("Usage: AssetScaler <assets directory>");
+			System.exit(1);
+		}
+		new AssetScaler(new File(args[0])).scaleAll();
+	}
+
+	private final File assetsDirectory;
+
+	private AssetScaler(File assetsDirectory) {
+		this.assetsDirectory = assetsDirectory;
+	}
+
+	private void scaleAll() throws IOException {
+		List<File> originals = Lists.newArrayList();
+		collect(assetsDirectory, originals);
+		for (AssetDensity density : AssetDensity.values()) {
+			if (density == AssetDensity.FULL) {
+				continue;
+			}
+			long bytes = 0;
+			for (File original : originals) {
+				File variant = new File(density.variantPath(original.getPath()));
+				BufferedImage scaled = scale(ImageIO.read(original),
+						density.factor);
+				ImageIO.write(scaled, "png", variant);
+				bytes += variant.length();
+			}
+			System.out.println(density + ": " + originals.size()
+					+ " images, " + bytes + " bytes");
+		}
+	}
+
+	private static void collect(File directory, List<File> files) {
+		File[] children = directory.listFiles();
+		if (children == null) {
+			return;
+		}
+		for (File child : children) {
+			if (child.isDirectory()) {
+				collect(child, files);
+			} else if (child.getName().endsWith(".png")
+					&& !AssetDensity.isVariant(child.getName())) {
+				files.add(child);
+			}
+		}
+	}
+
+	/**
+	 * Shrinks the image by averaging the source pixels each target pixel
+	 * covers. Colours are weighted by alpha so transparent pixels do not
+	 * darken the edges of a sprite. The size is rounded up so the variant,
+	 * loaded at the density's scale, is never smaller than the original.
+	 */
+	static BufferedImage scale(BufferedImage source, float factor) {
+		int sourceWidth = source.getWidth();
+		int sourceHeight = source.getHeight();
+		int width = (int) Math.ceil(sourceWidth * factor);
+		int height = (int) Math.ceil(sourceHeight * factor);
+		int[] pixels = source.getRGB(0, 0, sourceWidth, sourceHeight, null, 0,
+				sourceWidth);
+		BufferedImage target = new BufferedImage(width, height, source
+				.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB
+				: BufferedImage.TYPE_INT_RGB);
+		for (int y = 0; y < height; y++) {
+			float top = y / factor;
+			float bottom = Math.min((y + 1) / factor, sourceHeight);
+			for (int x = 0; x < width; x++) {
+				float left = x / factor;
+				float right = Math.min((x + 1) / factor, sourceWidth);
+				target.setRGB(x, y, average(pixels, sourceWidth, left, top,
+						right, bottom));
+			}
+		}
+		return target;
+	}
+
+	private static int average(int[] pixels, int stride, float left,
+			float top, float right, float bottom) {
+		float a = 0, r = 0, g = 0, b = 0, area = 0;
+		for (int sy = (int) top; sy < bottom; sy++) {
+			float dy = Math.min(sy + 1, bottom) - Math.max(sy, top);
+			for (int sx = (int) left; sx < right; sx++) {
+				float weight = dy * (Math.min(sx + 1, right) - Math.max(sx, left));
+				int argb = pixels[sy * stride + sx];
+				float alpha = (argb >>> 24) * weight;
+				a += alpha;
+				r += ((argb >> 16) & 0xff) * alpha;
+				g += ((argb >> 8) & 0xff) * alpha;
+				b += (argb & 0xff) * alpha;
+				area += weight;
+			}
+		}
+		if (a == 0) {
+			return 0;
+		}
+		return Math.round(a / area) << 24 | Math.round(r / a) << 16
+				| Math.round(g / a) << 8 | Math.round(b / a);
+	}
+}
@@ -0,0 +1,249 @@
+/*
+  Copyright 2015 Ball State University
+
+  This file is part of Collaboration Station.
+
+  Collaboration Station is free software: you can redistribute it
+  and/or modify it under the terms of the GNU General Public
+  License as published by the Free Software Foundation, either
+  version 3 of the License, or (at your option) any later version.
+
+  Collaboration Station is distributed in the hope that it will
+  be useful, but WITHOUT ANY WARRANTY; without even the implied
+  warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+  PURPOSE.  See the GNU General Public License for more details.
+
+  You should have received a copy of the GNU General Public
+  License along with Collaboration Station.  If not, see
+  <http://www.gnu.org/licenses/>.
+*/
+package edu.bsu.issgame.java;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import javax.imageio.ImageIO;
+
+import com.google.common.base.Charsets;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+
+import edu.bsu.issgame.core.assetmgt.AssetDensity;
+import edu.bsu.issgame.core.assetmgt.TextureAtlas;
+
+/**
+ * Packs the small images that are drawn side by side into a few atlas pages
+ * and writes the index that {@link TextureAtlas} reads at runtime. Run it
+ * with the assets directory as its argument after changing any of the packed
+ * images, e.g. {@code mvn -Patlas process-classes} in this module, and
+ * commit the output.
+ */
+public final class AtlasPacker {
+
+	private static final int MAX_PAGE_SIZE = 1024;
+
+	// Each image is surrounded by copies of its own edge pixels and then a
+	// transparent pixel so filtering never samples a neighbour. AssetScaler
+	// averages up to 1/factor pixels of a page into each scaled pixel, and
+	// bilinear sampling at a sprite's border reaches one scaled pixel
+	// further, so the copies have to cover two scaled pixels at the smallest
+	// density.
+	private static final int EXTRUDE = extrusionFor(AssetDensity.values());
+	private static final int PADDING = 2 * EXTRUDE + 1;
+
+	private static int extrusionFor(AssetDensity[] densities) {
+		float smallest = 1;
+		for (AssetDensity density : densities) {
+			smallest = Math.min(smallest, density.factor);
+		}
+		return 2 * (int) Math.ceil(1 / smallest);
+	}
+
+	private static final Map<String, Pattern> GROUPS = ImmutableMap.of(//
+			"cards", Pattern.compile("images/(cards/.*|memorycard_cardback)\\.png"),//
+			"wires", Pattern.compile("images/\\w+_square_pipe(_\\w+)?\\.png"),//
+			"badges", Pattern.compile("images/(\\w+_flag|icon_\\w+)\\.png"));
+
+	public static void main(String[] args) throws IOException {
+		if (args.length != 1) {
+			System.err.println("Usage: AtlasPacker <assets directory>");
+			System.exit(1);
+		}
+		new AtlasPacker(new File(args[0])).pack();
+	}
+
+	private static final class Sprite {
+		private final String path;
+		private final BufferedImage image;
+		private int page;
+		private int x;
+		private int y;
+
+		private Sprite(String path, BufferedImage image) {
+			this.path = path;
+			this.image = image;
+		}
+	}
+
+	private static final Comparator<Sprite> TALLEST_FIRST = new Comparator<Sprite>() {
+		@Override
+		public int compare(Sprite a, Sprite b) {
+			int byHeight = b.image.getHeight() - a.image.getHeight();
+			return byHeight != 0 ? byHeight : a.path.compareTo(b.path);
+		}
+	};
+
+	private final File assetsDirectory;
+
+	private AtlasPacker(File assetsDirectory) {
+		this.assetsDirectory = assetsDirectory;
+	}
+
+	private void pack() throws IOException {
+		File atlasDirectory = new File(assetsDirectory,
+				TextureAtlas.DIRECTORY);
+		atlasDirectory.mkdirs();
+		StringBuilder index = new StringBuilder(
+				"# Generated by AtlasPacker; do not edit.\n");
+		for (Map.Entry<String, Pattern> group : GROUPS.entrySet()) {
+			List<Sprite> sprites = load(group.getValue());
+			int pages = layOut(sprites);
+			for (int page = 0; page < pages; page++) {
+				String pagePath = TextureAtlas.DIRECTORY + "/" + group.getKey()
+						+ (page == 0 ? "" : "-" + page) + ".png";
+				writePage(sprites, page, new File(assetsDirectory, pagePath));
+				index.append(pagePath).append('\n');
+				for (Sprite sprite : sprites) {
+					if (sprite.page == page) {
+						index.append(String.format("%s %d %d %d %d\n",
+								sprite.path, sprite.x, sprite.y,
+								sprite.image.getWidth(),
+								sprite.image.getHeight()));
+					}
+				}
+			}
+			System.out.println(group.getKey() + ": " + sprites.size()
+					+ " images on " + pages + " page(s)");
+		}
+		Writer writer = new OutputStreamWriter(new FileOutputStream(new File(
+				assetsDirectory, TextureAtlas.INDEX)), Charsets.UTF_8);
+		try {
+			writer.write(index.toString());
+		} finally {
+			writer.close();
+		}
+	}
+
+	private List<Sprite> load(Pattern pattern) throws IOException {
+		List<Sprite> sprites = Lists.newArrayList();
+		File images = new File(assetsDirectory, "images");
+		List<File> files = Lists.newArrayList();
+		collect(images, files);
+		for (File file : files) {
+			String path = assetsDirectory.toURI().relativize(file.toURI())
+					.getPath();
+			if (pattern.matcher(path).matches()
+					&& !AssetDensity.isVariant(path)) {
+				sprites.add(new Sprite(path, ImageIO.read(file)));
+			}
+		}
+		Collections.sort(sprites, TALLEST_FIRST);
+		return sprites;
+	}
+
+	private static void collect(File directory, List<File> files) {
+		File[] children = directory.listFiles();
+		if (children == null) {
+			return;
+		}
+		for (File child : children) {
+			if (child.isDirectory()) {
+				collect(child, files);
+			} else {
+				files.add(child);
+			}
+		}
+	}
+
+	/**
+	 * Places the sprites on shelves, tallest first, starting a new page when
+	 * one fills up. Returns the number of pages.
+	 */
+	private static int layOut(List<Sprite> sprites) {
+		int page = 0;
+		int x = 0;
+		int y = 0;
+		int shelfHeight = 0;
+		for (Sprite sprite : sprites) {
+			int width = sprite.image.getWidth() + PADDING;
+			int height = sprite.image.getHeight() + PADDING;
+			if (width > MAX_PAGE_SIZE || height > MAX_PAGE_SIZE) {
+				throw new IllegalArgumentException(sprite.path
+						+ " does not fit on an atlas page");
+			}
+			if (x + width > MAX_PAGE_SIZE) {
+				x = 0;
+				y += shelfHeight;
+				shelfHeight = 0;
+			}
+			if (y + height > MAX_PAGE_SIZE) {
+				page++;
+				x = 0;
+				y = 0;
+				shelfHeight = 0;
+			}
+			sprite.page = page;
+			sprite.x = x + EXTRUDE;
+			sprite.y = y + EXTRUDE;
+			x += width;
+			shelfHeight = Math.max(shelfHeight, height);
+		}
+		return sprites.isEmpty() ? 0 : page + 1;
+	}
+
+	private static void writePage(List<Sprite> sprites, int page, File file)
+			throws IOException {
+		int width = 1;
+		int height = 1;
+		for (Sprite sprite : sprites) {
+			if (sprite.page == page) {
+				width = Math.max(width, sprite.x + sprite.image.getWidth()
+						+ EXTRUDE + 1);
+				height = Math.max(height, sprite.y + sprite.image.getHeight()
+						+ EXTRUDE + 1);
+			}
+		}
+		// Atlas images are never repeated, so the page need not be a power
+		// of two, and a tight page decodes faster.
+		BufferedImage pageImage = new BufferedImage(width, height,
+				BufferedImage.TYPE_INT_ARGB);
+		for (Sprite sprite : sprites) {
+			if (sprite.page == page) {
+				draw(sprite, pageImage);
+			}
+		}
+		ImageIO.write(pageImage, "png", file);
+	}
+
+	private static void draw(Sprite sprite, BufferedImage page) {
+		int width = sprite.image.getWidth();
+		int height = sprite.image.getHeight();
+		for (int dy = -EXTRUDE; dy < height + EXTRUDE; dy++) {
+			int sy = Math.min(Math.max(dy, 0), height - 1);
+			for (int dx = -EXTRUDE; dx < width + EXTRUDE; dx++) {
+				int sx = Math.min(Math.max(dx, 0), width - 1);
+				page.setRGB(sprite.x + dx, sprite.y + dy,
+						sprite.image.getRGB(sx, sy));
+			}
+		}
+	}
+}
@@ -67,7 +67,8 @@ public final class ClientConnector implements Runnable {
 		Client client = null;
 		try {
 			Socket socket = connectTo(address);
-			MessageIO messageIO = MessageIO.SocketAdapter.inClientMode(socket);
+			MessageIO messageIO = JavaNetworkInterface.wireFormat
+					.inClientMode(socket);
 			client = Client.withIO(messageIO).withVersionCode(JavaNetworkInterface.versionCode);
 		} catch (IOException e) {
 			throw new RuntimeException(e);
@@ -75,7 +76,7 @@ public final class ClientConnector implements Runnable {
 		ExecutorService executorService = Executors.newCachedThreadPool();
 		clientConnected.emit(client);
 		executorService.execute(client);
-		client.startPingClient(executorService);
+		client.startPingClient();
 	}
 
 	private Socket connectTo(InetSocketAddress address) throws IOException {
@@ -38,6 +38,7 @@ import org.apache.commons.cli.ParseException;
 import org.apache.commons.cli.PosixParser;
 
 import playn.core.PlayN;
+import playn.java.JavaAssets;
 import playn.java.JavaGraphics;
 import playn.java.JavaPlatform;
 import pythagoras.i.Dimension;
@@ -47,10 +48,16 @@ import react.Slot;
 import react.UnitSlot;
 import edu.bsu.issgame.core.FontInfo;
 import edu.bsu.issgame.core.IssGame;
+import edu.bsu.issgame.core.ScreenScale;
+import edu.bsu.issgame.core.assetmgt.AssetDensity;
+import edu.bsu.issgame.core.assetmgt.AssetRegistry;
 import edu.bsu.issgame.core.net.MessageIO;
 import edu.bsu.issgame.core.net.NetworkInterface;
+import edu.bsu.issgame.core.net.WireFormat;
 import edu.bsu.issgame.core.net.client.Client;
 import edu.bsu.issgame.core.net.server.Server;
+import edu.bsu.issgame.core.net.server.ConnectionAccepter;
+import edu.bsu.issgame.core.net.server.NioConnectionAccepter;
 import edu.bsu.issgame.core.net.server.SocketConnectionAccepter;
 
 public final class IssGameJava {
@@ -63,6 +70,9 @@ public final class IssGameJava {
 	private static final String SIZE_OPTION_DEFAULT = fromDimension(APPROXIMATE_GALAXY_TAB_3_PHYSICAL_SIZE);
 	private static final String VERSIONCODE_OPTION = "versionCode";
 	private static final String VERSIONCODE_OPTION_DEFAULT = "0";
+	private static final String WIRE_FORMAT_OPTION = "wireFormat";
+	private static final String WIRE_FORMAT_OPTION_DEFAULT = WireFormat.SERIALIZED
+			.name();
 	private static JavaPlatform.Config config = new JavaPlatform.Config();
 
 	private static JavaNetworkInterface javaNet;
@@ -76,6 +86,7 @@ public final class IssGameJava {
 		parseCommandLineOptons(args);
 		JavaPlatform.register(config);
 		registerFonts();
+		useAssetDensity();
 		PlayN.run(new IssGame(javaNet));
 	}
 
@@ -86,12 +97,16 @@ public final class IssGameJava {
 			CommandLine commandLine = parser.parse(options, args);
 			processSizeOption(commandLine);
 			processVersionCodeOption(commandLine);
+			processWireFormatOption(commandLine);
 		} catch (ParseException e) {
 			e.printStackTrace();
 			return;
 		} catch (NumberFormatException e) {
 			log().error("Invalid size option, use WxH format (e.g. 640x480)");
 			return;
+		} catch (IllegalArgumentException e) {
+			log().error("Invalid wire format, use SERIALIZED or BINARY");
+			return;
 		}
 	}
 
@@ -109,7 +124,14 @@ public final class IssGameJava {
 				.hasArg()//
 				.withArgName("vCode")//
 				.create();
-		return new Options().addOption(sizeOption).addOption(versionOption);
+		@SuppressWarnings("static-access")
+		Option wireFormatOption = OptionBuilder.withLongOpt(WIRE_FORMAT_OPTION)//
+				.withDescription("Specify the network encoding (SERIALIZED or BINARY).")//
+				.hasArg()//
+				.withArgName("format")//
+				.create();
+		return new Options().addOption(sizeOption).addOption(versionOption)
+				.addOption(wireFormatOption);
 	}
 
 	private static void processSizeOption(CommandLine commandLine) {
@@ -127,6 +149,20 @@ public final class IssGameJava {
 		JavaNetworkInterface.versionCode = Integer.parseInt(versionCodeOptionValue);
 	}
 
+	private static void processWireFormatOption(CommandLine commandLine) {
+		String wireFormatOptionValue = commandLine.getOptionValue(
+				WIRE_FORMAT_OPTION, WIRE_FORMAT_OPTION_DEFAULT);
+		JavaNetworkInterface.wireFormat = WireFormat
+				.valueOf(wireFormatOptionValue.toUpperCase());
+	}
+
+	private static void useAssetDensity() {
+		AssetDensity density = AssetRegistry.instance().useDensityFor(
+				ScreenScale.forDisplay());
+		((JavaAssets) platform().assets()).setAssetScale(density.factor);
+		log().debug("Loading art at " + density);
+	}
+
 	private static void registerFonts() {
 		JavaGraphics g = (JavaGraphics) platform().graphics();
 		for (FontInfo info : FontInfo.values()) {
@@ -138,17 +174,25 @@ public final class IssGameJava {
 final class JavaNetworkInterface extends NetworkInterface {
 
 	protected static int versionCode = -1; 
+	protected static WireFormat wireFormat = WireFormat.SERIALIZED;
 	private final ExecutorService executorService = Executors
 			.newCachedThreadPool();
 
 	private Server server;
 
+	private ConnectionAccepter createConnectionAccepter() throws IOException {
+		if (wireFormat == WireFormat.BINARY) {
+			return new NioConnectionAccepter(NetworkInterface.PORT);
+		}
+		return new SocketConnectionAccepter(NetworkInterface.PORT, wireFormat);
+	}
+
 	@Override
 	public RFuture<Boolean> startGameService() {
 		final RPromise<Boolean> promise = RPromise.create();
 		try {
-			server = new Server(executorService, new SocketConnectionAccepter(
-					NetworkInterface.PORT), "Expedition Java", versionCode);
+			server = new Server(executorService, createConnectionAccepter(),
+					"Expedition Java", versionCode);
 		} catch (IOException e) {
 			e.printStackTrace();
 		}
@@ -168,8 +212,7 @@ final class JavaNetworkInterface extends NetworkInterface {
 							InetAddress localhost = InetAddress.getLocalHost();
 							Socket socket = new Socket(localhost,
 									NetworkInterface.PORT);
-							MessageIO io = MessageIO.SocketAdapter
-									.inClientMode(socket);
+							MessageIO io = wireFormat.inClientMode(socket);
 							Client client = Client.withIO(io).withVersionCode(versionCode);
 							clientCreated.emit(client);
 							executorService.execute(client);